@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Contention benchmarks comparing {@link ConcurrentIntIntMap} and {@link ConcurrentIntMap} with
+ * {@link LockFreeIntIntMap} and {@link LockFreeIntMap} under many readers and few writers
+ */
+public class ConcurrentMapPerformanceTest {
+	private static final int TOTAL_KEYS = 4096;
+	private static final int KEY_MASK = TOTAL_KEYS - 1;
+
+	@State(Scope.Group)
+	public static class MapState {
+		public ConcurrentIntIntMap concurrentIntIntMap;
+		public LockFreeIntIntMap lockFreeIntIntMap;
+		public ConcurrentIntMap<Integer> concurrentIntMap;
+		public LockFreeIntMap<Integer> lockFreeIntMap;
+
+		@Setup
+		public void setup() {
+			Mdx.locks = new JvmLocks();
+
+			concurrentIntIntMap = new ConcurrentIntIntMap();
+			lockFreeIntIntMap = new LockFreeIntIntMap();
+			concurrentIntMap = new ConcurrentIntMap<Integer>();
+			lockFreeIntMap = new LockFreeIntMap<Integer>();
+			for(int i = 0; i < TOTAL_KEYS; i++) {
+				concurrentIntIntMap.put(i, i);
+				lockFreeIntIntMap.put(i, i);
+				concurrentIntMap.put(i, i);
+				lockFreeIntMap.put(i, i);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		public int key;
+
+		public int nextKey() {
+			key = (key + 7) & KEY_MASK;
+			return key;
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("ConcurrentIntIntMap")
+	@GroupThreads(3)
+	public int testConcurrentIntIntMapGet(MapState state, ThreadState threadState) {
+		return state.concurrentIntIntMap.get(threadState.nextKey(), -1);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("ConcurrentIntIntMap")
+	@GroupThreads(1)
+	public void testConcurrentIntIntMapPut(MapState state, ThreadState threadState) {
+		final int key = threadState.nextKey();
+		state.concurrentIntIntMap.put(key, key);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("LockFreeIntIntMap")
+	@GroupThreads(3)
+	public int testLockFreeIntIntMapGet(MapState state, ThreadState threadState) {
+		return state.lockFreeIntIntMap.get(threadState.nextKey(), -1);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("LockFreeIntIntMap")
+	@GroupThreads(1)
+	public void testLockFreeIntIntMapPut(MapState state, ThreadState threadState) {
+		final int key = threadState.nextKey();
+		state.lockFreeIntIntMap.put(key, key);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("ConcurrentIntMap")
+	@GroupThreads(3)
+	public Integer testConcurrentIntMapGet(MapState state, ThreadState threadState) {
+		return state.concurrentIntMap.get(threadState.nextKey());
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("ConcurrentIntMap")
+	@GroupThreads(1)
+	public void testConcurrentIntMapPutRemove(MapState state, ThreadState threadState) {
+		final int key = threadState.nextKey();
+		state.concurrentIntMap.remove(key);
+		state.concurrentIntMap.put(key, key);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("LockFreeIntMap")
+	@GroupThreads(3)
+	public Integer testLockFreeIntMapGet(MapState state, ThreadState threadState) {
+		return state.lockFreeIntMap.get(threadState.nextKey());
+	}
+
+	@Benchmark
+	@BenchmarkMode(value=Mode.Throughput)
+	@Group("LockFreeIntMap")
+	@GroupThreads(1)
+	public void testLockFreeIntMapPutRemove(MapState state, ThreadState threadState) {
+		final int key = threadState.nextKey();
+		state.lockFreeIntMap.remove(key);
+		state.lockFreeIntMap.put(key, key);
+	}
+}
@@ -19,9 +19,12 @@ import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.font.FontBuilderGameFont;
 import org.mini2Dx.core.font.GameFont;
+import org.mini2Dx.core.font.GlyphLayoutCache;
 import org.mini2Dx.core.font.MonospaceGameFont;
 
 public abstract class Fonts {
+	private final GlyphLayoutCache glyphLayoutCache = new GlyphLayoutCache();
+
 	/**
 	 * Returns the default {@link GameFont} for the current {@link Platform}
 	 * @return The default font
@@ -70,4 +73,12 @@ public abstract class Fonts {
 	public GameFont newFontBuilderFont(FontBuilderGameFont.FontParameters fontParameters) {
 		return new FontBuilderGameFont(fontParameters);
 	}
+
+	/**
+	 * Returns the shared {@link GlyphLayoutCache} used for measuring text that changes infrequently, e.g. UI text
+	 * @return The shared {@link GlyphLayoutCache} instance
+	 */
+	public GlyphLayoutCache getGlyphLayoutCache() {
+		return glyphLayoutCache;
+	}
 }
@@ -16,7 +16,7 @@
 package org.mini2Dx.core;
 
 import org.mini2Dx.core.geom.*;
-import org.mini2Dx.gdx.utils.Queue;
+import org.mini2Dx.core.util.ThreadLocalPool;
 
 /**
  * Provides pooled geometry classes.
@@ -27,16 +27,16 @@ public class Geometry {
      */
     public static int DEFAULT_POOL_SIZE = 256;
 
-    final Queue<Circle> circles = new Queue<Circle>(DEFAULT_POOL_SIZE * 2);
-    final Queue<EquilateralTriangle> equilateralTriangles = new Queue<EquilateralTriangle>(DEFAULT_POOL_SIZE * 2);
-    final Queue<Line> lines = new Queue<Line>(DEFAULT_POOL_SIZE * 2);
-    final Queue<LineSegment> lineSegments = new Queue<LineSegment>(DEFAULT_POOL_SIZE * 2);
-    final Queue<Point> points = new Queue<Point>(DEFAULT_POOL_SIZE * 2);
-    final Queue<Polygon> polygons = new Queue<Polygon>(DEFAULT_POOL_SIZE * 2);
-    final Queue<Rectangle> rectangles = new Queue<Rectangle>(DEFAULT_POOL_SIZE * 2);
-    final Queue<RegularHexagon> regularHexagons = new Queue<RegularHexagon>(DEFAULT_POOL_SIZE * 2);
-    final Queue<RegularPentagon> regularPentagons = new Queue<RegularPentagon>(DEFAULT_POOL_SIZE * 2);
-    final Queue<Triangle> triangles = new Queue<Triangle>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Circle> circles = new ThreadLocalPool<Circle>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<EquilateralTriangle> equilateralTriangles = new ThreadLocalPool<EquilateralTriangle>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Line> lines = new ThreadLocalPool<Line>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<LineSegment> lineSegments = new ThreadLocalPool<LineSegment>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Point> points = new ThreadLocalPool<Point>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Polygon> polygons = new ThreadLocalPool<Polygon>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Rectangle> rectangles = new ThreadLocalPool<Rectangle>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<RegularHexagon> regularHexagons = new ThreadLocalPool<RegularHexagon>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<RegularPentagon> regularPentagons = new ThreadLocalPool<RegularPentagon>(DEFAULT_POOL_SIZE * 2);
+    final ThreadLocalPool<Triangle> triangles = new ThreadLocalPool<Triangle>(DEFAULT_POOL_SIZE * 2);
 
     private boolean initialised = false;
 
@@ -58,14 +58,14 @@ public class Geometry {
 
     public void warmup(int amount) {
         for(int i = 0; i < amount; i++) {
-            circles.addLast(new Circle(this));
-            equilateralTriangles.addLast(new EquilateralTriangle(this));
-            lines.addLast(new Line(this));
-            lineSegments.addLast(new LineSegment(this));
-            points.addLast(new Point(this));
-            rectangles.addLast(new Rectangle(this));
-            regularHexagons.addLast(new RegularHexagon(this));
-            regularPentagons.addLast(new RegularPentagon(this));
+            circles.add(new Circle(this));
+            equilateralTriangles.add(new EquilateralTriangle(this));
+            lines.add(new Line(this));
+            lineSegments.add(new LineSegment(this));
+            points.add(new Point(this));
+            rectangles.add(new Rectangle(this));
+            regularHexagons.add(new RegularHexagon(this));
+            regularPentagons.add(new RegularPentagon(this));
         }
     }
 
@@ -74,14 +74,12 @@ public class Geometry {
      * @return A {@link Circle} instance
      */
     public Circle circle() {
-        synchronized (circles) {
-            if (circles.size == 0) {
-                return new Circle(this);
-            }
-            final Circle result = circles.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final Circle result = circles.obtain();
+        if (result == null) {
+            return new Circle(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -89,9 +87,7 @@ public class Geometry {
      * @param circle The {@link Circle} instance
      */
     public void release(Circle circle) {
-        synchronized (circles) {
-            circles.addLast(circle);
-        }
+        circles.release(circle);
     }
 
     /**
@@ -99,14 +95,12 @@ public class Geometry {
      * @return A {@link EquilateralTriangle} instance
      */
     public EquilateralTriangle equilateralTriangle() {
-        synchronized (equilateralTriangles) {
-            if (equilateralTriangles.size == 0) {
-                return new EquilateralTriangle(this);
-            }
-            final EquilateralTriangle result = equilateralTriangles.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final EquilateralTriangle result = equilateralTriangles.obtain();
+        if (result == null) {
+            return new EquilateralTriangle(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -114,9 +108,7 @@ public class Geometry {
      * @param equilateralTriangle The {@link EquilateralTriangle} instance
      */
     public void release(EquilateralTriangle equilateralTriangle) {
-        synchronized (equilateralTriangles) {
-            equilateralTriangles.addLast(equilateralTriangle);
-        }
+        equilateralTriangles.release(equilateralTriangle);
     }
 
     /**
@@ -124,14 +116,12 @@ public class Geometry {
      * @return A {@link Line} instance
      */
     public Line line() {
-        synchronized (lines) {
-            if (lines.size == 0) {
-                return new Line(this);
-            }
-            final Line result = lines.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final Line result = lines.obtain();
+        if (result == null) {
+            return new Line(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -139,9 +129,7 @@ public class Geometry {
      * @param line The {@link Line} instance
      */
     public void release(Line line) {
-        synchronized (lines) {
-            lines.addLast(line);
-        }
+        lines.release(line);
     }
 
     /**
@@ -149,14 +137,12 @@ public class Geometry {
      * @return A {@link LineSegment} instance
      */
     public LineSegment lineSegment() {
-        synchronized (lineSegments) {
-            if (lineSegments.size == 0) {
-                return new LineSegment(this);
-            }
-            final LineSegment result = lineSegments.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final LineSegment result = lineSegments.obtain();
+        if (result == null) {
+            return new LineSegment(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -164,9 +150,7 @@ public class Geometry {
      * @param lineSegment The {@link LineSegment} instance
      */
     public void release(LineSegment lineSegment) {
-        synchronized (lineSegments) {
-            lineSegments.addLast(lineSegment);
-        }
+        lineSegments.release(lineSegment);
     }
 
     /**
@@ -174,14 +158,12 @@ public class Geometry {
      * @return A {@link Point} instance
      */
     public Point point() {
-        synchronized (points) {
-            if (points.size == 0) {
-                return new Point(this);
-            }
-            final Point result = points.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final Point result = points.obtain();
+        if (result == null) {
+            return new Point(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -189,9 +171,7 @@ public class Geometry {
      * @param point The {@link Point} instance
      */
     public void release(Point point) {
-        synchronized (points) {
-            points.addLast(point);
-        }
+        points.release(point);
     }
 
     /**
@@ -199,14 +179,12 @@ public class Geometry {
      * @return A {@link Polygon} instance
      */
     public Polygon polygon() {
-        synchronized (polygons) {
-            if (polygons.size == 0) {
-                return polygon(new float[]{0f, 0f, 1f, 0f, 1f, 1f, 0f, 1f});
-            }
-            final Polygon result = polygons.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final Polygon result = polygons.obtain();
+        if (result == null) {
+            return new Polygon(this, new float[]{0f, 0f, 1f, 0f, 1f, 1f, 0f, 1f});
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -215,15 +193,13 @@ public class Geometry {
      * @return A {@link Polygon} instance
      */
     public Polygon polygon(float [] vertices) {
-        synchronized (polygons) {
-            if (polygons.size == 0) {
-                return new Polygon(this, vertices);
-            }
-            final Polygon result = polygons.removeFirst();
-            result.setVertices(vertices);
-            result.setDisposed(false);
-            return result;
+        final Polygon result = polygons.obtain();
+        if (result == null) {
+            return new Polygon(this, vertices);
         }
+        result.setVertices(vertices);
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -231,9 +207,7 @@ public class Geometry {
      * @param polygon The {@link Polygon} instance
      */
     public void release(Polygon polygon) {
-        synchronized (polygons) {
-            polygons.addLast(polygon);
-        }
+        polygons.release(polygon);
     }
 
     /**
@@ -241,14 +215,12 @@ public class Geometry {
      * @return A {@link Rectangle} instance
      */
     public Rectangle rectangle() {
-        synchronized (rectangles) {
-            if (rectangles.size == 0) {
-                return new Rectangle(this);
-            }
-            final Rectangle result = rectangles.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final Rectangle result = rectangles.obtain();
+        if (result == null) {
+            return new Rectangle(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -256,9 +228,7 @@ public class Geometry {
      * @param rectangle The {@link Rectangle} instance
      */
     public void release(Rectangle rectangle) {
-        synchronized (rectangles) {
-            rectangles.addLast(rectangle);
-        }
+        rectangles.release(rectangle);
     }
 
     /**
@@ -266,14 +236,12 @@ public class Geometry {
      * @return A {@link RegularHexagon} instance
      */
     public RegularHexagon regularHexagon() {
-        synchronized (regularHexagons) {
-            if (regularHexagons.size == 0) {
-                return new RegularHexagon(this);
-            }
-            final RegularHexagon result = regularHexagons.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final RegularHexagon result = regularHexagons.obtain();
+        if (result == null) {
+            return new RegularHexagon(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -281,9 +249,7 @@ public class Geometry {
      * @param regularHexagon The {@link RegularHexagon} instance
      */
     public void release(RegularHexagon regularHexagon) {
-        synchronized (regularHexagons) {
-            regularHexagons.addLast(regularHexagon);
-        }
+        regularHexagons.release(regularHexagon);
     }
 
     /**
@@ -291,14 +257,12 @@ public class Geometry {
      * @return A {@link RegularPentagon} instance
      */
     public RegularPentagon regularPentagon() {
-        synchronized (regularPentagons) {
-            if (regularPentagons.size == 0) {
-                return new RegularPentagon(this);
-            }
-            final RegularPentagon result = regularPentagons.removeFirst();
-            result.setDisposed(false);
-            return result;
+        final RegularPentagon result = regularPentagons.obtain();
+        if (result == null) {
+            return new RegularPentagon(this);
         }
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -306,9 +270,7 @@ public class Geometry {
      * @param regularPentagon The {@link RegularPentagon} instance
      */
     public void release(RegularPentagon regularPentagon) {
-        synchronized (regularPentagons) {
-            regularPentagons.addLast(regularPentagon);
-        }
+        regularPentagons.release(regularPentagon);
     }
 
     /**
@@ -316,15 +278,13 @@ public class Geometry {
      * @return A {@link Triangle} instance
      */
     public Triangle triangle(float x1, float y1, float x2, float y2, float x3, float y3) {
-        synchronized (triangles) {
-            if (triangles.size == 0) {
-                return new Triangle(this, x1, y1, x2, y2, x3, y3);
-            }
-            final Triangle result = triangles.removeFirst();
-            result.setPosition(x1, y1, x2, y2, x3, y3);
-            result.setDisposed(false);
-            return result;
+        final Triangle result = triangles.obtain();
+        if (result == null) {
+            return new Triangle(this, x1, y1, x2, y2, x3, y3);
         }
+        result.setPosition(x1, y1, x2, y2, x3, y3);
+        result.setDisposed(false);
+        return result;
     }
 
     /**
@@ -332,9 +292,7 @@ public class Geometry {
      * @param triangle The {@link Triangle} instance
      */
     public void release(Triangle triangle) {
-        synchronized (triangles) {
-            triangles.addLast(triangle);
-        }
+        triangles.release(triangle);
     }
 
     /**
@@ -342,9 +300,7 @@ public class Geometry {
      * @return Total available {@link Circle} instances excluding {@link Circle} instances already allocated
      */
     public int getTotalCirclesAvailable() {
-        synchronized (circles) {
-            return circles.size;
-        }
+        return circles.getTotalAvailable();
     }
 
     /**
@@ -352,9 +308,7 @@ public class Geometry {
      * @return Total available {@link EquilateralTriangle} instances excluding {@link EquilateralTriangle} instances already allocated
      */
     public int getTotalEquilateralTrianglesAvailable() {
-        synchronized (equilateralTriangles) {
-            return equilateralTriangles.size;
-        }
+        return equilateralTriangles.getTotalAvailable();
     }
 
     /**
@@ -362,9 +316,7 @@ public class Geometry {
      * @return Total available lines excluding {@link Line} instances already allocated
      */
     public int getTotalLinesAvailable() {
-        synchronized (lines) {
-            return lines.size;
-        }
+        return lines.getTotalAvailable();
     }
 
     /**
@@ -372,9 +324,7 @@ public class Geometry {
      * @return Total available {@link LineSegment} instances excluding {@link LineSegment} instances already allocated
      */
     public int getTotalLineSegmentsAvailable() {
-        synchronized (lineSegments) {
-            return lineSegments.size;
-        }
+        return lineSegments.getTotalAvailable();
     }
 
     /**
@@ -382,9 +332,7 @@ public class Geometry {
      * @return Total available {@link Point} instances excluding {@link Point} instances already allocated
      */
     public int getTotalPointsAvailable() {
-        synchronized (points) {
-            return points.size;
-        }
+        return points.getTotalAvailable();
     }
 
     /**
@@ -392,9 +340,7 @@ public class Geometry {
      * @return Total available {@link Polygon} instances excluding {@link Polygon} instances already allocated
      */
     public int getTotalPolygonsAvailable() {
-        synchronized (polygons) {
-            return polygons.size;
-        }
+        return polygons.getTotalAvailable();
     }
 
     /**
@@ -402,9 +348,7 @@ public class Geometry {
      * @return Total available {@link Rectangle} instances excluding {@link Rectangle} instances already allocated
      */
     public int getTotalRectanglesAvailable() {
-        synchronized (rectangles) {
-            return rectangles.size;
-        }
+        return rectangles.getTotalAvailable();
     }
 
     /**
@@ -412,9 +356,7 @@ public class Geometry {
      * @return Total available {@link RegularHexagon} instances excluding {@link RegularHexagon} instances already allocated
      */
     public int getTotalRegularHexagonsAvailable() {
-        synchronized (regularHexagons) {
-            return regularHexagons.size;
-        }
+        return regularHexagons.getTotalAvailable();
     }
 
     /**
@@ -422,9 +364,7 @@ public class Geometry {
      * @return Total available {@link RegularPentagon} instances excluding {@link RegularPentagon} instances already allocated
      */
     public int getTotalRegularPentagonsAvailable() {
-        synchronized (regularPentagons) {
-            return regularPentagons.size;
-        }
+        return regularPentagons.getTotalAvailable();
     }
 
     /**
@@ -432,9 +372,7 @@ public class Geometry {
      * @return Total available {@link Triangle} instances excluding {@link Triangle} instances already allocated
      */
     public int getTotalTrianglesAvailable() {
-        synchronized (triangles) {
-            return triangles.size;
-        }
+        return triangles.getTotalAvailable();
     }
 
     /**
@@ -443,9 +381,7 @@ public class Geometry {
      */
     public void warmupCircles(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(circles) {
-                circles.addLast(new Circle(this));
-            }
+            circles.add(new Circle(this));
         }
     }
 
@@ -455,9 +391,7 @@ public class Geometry {
      */
     public void warmupEquilateralTriangles(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(equilateralTriangles) {
-                equilateralTriangles.addLast(new EquilateralTriangle(this));
-            }
+            equilateralTriangles.add(new EquilateralTriangle(this));
         }
     }
 
@@ -467,9 +401,7 @@ public class Geometry {
      */
     public void warmupLines(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(lines) {
-                lines.addLast(new Line(this));
-            }
+            lines.add(new Line(this));
         }
     }
 
@@ -479,9 +411,7 @@ public class Geometry {
      */
     public void warmupLineSegments(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(lineSegments) {
-                lineSegments.addLast(new LineSegment(this));
-            }
+            lineSegments.add(new LineSegment(this));
         }
     }
 
@@ -491,9 +421,7 @@ public class Geometry {
      */
     public void warmupRectangles(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(rectangles) {
-                rectangles.addLast(new Rectangle(this));
-            }
+            rectangles.add(new Rectangle(this));
         }
     }
 
@@ -503,9 +431,7 @@ public class Geometry {
      */
     public void warmupRegularHexagons(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(regularHexagons) {
-                regularHexagons.addLast(new RegularHexagon(this));
-            }
+            regularHexagons.add(new RegularHexagon(this));
         }
     }
 
@@ -515,9 +441,81 @@ public class Geometry {
      */
     public void warmupRegualarPentagons(int poolSize) {
         for(int i = 0; i < poolSize; i++) {
-            synchronized(regularPentagons) {
-                regularPentagons.addLast(new RegularPentagon(this));
-            }
-        }
+            regularPentagons.add(new RegularPentagon(this));
+        }
+    }
+
+    /**
+     * Returns all pooled instances held by the current thread back to the shared pools.
+     * Call this before a worker thread goes idle for a long time.
+     */
+    public void flushThreadLocalPools() {
+        circles.flush();
+        equilateralTriangles.flush();
+        lines.flush();
+        lineSegments.flush();
+        points.flush();
+        polygons.flush();
+        rectangles.flush();
+        regularHexagons.flush();
+        regularPentagons.flush();
+        triangles.flush();
+    }
+
+    /**
+     * Returns the total amount of allocations served by a thread-local pool without locking
+     * @return The total pool hits across all geometry types
+     */
+    public long getTotalPoolHits() {
+        long result = 0L;
+        result += circles.getHits();
+        result += equilateralTriangles.getHits();
+        result += lines.getHits();
+        result += lineSegments.getHits();
+        result += points.getHits();
+        result += polygons.getHits();
+        result += rectangles.getHits();
+        result += regularHexagons.getHits();
+        result += regularPentagons.getHits();
+        result += triangles.getHits();
+        return result;
+    }
+
+    /**
+     * Returns the total amount of allocations where the thread-local pool was empty and the shared pool was locked
+     * @return The total pool misses across all geometry types
+     */
+    public long getTotalPoolMisses() {
+        long result = 0L;
+        result += circles.getMisses();
+        result += equilateralTriangles.getMisses();
+        result += lines.getMisses();
+        result += lineSegments.getMisses();
+        result += points.getMisses();
+        result += polygons.getMisses();
+        result += rectangles.getMisses();
+        result += regularHexagons.getMisses();
+        result += regularPentagons.getMisses();
+        result += triangles.getMisses();
+        return result;
+    }
+
+    /**
+     * Returns the total amount of allocations where all pools were empty and a new instance was created
+     * @return The total new instances created across all geometry types
+     */
+    public long getTotalPoolAllocations() {
+        long result = 0L;
+        result += circles.getAllocations();
+        result += equilateralTriangles.getAllocations();
+        result += lines.getAllocations();
+        result += lineSegments.getAllocations();
+        result += points.getAllocations();
+        result += polygons.getAllocations();
+        result += rectangles.getAllocations();
+        result += regularHexagons.getAllocations();
+        result += regularPentagons.getAllocations();
+        result += triangles.getAllocations();
+        return result;
     }
 }
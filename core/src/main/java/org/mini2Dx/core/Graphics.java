@@ -407,6 +407,20 @@ public interface Graphics {
      */
     public void drawSprite(Sprite sprite, float x, float y);
 
+    /**
+     * Draws pre-computed sprite vertices. The tint of this graphics context is
+     * not applied since each vertex carries its own color.
+     *
+     * @param texture
+     *            The {@link Texture} the vertices sample from
+     * @param vertices
+     *            The vertex data containing 4 vertices of x, y, packed color, u
+     *            and v (20 floats)
+     * @param offset
+     *            The index of the first vertex value
+     */
+    public void drawSpriteVertices(Texture texture, float[] vertices, int offset);
+
     /**
      * Draws a {@link SpriteCache}
      *
@@ -583,6 +597,98 @@ public interface Graphics {
      */
     public void flush();
 
+    /**
+     * Sets if draw operations should be recorded and submitted in batches at the end of rendering
+     * (or when the clip, transformations, shader or blending change).
+     *
+     * Recorded operations are sorted by draw layer. Operations within the same layer are drawn in
+     * the order they were recorded unless {@link #setReorderWithinLayers(boolean)} is enabled.
+     *
+     * @param deferredRendering True to enable deferred rendering. False by default.
+     */
+    public default void setDeferredRendering(boolean deferredRendering) {}
+
+    /**
+     * Returns if draw operations are being recorded for deferred submission
+     * @return False by default
+     */
+    public default boolean isDeferredRendering() {
+        return false;
+    }
+
+    /**
+     * Sets the layer that subsequent draw operations are recorded into when deferred rendering is enabled.
+     * Lower layers are drawn first. Reset to 0 at the start of each frame.
+     *
+     * @param layer The layer between -16384 and 16383
+     */
+    public default void setDrawLayer(int layer) {}
+
+    /**
+     * Returns the layer that draw operations are recorded into when deferred rendering is enabled
+     * @return 0 by default
+     */
+    public default int getDrawLayer() {
+        return 0;
+    }
+
+    /**
+     * Sets if deferred draw operations within the same layer should be grouped by pipeline and texture
+     * to reduce state changes. Overlapping draws within a layer may then be drawn in a different order
+     * so they should use different layers via {@link #setDrawLayer(int)}.
+     *
+     * @param reorderWithinLayers True to group operations within a layer. False by default.
+     */
+    public default void setReorderWithinLayers(boolean reorderWithinLayers) {}
+
+    /**
+     * Returns if deferred draw operations within the same layer are grouped by pipeline and texture
+     * @return False by default
+     */
+    public default boolean isReorderWithinLayers() {
+        return false;
+    }
+
+    /**
+     * Sets if textures, sprites and shapes that are entirely outside the visible area should be skipped.
+     * The visible area accounts for translation, scaling, rotation and clipping. Strings are never culled.
+     *
+     * @param cullingEnabled True to enable culling. False by default.
+     */
+    public default void setCullingEnabled(boolean cullingEnabled) {}
+
+    /**
+     * Returns if draws outside the visible area are skipped
+     * @return False by default
+     */
+    public default boolean isCullingEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the amount of draws skipped by culling since the start of the current frame
+     * @return 0 if culling is disabled
+     */
+    public default int getCulledDrawCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the amount of draws that passed culling since the start of the current frame
+     * @return 0 if culling is disabled
+     */
+    public default int getSubmittedDrawCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the rendering counters of the last completed frame
+     * @return Null if the implementation does not collect {@link RenderStats}
+     */
+    public default RenderStats getRenderStats() {
+        return null;
+    }
+
     /**
      * Returns the line height used
      *
@@ -16,7 +16,11 @@
 package org.mini2Dx.core;
 
 import org.mini2Dx.core.font.FontGlyphLayout;
+import org.mini2Dx.core.graphics.RenderStats;
+import org.mini2Dx.core.profiler.HitchDetector;
+import org.mini2Dx.core.profiler.HitchReport;
 import org.mini2Dx.core.util.Align;
+import org.mini2Dx.core.util.DurationHistogram;
 import org.mini2Dx.core.util.InterpolationTracker;
 
 import java.util.Locale;
@@ -32,9 +36,19 @@ public class PerformanceTracker {
     private static final String FRAMES_PREFIX = "Frames / second:: ";
     private static final String MEMORY_PREFIX = "Memory usage:: ";
     private static final String INTERPOLATABLES_PREFIX = "Interpolating Objects:: ";
+    private static final String FRAME_PERCENTILES_PREFIX = "Frame duration p50/p95/p99:: ";
+    private static final String PHASE_PERCENTILES_PREFIX = "Update/Render duration p99:: ";
+    private static final String HITCHES_PREFIX = "Hitches:: ";
+    private static final String LAST_HITCH_PREFIX = ", Last:: ";
+    private static final String ALLOCATIONS_PREFIX = "Avg allocated update/interpolate/render/frame:: ";
+    private static final String UNAVAILABLE = "N/A";
+    private static final String DRAWS_PREFIX = "Draws texture/sprite/shape/text/other:: ";
+    private static final String BATCHING_PREFIX = "Flushes/Renderer/Texture/Shader switches:: ";
+    private static final String VERTICES_PREFIX = ", Vertices:: ";
+    private static final String SEPARATOR = "/";
     private static final String MS = "ms";
 
-    private static final String[] messages = new String[9];
+    private static final String[] messages = new String[15];
     private static long lastMessagesUpdate = 0L;
 
     private static FontGlyphLayout glyphLayout;
@@ -70,7 +84,7 @@ public class PerformanceTracker {
      *            ignored and the text is left aligned
      */
     public static void draw(Graphics g, float x, float y, float targetWidth, int horizontalAlign) {
-        updateMessages();
+        updateMessages(g);
         float lineHeight = getLineHeight(g);
 
         for (int i = 0; i < messages.length; i++) {
@@ -100,7 +114,7 @@ public class PerformanceTracker {
      *            The {@link Graphics} context
      */
     public static void drawInTopRight(Graphics g) {
-        updateMessages();
+        updateMessages(g);
         float textWidth = getLineWidth(g);
         draw(g, g.getViewportWidth() - textWidth - 1f, 0f, textWidth, Align.RIGHT);
     }
@@ -112,7 +126,7 @@ public class PerformanceTracker {
      *            The {@link Graphics} context
      */
     public static void drawInBottomLeft(Graphics g) {
-        updateMessages();
+        updateMessages(g);
         float textHeight = (getLineHeight(g) * messages.length) + messages.length;
         draw(g, 0f, g.getViewportHeight() - textHeight - 1f, -1f, Align.LEFT);
     }
@@ -124,13 +138,13 @@ public class PerformanceTracker {
      *            The {@link Graphics} context
      */
     public static void drawInBottomRight(Graphics g) {
-        updateMessages();
+        updateMessages(g);
         float textWidth = getLineWidth(g);
         float textHeight = (getLineHeight(g) * messages.length) + messages.length;
         draw(g, g.getViewportWidth() - textWidth - 1f, g.getViewportHeight() - textHeight - 1f, textWidth, Align.RIGHT);
     }
 
-    private static void updateMessages() {
+    private static void updateMessages(Graphics g) {
         long currentTime = Mdx.platformUtils.currentTimeMillis();
         if(currentTime - lastMessagesUpdate < 1000L) {
             return;
@@ -152,6 +166,43 @@ public class PerformanceTracker {
         messages[7] = MEMORY_PREFIX + getHumanReadableByteValue(Mdx.platformUtils.getUsedMemory()) + "/"
                 + getHumanReadableByteValue(Mdx.platformUtils.getTotalMemory());
         messages[8] = INTERPOLATABLES_PREFIX + InterpolationTracker.getTotalObjects();
+
+        final DurationHistogram frameHistogram = Mdx.platformUtils.getFrameDurationHistogram();
+        messages[9] = FRAME_PERCENTILES_PREFIX + toMillis(frameHistogram.getPercentile(50.0)) + SEPARATOR
+                + toMillis(frameHistogram.getPercentile(95.0)) + SEPARATOR + toMillis(frameHistogram.getPercentile(99.0)) + MS;
+        messages[10] = PHASE_PERCENTILES_PREFIX + toMillis(Mdx.platformUtils.getUpdateDurationHistogram().getPercentile(99.0))
+                + SEPARATOR + toMillis(Mdx.platformUtils.getRenderDurationHistogram().getPercentile(99.0)) + MS;
+
+        final HitchDetector hitchDetector = Mdx.platformUtils.getHitchDetector();
+        final HitchReport lastHitch = hitchDetector.getLastHitchReport();
+        messages[11] = HITCHES_PREFIX + hitchDetector.getTotalHitches() + LAST_HITCH_PREFIX
+                + toMillis(lastHitch == null ? 0L : lastHitch.getHitchDuration()) + MS;
+
+        if(Mdx.platformUtils.getAllocationMonitor() == null) {
+            messages[12] = ALLOCATIONS_PREFIX + UNAVAILABLE;
+        } else {
+            messages[12] = ALLOCATIONS_PREFIX + getHumanReadableByteValue((long) Mdx.platformUtils.getAverageUpdateAllocatedBytes())
+                    + SEPARATOR + getHumanReadableByteValue((long) Mdx.platformUtils.getAverageInterpolateAllocatedBytes())
+                    + SEPARATOR + getHumanReadableByteValue((long) Mdx.platformUtils.getAverageRenderAllocatedBytes())
+                    + SEPARATOR + getHumanReadableByteValue((long) Mdx.platformUtils.getAverageFrameAllocatedBytes());
+        }
+
+        final RenderStats renderStats = g.getRenderStats();
+        if(renderStats == null) {
+            messages[13] = DRAWS_PREFIX + UNAVAILABLE;
+            messages[14] = BATCHING_PREFIX + UNAVAILABLE;
+        } else {
+            messages[13] = DRAWS_PREFIX + renderStats.getTextureDraws() + SEPARATOR + renderStats.getSpriteDraws()
+                    + SEPARATOR + renderStats.getShapeDraws() + SEPARATOR + renderStats.getTextDraws()
+                    + SEPARATOR + renderStats.getOtherDraws();
+            messages[14] = BATCHING_PREFIX + renderStats.getFlushes() + SEPARATOR + renderStats.getRendererSwitches()
+                    + SEPARATOR + renderStats.getTextureSwitches() + SEPARATOR + renderStats.getShaderSwitches()
+                    + VERTICES_PREFIX + renderStats.getVertices();
+        }
+    }
+
+    private static String toMillis(double nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1000000);
     }
 
 
@@ -16,11 +16,17 @@
 package org.mini2Dx.core;
 
 import org.mini2Dx.core.game.GameContainer;
+import org.mini2Dx.core.profiler.AllocationMonitor;
+import org.mini2Dx.core.profiler.HitchDetector;
+import org.mini2Dx.core.profiler.Profiler;
+import org.mini2Dx.core.profiler.TraceExporter;
+import org.mini2Dx.core.util.DurationHistogram;
 import org.mini2Dx.core.util.RollingAverage;
 import org.mini2Dx.core.util.RollingMax;
 import org.mini2Dx.core.util.ZlibStream;
 
 public abstract class PlatformUtils {
+    private static final String FRAME_TRACE_NAME = "frame";
 
     private long updateSecondStart;
     private long updateStartNanos;
@@ -46,6 +52,24 @@ public abstract class PlatformUtils {
     private int frames;
     private int framesPerSecond;
 
+    private final DurationHistogram frameDurationHistogram = new DurationHistogram();
+    private final DurationHistogram updateDurationHistogram = new DurationHistogram();
+    private final DurationHistogram renderDurationHistogram = new DurationHistogram();
+    private final HitchDetector hitchDetector = new HitchDetector(
+            (1000000000L / GameContainer.TARGET_FPS) * 2L, HitchDetector.DEFAULT_CAPTURED_FRAMES);
+    private long frameUpdateDuration, frameInterpolateDuration, frameRenderDuration;
+
+    private AllocationMonitor allocationMonitor;
+    private long updateStartAllocatedBytes, interpolateStartAllocatedBytes, renderStartAllocatedBytes, frameStartAllocatedBytes;
+    private final RollingAverage averageUpdateAllocatedBytes = new RollingAverage(GameContainer.TARGET_FPS);
+    private final RollingMax maxUpdateAllocatedBytes = new RollingMax(GameContainer.TARGET_FPS);
+    private final RollingAverage averageInterpolateAllocatedBytes = new RollingAverage(GameContainer.TARGET_FPS);
+    private final RollingMax maxInterpolateAllocatedBytes = new RollingMax(GameContainer.TARGET_FPS);
+    private final RollingAverage averageRenderAllocatedBytes = new RollingAverage(GameContainer.TARGET_FPS);
+    private final RollingMax maxRenderAllocatedBytes = new RollingMax(GameContainer.TARGET_FPS);
+    private final RollingAverage averageFrameAllocatedBytes = new RollingAverage(GameContainer.TARGET_FPS);
+    private final RollingMax maxFrameAllocatedBytes = new RollingMax(GameContainer.TARGET_FPS);
+
     /**
      * Exits the game
      * @param ignorePlatformRestrictions exit even if platform rules don't permit exiting programmatically. Should be
@@ -115,6 +139,8 @@ public abstract class PlatformUtils {
         updates++;
 
         updateStartNanos = nanoTime();
+        updateStartAllocatedBytes = getAllocatedBytes();
+        Profiler.begin(Profiler.UPDATE_SCOPE);
     }
 
     /**
@@ -122,17 +148,23 @@ public abstract class PlatformUtils {
      */
     public void markInterpolateBegin() {
         interpolateStartNanos = nanoTime();
+        interpolateStartAllocatedBytes = getAllocatedBytes();
+        Profiler.begin(Profiler.INTERPOLATE_SCOPE);
     }
 
     /**
      * Internal usage only: marks the end of interpolate operations
      */
     public void markInterpolateEnd() {
+        Profiler.end();
+        markAllocatedBytes(interpolateStartAllocatedBytes, averageInterpolateAllocatedBytes, maxInterpolateAllocatedBytes);
         long time = nanoTime();
         long interpolateDuration = time - interpolateStartNanos;
+        TraceExporter.complete(TraceExporter.CATEGORY_FRAME, Profiler.INTERPOLATE_SCOPE, interpolateStartNanos, time);
 
         averageInterpolateDuration.mark(interpolateDuration);
         maxInterpolateDuration.mark(interpolateDuration);
+        frameInterpolateDuration += interpolateDuration;
     }
 
     /**
@@ -140,28 +172,40 @@ public abstract class PlatformUtils {
      */
     public void markRenderBegin() {
         renderStartNanos = nanoTime();
+        renderStartAllocatedBytes = getAllocatedBytes();
+        Profiler.begin(Profiler.RENDER_SCOPE);
     }
 
     /**
      * Internal usage only: marks the end of rendering operations
      */
     public void markRenderEnd() {
+        Profiler.end();
+        markAllocatedBytes(renderStartAllocatedBytes, averageRenderAllocatedBytes, maxRenderAllocatedBytes);
         long time = nanoTime();
         long renderDuration = time - renderStartNanos;
+        TraceExporter.complete(TraceExporter.CATEGORY_FRAME, Profiler.RENDER_SCOPE, renderStartNanos, time);
 
         averageRenderDuration.mark(renderDuration);
         maxRenderDuration.mark(renderDuration);
+        renderDurationHistogram.record(renderDuration);
+        frameRenderDuration += renderDuration;
     }
 
     /**
      * Internal usage only: marks the end of update operations
      */
     public void markUpdateEnd() {
+        Profiler.end();
+        markAllocatedBytes(updateStartAllocatedBytes, averageUpdateAllocatedBytes, maxUpdateAllocatedBytes);
         long time = nanoTime();
         long updateDuration = time - updateStartNanos;
+        TraceExporter.complete(TraceExporter.CATEGORY_FRAME, Profiler.UPDATE_SCOPE, updateStartNanos, time);
 
         averageUpdateDuration.mark(updateDuration);
         maxUpdateDuration.mark(updateDuration);
+        updateDurationHistogram.record(updateDuration);
+        frameUpdateDuration += updateDuration;
     }
 
     /**
@@ -181,14 +225,45 @@ public abstract class PlatformUtils {
             frameSecondStart = time;
         }
         frames++;
+
+        frameUpdateDuration = 0L;
+        frameInterpolateDuration = 0L;
+        frameRenderDuration = 0L;
+        frameStartAllocatedBytes = getAllocatedBytes();
     }
 
     public void markFrameEnd() {
+        markAllocatedBytes(frameStartAllocatedBytes, averageFrameAllocatedBytes, maxFrameAllocatedBytes);
         long time = nanoTime();
         long frameDuration = time - frameStartNanos;
+        TraceExporter.complete(TraceExporter.CATEGORY_FRAME, FRAME_TRACE_NAME, frameStartNanos, time);
 
         averageFrameDuration.mark(frameDuration);
         maxFrameDuration.mark(frameDuration);
+        frameDurationHistogram.record(frameDuration);
+        hitchDetector.markFrame(frameDuration, frameUpdateDuration, frameInterpolateDuration, frameRenderDuration);
+
+        Profiler.markFrameEnd();
+        TraceExporter.markFrameEnd();
+    }
+
+    private long getAllocatedBytes() {
+        if (allocationMonitor == null) {
+            return -1L;
+        }
+        return allocationMonitor.getCurrentThreadAllocatedBytes();
+    }
+
+    private void markAllocatedBytes(long startAllocatedBytes, RollingAverage average, RollingMax max) {
+        if (allocationMonitor == null || startAllocatedBytes < 0L) {
+            return;
+        }
+        final long allocatedBytes = allocationMonitor.getCurrentThreadAllocatedBytes();
+        if (allocatedBytes < 0L) {
+            return;
+        }
+        average.mark(allocatedBytes - startAllocatedBytes);
+        max.mark(allocatedBytes - startAllocatedBytes);
     }
 
     /**
@@ -295,6 +370,138 @@ public abstract class PlatformUtils {
         return maxFrameDuration.getMax();
     }
 
+    /**
+     * Returns the {@link AllocationMonitor} used to track bytes allocated during each frame phase
+     *
+     * @return Null if allocations are not being tracked
+     */
+    public AllocationMonitor getAllocationMonitor() {
+        return allocationMonitor;
+    }
+
+    /**
+     * Sets the {@link AllocationMonitor} used to track bytes allocated during each frame phase.
+     * Allocation tracking is disabled by default and intended for debug builds.
+     *
+     * @param allocationMonitor The {@link AllocationMonitor} or null to disable allocation tracking
+     */
+    public void setAllocationMonitor(AllocationMonitor allocationMonitor) {
+        this.allocationMonitor = allocationMonitor;
+        updateStartAllocatedBytes = -1L;
+        interpolateStartAllocatedBytes = -1L;
+        renderStartAllocatedBytes = -1L;
+        frameStartAllocatedBytes = -1L;
+    }
+
+    /**
+     * Returns the average bytes allocated during update()
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getAverageUpdateAllocatedBytes() {
+        return averageUpdateAllocatedBytes.getAverage();
+    }
+
+    /**
+     * Returns the maximum bytes allocated during update() in the last second
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getMaxUpdateAllocatedBytes() {
+        return maxUpdateAllocatedBytes.getMax();
+    }
+
+    /**
+     * Returns the average bytes allocated during interpolate()
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getAverageInterpolateAllocatedBytes() {
+        return averageInterpolateAllocatedBytes.getAverage();
+    }
+
+    /**
+     * Returns the maximum bytes allocated during interpolate() in the last second
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getMaxInterpolateAllocatedBytes() {
+        return maxInterpolateAllocatedBytes.getMax();
+    }
+
+    /**
+     * Returns the average bytes allocated during render({@link Graphics})
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getAverageRenderAllocatedBytes() {
+        return averageRenderAllocatedBytes.getAverage();
+    }
+
+    /**
+     * Returns the maximum bytes allocated during render() in the last second
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getMaxRenderAllocatedBytes() {
+        return maxRenderAllocatedBytes.getMax();
+    }
+
+    /**
+     * Returns the average bytes allocated on the game thread per frame (update/interpolate/render/flush)
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getAverageFrameAllocatedBytes() {
+        return averageFrameAllocatedBytes.getAverage();
+    }
+
+    /**
+     * Returns the maximum bytes allocated on the game thread per frame in the last second
+     *
+     * @return 0 if no {@link AllocationMonitor} is set
+     */
+    public double getMaxFrameAllocatedBytes() {
+        return maxFrameAllocatedBytes.getMax();
+    }
+
+    /**
+     * Returns the distribution of frame durations (update/interpolate/render/flush) since the game started
+     *
+     * @return The {@link DurationHistogram} in nanoseconds
+     */
+    public DurationHistogram getFrameDurationHistogram() {
+        return frameDurationHistogram;
+    }
+
+    /**
+     * Returns the distribution of update() durations since the game started
+     *
+     * @return The {@link DurationHistogram} in nanoseconds
+     */
+    public DurationHistogram getUpdateDurationHistogram() {
+        return updateDurationHistogram;
+    }
+
+    /**
+     * Returns the distribution of render() durations since the game started
+     *
+     * @return The {@link DurationHistogram} in nanoseconds
+     */
+    public DurationHistogram getRenderDurationHistogram() {
+        return renderDurationHistogram;
+    }
+
+    /**
+     * Returns the {@link HitchDetector} used to detect frames exceeding the hitch threshold.
+     * The threshold defaults to twice the target frame duration.
+     *
+     * @return The {@link HitchDetector} instance
+     */
+    public HitchDetector getHitchDetector() {
+        return hitchDetector;
+    }
+
     /**
      * Returns a {@link ZlibStream} to decompress data
      * @param compressedData The compressed data as a byte array
@@ -309,6 +309,32 @@ public abstract class PlayerData {
         }
     }
 
+    /**
+     * Opens a {@link PlayerDataJournal} in the player data location, recovering any
+     * data from a previous session. Suited to large saves that are written frequently
+     * but only change partially between saves.
+     * Note: Ensure that {@link PlayerDataJournal#close()} is called when finished writing.
+     *
+     * @param filepath
+     *            The path to the snapshot file. This will be resolved as a path
+     *            within the game data location. Journal files are stored alongside it.
+     * @return A {@link PlayerDataJournal} to read from and write to
+     * @throws PlayerDataException
+     *             Thrown if the game data location cannot be accessed or the
+     *             snapshot is corrupt
+     */
+    public PlayerDataJournal openJournal(String... filepath) throws PlayerDataException {
+        if (filepath.length == 0) {
+            throw new PlayerDataException("No file path specified");
+        }
+        try {
+            ensureDirectoryExistsForFile(filepath);
+            return new PlayerDataJournal(resolve(filepath), resolveTmp(filepath));
+        } catch (IOException e) {
+            throw new PlayerDataException(e);
+        }
+    }
+
     /**
      * Reads the contents of a file in the player data location into a {@link String}
      *
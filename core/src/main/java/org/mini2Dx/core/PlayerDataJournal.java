@@ -0,0 +1,525 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.mini2Dx.core.exception.PlayerDataException;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.LongArray;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only, crash-safe key/value save store within the player data location.
+ *
+ * Changes are buffered in memory and appended to a journal file as small checksummed records
+ * when {@link #flush()} is called, so a save only writes the keys that changed. Once the journal
+ * grows larger than the snapshot (or {@link #MIN_COMPACTION_SIZE}), it is compacted into a new
+ * snapshot on a background thread.
+ *
+ * On opening, the snapshot is loaded and any journals are replayed. Torn or corrupt records at
+ * the end of a journal (e.g. from a crash mid-write) are discarded and the recovered state is
+ * compacted immediately.
+ *
+ * New snapshots are synced to disk before the previous snapshot and journals are removed. Journal
+ * records are not synced, so a power loss or OS crash may drop the most recently flushed changes
+ * but never leaves the store unreadable. On platforms where files are not backed by a
+ * {@link FileOutputStream}, snapshots cannot be synced and only process crashes are covered.
+ *
+ * Instances are created via {@link PlayerData#openJournal(String...)}
+ */
+public class PlayerDataJournal implements Closeable {
+    private static final String LOGGING_TAG = PlayerDataJournal.class.getSimpleName();
+    private static final String JOURNAL_SUFFIX = ".journal.";
+    private static final int SNAPSHOT_MAGIC = 0x6D32444A;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_MIN_SIZE = 24;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+
+    /**
+     * Minimum journal size in bytes before it is compacted into the snapshot
+     */
+    public static int MIN_COMPACTION_SIZE = 64 * 1024;
+
+    private final FileHandle snapshotFile;
+    private final FileHandle tmpSnapshotFile;
+    private final Object compactionLock = new Object();
+
+    private final ObjectMap<String, byte[]> entries = new ObjectMap<String, byte[]>();
+    private final ObjectMap<String, byte[]> changes = new ObjectMap<String, byte[]>();
+
+    private final RecordBuffer journalBuffer = new RecordBuffer(1024);
+    private final DataOutputStream journalOutput = new DataOutputStream(journalBuffer);
+    private final RecordBuffer recordBuffer = new RecordBuffer(256);
+    private final DataOutputStream recordOutput = new DataOutputStream(recordBuffer);
+    private final CRC32 crc = new CRC32();
+
+    private long snapshotGeneration, generation;
+    private long snapshotSize, journalSize;
+    private boolean compactionScheduled, closed;
+
+    /**
+     * Constructor. Opens and recovers the journal.
+     * @param snapshotFile The snapshot file. Journal files are created alongside it.
+     * @param tmpSnapshotFile The temporary file to write snapshots to before moving them to the snapshot file
+     * @throws PlayerDataException Thrown if the snapshot is corrupt or the files cannot be accessed
+     */
+    public PlayerDataJournal(FileHandle snapshotFile, FileHandle tmpSnapshotFile) throws PlayerDataException {
+        this.snapshotFile = snapshotFile;
+        this.tmpSnapshotFile = tmpSnapshotFile;
+
+        final boolean replayed;
+        try {
+            replayed = recover();
+        } catch (IOException e) {
+            throw new PlayerDataException(e);
+        }
+        if (replayed) {
+            compact();
+        }
+    }
+
+    /**
+     * Stores a value. The change is written to the journal on the next {@link #flush()}.
+     * @param key The key
+     * @param value The value. A copy is stored.
+     */
+    public synchronized void put(String key, byte[] value) {
+        ensureOpen();
+        final byte[] copy = Arrays.copyOf(value, value.length);
+        entries.put(key, copy);
+        changes.put(key, copy);
+    }
+
+    /**
+     * Stores a {@link String} value as UTF-8. The change is written to the journal on the next {@link #flush()}.
+     * @param key The key
+     * @param value The value
+     */
+    public void putString(String key, String value) {
+        put(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Removes a value. The change is written to the journal on the next {@link #flush()}.
+     * @param key The key
+     * @return True if the key was present
+     */
+    public synchronized boolean remove(String key) {
+        ensureOpen();
+        if (!entries.containsKey(key)) {
+            return false;
+        }
+        entries.remove(key);
+        changes.put(key, null);
+        return true;
+    }
+
+    /**
+     * Returns a value
+     * @param key The key
+     * @return Null if the key is not present. The returned array must not be modified.
+     */
+    public synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Returns a value stored with {@link #putString(String, String)}
+     * @param key The key
+     * @return Null if the key is not present
+     */
+    public String getString(String key) {
+        final byte[] result = get(key);
+        return result == null ? null : new String(result, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns if a key is present
+     * @param key The key
+     * @return True if present
+     */
+    public synchronized boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns a copy of the stored keys
+     * @return A new {@link Array} of keys
+     */
+    public synchronized Array<String> keys() {
+        return entries.keys().toArray();
+    }
+
+    /**
+     * Returns the amount of stored keys
+     * @return 0 if empty
+     */
+    public synchronized int size() {
+        return entries.size;
+    }
+
+    /**
+     * Appends all changes since the last flush to the journal in a single write.
+     * Schedules a background compaction if the journal has grown too large.
+     * @throws PlayerDataException Thrown if the journal could not be written to
+     */
+    public void flush() throws PlayerDataException {
+        synchronized (this) {
+            ensureOpen();
+            writeChanges();
+            if (compactionScheduled || journalSize <= Math.max(MIN_COMPACTION_SIZE, snapshotSize)) {
+                return;
+            }
+            compactionScheduled = true;
+        }
+        if (Mdx.executor == null) {
+            compact();
+            return;
+        }
+        Mdx.executor.submitBlocking(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes all stored values to a new snapshot and deletes the journals it replaces.
+     * Changes can continue to be flushed while compaction is in progress.
+     * @throws PlayerDataException Thrown if the snapshot could not be written
+     */
+    public void compact() throws PlayerDataException {
+        synchronized (compactionLock) {
+            final ObjectMap<String, byte[]> snapshotEntries;
+            final long previousSnapshotGeneration, nextGeneration;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    writeChanges();
+                } catch (PlayerDataException e) {
+                    compactionScheduled = false;
+                    throw e;
+                }
+                snapshotEntries = new ObjectMap<String, byte[]>(entries);
+                previousSnapshotGeneration = snapshotGeneration;
+                nextGeneration = generation + 1;
+                generation = nextGeneration;
+                journalSize = 0L;
+            }
+
+            try {
+                final byte[] snapshot = serializeSnapshot(snapshotEntries, nextGeneration);
+                writeSynced(tmpSnapshotFile, snapshot);
+                if (snapshotFile.exists()) {
+                    snapshotFile.delete();
+                }
+                tmpSnapshotFile.moveTo(snapshotFile);
+
+                for (long i = previousSnapshotGeneration; i < nextGeneration; i++) {
+                    final FileHandle journalFile = getJournalFile(i);
+                    if (journalFile.exists()) {
+                        journalFile.delete();
+                    }
+                }
+                synchronized (this) {
+                    snapshotGeneration = nextGeneration;
+                    snapshotSize = snapshot.length;
+                }
+            } catch (IOException e) {
+                throw new PlayerDataException(e);
+            } finally {
+                synchronized (this) {
+                    compactionScheduled = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes any remaining changes and waits for in-progress compaction to complete
+     * @throws PlayerDataException Thrown if the journal could not be written to
+     */
+    @Override
+    public void close() throws PlayerDataException {
+        synchronized (compactionLock) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                writeChanges();
+                closed = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the current journal file
+     * @return The size in bytes
+     */
+    public synchronized long getJournalSize() {
+        return journalSize;
+    }
+
+    /**
+     * Returns the size of the last snapshot written or loaded
+     * @return The size in bytes, 0 if no snapshot exists
+     */
+    public synchronized long getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new PlayerDataException("Journal " + snapshotFile.name() + " is closed");
+        }
+    }
+
+    private void writeChanges() throws PlayerDataException {
+        if (changes.size == 0) {
+            return;
+        }
+        try {
+            journalBuffer.reset();
+            for (ObjectMap.Entry<String, byte[]> change : changes.entries()) {
+                writeRecord(change.key, change.value);
+            }
+            getJournalFile(generation).writeBytes(journalBuffer.buffer(), 0, journalBuffer.size(), true);
+            journalSize += journalBuffer.size();
+            changes.clear();
+        } catch (IOException e) {
+            //Continue in a new journal so later records are not appended after a torn write
+            generation++;
+            journalSize = 0L;
+            throw new PlayerDataException(e);
+        }
+    }
+
+    private void writeRecord(String key, byte[] value) throws IOException {
+        recordBuffer.reset();
+        if (value == null) {
+            recordOutput.writeByte(OP_REMOVE);
+            recordOutput.writeUTF(key);
+        } else {
+            recordOutput.writeByte(OP_PUT);
+            recordOutput.writeUTF(key);
+            recordOutput.writeInt(value.length);
+            recordOutput.write(value);
+        }
+        crc.reset();
+        crc.update(recordBuffer.buffer(), 0, recordBuffer.size());
+
+        journalOutput.writeInt(recordBuffer.size());
+        journalOutput.write(recordBuffer.buffer(), 0, recordBuffer.size());
+        journalOutput.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Writes a file and syncs it to disk so that it is durable before older files are removed
+     * @param file The file to write
+     * @param bytes The file contents
+     * @throws IOException Thrown if the file could not be written
+     */
+    private static void writeSynced(FileHandle file, byte[] bytes) throws IOException {
+        final OutputStream output = file.write(false);
+        try {
+            output.write(bytes);
+            output.flush();
+            if (output instanceof FileOutputStream) {
+                ((FileOutputStream) output).getFD().sync();
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    private boolean recover() throws IOException {
+        byte[] snapshot = readSnapshot(snapshotFile);
+        if (snapshot == null) {
+            //Crash between removing the previous snapshot and moving the new one into place
+            snapshot = readSnapshot(tmpSnapshotFile);
+            if (snapshot != null) {
+                if (snapshotFile.exists()) {
+                    snapshotFile.delete();
+                }
+                tmpSnapshotFile.moveTo(snapshotFile);
+            } else if (snapshotFile.exists()) {
+                throw new PlayerDataException("Snapshot " + snapshotFile.name() + " is corrupt");
+            }
+        }
+        if (tmpSnapshotFile.exists()) {
+            tmpSnapshotFile.delete();
+        }
+        if (snapshot != null) {
+            loadSnapshot(snapshot);
+            snapshotSize = snapshot.length;
+        }
+        generation = snapshotGeneration;
+
+        final LongArray journalGenerations = listJournalGenerations();
+        boolean replayed = false;
+        for (int i = 0; i < journalGenerations.size; i++) {
+            final long journalGeneration = journalGenerations.get(i);
+            final FileHandle journalFile = getJournalFile(journalGeneration);
+            if (journalGeneration < snapshotGeneration) {
+                journalFile.delete();
+                continue;
+            }
+            final byte[] journal = journalFile.readBytes();
+            if (journal.length > 0) {
+                replay(journalFile.name(), journal);
+                replayed = true;
+            }
+            generation = Math.max(generation, journalGeneration);
+            journalSize = journal.length;
+        }
+        return replayed;
+    }
+
+    private LongArray listJournalGenerations() throws IOException {
+        final String prefix = snapshotFile.name() + JOURNAL_SUFFIX;
+        final LongArray result = new LongArray();
+        final FileHandle directory = snapshotFile.parent();
+        if (!directory.exists()) {
+            return result;
+        }
+        for (FileHandle file : directory.list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(prefix);
+            }
+        })) {
+            try {
+                result.add(Long.parseLong(file.name().substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+        }
+        result.sort();
+        return result;
+    }
+
+    private void replay(String filename, byte[] journal) throws IOException {
+        int offset = 0;
+        while (journal.length - offset >= 8) {
+            final int length = readInt(journal, offset);
+            if (length < 0 || length > journal.length - offset - 8) {
+                break;
+            }
+            crc.reset();
+            crc.update(journal, offset + 4, length);
+            if ((int) crc.getValue() != readInt(journal, offset + 4 + length)) {
+                break;
+            }
+
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(journal, offset + 4, length));
+            final byte op = input.readByte();
+            final String key = input.readUTF();
+            if (op == OP_PUT) {
+                final byte[] value = new byte[input.readInt()];
+                input.readFully(value);
+                entries.put(key, value);
+            } else {
+                entries.remove(key);
+            }
+            offset += length + 8;
+        }
+        if (offset < journal.length) {
+            Mdx.log.error(LOGGING_TAG, "Discarded " + (journal.length - offset) + " bytes of incomplete records in " + filename);
+        }
+    }
+
+    private void loadSnapshot(byte[] snapshot) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(snapshot, 8, snapshot.length - 12));
+        snapshotGeneration = input.readLong();
+        final int total = input.readInt();
+        entries.ensureCapacity(total);
+        for (int i = 0; i < total; i++) {
+            final String key = input.readUTF();
+            final byte[] value = new byte[input.readInt()];
+            input.readFully(value);
+            entries.put(key, value);
+        }
+    }
+
+    private byte[] serializeSnapshot(ObjectMap<String, byte[]> snapshotEntries, long snapshotGeneration) throws IOException {
+        final RecordBuffer buffer = new RecordBuffer(Math.max(SNAPSHOT_MIN_SIZE, (int) snapshotSize));
+        final DataOutputStream output = new DataOutputStream(buffer);
+        output.writeInt(SNAPSHOT_MAGIC);
+        output.writeInt(SNAPSHOT_VERSION);
+        output.writeLong(snapshotGeneration);
+        output.writeInt(snapshotEntries.size);
+        for (ObjectMap.Entry<String, byte[]> entry : snapshotEntries.entries()) {
+            output.writeUTF(entry.key);
+            output.writeInt(entry.value.length);
+            output.write(entry.value);
+        }
+        final CRC32 snapshotCrc = new CRC32();
+        snapshotCrc.update(buffer.buffer(), 0, buffer.size());
+        output.writeInt((int) snapshotCrc.getValue());
+        return buffer.toByteArray();
+    }
+
+    private FileHandle getJournalFile(long journalGeneration) {
+        return snapshotFile.sibling(snapshotFile.name() + JOURNAL_SUFFIX + journalGeneration);
+    }
+
+    private static byte[] readSnapshot(FileHandle file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        final byte[] result = file.readBytes();
+        if (result.length < SNAPSHOT_MIN_SIZE) {
+            return null;
+        }
+        if (readInt(result, 0) != SNAPSHOT_MAGIC || readInt(result, 4) != SNAPSHOT_VERSION) {
+            return null;
+        }
+        final CRC32 snapshotCrc = new CRC32();
+        snapshotCrc.update(result, 0, result.length - 4);
+        if ((int) snapshotCrc.getValue() != readInt(result, result.length - 4)) {
+            return null;
+        }
+        return result;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+                ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        public RecordBuffer(int size) {
+            super(size);
+        }
+
+        public byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -16,8 +16,12 @@
 package org.mini2Dx.core;
 
 import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.executor.AsyncPromise;
 import org.mini2Dx.core.executor.AsyncResult;
+import org.mini2Dx.core.executor.FrameSpreadPriority;
 import org.mini2Dx.core.executor.FrameSpreadTask;
+import org.mini2Dx.core.executor.ParallelForBody;
+import org.mini2Dx.core.executor.ParallelReduceBody;
 import org.mini2Dx.gdx.utils.Disposable;
 
 import java.util.concurrent.Callable;
@@ -61,6 +65,131 @@ public interface TaskExecutor extends Disposable {
 	 */
 	public <T> AsyncResult<T> submit(Callable<T> callable);
 
+	/**
+	 * Queues a {@link Runnable} instance that blocks (e.g. file or network I/O) to be run on a separate thread.
+	 * Implementations may run blocking tasks separately so that they do not starve CPU-bound tasks.
+	 * @param runnable The task to run on a separate thread
+	 */
+	public default void executeBlocking(Runnable runnable) {
+		execute(runnable);
+	}
+
+	/**
+	 * Submits a {@link Runnable} instance that blocks (e.g. file or network I/O) to be executed on a separate thread.
+	 * Implementations may run blocking tasks separately so that they do not starve CPU-bound tasks.
+	 * @param runnable The task to run on a separate thread
+	 * @return A {@link AsyncFuture} instance that can be checked for task completion
+	 */
+	public default AsyncFuture submitBlocking(Runnable runnable) {
+		return submit(runnable);
+	}
+
+	/**
+	 * Submits a {@link Callable} instance that blocks (e.g. file or network I/O) to be executed on a separate thread.
+	 * Implementations may run blocking tasks separately so that they do not starve CPU-bound tasks.
+	 * @param callable The task to run on a separate thread
+	 * @param <T> The return type
+	 * @return A {@link AsyncResult} instance that can be checked for task completion
+	 */
+	public default <T> AsyncResult<T> submitBlocking(Callable<T> callable) {
+		return submit(callable);
+	}
+
+	/**
+	 * Submits a {@link Callable} instance to be executed on a separate thread
+	 * @param callable The task to run on a separate thread
+	 * @param <T> The return type
+	 * @return An {@link AsyncPromise} that completes with the result of the task.
+	 * If the promise is cancelled before the task starts, the task is not executed.
+	 */
+	public default <T> AsyncPromise<T> supplyAsync(final Callable<T> callable) {
+		final AsyncPromise<T> result = new AsyncPromise<T>();
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				if(result.isFinished()) {
+					return;
+				}
+				try {
+					result.complete(callable.call());
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Submits a {@link Runnable} instance to be executed on a separate thread
+	 * @param runnable The task to run on a separate thread
+	 * @return An {@link AsyncPromise} that completes when the task has executed.
+	 * If the promise is cancelled before the task starts, the task is not executed.
+	 */
+	public default AsyncPromise<Void> runAsync(final Runnable runnable) {
+		final AsyncPromise<Void> result = new AsyncPromise<Void>();
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				if(result.isFinished()) {
+					return;
+				}
+				try {
+					runnable.run();
+					result.complete(null);
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Executes a loop body for each index in a range, splitting the range across threads.
+	 * The calling thread participates and this method returns once all indices have been executed.
+	 * @param start The first index (inclusive)
+	 * @param end The last index (exclusive)
+	 * @param grainSize The minimum amount of indices executed per task. 0 or less to calculate automatically.
+	 * @param body The {@link ParallelForBody} to execute
+	 */
+	public default void parallelFor(int start, int end, int grainSize, ParallelForBody body) {
+		for(int i = start; i < end; i++) {
+			body.execute(i);
+		}
+	}
+
+	/**
+	 * Reduces a range of indices to a single value, splitting the range across threads.
+	 * The calling thread participates and this method returns once all ranges have been reduced.
+	 * @param start The first index (inclusive)
+	 * @param end The last index (exclusive)
+	 * @param grainSize The minimum amount of indices reduced per task. 0 or less to calculate automatically.
+	 * @param body The {@link ParallelReduceBody} to execute
+	 * @param <T> The result type
+	 * @return Null if the range is empty
+	 */
+	public default <T> T parallelReduce(int start, int end, int grainSize, ParallelReduceBody<T> body) {
+		if(end <= start) {
+			return null;
+		}
+		return body.reduce(start, end);
+	}
+
+	/**
+	 * Queues a {@link Runnable} to be run on the game thread during the next {@link #update(float)}
+	 * @param runnable The task to run on the game thread
+	 */
+	public default void executeOnGameThread(final Runnable runnable) {
+		submit(new FrameSpreadTask() {
+			@Override
+			public boolean updateTask() {
+				runnable.run();
+				return true;
+			}
+		}, FrameSpreadPriority.HIGH);
+	}
+
 	/**
 	 * Submits a {@link FrameSpreadTask} to be completed over several frames
 	 * @param task The {@link FrameSpreadTask} to execute
@@ -68,8 +197,32 @@ public interface TaskExecutor extends Disposable {
 	public void submit(FrameSpreadTask task);
 
 	/**
-	 * Sets the maximum number of {@link FrameSpreadTask} instances to update per frame
-	 * @param max The maximum number greater than 0
+	 * Submits a {@link FrameSpreadTask} to be completed over several frames
+	 * @param task The {@link FrameSpreadTask} to execute
+	 * @param priority The {@link FrameSpreadPriority} of the task
+	 */
+	public default void submit(FrameSpreadTask task, FrameSpreadPriority priority) {
+		submit(task);
+	}
+
+	/**
+	 * Sets the range of time to spend updating {@link FrameSpreadTask} instances each frame.
+	 * The time spent adapts to the measured frame headroom unless adaptive budgeting is disabled.
+	 * @param minBudgetNanos The minimum budget in nanoseconds
+	 * @param maxBudgetNanos The maximum budget in nanoseconds
+	 */
+	public default void setFrameSpreadTaskBudget(long minBudgetNanos, long maxBudgetNanos) {}
+
+	/**
+	 * Sets if the {@link FrameSpreadTask} budget adapts to the measured frame headroom
+	 * @param adaptiveBudget False to always use the maximum budget
+	 */
+	public default void setAdaptiveFrameSpreadTaskBudget(boolean adaptiveBudget) {}
+
+	/**
+	 * Sets the maximum number of {@link FrameSpreadTask} instances to update per frame.
+	 * By default only the time budget limits updates.
+	 * @param max The maximum number greater than 0, or 0 to remove the limit
 	 */
 	public void setMaxFrameTasksPerFrame(int max);
 
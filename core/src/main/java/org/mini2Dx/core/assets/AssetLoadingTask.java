@@ -17,6 +17,7 @@ package org.mini2Dx.core.assets;
 
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.profiler.TraceExporter;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.Disposable;
 
@@ -79,13 +80,16 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 
 		if(!asyncCompleted) {
 			if(asyncFuture == null) {
-				asyncFuture = Mdx.executor.submit((Runnable) this);
+				asyncFuture = Mdx.executor.submitBlocking((Runnable) this);
 			}
 			asyncCompleted = asyncFuture.isFinished();
 			return false;
 		}
 
-		if(assetLoader.loadOnGameThread(assetManager, assetDescriptor, asyncLoadingCache, assetLoaderResult)) {
+		final long loadStartNanos = System.nanoTime();
+		final boolean loaded = assetLoader.loadOnGameThread(assetManager, assetDescriptor, asyncLoadingCache, assetLoaderResult);
+		TraceExporter.complete(TraceExporter.CATEGORY_ASSET, assetDescriptor.getFilePath(), loadStartNanos, System.nanoTime());
+		if(loaded) {
 			assetManager.getAssets().put(assetDescriptor.getFilePath(), new ReferenceCountedObject(assetLoaderResult.getResult()));
 			assetManager.getAssetDescriptors().put(assetDescriptor.getFilePath(), assetDescriptor);
 			return true;
@@ -95,12 +99,14 @@ public class AssetLoadingTask<T> implements Runnable, Comparable<AssetLoadingTas
 
 	@Override
 	public void run() {
+		final long loadStartNanos = System.nanoTime();
 		try {
 			AsyncAssetLoader<T> asyncAssetLoader = (AsyncAssetLoader) assetLoader;
 			asyncAssetLoader.loadOnAsyncThread(assetDescriptor, asyncLoadingCache);
 		} catch (Exception e) {
 			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
 		}
+		TraceExporter.complete(TraceExporter.CATEGORY_ASSET, assetDescriptor.getFilePath(), loadStartNanos, System.nanoTime());
 	}
 
 	@Override
@@ -33,7 +33,7 @@ public abstract class AsyncSoundResult implements AsyncResult<Sound> {
 
     public AsyncSoundResult(FileHandle file) {
         handle = file;
-        result = Mdx.executor.submit(asyncReadFile(file));
+        result = Mdx.executor.submitBlocking(asyncReadFile(file));
     }
 
     /**
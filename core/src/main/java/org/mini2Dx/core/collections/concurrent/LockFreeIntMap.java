@@ -0,0 +1,547 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.mini2Dx.core.collections.concurrent.LockFreeMaps.*;
+
+/**
+ * A lock-free, open addressing int to object map. Unlike {@link ConcurrentIntMap}, reads never block and
+ * writes only contend on the slot they modify, making it suitable for many readers with few writers.
+ *
+ * When the map grows, threads that write to it help migrate entries to the larger table.
+ * Removed keys keep their slot until the next resize. Iteration is weakly consistent. Null values are not permitted.
+ */
+public class LockFreeIntMap<V> implements Iterable<LockFreeIntMap.Entry<V>> {
+    private final float loadFactor;
+    private final AtomicReference<Table> table;
+    private final AtomicReference<Object> zeroValue = new AtomicReference<Object>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a new map with an initial capacity of 51 and a load factor of 0.8.
+     */
+    public LockFreeIntMap() {
+        this(51, 0.8f);
+    }
+
+    /**
+     * Creates a new map with a load factor of 0.8.
+     *
+     * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+     */
+    public LockFreeIntMap(int initialCapacity) {
+        this(initialCapacity, 0.8f);
+    }
+
+    /**
+     * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+     * growing the backing table.
+     *
+     * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+     * @param loadFactor
+     */
+    public LockFreeIntMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = loadFactor;
+        table = new AtomicReference<Table>(new Table(tableSize(initialCapacity, loadFactor), loadFactor));
+    }
+
+    /**
+     * Returns the size in a thread-safe manner
+     * @return 0 if empty
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns true if the map has one or more items.
+     */
+    public boolean notEmpty() {
+        return size.get() > 0;
+    }
+
+    /**
+     * Returns true if the map is empty.
+     */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * Puts a key/value
+     * @param key The key to put
+     * @param value The value to put
+     * @return The previous value or null if the key was not present
+     */
+    public V put(int key, V value) {
+        return valueOf(update(key, checkValue(value), UpdateMode.ALWAYS, null));
+    }
+
+    /**
+     * Puts a key/value if the key is not already present
+     * @param key The key to put if absent
+     * @param value The value to put if absent
+     * @return True if the value was put
+     */
+    public boolean putIfAbsent(int key, V value) {
+        return !isPresent(update(key, checkValue(value), UpdateMode.IF_ABSENT, null));
+    }
+
+    /**
+     * Puts a key/value if the key is already present
+     * @param key The key to put if present
+     * @param value The value to put if present
+     * @return True if the value was put
+     */
+    public boolean putIfPresent(int key, V value) {
+        return isPresent(update(key, checkValue(value), UpdateMode.IF_PRESENT, null));
+    }
+
+    /**
+     * Replaces the value of a key only if it is currently mapped to the expected value (compared by identity)
+     * @param key The key to replace the value of
+     * @param expectedValue The expected current value
+     * @param value The new value
+     * @return True if the value was replaced
+     */
+    public boolean replace(int key, V expectedValue, V value) {
+        final Object previous = update(key, checkValue(value), UpdateMode.IF_EXPECTED, expectedValue);
+        return isPresent(previous) && valueOf(previous) == expectedValue;
+    }
+
+    /**
+     * @param key
+     * @return null if the key was not associated with a value.
+     */
+    public V get(int key) {
+        return valueOf(getSlot(key));
+    }
+
+    /**
+     * @param key
+     * @param defaultValue Returned if the key was not associated with a value.
+     */
+    public V get(int key, V defaultValue) {
+        final Object slot = getSlot(key);
+        return isPresent(slot) ? LockFreeMaps.<V>valueOf(slot) : defaultValue;
+    }
+
+    /**
+     * Removes a key
+     * @param key The key to remove
+     * @return The removed value or null if the key was not present
+     */
+    public V remove(int key) {
+        return valueOf(update(key, REMOVED, UpdateMode.IF_PRESENT, null));
+    }
+
+    public boolean containsKey(int key) {
+        return isPresent(getSlot(key));
+    }
+
+    /**
+     * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+     * be an expensive operation.
+     *
+     * @param value
+     * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+     *                 {@link #equals(Object)}.
+     */
+    public boolean containsValue(Object value, boolean identity) {
+        for (Entry<V> entry : new Entries<V>(this)) {
+            if (entry.value == value || (!identity && entry.value.equals(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the key for the specified value, or notFound if it is not in the map. Note this traverses the entire map and compares
+     * every value, which may be an expensive operation.
+     *
+     * @param value
+     * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+     *                 {@link #equals(Object)}.
+     * @param notFound
+     */
+    public int findKey(Object value, boolean identity, int notFound) {
+        for (Entry<V> entry : new Entries<V>(this)) {
+            if (entry.value == value || (!identity && entry.value.equals(value))) {
+                return entry.key;
+            }
+        }
+        return notFound;
+    }
+
+    /**
+     * Removes all entries. Entries put concurrently with this call may or may not be removed.
+     */
+    public void clear() {
+        update(0, REMOVED, UpdateMode.IF_PRESENT, null);
+        final Table t = finishMigrations();
+        for (int i = 0; i < t.capacity; i++) {
+            final int key = t.keys.get(i);
+            if (key != 0) {
+                update(key, REMOVED, UpdateMode.IF_PRESENT, null);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator for the entries in the map. The {@link Entry} instance is reused for each entry.
+     * Entries put or removed during iteration may or may not be returned.
+     */
+    public Entries<V> entries() {
+        return new Entries<V>(this);
+    }
+
+    @Override
+    public Iterator<Entry<V>> iterator() {
+        return entries();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder(32);
+        result.append('[');
+        for (Entry<V> entry : new Entries<V>(this)) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(entry.key);
+            result.append('=');
+            result.append(entry.value);
+        }
+        result.append(']');
+        return result.toString();
+    }
+
+    private static Object checkValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null.");
+        }
+        return value;
+    }
+
+    private Object getSlot(int key) {
+        if (key == 0) {
+            return zeroValue.get();
+        }
+        Table t = table.get();
+        while (true) {
+            final int index = t.find(key);
+            if (index == NOT_FOUND) {
+                final Table next = t.next.get();
+                if (next == null) {
+                    return null;
+                }
+                t = next;
+                continue;
+            }
+            final Object slot = t.values.get(index);
+            if (slot == MOVED) {
+                t = t.next.get();
+                continue;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Applies an update to a key
+     * @return The previous slot value
+     */
+    private Object update(int key, Object newSlot, UpdateMode mode, Object expected) {
+        if (key == 0) {
+            while (true) {
+                final Object previous = zeroValue.get();
+                if (!mode.shouldUpdate(previous, expected)) {
+                    return previous;
+                }
+                if (zeroValue.compareAndSet(previous, newSlot)) {
+                    updateSize(previous, newSlot);
+                    return previous;
+                }
+            }
+        }
+
+        final boolean insert = mode.isInsert();
+        Table t = table.get();
+        while (true) {
+            final int index = t.claim(key, insert);
+            if (index == NOT_FOUND) {
+                final Table next = t.next.get();
+                if (next == null) {
+                    return null;
+                }
+                t = next;
+                continue;
+            }
+            if (index == RESIZE) {
+                t = resize(t);
+                continue;
+            }
+
+            final Table next = t.next.get();
+            if (next != null) {
+                //Table is being migrated, write to the new table once every entry has been copied
+                t = LockFreeTable.awaitMigration(table, t);
+                continue;
+            }
+
+            final Object previous = t.values.get(index);
+            if (previous == MOVED || previous instanceof Frozen) {
+                //Resize began after next was read
+                continue;
+            }
+            if (!mode.shouldUpdate(previous, expected)) {
+                return previous;
+            }
+            if (t.values.compareAndSet(index, previous, newSlot)) {
+                updateSize(previous, newSlot);
+                return previous;
+            }
+        }
+    }
+
+    private void updateSize(Object previous, Object newSlot) {
+        final boolean wasPresent = isPresent(previous);
+        final boolean isPresent = isPresent(newSlot);
+        if (wasPresent == isPresent) {
+            return;
+        }
+        if (isPresent) {
+            size.incrementAndGet();
+        } else {
+            size.decrementAndGet();
+        }
+    }
+
+    private Table resize(Table t) {
+        return LockFreeTable.resize(table, t, size.get());
+    }
+
+    private Table finishMigrations() {
+        return LockFreeTable.finishMigrations(table);
+    }
+
+    private static final class Table extends LockFreeTable<Table> {
+        final AtomicIntegerArray keys;
+        final AtomicReferenceArray<Object> values;
+
+        Table(int capacity, float loadFactor) {
+            super(capacity, loadFactor);
+            keys = new AtomicIntegerArray(capacity);
+            values = new AtomicReferenceArray<Object>(capacity);
+        }
+
+        @Override
+        Table newTable(int capacity) {
+            return new Table(capacity, loadFactor);
+        }
+
+        @Override
+        void copySlot(int index) {
+            final Table next = this.next.get();
+            while (true) {
+                final Object slot = values.get(index);
+                if (slot == MOVED) {
+                    return;
+                }
+                if (slot instanceof Frozen) {
+                    next.copy(keys.get(index), ((Frozen) slot).value);
+                } else if (isPresent(slot)) {
+                    //Freeze the value so that writers cannot change it while it is copied
+                    values.compareAndSet(index, slot, new Frozen(slot));
+                    continue;
+                }
+                if (values.compareAndSet(index, slot, MOVED)) {
+                    return;
+                }
+            }
+        }
+
+        int find(int key) {
+            int index = place(key, mask);
+            for (int i = 0; i < capacity; i++) {
+                final int existingKey = keys.get(index);
+                if (existingKey == key) {
+                    return index;
+                }
+                if (existingKey == 0) {
+                    return NOT_FOUND;
+                }
+                index = (index + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        /**
+         * Finds the slot for a key, claiming an empty slot if the key is not present
+         * @return The slot index, {@link LockFreeMaps#NOT_FOUND} if insert is false and the key is not present or {@link LockFreeMaps#RESIZE} if the table is full
+         */
+        int claim(int key, boolean insert) {
+            int index = place(key, mask);
+            for (int i = 0; i < capacity; i++) {
+                int existingKey = keys.get(index);
+                if (existingKey == 0) {
+                    if (!insert) {
+                        return NOT_FOUND;
+                    }
+                    if (isFull()) {
+                        return RESIZE;
+                    }
+                    if (keys.compareAndSet(index, 0, key)) {
+                        usedSlots.incrementAndGet();
+                        return index;
+                    }
+                    existingKey = keys.get(index);
+                }
+                if (existingKey == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return insert ? RESIZE : NOT_FOUND;
+        }
+
+        /**
+         * Copies a frozen entry from the previous table. Ignores the threshold since the entry is already counted.
+         */
+        void copy(int key, Object value) {
+            int index = place(key, mask);
+            for (int i = 0; i < capacity; i++) {
+                int existingKey = keys.get(index);
+                if (existingKey == 0) {
+                    if (keys.compareAndSet(index, 0, key)) {
+                        usedSlots.incrementAndGet();
+                        existingKey = key;
+                    } else {
+                        existingKey = keys.get(index);
+                    }
+                }
+                if (existingKey == key) {
+                    //Only set if no other thread has copied or written the entry
+                    values.compareAndSet(index, null, value);
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            throw new IllegalStateException("No free slot available during migration");
+        }
+    }
+
+    public static class Entry<V> {
+        public int key;
+        public V value;
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Weakly consistent iterator over the entries of a {@link LockFreeIntMap}
+     */
+    public static class Entries<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
+        private final LockFreeIntMap<V> map;
+        private final Entry<V> entry = new Entry<V>();
+        private Table table;
+        private int nextIndex;
+        private boolean hasNext;
+        private int nextKey;
+        private V nextValue;
+
+        public Entries(LockFreeIntMap<V> map) {
+            this.map = map;
+            reset();
+        }
+
+        public void reset() {
+            table = map.finishMigrations();
+            nextIndex = -1;
+            findNext();
+        }
+
+        private void findNext() {
+            hasNext = false;
+            nextValue = null;
+            if (nextIndex < 0) {
+                nextIndex = 0;
+                final Object slot = map.zeroValue.get();
+                if (isPresent(slot)) {
+                    hasNext = true;
+                    nextKey = 0;
+                    nextValue = valueOf(slot);
+                    return;
+                }
+            }
+            while (nextIndex < table.capacity) {
+                final int index = nextIndex++;
+                final int key = table.keys.get(index);
+                if (key == 0) {
+                    continue;
+                }
+                Object slot = table.values.get(index);
+                if (slot == MOVED) {
+                    //A resize started during iteration
+                    slot = map.getSlot(key);
+                }
+                if (isPresent(slot)) {
+                    hasNext = true;
+                    nextKey = key;
+                    nextValue = valueOf(slot);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Entry<V> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            entry.key = nextKey;
+            entry.value = nextValue;
+            findNext();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Entry<V>> iterator() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+/**
+ * Shared constants and utilities for the lock-free map implementations
+ */
+final class LockFreeMaps {
+    /**
+     * Primitive values are stored as a long with the slot state in the upper 32 bits
+     */
+    static final long STATE_EMPTY = 0L;
+    static final long STATE_PRESENT = 1L << 32;
+    static final long STATE_REMOVED = 2L << 32;
+    static final long STATE_FROZEN = 3L << 32;
+    static final long STATE_MOVED = 4L << 32;
+    static final long STATE_MASK = 0xFFFFFFFF00000000L;
+    static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Object values use sentinels for slot states. null is an empty slot.
+     */
+    static final Object REMOVED = new Object();
+    static final Object MOVED = new Object();
+
+    static final int NOT_FOUND = -1;
+    static final int RESIZE = -2;
+    static final int MIGRATION_CHUNK_SIZE = 64;
+
+    private LockFreeMaps() {}
+
+    static boolean isPresent(long slot) {
+        final long state = slot & STATE_MASK;
+        return state == STATE_PRESENT || state == STATE_FROZEN;
+    }
+
+    static boolean isPresent(Object slot) {
+        return slot != null && slot != REMOVED && slot != MOVED;
+    }
+
+    /**
+     * Returns the value of an object slot
+     * @return null if no value is present
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T valueOf(Object slot) {
+        if (slot instanceof Frozen) {
+            return (T) ((Frozen) slot).value;
+        }
+        return isPresent(slot) ? (T) slot : null;
+    }
+
+    static int tableSize(int capacity, float loadFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + capacity);
+        }
+        if (loadFactor <= 0f || loadFactor >= 1f) {
+            throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+        }
+        final int tableSize = nextPowerOfTwo(Math.max(2, (int) Math.ceil(capacity / loadFactor)));
+        if (tableSize > 1 << 30) {
+            throw new IllegalArgumentException("The required capacity is too large: " + capacity);
+        }
+        return tableSize;
+    }
+
+    static int threshold(int tableSize, float loadFactor) {
+        return Math.min(tableSize - 1, (int) (tableSize * loadFactor));
+    }
+
+    /**
+     * Only grow if the table is mostly live entries, otherwise the resize just discards removed keys
+     */
+    static int resizedTableSize(int tableSize, int size) {
+        return size >= tableSize >> 3 ? tableSize << 1 : tableSize;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    static int place(int hash, int mask) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    static int place(long key, int mask) {
+        return place((int) (key ^ (key >>> 32)), mask);
+    }
+
+    /**
+     * Wraps an object value that is being copied to a new table
+     */
+    static final class Frozen {
+        final Object value;
+
+        Frozen(Object value) {
+            this.value = value;
+        }
+    }
+
+    enum UpdateMode {
+        ALWAYS,
+        IF_ABSENT,
+        IF_PRESENT,
+        IF_EXPECTED;
+
+        boolean isInsert() {
+            return this == ALWAYS || this == IF_ABSENT;
+        }
+
+        boolean shouldUpdate(long previous, long expected) {
+            switch (this) {
+            case IF_ABSENT:
+                return !isPresent(previous);
+            case IF_PRESENT:
+                return isPresent(previous);
+            case IF_EXPECTED:
+                return isPresent(previous) && (previous & VALUE_MASK) == (expected & VALUE_MASK);
+            default:
+                return true;
+            }
+        }
+
+        boolean shouldUpdate(Object previous, Object expected) {
+            switch (this) {
+            case IF_ABSENT:
+                return !isPresent(previous);
+            case IF_PRESENT:
+                return isPresent(previous);
+            case IF_EXPECTED:
+                return isPresent(previous) && LockFreeMaps.valueOf(previous) == expected;
+            default:
+                return true;
+            }
+        }
+    }
+}
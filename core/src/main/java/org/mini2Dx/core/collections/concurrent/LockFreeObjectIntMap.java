@@ -0,0 +1,544 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.mini2Dx.core.collections.concurrent.LockFreeMaps.*;
+
+/**
+ * A lock-free, open addressing object to int map. Unlike {@link ConcurrentObjectIntMap}, reads never block and
+ * writes only contend on the slot they modify, making it suitable for many readers with few writers.
+ *
+ * When the map grows, threads that write to it help migrate entries to the larger table.
+ * Removed keys keep their slot until the next resize. Iteration is weakly consistent.
+ */
+public class LockFreeObjectIntMap<K> implements Iterable<LockFreeObjectIntMap.Entry<K>> {
+    private final float loadFactor;
+    private final AtomicReference<Table> table;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a new map with an initial capacity of 51 and a load factor of 0.8.
+     */
+    public LockFreeObjectIntMap() {
+        this(51, 0.8f);
+    }
+
+    /**
+     * Creates a new map with a load factor of 0.8.
+     *
+     * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+     */
+    public LockFreeObjectIntMap(int initialCapacity) {
+        this(initialCapacity, 0.8f);
+    }
+
+    /**
+     * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+     * growing the backing table.
+     *
+     * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+     * @param loadFactor
+     */
+    public LockFreeObjectIntMap(int initialCapacity, float loadFactor) {
+        this.loadFactor = loadFactor;
+        table = new AtomicReference<Table>(new Table(tableSize(initialCapacity, loadFactor), loadFactor));
+    }
+
+    /**
+     * Returns the size in a thread-safe manner
+     * @return 0 if empty
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns true if the map has one or more items.
+     */
+    public boolean notEmpty() {
+        return size.get() > 0;
+    }
+
+    /**
+     * Returns true if the map is empty.
+     */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    public void put(K key, int value) {
+        update(key, STATE_PRESENT | (value & VALUE_MASK), UpdateMode.ALWAYS);
+    }
+
+    /**
+     * Puts a key/value and returns the previous value
+     * @param key The key to put
+     * @param value The value to put
+     * @param defaultValue Returned if the key was not associated with a value
+     * @return The previous value
+     */
+    public int put(K key, int value, int defaultValue) {
+        return valueOf(update(key, STATE_PRESENT | (value & VALUE_MASK), UpdateMode.ALWAYS), defaultValue);
+    }
+
+    /**
+     * Puts a key/value if the key is not already present
+     * @param key The key to put if absent
+     * @param value The value to put if absent
+     * @return True if the value was put
+     */
+    public boolean putIfAbsent(K key, int value) {
+        return !isPresent(update(key, STATE_PRESENT | (value & VALUE_MASK), UpdateMode.IF_ABSENT));
+    }
+
+    /**
+     * Puts a key/value if the key is already present
+     * @param key The key to put if present
+     * @param value The value to put if present
+     * @return True if the value was put
+     */
+    public boolean putIfPresent(K key, int value) {
+        return isPresent(update(key, STATE_PRESENT | (value & VALUE_MASK), UpdateMode.IF_PRESENT));
+    }
+
+    /**
+     * @param key
+     * @param defaultValue Returned if the key was not associated with a value.
+     */
+    public int get(K key, int defaultValue) {
+        return valueOf(getSlot(key), defaultValue);
+    }
+
+    /**
+     * Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+     * put into the map.
+     *
+     * @param key
+     * @param defaultValue
+     * @param increment
+     */
+    public int getAndIncrement(K key, int defaultValue, int increment) {
+        while (true) {
+            final long previous = update(key, STATE_PRESENT | ((defaultValue + increment) & VALUE_MASK), UpdateMode.IF_ABSENT);
+            if (!isPresent(previous)) {
+                return defaultValue;
+            }
+            final int previousValue = (int) previous;
+            if (replace(key, previousValue, previousValue + increment)) {
+                return previousValue;
+            }
+        }
+    }
+
+    /**
+     * Replaces the value of a key only if it is currently mapped to the expected value
+     * @param key The key to replace the value of
+     * @param expectedValue The expected current value
+     * @param value The new value
+     * @return True if the value was replaced
+     */
+    public boolean replace(K key, int expectedValue, int value) {
+        final long expected = STATE_PRESENT | (expectedValue & VALUE_MASK);
+        final long previous = update(key, STATE_PRESENT | (value & VALUE_MASK), expected);
+        return isPresent(previous) && (int) previous == expectedValue;
+    }
+
+    public int remove(K key, int defaultValue) {
+        return valueOf(update(key, STATE_REMOVED, UpdateMode.IF_PRESENT), defaultValue);
+    }
+
+    public boolean containsKey(K key) {
+        return isPresent(getSlot(key));
+    }
+
+    /**
+     * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+     * be an expensive operation.
+     *
+     * @param value
+     */
+    public boolean containsValue(int value) {
+        for (Entry<K> entry : new Entries<K>(this)) {
+            if (entry.value == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+     * every value, which may be an expensive operation.
+     *
+     * @param value
+     */
+    public K findKey(int value) {
+        for (Entry<K> entry : new Entries<K>(this)) {
+            if (entry.value == value) {
+                return entry.key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes all entries. Entries put concurrently with this call may or may not be removed.
+     */
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        final Table t = finishMigrations();
+        for (int i = 0; i < t.capacity; i++) {
+            final K key = (K) t.keys.get(i);
+            if (key != null) {
+                update(key, STATE_REMOVED, UpdateMode.IF_PRESENT);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator for the entries in the map. The {@link Entry} instance is reused for each entry.
+     * Entries put or removed during iteration may or may not be returned.
+     */
+    public Entries<K> entries() {
+        return new Entries<K>(this);
+    }
+
+    @Override
+    public Iterator<Entry<K>> iterator() {
+        return entries();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder(32);
+        result.append('[');
+        for (Entry<K> entry : new Entries<K>(this)) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(entry.key);
+            result.append('=');
+            result.append(entry.value);
+        }
+        result.append(']');
+        return result.toString();
+    }
+
+    private long getSlot(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null.");
+        }
+        Table t = table.get();
+        while (true) {
+            final int index = t.find(key);
+            if (index == NOT_FOUND) {
+                final Table next = t.next.get();
+                if (next == null) {
+                    return STATE_EMPTY;
+                }
+                t = next;
+                continue;
+            }
+            final long slot = t.values.get(index);
+            if ((slot & STATE_MASK) == STATE_MOVED) {
+                t = t.next.get();
+                continue;
+            }
+            return slot;
+        }
+    }
+
+    private long update(K key, long newSlot, UpdateMode mode) {
+        return update(key, newSlot, mode, 0L);
+    }
+
+    private long update(K key, long newSlot, long expected) {
+        return update(key, newSlot, UpdateMode.IF_EXPECTED, expected);
+    }
+
+    /**
+     * Applies an update to a key
+     * @return The previous slot value
+     */
+    private long update(K key, long newSlot, UpdateMode mode, long expected) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null.");
+        }
+
+        final boolean insert = mode.isInsert();
+        Table t = table.get();
+        while (true) {
+            final int index = t.claim(key, insert);
+            if (index == NOT_FOUND) {
+                final Table next = t.next.get();
+                if (next == null) {
+                    return STATE_EMPTY;
+                }
+                t = next;
+                continue;
+            }
+            if (index == RESIZE) {
+                t = resize(t);
+                continue;
+            }
+
+            final Table next = t.next.get();
+            if (next != null) {
+                //Table is being migrated, write to the new table once every entry has been copied
+                t = LockFreeTable.awaitMigration(table, t);
+                continue;
+            }
+
+            final long previous = t.values.get(index);
+            final long state = previous & STATE_MASK;
+            if (state == STATE_MOVED || state == STATE_FROZEN) {
+                //Resize began after next was read
+                continue;
+            }
+            if (!mode.shouldUpdate(previous, expected)) {
+                return previous;
+            }
+            if (t.values.compareAndSet(index, previous, newSlot)) {
+                updateSize(previous, newSlot);
+                return previous;
+            }
+        }
+    }
+
+    private void updateSize(long previous, long newSlot) {
+        final boolean wasPresent = isPresent(previous);
+        final boolean isPresent = isPresent(newSlot);
+        if (wasPresent == isPresent) {
+            return;
+        }
+        if (isPresent) {
+            size.incrementAndGet();
+        } else {
+            size.decrementAndGet();
+        }
+    }
+
+    private Table resize(Table t) {
+        return LockFreeTable.resize(table, t, size.get());
+    }
+
+    private Table finishMigrations() {
+        return LockFreeTable.finishMigrations(table);
+    }
+
+    private static int valueOf(long slot, int defaultValue) {
+        return isPresent(slot) ? (int) slot : defaultValue;
+    }
+
+    private static final class Table extends LockFreeTable<Table> {
+        final AtomicReferenceArray<Object> keys;
+        final AtomicLongArray values;
+
+        Table(int capacity, float loadFactor) {
+            super(capacity, loadFactor);
+            keys = new AtomicReferenceArray<Object>(capacity);
+            values = new AtomicLongArray(capacity);
+        }
+
+        @Override
+        Table newTable(int capacity) {
+            return new Table(capacity, loadFactor);
+        }
+
+        @Override
+        void copySlot(int index) {
+            final Table next = this.next.get();
+            while (true) {
+                final long slot = values.get(index);
+                final long state = slot & STATE_MASK;
+                if (state == STATE_MOVED) {
+                    return;
+                }
+                if (state == STATE_PRESENT) {
+                    //Freeze the value so that writers cannot change it while it is copied
+                    values.compareAndSet(index, slot, STATE_FROZEN | (slot & VALUE_MASK));
+                    continue;
+                }
+                if (state == STATE_FROZEN) {
+                    next.copy(keys.get(index), STATE_PRESENT | (slot & VALUE_MASK));
+                }
+                if (values.compareAndSet(index, slot, STATE_MOVED)) {
+                    return;
+                }
+            }
+        }
+
+        int find(Object key) {
+            int index = place(key.hashCode(), mask);
+            for (int i = 0; i < capacity; i++) {
+                final Object existingKey = keys.get(index);
+                if (existingKey == null) {
+                    return NOT_FOUND;
+                }
+                if (existingKey == key || existingKey.equals(key)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return NOT_FOUND;
+        }
+
+        /**
+         * Finds the slot for a key, claiming an empty slot if the key is not present
+         * @return The slot index, {@link LockFreeMaps#NOT_FOUND} if insert is false and the key is not present or {@link LockFreeMaps#RESIZE} if the table is full
+         */
+        int claim(Object key, boolean insert) {
+            int index = place(key.hashCode(), mask);
+            for (int i = 0; i < capacity; i++) {
+                Object existingKey = keys.get(index);
+                if (existingKey == null) {
+                    if (!insert) {
+                        return NOT_FOUND;
+                    }
+                    if (isFull()) {
+                        return RESIZE;
+                    }
+                    if (keys.compareAndSet(index, null, key)) {
+                        usedSlots.incrementAndGet();
+                        return index;
+                    }
+                    existingKey = keys.get(index);
+                }
+                if (existingKey == key || existingKey.equals(key)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return insert ? RESIZE : NOT_FOUND;
+        }
+
+        /**
+         * Copies a frozen entry from the previous table. Ignores the threshold since the entry is already counted.
+         */
+        void copy(Object key, long slot) {
+            int index = place(key.hashCode(), mask);
+            for (int i = 0; i < capacity; i++) {
+                Object existingKey = keys.get(index);
+                if (existingKey == null) {
+                    if (keys.compareAndSet(index, null, key)) {
+                        usedSlots.incrementAndGet();
+                        existingKey = key;
+                    } else {
+                        existingKey = keys.get(index);
+                    }
+                }
+                if (existingKey == key || existingKey.equals(key)) {
+                    //Only set if no other thread has copied or written the entry
+                    values.compareAndSet(index, STATE_EMPTY, slot);
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            throw new IllegalStateException("No free slot available during migration");
+        }
+    }
+
+    public static class Entry<K> {
+        public K key;
+        public int value;
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Weakly consistent iterator over the entries of a {@link LockFreeObjectIntMap}
+     */
+    public static class Entries<K> implements Iterable<Entry<K>>, Iterator<Entry<K>> {
+        private final LockFreeObjectIntMap<K> map;
+        private final Entry<K> entry = new Entry<K>();
+        private Table table;
+        private int nextIndex;
+        private boolean hasNext;
+        private K nextKey;
+        private int nextValue;
+
+        public Entries(LockFreeObjectIntMap<K> map) {
+            this.map = map;
+            reset();
+        }
+
+        public void reset() {
+            table = map.finishMigrations();
+            nextIndex = 0;
+            findNext();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void findNext() {
+            hasNext = false;
+            while (nextIndex < table.capacity) {
+                final int index = nextIndex++;
+                final K key = (K) table.keys.get(index);
+                if (key == null) {
+                    continue;
+                }
+                long slot = table.values.get(index);
+                if ((slot & STATE_MASK) == STATE_MOVED) {
+                    //A resize started during iteration
+                    slot = map.getSlot(key);
+                }
+                if (isPresent(slot)) {
+                    hasNext = true;
+                    nextKey = key;
+                    nextValue = (int) slot;
+                    return;
+                }
+            }
+            nextKey = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Entry<K> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            entry.key = nextKey;
+            entry.value = nextValue;
+            findNext();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Entry<K>> iterator() {
+            return this;
+        }
+    }
+}
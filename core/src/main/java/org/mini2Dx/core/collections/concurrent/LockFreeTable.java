@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mini2Dx.core.collections.concurrent.LockFreeMaps.*;
+
+/**
+ * Base class for the open addressing tables of the lock-free maps. Handles sizing and migration to a larger table,
+ * subclasses store the keys and values.
+ *
+ * Writers never insert into a table until the migration to it has completed so that every entry being copied
+ * is guaranteed a free slot.
+ *
+ * @param <T> The table type
+ */
+abstract class LockFreeTable<T extends LockFreeTable<T>> {
+    final int capacity;
+    final int mask;
+    final int threshold;
+    final float loadFactor;
+    final AtomicInteger usedSlots = new AtomicInteger();
+    final AtomicReference<T> next = new AtomicReference<T>();
+    final AtomicInteger migrationIndex = new AtomicInteger();
+    final AtomicInteger migratedSlots = new AtomicInteger();
+
+    LockFreeTable(int capacity, float loadFactor) {
+        this.capacity = capacity;
+        this.loadFactor = loadFactor;
+        mask = capacity - 1;
+        threshold = threshold(capacity, loadFactor);
+    }
+
+    /**
+     * Creates an empty table of the same type
+     * @param capacity The capacity of the table
+     */
+    abstract T newTable(int capacity);
+
+    /**
+     * Copies a slot to the next table and marks it as moved
+     * @param index The slot index
+     */
+    abstract void copySlot(int index);
+
+    /**
+     * Returns if a new key cannot be inserted
+     * @return True if the table is at its threshold or is being migrated
+     */
+    boolean isFull() {
+        return next.get() != null || usedSlots.get() >= threshold;
+    }
+
+    /**
+     * Starts (or joins) migrating a table to a larger table
+     * @param table The reference to the current table
+     * @param t The table that is full
+     * @param size The amount of entries in the map
+     * @return The table to write to once the migration has completed
+     */
+    static <T extends LockFreeTable<T>> T resize(AtomicReference<T> table, T t, int size) {
+        if (table.get() != t) {
+            //Only the current table may be resized, finish migrating older tables first
+            return finishMigrations(table);
+        }
+        if (t.next.get() == null) {
+            t.next.compareAndSet(null, t.newTable(resizedTableSize(t.capacity, size)));
+        }
+        return awaitMigration(table, t);
+    }
+
+    /**
+     * Helps migrate a table and waits for the migration to complete
+     * @param table The reference to the current table
+     * @param t The table being migrated
+     * @return The current table once all migrations are complete
+     */
+    static <T extends LockFreeTable<T>> T awaitMigration(AtomicReference<T> table, T t) {
+        while (t.migrationIndex.get() < t.capacity) {
+            helpMigrate(table, t);
+        }
+        //Chunks claimed by other threads may still be copying, copySlot skips slots that have already moved
+        return finishMigrations(table);
+    }
+
+    private static <T extends LockFreeTable<T>> void helpMigrate(AtomicReference<T> table, T t) {
+        final int start = t.migrationIndex.getAndAdd(MIGRATION_CHUNK_SIZE);
+        if (start >= t.capacity) {
+            return;
+        }
+        final int end = Math.min(t.capacity, start + MIGRATION_CHUNK_SIZE);
+        for (int i = start; i < end; i++) {
+            t.copySlot(i);
+        }
+        if (t.migratedSlots.addAndGet(end - start) == t.capacity) {
+            table.compareAndSet(t, t.next.get());
+        }
+    }
+
+    /**
+     * Migrates every slot of outstanding tables
+     * @param table The reference to the current table
+     * @return The current table once all migrations are complete
+     */
+    static <T extends LockFreeTable<T>> T finishMigrations(AtomicReference<T> table) {
+        while (true) {
+            final T t = table.get();
+            final T next = t.next.get();
+            if (next == null) {
+                return t;
+            }
+            for (int i = 0; i < t.capacity; i++) {
+                t.copySlot(i);
+            }
+            table.compareAndSet(t, next);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.mini2Dx.gdx.utils.IntArray;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free multi-producer/single-consumer queue. Does not allocate after construction.
+ *
+ * Any thread may call {@link #offer(int)} but only one thread may call {@link #poll(int)}, {@link #peek(int)} and
+ * {@link #drainTo(IntArray)}, e.g. worker threads sending messages to the game thread.
+ */
+public class MpscIntRingBuffer extends RingBufferIndices {
+    /**
+     * Each slot's sequence is the producer index that may write it next or that index + 1 once written
+     */
+    private final AtomicLongArray sequences;
+    private final int[] buffer;
+
+    /**
+     * Constructor
+     * @param capacity The maximum number of items. If not a power of two, it is increased to the next nearest power of two.
+     */
+    public MpscIntRingBuffer(int capacity) {
+        super(capacity, 2);
+        sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        buffer = new int[this.capacity];
+    }
+
+    /**
+     * Adds an item to the buffer. May be called from any thread.
+     * @param value The item to add
+     * @return False if the buffer is full
+     */
+    public boolean offer(int value) {
+        while (true) {
+            final long index = producerIndex;
+            final int offset = (int) index & mask;
+            final long difference = sequences.get(offset) - index;
+            if (difference == 0L) {
+                if (casProducerIndex(index, index + 1)) {
+                    buffer[offset] = value;
+                    sequences.lazySet(offset, index + 1);
+                    return true;
+                }
+            } else if (difference < 0L) {
+                //The consumer has not freed the slot yet
+                return false;
+            }
+            //Another producer claimed the slot, retry
+        }
+    }
+
+    /**
+     * Removes the first item. Must only be called by the consumer thread.
+     * @param defaultValue Returned if the buffer is empty or the next item has not been fully published by its producer
+     * @return The removed item
+     */
+    public int poll(int defaultValue) {
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+        if (sequences.get(offset) != index + 1) {
+            return defaultValue;
+        }
+        final int result = buffer[offset];
+        sequences.lazySet(offset, index + capacity);
+        lazySetConsumerIndex(index + 1);
+        return result;
+    }
+
+    /**
+     * Returns the first item without removing it. Must only be called by the consumer thread.
+     * @param defaultValue Returned if the buffer is empty or the next item has not been fully published by its producer
+     * @return The first item
+     */
+    public int peek(int defaultValue) {
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+        if (sequences.get(offset) != index + 1) {
+            return defaultValue;
+        }
+        return buffer[offset];
+    }
+
+    /**
+     * Removes all available items and adds them to an {@link IntArray}. Must only be called by the consumer thread.
+     * @param result The {@link IntArray} to add the items to
+     * @return The number of items removed
+     */
+    public int drainTo(IntArray result) {
+        return drainTo(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes up to a maximum number of items and adds them to an {@link IntArray}. Must only be called by the consumer thread.
+     * Stops at the first item that has not been fully published by its producer.
+     * @param result The {@link IntArray} to add the items to
+     * @param limit The maximum number of items to remove
+     * @return The number of items removed
+     */
+    public int drainTo(IntArray result, int limit) {
+        final long start = consumerIndex;
+        long index = start;
+        while (index - start < limit) {
+            final int offset = (int) index & mask;
+            if (sequences.get(offset) != index + 1) {
+                break;
+            }
+            result.add(buffer[offset]);
+            sequences.lazySet(offset, index + capacity);
+            index++;
+        }
+        if (index != start) {
+            lazySetConsumerIndex(index);
+        }
+        return (int) (index - start);
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free multi-producer/single-consumer queue. Does not allocate after construction.
+ *
+ * Any thread may call {@link #offer(Object)} but only one thread may call {@link #poll()}, {@link #peek()} and
+ * {@link #drainTo(Array)}, e.g. worker threads sending messages to the game thread.
+ */
+public class MpscRingBuffer<T> extends RingBufferIndices {
+    /**
+     * Each slot's sequence is the producer index that may write it next or that index + 1 once written
+     */
+    private final AtomicLongArray sequences;
+    private final Object[] buffer;
+
+    /**
+     * Constructor
+     * @param capacity The maximum number of items. If not a power of two, it is increased to the next nearest power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        super(capacity, 2);
+        sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        buffer = new Object[this.capacity];
+    }
+
+    /**
+     * Adds an item to the buffer. May be called from any thread.
+     * @param value The item to add (cannot be null)
+     * @return False if the buffer is full
+     */
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null.");
+        }
+        while (true) {
+            final long index = producerIndex;
+            final int offset = (int) index & mask;
+            final long difference = sequences.get(offset) - index;
+            if (difference == 0L) {
+                if (casProducerIndex(index, index + 1)) {
+                    buffer[offset] = value;
+                    sequences.lazySet(offset, index + 1);
+                    return true;
+                }
+            } else if (difference < 0L) {
+                //The consumer has not freed the slot yet
+                return false;
+            }
+            //Another producer claimed the slot, retry
+        }
+    }
+
+    /**
+     * Removes the first item. Must only be called by the consumer thread.
+     * @return null if the buffer is empty or the next item has not been fully published by its producer
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+        if (sequences.get(offset) != index + 1) {
+            return null;
+        }
+        final T result = (T) buffer[offset];
+        buffer[offset] = null;
+        sequences.lazySet(offset, index + capacity);
+        lazySetConsumerIndex(index + 1);
+        return result;
+    }
+
+    /**
+     * Returns the first item without removing it. Must only be called by the consumer thread.
+     * @return null if the buffer is empty or the next item has not been fully published by its producer
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+        if (sequences.get(offset) != index + 1) {
+            return null;
+        }
+        return (T) buffer[offset];
+    }
+
+    /**
+     * Removes all available items and adds them to an {@link Array}. Must only be called by the consumer thread.
+     * @param result The {@link Array} to add the items to
+     * @return The number of items removed
+     */
+    public int drainTo(Array<T> result) {
+        return drainTo(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes up to a maximum number of items and adds them to an {@link Array}. Must only be called by the consumer thread.
+     * Stops at the first item that has not been fully published by its producer.
+     * @param result The {@link Array} to add the items to
+     * @param limit The maximum number of items to remove
+     * @return The number of items removed
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Array<T> result, int limit) {
+        final long start = consumerIndex;
+        long index = start;
+        while (index - start < limit) {
+            final int offset = (int) index & mask;
+            if (sequences.get(offset) != index + 1) {
+                break;
+            }
+            result.add((T) buffer[offset]);
+            buffer[offset] = null;
+            sequences.lazySet(offset, index + capacity);
+            index++;
+        }
+        if (index != start) {
+            lazySetConsumerIndex(index);
+        }
+        return (int) (index - start);
+    }
+}
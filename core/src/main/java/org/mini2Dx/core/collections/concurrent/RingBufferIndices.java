@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Base class for ring buffers. Holds the producer and consumer indices on separate cache lines to avoid
+ * false sharing between producer and consumer threads.
+ *
+ * The JVM lays out superclass fields before subclass fields so padding is achieved via the class hierarchy below.
+ */
+abstract class RingBufferIndices extends RingBufferConsumerIndex {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+
+    private static final AtomicLongFieldUpdater<RingBufferProducerIndex> PRODUCER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(RingBufferProducerIndex.class, "producerIndex");
+    private static final AtomicLongFieldUpdater<RingBufferConsumerIndex> CONSUMER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(RingBufferConsumerIndex.class, "consumerIndex");
+
+    protected final int capacity;
+    protected final int mask;
+
+    RingBufferIndices(int capacity, int minimumCapacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        }
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be <= 2^30: " + capacity);
+        }
+        capacity = Math.max(minimumCapacity, capacity);
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+    }
+
+    final boolean casProducerIndex(long expected, long value) {
+        return PRODUCER_INDEX.compareAndSet(this, expected, value);
+    }
+
+    /**
+     * Publishes the producer index. Writes before this call are visible to a consumer that reads the new index.
+     */
+    final void lazySetProducerIndex(long value) {
+        PRODUCER_INDEX.lazySet(this, value);
+    }
+
+    /**
+     * Publishes the consumer index. Reads before this call complete before a producer reuses the slot.
+     */
+    final void lazySetConsumerIndex(long value) {
+        CONSUMER_INDEX.lazySet(this, value);
+    }
+
+    /**
+     * Returns the number of items in the buffer. This is an estimate if producers or the consumer are active.
+     * @return 0 if empty
+     */
+    public int size() {
+        while (true) {
+            final long consumer = consumerIndex;
+            final long producer = producerIndex;
+            if (consumer == consumerIndex) {
+                return (int) Math.max(0L, Math.min(capacity, producer - consumer));
+            }
+        }
+    }
+
+    /**
+     * Returns true if the buffer is empty.
+     */
+    public boolean isEmpty() {
+        return consumerIndex >= producerIndex;
+    }
+
+    /**
+     * Returns true if the buffer has one or more items.
+     */
+    public boolean notEmpty() {
+        return !isEmpty();
+    }
+
+    /**
+     * Returns the maximum number of items the buffer can hold
+     * @return A power of two
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
+
+abstract class RingBufferPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+}
+
+abstract class RingBufferProducerIndex extends RingBufferPadding {
+    volatile long producerIndex;
+    /**
+     * Producer's cached copy of the consumer index (single producer only)
+     */
+    long producerLimit;
+}
+
+abstract class RingBufferProducerPadding extends RingBufferProducerIndex {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+    long p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+}
+
+abstract class RingBufferConsumerIndex extends RingBufferProducerPadding {
+    volatile long consumerIndex;
+    /**
+     * Consumer's cached copy of the producer index
+     */
+    long consumerLimit;
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.lockprovider.ReadWriteLock;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A multi-producer queue made of independent {@link ConcurrentQueue} shards. Each producer thread always adds to
+ * the same shard so producers on different shards do not block each other. Consumers take from the shards in turn.
+ *
+ * Items added by the same thread are removed in the order they were added. There is no ordering between items
+ * added by different threads.
+ */
+public class ShardedQueue<T> {
+    private final ConcurrentQueue<T>[] shards;
+    private final int mask;
+    private final AtomicInteger consumerCursor = new AtomicInteger();
+
+    /**
+     * Creates a new queue with the default number of shards which can hold 16 values without needing to resize
+     */
+    public ShardedQueue() {
+        this(StripedCollections.DEFAULT_TOTAL_SHARDS, 16);
+    }
+
+    /**
+     * Constructor
+     * @param totalShards The number of shards. If not a power of two, it is increased to the next nearest power of two.
+     * @param initialSize The number of values the whole queue can hold without needing to resize
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedQueue(int totalShards, int initialSize) {
+        totalShards = StripedCollections.totalShards(totalShards);
+        final int shardSize = StripedCollections.shardCapacity(initialSize, totalShards);
+        shards = new ConcurrentQueue[totalShards];
+        for (int i = 0; i < totalShards; i++) {
+            shards[i] = new ConcurrentQueue<T>(shardSize);
+        }
+        mask = totalShards - 1;
+    }
+
+    /**
+     * Appends an object to the tail of the calling thread's shard
+     *
+     * @param object can be null
+     */
+    public void addLast(T object) {
+        shards[StripedCollections.threadShardIndex(mask)].addLast(object);
+    }
+
+    /**
+     * Removes the first item from the next non-empty shard
+     *
+     * @return removed object
+     * @throws NoSuchElementException when all shards are empty
+     */
+    public T removeFirst() {
+        final int start = consumerCursor.getAndIncrement();
+        for (int i = 0; i < shards.length; i++) {
+            final ConcurrentQueue<T> shard = shards[(start + i) & mask];
+            final ReadWriteLock lock = shard.getLock();
+            lock.lockWrite();
+            if (shard.size == 0) {
+                lock.unlockWrite();
+                continue;
+            }
+            final T result = shard.removeFirst();
+            lock.unlockWrite();
+            return result;
+        }
+        throw new NoSuchElementException("Queue is empty.");
+    }
+
+    /**
+     * Removes all items from every shard and adds them to an {@link Array}
+     * @param result The {@link Array} to add the items to
+     * @return The number of items removed
+     */
+    public int drainTo(Array<T> result) {
+        int total = 0;
+        final int start = consumerCursor.getAndIncrement();
+        for (int i = 0; i < shards.length; i++) {
+            final ConcurrentQueue<T> shard = shards[(start + i) & mask];
+            final ReadWriteLock lock = shard.getLock();
+            lock.lockWrite();
+            while (shard.size > 0) {
+                result.add(shard.removeFirst());
+                total++;
+            }
+            lock.unlockWrite();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total size of all shards
+     * @return 0 if empty
+     */
+    public int size() {
+        int result = 0;
+        for (int i = 0; i < shards.length; i++) {
+            result += shards[i].size();
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the queue has one or more items.
+     */
+    public boolean notEmpty() {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i].notEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return !notEmpty();
+    }
+
+    public void clear() {
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].clear();
+        }
+    }
+
+    /**
+     * Returns a shard
+     * @param index The shard index (0 to {@link #getTotalShards()} - 1)
+     * @return The {@link ConcurrentQueue} for the shard
+     */
+    public ConcurrentQueue<T> getShard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * Returns the number of shards
+     * @return A power of two
+     */
+    public int getTotalShards() {
+        return shards.length;
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * A bounded, lock-free single-producer/single-consumer queue. Does not allocate after construction.
+ *
+ * Only one thread may call {@link #offer(Object)} and only one thread may call {@link #poll()}, {@link #peek()} and
+ * {@link #drainTo(Array)}, e.g. a worker thread sending messages to the game thread.
+ */
+public class SpscRingBuffer<T> extends RingBufferIndices {
+    private final Object[] buffer;
+
+    /**
+     * Constructor
+     * @param capacity The maximum number of items. If not a power of two, it is increased to the next nearest power of two.
+     */
+    public SpscRingBuffer(int capacity) {
+        super(capacity, 1);
+        buffer = new Object[this.capacity];
+    }
+
+    /**
+     * Adds an item to the buffer. Must only be called by the producer thread.
+     * @param value The item to add (cannot be null)
+     * @return False if the buffer is full
+     */
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null.");
+        }
+        final long index = producerIndex;
+        if (index - producerLimit >= capacity) {
+            producerLimit = consumerIndex;
+            if (index - producerLimit >= capacity) {
+                return false;
+            }
+        }
+        buffer[(int) index & mask] = value;
+        lazySetProducerIndex(index + 1);
+        return true;
+    }
+
+    /**
+     * Removes the first item. Must only be called by the consumer thread.
+     * @return null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final long index = consumerIndex;
+        if (index >= consumerLimit) {
+            consumerLimit = producerIndex;
+            if (index >= consumerLimit) {
+                return null;
+            }
+        }
+        final int offset = (int) index & mask;
+        final T result = (T) buffer[offset];
+        buffer[offset] = null;
+        lazySetConsumerIndex(index + 1);
+        return result;
+    }
+
+    /**
+     * Returns the first item without removing it. Must only be called by the consumer thread.
+     * @return null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        final long index = consumerIndex;
+        if (index >= consumerLimit) {
+            consumerLimit = producerIndex;
+            if (index >= consumerLimit) {
+                return null;
+            }
+        }
+        return (T) buffer[(int) index & mask];
+    }
+
+    /**
+     * Removes all available items and adds them to an {@link Array}. Must only be called by the consumer thread.
+     * @param result The {@link Array} to add the items to
+     * @return The number of items removed
+     */
+    public int drainTo(Array<T> result) {
+        return drainTo(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes up to a maximum number of items and adds them to an {@link Array}. Must only be called by the consumer thread.
+     * @param result The {@link Array} to add the items to
+     * @param limit The maximum number of items to remove
+     * @return The number of items removed
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Array<T> result, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        final long start = consumerIndex;
+        consumerLimit = producerIndex;
+        final long end = start + Math.min(consumerLimit - start, limit);
+        result.ensureCapacity((int) (end - start));
+        for (long index = start; index < end; index++) {
+            final int offset = (int) index & mask;
+            result.add((T) buffer[offset]);
+            buffer[offset] = null;
+        }
+        lazySetConsumerIndex(end);
+        return (int) (end - start);
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+/**
+ * Shared utilities for the striped and sharded collection implementations
+ */
+final class StripedCollections {
+    /**
+     * The default number of shards. Twice the available processors, rounded up to a power of two.
+     */
+    static final int DEFAULT_TOTAL_SHARDS = totalShards(Runtime.getRuntime().availableProcessors() * 2);
+
+    private StripedCollections() {}
+
+    /**
+     * Validates a requested shard count
+     * @param totalShards The requested number of shards
+     * @return The shard count rounded up to the next power of two
+     */
+    static int totalShards(int totalShards) {
+        if (totalShards <= 0) {
+            throw new IllegalArgumentException("totalShards must be > 0: " + totalShards);
+        }
+        if (totalShards > 1 << 16) {
+            throw new IllegalArgumentException("totalShards must be <= 65536: " + totalShards);
+        }
+        return totalShards == 1 ? 1 : Integer.highestOneBit(totalShards - 1) << 1;
+    }
+
+    /**
+     * Returns the initial capacity of each shard
+     * @param initialCapacity The initial capacity of the whole collection
+     * @param totalShards The number of shards
+     * @return At least 1
+     */
+    static int shardCapacity(int initialCapacity, int totalShards) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        return Math.max(1, (initialCapacity + totalShards - 1) / totalShards);
+    }
+
+    static int shardIndex(int hash, int mask) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    static int shardIndex(long hash, int mask) {
+        return shardIndex((int) (hash ^ (hash >>> 32)), mask);
+    }
+
+    /**
+     * Returns the shard for the calling thread. A thread always maps to the same shard.
+     */
+    static int threadShardIndex(int mask) {
+        return shardIndex(Thread.currentThread().getId(), mask);
+    }
+}
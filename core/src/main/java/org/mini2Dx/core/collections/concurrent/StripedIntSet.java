@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+/**
+ * A set made of independent {@link ConcurrentIntSet} shards selected by hash. Each shard has its own lock
+ * so writers to different shards do not block each other.
+ *
+ * Operations on a single item are atomic. Operations across the whole set (e.g. {@link #size()}, {@link #clear()})
+ * visit shards one at a time and are not atomic. To iterate, lock each shard via {@link #getShard(int)}.
+ */
+public class StripedIntSet {
+    private final ConcurrentIntSet[] shards;
+    private final int mask;
+
+    /**
+     * Creates a new set with the default number of shards and an initial capacity of 51
+     */
+    public StripedIntSet() {
+        this(StripedCollections.DEFAULT_TOTAL_SHARDS, 51);
+    }
+
+    /**
+     * Constructor
+     * @param totalShards The number of shards. If not a power of two, it is increased to the next nearest power of two.
+     * @param initialCapacity The initial capacity of the whole set
+     */
+    @SuppressWarnings("unchecked")
+    public StripedIntSet(int totalShards, int initialCapacity) {
+        totalShards = StripedCollections.totalShards(totalShards);
+        final int shardCapacity = StripedCollections.shardCapacity(initialCapacity, totalShards);
+        shards = new ConcurrentIntSet[totalShards];
+        for (int i = 0; i < totalShards; i++) {
+            shards[i] = new ConcurrentIntSet(shardCapacity);
+        }
+        mask = totalShards - 1;
+    }
+
+    /**
+     * Returns the shard an item is stored in
+     * @param key The item
+     * @return The {@link ConcurrentIntSet} for the item
+     */
+    public ConcurrentIntSet getShardForKey(int key) {
+        return shards[StripedCollections.shardIndex(key, mask)];
+    }
+
+    /**
+     * Adds an item
+     * @param key The item to add
+     * @return True if the item was not already in the set
+     */
+    public boolean add(int key) {
+        return getShardForKey(key).add(key);
+    }
+
+    /**
+     * Removes an item
+     * @param key The item to remove
+     * @return True if the item was removed
+     */
+    public boolean remove(int key) {
+        return getShardForKey(key).remove(key);
+    }
+
+    public boolean contains(int key) {
+        return getShardForKey(key).contains(key);
+    }
+
+    /**
+     * Returns the total size of all shards
+     * @return 0 if empty
+     */
+    public int size() {
+        int result = 0;
+        for (int i = 0; i < shards.length; i++) {
+            result += shards[i].size();
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the set has one or more items.
+     */
+    public boolean notEmpty() {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i].notEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the set is empty.
+     */
+    public boolean isEmpty() {
+        return !notEmpty();
+    }
+
+    public void clear() {
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].clear();
+        }
+    }
+
+    /**
+     * Returns a shard
+     * @param index The shard index (0 to {@link #getTotalShards()} - 1)
+     * @return The {@link ConcurrentIntSet} for the shard
+     */
+    public ConcurrentIntSet getShard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * Returns the number of shards
+     * @return A power of two
+     */
+    public int getTotalShards() {
+        return shards.length;
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+/**
+ * A map made of independent {@link ConcurrentObjectMap} shards selected by key hash. Each shard has its own lock
+ * so writers to different shards do not block each other.
+ *
+ * Operations on a single key are atomic. Operations across the whole map (e.g. {@link #size()}, {@link #clear()})
+ * visit shards one at a time and are not atomic. To iterate, lock each shard via {@link #getShard(int)}.
+ */
+public class StripedObjectMap<K, V> {
+    private final ConcurrentObjectMap<K, V>[] shards;
+    private final int mask;
+
+    /**
+     * Creates a new map with the default number of shards and an initial capacity of 51
+     */
+    public StripedObjectMap() {
+        this(StripedCollections.DEFAULT_TOTAL_SHARDS, 51);
+    }
+
+    /**
+     * Constructor
+     * @param totalShards The number of shards. If not a power of two, it is increased to the next nearest power of two.
+     * @param initialCapacity The initial capacity of the whole map
+     */
+    @SuppressWarnings("unchecked")
+    public StripedObjectMap(int totalShards, int initialCapacity) {
+        totalShards = StripedCollections.totalShards(totalShards);
+        final int shardCapacity = StripedCollections.shardCapacity(initialCapacity, totalShards);
+        shards = new ConcurrentObjectMap[totalShards];
+        for (int i = 0; i < totalShards; i++) {
+            shards[i] = new ConcurrentObjectMap<K, V>(shardCapacity);
+        }
+        mask = totalShards - 1;
+    }
+
+    /**
+     * Returns the shard a key is stored in
+     * @param key The key
+     * @return The {@link ConcurrentObjectMap} for the key
+     */
+    public ConcurrentObjectMap<K, V> getShardForKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null.");
+        }
+        return shards[StripedCollections.shardIndex(key.hashCode(), mask)];
+    }
+
+    public V put(K key, V value) {
+        return getShardForKey(key).put(key, value);
+    }
+
+    /**
+     * Puts a key/value if the key is not already present
+     * @param key The key to put if absent
+     * @param value The value to put if absent
+     * @return True if the value was put
+     */
+    public boolean putIfAbsent(K key, V value) {
+        return getShardForKey(key).putIfAbsent(key, value);
+    }
+
+    /**
+     * Puts a key/value if the key is already present
+     * @param key The key to put if present
+     * @param value The value to put if present
+     * @return True if the value was put
+     */
+    public boolean putIfPresent(K key, V value) {
+        return getShardForKey(key).putIfPresent(key, value);
+    }
+
+    public V get(K key) {
+        return getShardForKey(key).get(key);
+    }
+
+    public V get(K key, V defaultValue) {
+        return getShardForKey(key).get(key, defaultValue);
+    }
+
+    public V remove(K key) {
+        return getShardForKey(key).remove(key);
+    }
+
+    public boolean containsKey(K key) {
+        return getShardForKey(key).containsKey(key);
+    }
+
+    /**
+     * Returns the total size of all shards
+     * @return 0 if empty
+     */
+    public int size() {
+        int result = 0;
+        for (int i = 0; i < shards.length; i++) {
+            result += shards[i].size();
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the map has one or more items.
+     */
+    public boolean notEmpty() {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i].notEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the map is empty.
+     */
+    public boolean isEmpty() {
+        return !notEmpty();
+    }
+
+    public void clear() {
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].clear();
+        }
+    }
+
+    /**
+     * Returns a shard
+     * @param index The shard index (0 to {@link #getTotalShards()} - 1)
+     * @return The {@link ConcurrentObjectMap} for the shard
+     */
+    public ConcurrentObjectMap<K, V> getShard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * Returns the number of shards
+     * @return A power of two
+     */
+    public int getTotalShards() {
+        return shards.length;
+    }
+}
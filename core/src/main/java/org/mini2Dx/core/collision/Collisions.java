@@ -17,8 +17,8 @@ package org.mini2Dx.core.collision;
 
 import org.mini2Dx.core.collision.util.*;
 import org.mini2Dx.core.util.InterpolationTracker;
+import org.mini2Dx.core.util.ThreadLocalPool;
 import org.mini2Dx.gdx.math.Vector2;
-import org.mini2Dx.gdx.utils.Queue;
 
 /**
  * Provides pooled collision classes
@@ -29,15 +29,15 @@ public class Collisions {
 	 */
 	public static int DEFAULT_POOL_SIZE = 256;
 
-	final Queue<CollisionBox> collisionBoxes = new Queue<CollisionBox>(DEFAULT_POOL_SIZE * 2);
-	final Queue<CollisionCircle> collisionCircles = new Queue<CollisionCircle>(DEFAULT_POOL_SIZE * 2);
-	final Queue<CollisionPoint> collisionPoints = new Queue<CollisionPoint>(DEFAULT_POOL_SIZE * 2);
-	final Queue<CollisionPolygon> collisionPolygons = new Queue<CollisionPolygon>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<CollisionBox> collisionBoxes = new ThreadLocalPool<CollisionBox>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<CollisionCircle> collisionCircles = new ThreadLocalPool<CollisionCircle>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<CollisionPoint> collisionPoints = new ThreadLocalPool<CollisionPoint>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<CollisionPolygon> collisionPolygons = new ThreadLocalPool<CollisionPolygon>(DEFAULT_POOL_SIZE * 2);
 
-	final Queue<StaticCollisionBox> staticCollisionBoxes = new Queue<StaticCollisionBox>(DEFAULT_POOL_SIZE * 2);
-	final Queue<StaticCollisionCircle> staticCollisionCircles = new Queue<StaticCollisionCircle>(DEFAULT_POOL_SIZE * 2);
-	final Queue<StaticCollisionPoint> staticCollisionPoints = new Queue<StaticCollisionPoint>(DEFAULT_POOL_SIZE * 2);
-	final Queue<StaticCollisionPolygon> staticCollisionPolygons = new Queue<StaticCollisionPolygon>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<StaticCollisionBox> staticCollisionBoxes = new ThreadLocalPool<StaticCollisionBox>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<StaticCollisionCircle> staticCollisionCircles = new ThreadLocalPool<StaticCollisionCircle>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<StaticCollisionPoint> staticCollisionPoints = new ThreadLocalPool<StaticCollisionPoint>(DEFAULT_POOL_SIZE * 2);
+	final ThreadLocalPool<StaticCollisionPolygon> staticCollisionPolygons = new ThreadLocalPool<StaticCollisionPolygon>(DEFAULT_POOL_SIZE * 2);
 
 	private boolean initialised = false;
 
@@ -53,19 +53,13 @@ public class Collisions {
 			return;
 		}
 		for(int i = 0; i < DEFAULT_POOL_SIZE; i++) {
-			collisionBoxes.addLast(new CollisionBox(CollisionIdSequence.nextId(), this));
-			collisionBoxes.removeLast().dispose();
-			collisionCircles.addLast(new CollisionCircle(CollisionIdSequence.nextId(),this));
-			collisionCircles.removeLast().dispose();
-			collisionPoints.addLast(new CollisionPoint(CollisionIdSequence.nextId(),this));
-			collisionPoints.removeLast().dispose();
-
-			staticCollisionBoxes.addLast(new StaticCollisionBox(CollisionIdSequence.nextId(),this));
-			staticCollisionBoxes.removeLast().dispose();
-			staticCollisionCircles.addLast(new StaticCollisionCircle(CollisionIdSequence.nextId(),this));
-			staticCollisionCircles.removeLast().dispose();
-			staticCollisionPoints.addLast(new StaticCollisionPoint(CollisionIdSequence.nextId(),this));
-			staticCollisionPoints.removeLast().dispose();
+			new CollisionBox(CollisionIdSequence.nextId(), this).dispose();
+			new CollisionCircle(CollisionIdSequence.nextId(),this).dispose();
+			new CollisionPoint(CollisionIdSequence.nextId(),this).dispose();
+
+			new StaticCollisionBox(CollisionIdSequence.nextId(),this).dispose();
+			new StaticCollisionCircle(CollisionIdSequence.nextId(),this).dispose();
+			new StaticCollisionPoint(CollisionIdSequence.nextId(),this).dispose();
 		}
 		initialised = true;
 	}
@@ -81,14 +75,10 @@ public class Collisions {
 	public CollisionBox collisionBox(int id, float x, float y, float width, float height) {
 		init();
 
-		final CollisionBox result;
-		synchronized (collisionBoxes) {
-			if(collisionBoxes.size == 0) {
-				result = new CollisionBox(CollisionIdSequence.offset(id), this);
-				InterpolationTracker.deregister(result);
-			} else {
-				result = collisionBoxes.removeFirst();
-			}
+		CollisionBox result = collisionBoxes.obtain();
+		if(result == null) {
+			result = new CollisionBox(CollisionIdSequence.offset(id), this);
+			InterpolationTracker.deregister(result);
 		}
 		result.init(id, x, y, width, height);
 		return result;
@@ -105,14 +95,10 @@ public class Collisions {
 	public CollisionCircle collisionCircle(int id, float x, float y, float radius) {
 		init();
 
-		final CollisionCircle result;
-		synchronized (collisionCircles) {
-			if(collisionCircles.size == 0) {
-				result = new CollisionCircle(CollisionIdSequence.offset(id),this);
-				InterpolationTracker.deregister(result);
-			} else {
-				result = collisionCircles.removeFirst();
-			}
+		CollisionCircle result = collisionCircles.obtain();
+		if(result == null) {
+			result = new CollisionCircle(CollisionIdSequence.offset(id),this);
+			InterpolationTracker.deregister(result);
 		}
 		result.init(id, x, y, radius);
 		return result;
@@ -129,14 +115,10 @@ public class Collisions {
 	public CollisionPoint collisionPoint(int id, float x, float y) {
 		init();
 
-		final CollisionPoint result;
-		synchronized (collisionPoints) {
-			if(collisionPoints.size == 0) {
-				result = new CollisionPoint(CollisionIdSequence.offset(id),this);
-				InterpolationTracker.deregister(result);
-			} else {
-				result = collisionPoints.removeFirst();
-			}
+		CollisionPoint result = collisionPoints.obtain();
+		if(result == null) {
+			result = new CollisionPoint(CollisionIdSequence.offset(id),this);
+			InterpolationTracker.deregister(result);
 		}
 		result.init(id, x, y);
 		return result;
@@ -149,14 +131,10 @@ public class Collisions {
 	public CollisionPolygon collisionPolygon(int id, float [] vertices) {
 		init();
 
-		final CollisionPolygon result;
-		synchronized (collisionPolygons) {
-			if(collisionPolygons.size == 0) {
-				result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
-				InterpolationTracker.deregister(result);
-			} else {
-				result = collisionPolygons.removeFirst();
-			}
+		CollisionPolygon result = collisionPolygons.obtain();
+		if(result == null) {
+			result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
+			InterpolationTracker.deregister(result);
 		}
 		result.init(id, vertices);
 		return result;
@@ -169,14 +147,10 @@ public class Collisions {
 	public CollisionPolygon collisionPolygon(int id, Vector2[] vectors) {
 		init();
 
-		final CollisionPolygon result;
-		synchronized (collisionPolygons) {
-			if(collisionPolygons.size == 0) {
-				result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
-				InterpolationTracker.deregister(result);
-			} else {
-				result = collisionPolygons.removeFirst();
-			}
+		CollisionPolygon result = collisionPolygons.obtain();
+		if(result == null) {
+			result = new CollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
+			InterpolationTracker.deregister(result);
 		}
 		result.init(id, vectors);
 		return result;
@@ -193,13 +167,9 @@ public class Collisions {
 	public StaticCollisionBox staticCollisionBox(int id, float x, float y, float width, float height) {
 		init();
 
-		final StaticCollisionBox result;
-		synchronized (staticCollisionBoxes) {
-			if(staticCollisionBoxes.size == 0) {
-				result = new StaticCollisionBox(CollisionIdSequence.offset(id), this);
-			} else {
-				result = staticCollisionBoxes.removeFirst();
-			}
+		StaticCollisionBox result = staticCollisionBoxes.obtain();
+		if(result == null) {
+			result = new StaticCollisionBox(CollisionIdSequence.offset(id), this);
 		}
 		result.init(id, x, y, width, height);
 		return result;
@@ -216,13 +186,9 @@ public class Collisions {
 	public StaticCollisionCircle staticCollisionCircle(int id, float centerX, float centerY, float radius) {
 		init();
 
-		final StaticCollisionCircle result;
-		synchronized (staticCollisionCircles) {
-			if(staticCollisionCircles.size == 0) {
-				result = new StaticCollisionCircle(CollisionIdSequence.offset(id),this);
-			} else {
-				result = staticCollisionCircles.removeFirst();
-			}
+		StaticCollisionCircle result = staticCollisionCircles.obtain();
+		if(result == null) {
+			result = new StaticCollisionCircle(CollisionIdSequence.offset(id),this);
 		}
 		result.init(id, centerX, centerY, radius);
 		return result;
@@ -239,13 +205,9 @@ public class Collisions {
 	public StaticCollisionPoint staticCollisionPoint(int id, float x, float y) {
 		init();
 
-		final StaticCollisionPoint result;
-		synchronized (staticCollisionPoints) {
-			if(staticCollisionPoints.size == 0) {
-				result = new StaticCollisionPoint(CollisionIdSequence.offset(id), this);
-			} else {
-				result = staticCollisionPoints.removeFirst();
-			}
+		StaticCollisionPoint result = staticCollisionPoints.obtain();
+		if(result == null) {
+			result = new StaticCollisionPoint(CollisionIdSequence.offset(id), this);
 		}
 		result.init(id, x, y);
 		return result;
@@ -258,13 +220,9 @@ public class Collisions {
 	public StaticCollisionPolygon staticCollisionPolygon(int id, float [] vertices) {
 		init();
 
-		final StaticCollisionPolygon result;
-		synchronized (staticCollisionPolygons) {
-			if(staticCollisionPolygons.size == 0) {
-				result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
-			} else {
-				result = staticCollisionPolygons.removeFirst();
-			}
+		StaticCollisionPolygon result = staticCollisionPolygons.obtain();
+		if(result == null) {
+			result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vertices);
 		}
 		result.init(id, vertices);
 		return result;
@@ -277,128 +235,92 @@ public class Collisions {
 	public StaticCollisionPolygon staticCollisionPolygon(int id, Vector2[] vectors) {
 		init();
 
-		final StaticCollisionPolygon result;
-		synchronized (staticCollisionPolygons) {
-			if(staticCollisionPolygons.size == 0) {
-				result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
-			} else {
-				result = staticCollisionPolygons.removeFirst();
-			}
+		StaticCollisionPolygon result = staticCollisionPolygons.obtain();
+		if(result == null) {
+			result = new StaticCollisionPolygon(CollisionIdSequence.offset(id), this, vectors);
 		}
 		result.init(id, vectors);
 		return result;
 	}
 
 	public void release(CollisionBox collisionBox) {
-		synchronized (collisionBoxes) {
-			collisionBoxes.addLast(collisionBox);
-		}
+		collisionBoxes.release(collisionBox);
 	}
 
 	public void release(CollisionCircle collisionCircle) {
-		synchronized (collisionCircles) {
-			collisionCircles.addLast(collisionCircle);
-		}
+		collisionCircles.release(collisionCircle);
 	}
 
 	public void release(CollisionPoint collisionPoint) {
-		synchronized (collisionPoints) {
-			collisionPoints.addLast(collisionPoint);
-		}
+		collisionPoints.release(collisionPoint);
 	}
 
 	public void release(CollisionPolygon collisionPolygon) {
-		synchronized (collisionPolygons) {
-			collisionPolygons.addLast(collisionPolygon);
-		}
+		collisionPolygons.release(collisionPolygon);
 	}
 
 	public void release(StaticCollisionBox collisionBox) {
-		synchronized (staticCollisionBoxes) {
-			staticCollisionBoxes.addLast(collisionBox);
-		}
+		staticCollisionBoxes.release(collisionBox);
 	}
 
 	public void release(StaticCollisionCircle collisionCircle) {
-		synchronized (staticCollisionCircles) {
-			staticCollisionCircles.addLast(collisionCircle);
-		}
+		staticCollisionCircles.release(collisionCircle);
 	}
 
 	public void release(StaticCollisionPoint collisionPoint) {
-		synchronized (staticCollisionPoints) {
-			staticCollisionPoints.addLast(collisionPoint);
-		}
+		staticCollisionPoints.release(collisionPoint);
 	}
 
 	public void release(StaticCollisionPolygon collisionPolygon) {
-		synchronized (staticCollisionPolygons) {
-			staticCollisionPolygons.addLast(collisionPolygon);
-		}
+		staticCollisionPolygons.release(collisionPolygon);
 	}
 
 	public int getTotalCollisionBoxesAvailable() {
 		init();
 
-		synchronized (collisionBoxes) {
-			return collisionBoxes.size;
-		}
+		return collisionBoxes.getTotalAvailable();
 	}
 
 	public int getTotalCollisionCirclesAvailable() {
 		init();
 
-		synchronized (collisionCircles) {
-			return collisionCircles.size;
-		}
+		return collisionCircles.getTotalAvailable();
 	}
 
 	public int getTotalCollisionPointsAvailable() {
 		init();
 
-		synchronized (collisionPoints) {
-			return collisionPoints.size;
-		}
+		return collisionPoints.getTotalAvailable();
 	}
 
 	public int getTotalCollisionPolygonsAvailable() {
 		init();
 
-		synchronized (collisionPolygons) {
-			return collisionPolygons.size;
-		}
+		return collisionPolygons.getTotalAvailable();
 	}
 
 	public int getTotalStaticCollisionBoxesAvailable() {
 		init();
 
-		synchronized (staticCollisionBoxes) {
-			return staticCollisionBoxes.size;
-		}
+		return staticCollisionBoxes.getTotalAvailable();
 	}
 
 	public int getTotalStaticCollisionCirclesAvailable() {
 		init();
 
-		synchronized (staticCollisionCircles) {
-			return staticCollisionCircles.size;
-		}
+		return staticCollisionCircles.getTotalAvailable();
 	}
 
 	public int getTotalStaticCollisionPointsAvailable() {
 		init();
 
-		synchronized (staticCollisionPoints) {
-			return staticCollisionPoints.size;
-		}
+		return staticCollisionPoints.getTotalAvailable();
 	}
 
 	public int getTotalStaticCollisionPolygonsAvailable() {
 		init();
 
-		synchronized (staticCollisionPolygons) {
-			return staticCollisionPolygons.size;
-		}
+		return staticCollisionPolygons.getTotalAvailable();
 	}
 
 	/**
@@ -407,10 +329,7 @@ public class Collisions {
 	 */
 	public void warmupCollisionBoxes(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(collisionBoxes) {
-				collisionBoxes.addLast(new CollisionBox(CollisionIdSequence.nextId(), this));
-				collisionBoxes.removeLast().dispose();
-			}
+			new CollisionBox(CollisionIdSequence.nextId(), this).dispose();
 		}
 	}
 
@@ -420,10 +339,7 @@ public class Collisions {
 	 */
 	public void warmupCollisionCircles(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(collisionCircles) {
-				collisionCircles.addLast(new CollisionCircle(CollisionIdSequence.nextId(),this));
-				collisionCircles.removeLast().dispose();
-			}
+			new CollisionCircle(CollisionIdSequence.nextId(),this).dispose();
 		}
 	}
 
@@ -433,10 +349,7 @@ public class Collisions {
 	 */
 	public void warmupCollisionPoints(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(collisionPoints) {
-				collisionPoints.addLast(new CollisionPoint(CollisionIdSequence.nextId(),this));
-				collisionPoints.removeLast().dispose();
-			}
+			new CollisionPoint(CollisionIdSequence.nextId(),this).dispose();
 		}
 	}
 
@@ -446,10 +359,7 @@ public class Collisions {
 	 */
 	public void warmupStaticCollisionBoxes(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(staticCollisionBoxes) {
-				staticCollisionBoxes.addLast(new StaticCollisionBox(CollisionIdSequence.nextId(),this));
-				staticCollisionBoxes.removeLast().dispose();
-			}
+			new StaticCollisionBox(CollisionIdSequence.nextId(),this).dispose();
 		}
 	}
 
@@ -459,10 +369,7 @@ public class Collisions {
 	 */
 	public void warmupStaticCollisionCircles(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(staticCollisionCircles) {
-				staticCollisionCircles.addLast(new StaticCollisionCircle(CollisionIdSequence.nextId(),this));
-				staticCollisionCircles.removeLast().dispose();
-			}
+			new StaticCollisionCircle(CollisionIdSequence.nextId(),this).dispose();
 		}
 	}
 
@@ -472,10 +379,73 @@ public class Collisions {
 	 */
 	public void warmupStaticCollisionPoints(int poolSize) {
 		for(int i = 0; i < poolSize; i++) {
-			synchronized(staticCollisionPoints) {
-				staticCollisionPoints.addLast(new StaticCollisionPoint(CollisionIdSequence.nextId(),this));
-				staticCollisionPoints.removeLast().dispose();
-			}
+			new StaticCollisionPoint(CollisionIdSequence.nextId(),this).dispose();
 		}
 	}
+
+	/**
+	 * Returns all pooled instances held by the current thread back to the shared pools.
+	 * Call this before a worker thread goes idle for a long time.
+	 */
+	public void flushThreadLocalPools() {
+		collisionBoxes.flush();
+		collisionCircles.flush();
+		collisionPoints.flush();
+		collisionPolygons.flush();
+		staticCollisionBoxes.flush();
+		staticCollisionCircles.flush();
+		staticCollisionPoints.flush();
+		staticCollisionPolygons.flush();
+	}
+
+	/**
+	 * Returns the total amount of allocations served by a thread-local pool without locking
+	 * @return The total pool hits across all collision types
+	 */
+	public long getTotalPoolHits() {
+		long result = 0L;
+		result += collisionBoxes.getHits();
+		result += collisionCircles.getHits();
+		result += collisionPoints.getHits();
+		result += collisionPolygons.getHits();
+		result += staticCollisionBoxes.getHits();
+		result += staticCollisionCircles.getHits();
+		result += staticCollisionPoints.getHits();
+		result += staticCollisionPolygons.getHits();
+		return result;
+	}
+
+	/**
+	 * Returns the total amount of allocations where the thread-local pool was empty and the shared pool was locked
+	 * @return The total pool misses across all collision types
+	 */
+	public long getTotalPoolMisses() {
+		long result = 0L;
+		result += collisionBoxes.getMisses();
+		result += collisionCircles.getMisses();
+		result += collisionPoints.getMisses();
+		result += collisionPolygons.getMisses();
+		result += staticCollisionBoxes.getMisses();
+		result += staticCollisionCircles.getMisses();
+		result += staticCollisionPoints.getMisses();
+		result += staticCollisionPolygons.getMisses();
+		return result;
+	}
+
+	/**
+	 * Returns the total amount of allocations where all pools were empty and a new instance was created
+	 * @return The total new instances created across all collision types
+	 */
+	public long getTotalPoolAllocations() {
+		long result = 0L;
+		result += collisionBoxes.getAllocations();
+		result += collisionCircles.getAllocations();
+		result += collisionPoints.getAllocations();
+		result += collisionPolygons.getAllocations();
+		result += staticCollisionBoxes.getAllocations();
+		result += staticCollisionCircles.getAllocations();
+		result += staticCollisionPoints.getAllocations();
+		result += staticCollisionPolygons.getAllocations();
+		return result;
+	}
 }
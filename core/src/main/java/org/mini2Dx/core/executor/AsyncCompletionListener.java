@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+/**
+ * Listener notified when an {@link AsyncPromise} completes successfully, exceptionally or by cancellation
+ * @param <T> The result type
+ */
+public interface AsyncCompletionListener<T> {
+	/**
+	 * Called when the {@link AsyncPromise} completes
+	 * @param result The result or null if the promise did not complete successfully
+	 * @param error The error or null if the promise completed successfully.
+	 *              A {@link java.util.concurrent.CancellationException} if the promise was cancelled.
+	 */
+	public void onComplete(T result, Throwable error);
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+/**
+ * A function applied to the result of an {@link AsyncPromise}
+ * @param <T> The input type
+ * @param <R> The result type
+ */
+public interface AsyncFunction<T, R> {
+	/**
+	 * Applies the function
+	 * @param value The result of the previous stage
+	 * @return The result of this stage
+	 * @throws Exception Completes the resulting {@link AsyncPromise} exceptionally
+	 */
+	public R apply(T value) throws Exception;
+}
@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link AsyncResult} that can be completed explicitly and composed with continuations.
+ *
+ * Continuations run on the thread that completes the promise, or on the game thread during the next
+ * {@link org.mini2Dx.core.TaskExecutor#update(float)} if requested. If a promise completes exceptionally
+ * or is cancelled, its dependent promises complete the same way without running their functions.
+ *
+ * <pre>
+ * Mdx.executor.supplyAsync(loadLevelData)
+ *     .thenApply(parseLevel)
+ *     .whenComplete(showLevel, true);
+ * </pre>
+ *
+ * @param <T> The result type
+ */
+public class AsyncPromise<T> implements AsyncResult<T> {
+	private static final int PENDING = 0;
+	private static final int SUCCEEDED = 1;
+	private static final int FAILED = 2;
+	private static final int CANCELLED = 3;
+
+	private static final ThreadLocal<ContinuationQueue> CONTINUATION_QUEUES = new ThreadLocal<ContinuationQueue>() {
+		@Override
+		protected ContinuationQueue initialValue() {
+			return new ContinuationQueue();
+		}
+	};
+
+	/**
+	 * Guarded by this. Cleared once the promise has completed and its continuations have been queued.
+	 */
+	private final Array<Runnable> continuations = new Array<Runnable>(true, 2);
+	private volatile int state = PENDING;
+	private T result;
+	private Throwable error;
+
+	/**
+	 * Returns a promise that has already completed successfully
+	 * @param result The result
+	 * @param <T> The result type
+	 * @return A new {@link AsyncPromise}
+	 */
+	public static <T> AsyncPromise<T> completed(T result) {
+		final AsyncPromise<T> promise = new AsyncPromise<T>();
+		promise.complete(result);
+		return promise;
+	}
+
+	/**
+	 * Returns a promise that completes when all of the specified promises complete successfully.
+	 * Completes exceptionally (or is cancelled) as soon as any of the promises does.
+	 * @param promises The promises to wait for
+	 * @return A new {@link AsyncPromise}
+	 */
+	public static AsyncPromise<Void> allOf(AsyncPromise<?>... promises) {
+		final AsyncPromise<Void> result = new AsyncPromise<Void>();
+		if(promises.length == 0) {
+			result.complete(null);
+			return result;
+		}
+		final AtomicInteger remaining = new AtomicInteger(promises.length);
+		for(int i = 0; i < promises.length; i++) {
+			final AsyncPromise<?> promise = promises[i];
+			promise.addContinuation(new Runnable() {
+				@Override
+				public void run() {
+					if(promise.state != SUCCEEDED) {
+						result.completeFailureFrom(promise);
+					} else if(remaining.decrementAndGet() == 0) {
+						result.complete(null);
+					}
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a promise that completes the same way as the first of the specified promises to complete
+	 * @param promises The promises to wait for
+	 * @param <T> The result type
+	 * @return A new {@link AsyncPromise}
+	 */
+	@SafeVarargs
+	public static <T> AsyncPromise<T> anyOf(AsyncPromise<? extends T>... promises) {
+		final AsyncPromise<T> result = new AsyncPromise<T>();
+		for(int i = 0; i < promises.length; i++) {
+			final AsyncPromise<? extends T> promise = promises[i];
+			promise.addContinuation(new Runnable() {
+				@Override
+				public void run() {
+					result.completeFrom(promise);
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Completes the promise successfully
+	 * @param result The result
+	 * @return False if the promise had already completed
+	 */
+	public boolean complete(T result) {
+		return finish(SUCCEEDED, result, null);
+	}
+
+	/**
+	 * Completes the promise exceptionally
+	 * @param error The error
+	 * @return False if the promise had already completed
+	 */
+	public boolean completeExceptionally(Throwable error) {
+		return finish(FAILED, null, error);
+	}
+
+	/**
+	 * Cancels the promise. Tasks submitted via {@link org.mini2Dx.core.TaskExecutor#supplyAsync(java.util.concurrent.Callable)}
+	 * are not executed if they have not started.
+	 * @return False if the promise had already completed
+	 */
+	public boolean cancel() {
+		return finish(CANCELLED, null, new CancellationException());
+	}
+
+	private boolean finish(int state, T result, Throwable error) {
+		synchronized(this) {
+			if(this.state != PENDING) {
+				return false;
+			}
+			this.result = result;
+			this.error = error;
+			this.state = state;
+		}
+		//Continuations are not added once the promise has completed
+		final ContinuationQueue queue = CONTINUATION_QUEUES.get();
+		queue.runnables.addAll(continuations);
+		continuations.clear();
+		queue.drain();
+		return true;
+	}
+
+	private void completeFrom(AsyncPromise<? extends T> promise) {
+		switch(promise.state) {
+		case SUCCEEDED:
+			complete(promise.result);
+			break;
+		default:
+			completeFailureFrom(promise);
+			break;
+		}
+	}
+
+	private void completeFailureFrom(AsyncPromise<?> promise) {
+		if(promise.state == CANCELLED) {
+			cancel();
+		} else {
+			completeExceptionally(promise.error);
+		}
+	}
+
+	private void addContinuation(Runnable continuation) {
+		synchronized(this) {
+			if(state == PENDING) {
+				continuations.add(continuation);
+				return;
+			}
+		}
+		final ContinuationQueue queue = CONTINUATION_QUEUES.get();
+		queue.runnables.add(continuation);
+		queue.drain();
+	}
+
+	private static void dispatch(Runnable runnable, boolean onGameThread) {
+		if(onGameThread) {
+			Mdx.executor.executeOnGameThread(runnable);
+		} else {
+			runnable.run();
+		}
+	}
+
+	/**
+	 * Applies a function to the result once this promise completes successfully. The function runs on the completing thread.
+	 * @param function The function to apply
+	 * @param <R> The result type of the function
+	 * @return A new {@link AsyncPromise} for the function's result
+	 */
+	public <R> AsyncPromise<R> thenApply(AsyncFunction<? super T, ? extends R> function) {
+		return thenApply(function, false);
+	}
+
+	/**
+	 * Applies a function to the result once this promise completes successfully
+	 * @param function The function to apply
+	 * @param onGameThread True if the function should run on the game thread during the next update
+	 * @param <R> The result type of the function
+	 * @return A new {@link AsyncPromise} for the function's result
+	 */
+	public <R> AsyncPromise<R> thenApply(final AsyncFunction<? super T, ? extends R> function, final boolean onGameThread) {
+		final AsyncPromise<R> dependent = new AsyncPromise<R>();
+		addContinuation(new Runnable() {
+			@Override
+			public void run() {
+				if(state != SUCCEEDED) {
+					dependent.completeFailureFrom(AsyncPromise.this);
+					return;
+				}
+				dispatch(new Runnable() {
+					@Override
+					public void run() {
+						if(dependent.isFinished()) {
+							return;
+						}
+						try {
+							dependent.complete(function.apply(result));
+						} catch (Throwable t) {
+							dependent.completeExceptionally(t);
+						}
+					}
+				}, onGameThread);
+			}
+		});
+		return dependent;
+	}
+
+	/**
+	 * Applies a function that returns another promise once this promise completes successfully.
+	 * The function runs on the completing thread.
+	 * @param function The function to apply
+	 * @param <R> The result type of the returned promise
+	 * @return A new {@link AsyncPromise} that completes the same way as the promise returned by the function
+	 */
+	public <R> AsyncPromise<R> thenCompose(AsyncFunction<? super T, AsyncPromise<R>> function) {
+		return thenCompose(function, false);
+	}
+
+	/**
+	 * Applies a function that returns another promise once this promise completes successfully
+	 * @param function The function to apply
+	 * @param onGameThread True if the function should run on the game thread during the next update
+	 * @param <R> The result type of the returned promise
+	 * @return A new {@link AsyncPromise} that completes the same way as the promise returned by the function
+	 */
+	public <R> AsyncPromise<R> thenCompose(final AsyncFunction<? super T, AsyncPromise<R>> function, final boolean onGameThread) {
+		final AsyncPromise<R> dependent = new AsyncPromise<R>();
+		addContinuation(new Runnable() {
+			@Override
+			public void run() {
+				if(state != SUCCEEDED) {
+					dependent.completeFailureFrom(AsyncPromise.this);
+					return;
+				}
+				dispatch(new Runnable() {
+					@Override
+					public void run() {
+						if(dependent.isFinished()) {
+							return;
+						}
+						final AsyncPromise<R> next;
+						try {
+							next = function.apply(result);
+						} catch (Throwable t) {
+							dependent.completeExceptionally(t);
+							return;
+						}
+						if(next == null) {
+							dependent.complete(null);
+							return;
+						}
+						next.addContinuation(new Runnable() {
+							@Override
+							public void run() {
+								dependent.completeFrom(next);
+							}
+						});
+					}
+				}, onGameThread);
+			}
+		});
+		return dependent;
+	}
+
+	/**
+	 * Notifies a listener once this promise completes. The listener runs on the completing thread.
+	 * @param listener The {@link AsyncCompletionListener} to notify
+	 * @return A new {@link AsyncPromise} that completes the same way as this promise after the listener is notified
+	 */
+	public AsyncPromise<T> whenComplete(AsyncCompletionListener<? super T> listener) {
+		return whenComplete(listener, false);
+	}
+
+	/**
+	 * Notifies a listener once this promise completes
+	 * @param listener The {@link AsyncCompletionListener} to notify
+	 * @param onGameThread True if the listener should be notified on the game thread during the next update
+	 * @return A new {@link AsyncPromise} that completes the same way as this promise after the listener is notified
+	 */
+	public AsyncPromise<T> whenComplete(final AsyncCompletionListener<? super T> listener, final boolean onGameThread) {
+		final AsyncPromise<T> dependent = new AsyncPromise<T>();
+		addContinuation(new Runnable() {
+			@Override
+			public void run() {
+				dispatch(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							listener.onComplete(result, error);
+						} catch (Throwable t) {
+							dependent.completeExceptionally(t);
+							return;
+						}
+						dependent.completeFrom(AsyncPromise.this);
+					}
+				}, onGameThread);
+			}
+		});
+		return dependent;
+	}
+
+	@Override
+	public boolean isFinished() {
+		return state != PENDING;
+	}
+
+	/**
+	 * Returns if the promise completed successfully
+	 * @return False if the promise is pending, failed or was cancelled
+	 */
+	public boolean isSuccessful() {
+		return state == SUCCEEDED;
+	}
+
+	/**
+	 * Returns if the promise completed exceptionally
+	 * @return False if the promise is pending, successful or was cancelled
+	 */
+	public boolean isFailed() {
+		return state == FAILED;
+	}
+
+	/**
+	 * Returns if the promise was cancelled
+	 * @return False if the promise is pending or completed without being cancelled
+	 */
+	public boolean isCancelled() {
+		return state == CANCELLED;
+	}
+
+	@Override
+	public T getResult() {
+		return state == SUCCEEDED ? result : null;
+	}
+
+	/**
+	 * Returns the error the promise completed with
+	 * @return Null if the promise is pending or completed successfully
+	 */
+	public Throwable getError() {
+		return state == PENDING ? null : error;
+	}
+
+	/**
+	 * Runs continuations iteratively so that completing a long chain of promises
+	 * does not recurse once per promise
+	 */
+	private static class ContinuationQueue {
+		private static final int MAX_RETAINED_CAPACITY = 64;
+
+		final Array<Runnable> runnables = new Array<Runnable>(true, 16, Runnable.class);
+		boolean draining;
+
+		void drain() {
+			if(draining) {
+				//Continuations queued by a running continuation are run by the outermost drain
+				return;
+			}
+			draining = true;
+			try {
+				for(int i = 0; i < runnables.size; i++) {
+					final Runnable runnable = runnables.get(i);
+					runnables.set(i, null);
+					runnable.run();
+				}
+			} finally {
+				draining = false;
+				runnables.clear();
+				if(runnables.items.length > MAX_RETAINED_CAPACITY) {
+					runnables.shrink();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+/**
+ * Priority classes for {@link FrameSpreadTask} scheduling. Higher priority tasks are updated first each frame.
+ */
+public enum FrameSpreadPriority {
+	/**
+	 * Tasks that the player will notice if delayed, e.g. pathfinding for visible units
+	 */
+	HIGH,
+	/**
+	 * The default priority
+	 */
+	NORMAL,
+	/**
+	 * Background work, e.g. lighting rebakes or meshing distant chunks
+	 */
+	LOW
+}
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.game.GameContainer;
+import org.mini2Dx.core.util.RollingAverage;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules {@link FrameSpreadTask}s within a per-frame time budget.
+ *
+ * Tasks are updated in order of {@link FrameSpreadPriority}. Within a priority, tasks are updated
+ * round-robin so that each task is updated at most once per frame and tasks that missed out in one frame
+ * are updated first in the next. A priority that has tasks but has not been updated for
+ * {@link #getMaxStarvedFrames()} frames has one task updated regardless of the budget.
+ *
+ * When the budget is adaptive, it is calculated from the headroom between the target frame duration and the
+ * average frame duration measured by {@link org.mini2Dx.core.PlatformUtils}, clamped between the minimum and
+ * maximum budget. At least one task is always updated per frame. If {@link Mdx#platformUtils} is not set,
+ * {@link System#nanoTime()} is used for timing and the maximum budget is used.
+ *
+ * Tasks may be submitted from any thread. {@link #update(int)} must be called on the game thread.
+ */
+public class FrameSpreadScheduler {
+	/**
+	 * The default minimum budget per frame (0.5ms)
+	 */
+	public static final long DEFAULT_MIN_BUDGET_NANOS = 500000L;
+	/**
+	 * The default maximum budget per frame (4ms)
+	 */
+	public static final long DEFAULT_MAX_BUDGET_NANOS = 4000000L;
+	public static final int DEFAULT_MAX_STARVED_FRAMES = 30;
+
+	private static final FrameSpreadPriority[] PRIORITIES = FrameSpreadPriority.values();
+
+	private final Array<FrameSpreadTask> pendingTasks = new Array<FrameSpreadTask>(true, 16);
+	private final Array<FrameSpreadPriority> pendingPriorities = new Array<FrameSpreadPriority>(true, 16);
+	private final AtomicInteger totalTasks = new AtomicInteger();
+
+	private final Array<FrameSpreadTask>[] queues;
+	private final int[] cursors = new int[PRIORITIES.length];
+	private final int[] updateCounts = new int[PRIORITIES.length];
+	private final int[] completedCounts = new int[PRIORITIES.length];
+	private final int[] starvedFrames = new int[PRIORITIES.length];
+	private final RollingAverage averageDuration = new RollingAverage(GameContainer.TARGET_FPS);
+
+	private boolean adaptiveBudget = true;
+	private long minBudgetNanos = DEFAULT_MIN_BUDGET_NANOS;
+	private long maxBudgetNanos = DEFAULT_MAX_BUDGET_NANOS;
+	private int maxStarvedFrames = DEFAULT_MAX_STARVED_FRAMES;
+	private long lastBudgetNanos, lastDurationNanos;
+	private int lastUpdatedTasks;
+
+	@SuppressWarnings("unchecked")
+	public FrameSpreadScheduler() {
+		super();
+		queues = new Array[PRIORITIES.length];
+		for(int i = 0; i < queues.length; i++) {
+			queues[i] = new Array<FrameSpreadTask>(true, 16);
+		}
+	}
+
+	/**
+	 * Submits a task with {@link FrameSpreadPriority#NORMAL} priority
+	 * @param task The {@link FrameSpreadTask} to schedule
+	 */
+	public void submit(FrameSpreadTask task) {
+		submit(task, FrameSpreadPriority.NORMAL);
+	}
+
+	/**
+	 * Submits a task. The task will be updated from the next call to {@link #update(int)}.
+	 * @param task The {@link FrameSpreadTask} to schedule
+	 * @param priority The {@link FrameSpreadPriority} of the task
+	 */
+	public void submit(FrameSpreadTask task, FrameSpreadPriority priority) {
+		synchronized(pendingTasks) {
+			pendingTasks.add(task);
+			pendingPriorities.add(priority);
+		}
+		totalTasks.incrementAndGet();
+	}
+
+	/**
+	 * Updates tasks until the frame budget is used or each task has been updated once
+	 */
+	public void update() {
+		update(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Updates tasks until the frame budget is used, each task has been updated once or a maximum amount of updates is reached
+	 * @param maxTasks The maximum amount of task updates this frame
+	 */
+	public void update(int maxTasks) {
+		drainPendingTasks();
+
+		final long budget = getFrameBudget();
+		final long startTime = nanoTime();
+		int taskCount = 0;
+
+		for(int i = 0; i < PRIORITIES.length && taskCount < maxTasks; i++) {
+			if(queues[i].size > 0 && starvedFrames[i] >= maxStarvedFrames) {
+				updateNextTask(i);
+				taskCount++;
+			}
+		}
+
+		long elapsed = nanoTime() - startTime;
+		for(int i = 0; i < PRIORITIES.length; i++) {
+			final Array<FrameSpreadTask> queue = queues[i];
+			while(updateCounts[i] < queue.size && taskCount < maxTasks && (taskCount == 0 || elapsed < budget)) {
+				updateNextTask(i);
+				taskCount++;
+				elapsed = nanoTime() - startTime;
+			}
+		}
+
+		for(int i = 0; i < PRIORITIES.length; i++) {
+			completeFrame(i);
+		}
+
+		lastBudgetNanos = budget;
+		lastDurationNanos = elapsed;
+		lastUpdatedTasks = taskCount;
+		averageDuration.mark(elapsed);
+	}
+
+	private static long nanoTime() {
+		return Mdx.platformUtils != null ? Mdx.platformUtils.nanoTime() : System.nanoTime();
+	}
+
+	private void drainPendingTasks() {
+		synchronized(pendingTasks) {
+			for(int i = 0; i < pendingTasks.size; i++) {
+				queues[pendingPriorities.get(i).ordinal()].add(pendingTasks.get(i));
+			}
+			pendingTasks.clear();
+			pendingPriorities.clear();
+		}
+	}
+
+	private void updateNextTask(int priority) {
+		final Array<FrameSpreadTask> queue = queues[priority];
+		final int index = (cursors[priority] + updateCounts[priority]) % queue.size;
+		updateCounts[priority]++;
+
+		if(queue.get(index).updateTask()) {
+			//Completed tasks are removed in a single pass at the end of the frame
+			queue.set(index, null);
+			completedCounts[priority]++;
+			totalTasks.decrementAndGet();
+		}
+	}
+
+	private void completeFrame(int priority) {
+		final Array<FrameSpreadTask> queue = queues[priority];
+		if(queue.size == 0) {
+			cursors[priority] = 0;
+			starvedFrames[priority] = 0;
+			return;
+		}
+		final int nextIndex = (cursors[priority] + updateCounts[priority]) % queue.size;
+		if(updateCounts[priority] > 0) {
+			starvedFrames[priority] = 0;
+		} else {
+			starvedFrames[priority]++;
+		}
+
+		if(completedCounts[priority] == 0) {
+			cursors[priority] = nextIndex;
+		} else {
+			int writeIndex = 0;
+			int nextCursor = 0;
+			for(int i = 0; i < queue.size; i++) {
+				if(i == nextIndex) {
+					nextCursor = writeIndex;
+				}
+				final FrameSpreadTask task = queue.get(i);
+				if(task == null) {
+					continue;
+				}
+				queue.set(writeIndex, task);
+				writeIndex++;
+			}
+			queue.truncate(writeIndex);
+			cursors[priority] = writeIndex == 0 ? 0 : nextCursor % writeIndex;
+		}
+		updateCounts[priority] = 0;
+		completedCounts[priority] = 0;
+	}
+
+	/**
+	 * Returns the time budget for the next frame
+	 * @return The budget in nanoseconds
+	 */
+	public long getFrameBudget() {
+		if(!adaptiveBudget || Mdx.platformUtils == null) {
+			return maxBudgetNanos;
+		}
+		final double targetFrameDuration = 1000000000.0 / GameContainer.TARGET_FPS;
+		final double otherFrameDuration = Math.max(0.0, Mdx.platformUtils.getAverageFrameDuration() - averageDuration.getAverage());
+		//Only half the headroom is used to absorb variance between frames
+		final long headroom = (long) ((targetFrameDuration - otherFrameDuration) * 0.5);
+		return Math.max(minBudgetNanos, Math.min(maxBudgetNanos, headroom));
+	}
+
+	/**
+	 * Sets the range of the per-frame time budget
+	 * @param minBudgetNanos The minimum budget in nanoseconds
+	 * @param maxBudgetNanos The maximum budget in nanoseconds. Used as the fixed budget if the budget is not adaptive.
+	 */
+	public void setFrameBudget(long minBudgetNanos, long maxBudgetNanos) {
+		this.minBudgetNanos = Math.max(0L, minBudgetNanos);
+		this.maxBudgetNanos = Math.max(this.minBudgetNanos, maxBudgetNanos);
+	}
+
+	/**
+	 * Returns the minimum per-frame time budget
+	 * @return {@link #DEFAULT_MIN_BUDGET_NANOS} by default
+	 */
+	public long getMinFrameBudget() {
+		return minBudgetNanos;
+	}
+
+	/**
+	 * Returns the maximum per-frame time budget
+	 * @return {@link #DEFAULT_MAX_BUDGET_NANOS} by default
+	 */
+	public long getMaxFrameBudget() {
+		return maxBudgetNanos;
+	}
+
+	/**
+	 * Returns if the budget adapts to the measured frame headroom
+	 * @return True by default
+	 */
+	public boolean isAdaptiveBudget() {
+		return adaptiveBudget;
+	}
+
+	/**
+	 * Sets if the budget adapts to the measured frame headroom
+	 * @param adaptiveBudget False to always use the maximum budget
+	 */
+	public void setAdaptiveBudget(boolean adaptiveBudget) {
+		this.adaptiveBudget = adaptiveBudget;
+	}
+
+	/**
+	 * Returns the amount of frames a priority can go without updates before one of its tasks is updated regardless of budget
+	 * @return {@link #DEFAULT_MAX_STARVED_FRAMES} by default
+	 */
+	public int getMaxStarvedFrames() {
+		return maxStarvedFrames;
+	}
+
+	/**
+	 * Sets the amount of frames a priority can go without updates before one of its tasks is updated regardless of budget
+	 * @param maxStarvedFrames The amount of frames, minimum 1
+	 */
+	public void setMaxStarvedFrames(int maxStarvedFrames) {
+		this.maxStarvedFrames = Math.max(1, maxStarvedFrames);
+	}
+
+	/**
+	 * Returns the budget used during the last frame
+	 * @return The budget in nanoseconds
+	 */
+	public long getLastFrameBudget() {
+		return lastBudgetNanos;
+	}
+
+	/**
+	 * Returns the time spent updating tasks during the last frame
+	 * @return The duration in nanoseconds
+	 */
+	public long getLastFrameDuration() {
+		return lastDurationNanos;
+	}
+
+	/**
+	 * Returns the amount of task updates during the last frame
+	 * @return 0 if no tasks were updated
+	 */
+	public int getLastFrameUpdatedTasks() {
+		return lastUpdatedTasks;
+	}
+
+	/**
+	 * Returns the amount of tasks that have not completed
+	 * @return 0 if no tasks are queued
+	 */
+	public int getTotalQueuedTasks() {
+		return totalTasks.get();
+	}
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+/**
+ * The body of a {@link org.mini2Dx.core.TaskExecutor#parallelFor(int, int, int, ParallelForBody)} loop.
+ * May be executed concurrently on several threads.
+ */
+public interface ParallelForBody {
+	/**
+	 * Executes the loop body for an index
+	 * @param index The index between start (inclusive) and end (exclusive)
+	 */
+	public void execute(int index);
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+/**
+ * The body of a {@link org.mini2Dx.core.TaskExecutor#parallelReduce(int, int, int, ParallelReduceBody)}.
+ * Ranges may be reduced concurrently on several threads. Results are combined in index order.
+ * @param <T> The result type
+ */
+public interface ParallelReduceBody<T> {
+	/**
+	 * Reduces a range of indices to a single value
+	 * @param start The first index (inclusive)
+	 * @param end The last index (exclusive)
+	 * @return The result for the range
+	 */
+	public T reduce(int start, int end);
+
+	/**
+	 * Combines the results of two adjacent ranges
+	 * @param left The result of the lower range
+	 * @param right The result of the higher range
+	 * @return The combined result
+	 */
+	public T combine(T left, T right);
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.collections.CharMap;
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.graphics.Pixmap;
+import org.mini2Dx.core.graphics.PixmapBlending;
+import org.mini2Dx.core.graphics.PixmapFormat;
+import org.mini2Dx.core.graphics.Texture;
+import org.mini2Dx.core.graphics.TextureRegion;
+import org.mini2Dx.gdx.utils.Disposable;
+import org.mini2Dx.gdx.utils.IntSet;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+/**
+ * A glyph atlas that rasterizes characters on demand via a {@link GlyphRasterizer} and packs them
+ * into a fixed amount of texture pages. Each page is divided into equally sized cells, one glyph per cell.
+ *
+ * When all cells are in use, the least recently used glyph is evicted. Glyphs drawn during the current
+ * frame are never evicted. Rasterized glyphs are copied into a {@link Pixmap} per page. When {@link #flush()}
+ * is called, only the area of each page modified since the previous flush is uploaded to its texture.
+ *
+ * Glyphs are keyed by their {@link GlyphRasterizer} and character so that multiple fonts can share one atlas,
+ * each passing its own rasterizer to {@link #getGlyph(GlyphRasterizer, char, long)}.
+ *
+ * This allows fonts with large character sets (e.g. CJK) to only keep the working set of glyphs in memory.
+ * Note: This class is not thread-safe and should only be used on the game thread.
+ */
+public class DynamicGlyphAtlas implements Disposable {
+	private final GlyphRasterizer rasterizer;
+	private final int pageWidth, pageHeight, cellWidth, cellHeight;
+	private final int cellsPerRow, cellsPerPage, totalCells;
+	private final Page [] pages;
+	private final ObjectMap<GlyphRasterizer, RasterizerGlyphs> glyphs = new ObjectMap<GlyphRasterizer, RasterizerGlyphs>();
+
+	private Cell head, tail;
+	private int allocatedCells, totalGlyphs;
+	private long totalEvictions;
+
+	/**
+	 * Constructor for an atlas shared between fonts. Glyphs must be requested via
+	 * {@link #getGlyph(GlyphRasterizer, char, long)}.
+	 * @param pageWidth The width of each texture page in pixels
+	 * @param pageHeight The height of each texture page in pixels
+	 * @param totalPages The maximum amount of texture pages
+	 * @param cellWidth The maximum width of a glyph in pixels
+	 * @param cellHeight The maximum height of a glyph in pixels
+	 */
+	public DynamicGlyphAtlas(int pageWidth, int pageHeight, int totalPages, int cellWidth, int cellHeight) {
+		this(null, pageWidth, pageHeight, totalPages, cellWidth, cellHeight, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param rasterizer The default {@link GlyphRasterizer} to rasterize characters with
+	 * @param pageWidth The width of each texture page in pixels
+	 * @param pageHeight The height of each texture page in pixels
+	 * @param totalPages The maximum amount of texture pages
+	 * @param cellWidth The maximum width of a glyph in pixels
+	 * @param cellHeight The maximum height of a glyph in pixels
+	 */
+	public DynamicGlyphAtlas(GlyphRasterizer rasterizer, int pageWidth, int pageHeight, int totalPages, int cellWidth, int cellHeight) {
+		this(rasterizer, pageWidth, pageHeight, totalPages, cellWidth, cellHeight, true);
+	}
+
+	private DynamicGlyphAtlas(GlyphRasterizer rasterizer, int pageWidth, int pageHeight, int totalPages, int cellWidth, int cellHeight,
+	                          boolean rasterizerRequired) {
+		super();
+		if(rasterizerRequired && rasterizer == null) {
+			throw new IllegalArgumentException("rasterizer cannot be null");
+		}
+		if(totalPages < 1) {
+			throw new IllegalArgumentException("totalPages must be greater than 0");
+		}
+		if(cellWidth < 1 || cellHeight < 1 || cellWidth > pageWidth || cellHeight > pageHeight) {
+			throw new IllegalArgumentException("Cells must be at least 1x1 and fit within a page");
+		}
+		this.rasterizer = rasterizer;
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+
+		cellsPerRow = pageWidth / cellWidth;
+		cellsPerPage = cellsPerRow * (pageHeight / cellHeight);
+		totalCells = cellsPerPage * totalPages;
+		pages = new Page[totalPages];
+	}
+
+	/**
+	 * Returns the {@link TextureRegion} for a character of the default {@link GlyphRasterizer},
+	 * rasterizing it if it is not in the atlas
+	 * @param c The character
+	 * @param frameId The current frame id (see {@link org.mini2Dx.core.Graphics#getFrameId()})
+	 * @return Null if the character is not supported or all cells are in use by the current frame
+	 */
+	public TextureRegion getGlyph(char c, long frameId) {
+		return getGlyph(getDefaultRasterizer(), c, frameId);
+	}
+
+	/**
+	 * Returns the {@link TextureRegion} for a character, rasterizing it if it is not in the atlas
+	 * @param rasterizer The {@link GlyphRasterizer} of the font the character belongs to
+	 * @param c The character
+	 * @param frameId The current frame id (see {@link org.mini2Dx.core.Graphics#getFrameId()})
+	 * @return Null if the character is not supported or all cells are in use by the current frame
+	 */
+	public TextureRegion getGlyph(GlyphRasterizer rasterizer, char c, long frameId) {
+		RasterizerGlyphs rasterizerGlyphs = glyphs.get(rasterizer);
+		if(rasterizerGlyphs == null) {
+			rasterizerGlyphs = new RasterizerGlyphs();
+			glyphs.put(rasterizer, rasterizerGlyphs);
+		}
+		Cell cell = rasterizerGlyphs.cells.get(c);
+		if(cell != null) {
+			cell.lastUsedFrameId = frameId;
+			moveToHead(cell);
+			return cell.textureRegion;
+		}
+		if(rasterizerGlyphs.unsupported.contains(c)) {
+			return null;
+		}
+
+		final Pixmap glyphPixmap = rasterizer.rasterize(c);
+		if(glyphPixmap == null) {
+			rasterizerGlyphs.unsupported.add(c);
+			return null;
+		}
+
+		cell = allocateCell(frameId);
+		if(cell == null) {
+			glyphPixmap.dispose();
+			return null;
+		}
+
+		final Page page = getPage(cell.pageIndex);
+		final int width = Math.min(cellWidth, glyphPixmap.getWidth());
+		final int height = Math.min(cellHeight, glyphPixmap.getHeight());
+		page.pixmap.drawPixmap(glyphPixmap, cell.x, cell.y, 0, 0, width, height);
+		page.markDirty(cell.x, cell.y, width, height);
+		glyphPixmap.dispose();
+
+		cell.rasterizer = rasterizer;
+		cell.glyph = c;
+		cell.lastUsedFrameId = frameId;
+		cell.textureRegion = Mdx.graphics.newTextureRegion(page.texture, cell.x, cell.y, width, height);
+		rasterizerGlyphs.cells.put(c, cell);
+		totalGlyphs++;
+		addToHead(cell);
+		return cell.textureRegion;
+	}
+
+	/**
+	 * Uploads the modified area of each page to its texture. Must be called after glyphs have been
+	 * requested and before their {@link TextureRegion}s are submitted for rendering.
+	 * Returns immediately if no glyphs were added since the previous flush.
+	 */
+	public void flush() {
+		for(int i = 0; i < pages.length; i++) {
+			final Page page = pages[i];
+			if(page == null || !page.isDirty()) {
+				continue;
+			}
+			final int dirtyWidth = page.dirtyMaxX - page.dirtyMinX;
+			final int dirtyHeight = page.dirtyMaxY - page.dirtyMinY;
+			if(dirtyWidth == pageWidth && dirtyHeight == pageHeight) {
+				page.texture.draw(page.pixmap, 0, 0);
+			} else {
+				final Pixmap dirtyPixmap = Mdx.graphics.newPixmap(dirtyWidth, dirtyHeight, PixmapFormat.RGBA8888);
+				dirtyPixmap.setBlending(PixmapBlending.NONE);
+				dirtyPixmap.drawPixmap(page.pixmap, 0, 0, page.dirtyMinX, page.dirtyMinY, dirtyWidth, dirtyHeight);
+				page.texture.draw(dirtyPixmap, page.dirtyMinX, page.dirtyMinY);
+				dirtyPixmap.dispose();
+			}
+			page.clearDirty();
+		}
+	}
+
+	/**
+	 * Removes all glyphs from the atlas. Pages remain allocated.
+	 */
+	public void clear() {
+		Cell cell = head;
+		while(cell != null) {
+			cell.rasterizer = null;
+			cell.glyph = 0;
+			cell.textureRegion = null;
+			cell = cell.next;
+		}
+		head = null;
+		tail = null;
+		glyphs.clear();
+		allocatedCells = 0;
+		totalGlyphs = 0;
+	}
+
+	private Cell allocateCell(long frameId) {
+		if(allocatedCells < totalCells) {
+			final int cellIndex = allocatedCells++;
+			final int pageCellIndex = cellIndex % cellsPerPage;
+
+			final Cell result = new Cell();
+			result.pageIndex = cellIndex / cellsPerPage;
+			result.x = (pageCellIndex % cellsPerRow) * cellWidth;
+			result.y = (pageCellIndex / cellsPerRow) * cellHeight;
+			return result;
+		}
+		if(tail == null || tail.lastUsedFrameId == frameId) {
+			return null;
+		}
+		final Cell result = tail;
+		unlink(result);
+		glyphs.get(result.rasterizer).cells.remove(result.glyph);
+		totalGlyphs--;
+		result.rasterizer = null;
+		result.textureRegion = null;
+		totalEvictions++;
+		return result;
+	}
+
+	private GlyphRasterizer getDefaultRasterizer() {
+		if(rasterizer == null) {
+			throw new MdxException("No default rasterizer set, use getGlyph(GlyphRasterizer, char, long)");
+		}
+		return rasterizer;
+	}
+
+	private Page getPage(int pageIndex) {
+		if(pages[pageIndex] == null) {
+			final Page page = new Page();
+			page.pixmap = Mdx.graphics.newPixmap(pageWidth, pageHeight, PixmapFormat.RGBA8888);
+			page.pixmap.setBlending(PixmapBlending.NONE);
+			page.texture = Mdx.graphics.newTexture(page.pixmap);
+			pages[pageIndex] = page;
+		}
+		return pages[pageIndex];
+	}
+
+	private void addToHead(Cell cell) {
+		cell.previous = null;
+		cell.next = head;
+		if(head != null) {
+			head.previous = cell;
+		}
+		head = cell;
+		if(tail == null) {
+			tail = cell;
+		}
+	}
+
+	private void moveToHead(Cell cell) {
+		if(cell == head) {
+			return;
+		}
+		unlink(cell);
+		addToHead(cell);
+	}
+
+	private void unlink(Cell cell) {
+		if(cell.previous != null) {
+			cell.previous.next = cell.next;
+		} else {
+			head = cell.next;
+		}
+		if(cell.next != null) {
+			cell.next.previous = cell.previous;
+		} else {
+			tail = cell.previous;
+		}
+		cell.previous = null;
+		cell.next = null;
+	}
+
+	/**
+	 * Returns if a character of the default {@link GlyphRasterizer} is currently stored in the atlas
+	 * @param c The character
+	 * @return False if the character has not been rasterized or was evicted
+	 */
+	public boolean contains(char c) {
+		return contains(getDefaultRasterizer(), c);
+	}
+
+	/**
+	 * Returns if a character is currently stored in the atlas
+	 * @param rasterizer The {@link GlyphRasterizer} of the font the character belongs to
+	 * @param c The character
+	 * @return False if the character has not been rasterized or was evicted
+	 */
+	public boolean contains(GlyphRasterizer rasterizer, char c) {
+		final RasterizerGlyphs rasterizerGlyphs = glyphs.get(rasterizer);
+		return rasterizerGlyphs != null && rasterizerGlyphs.cells.containsKey(c);
+	}
+
+	/**
+	 * Returns the {@link GlyphRasterizer} used by {@link #getGlyph(char, long)}
+	 * @return Null if this atlas was created without a default rasterizer
+	 */
+	public GlyphRasterizer getRasterizer() {
+		return rasterizer;
+	}
+
+	/**
+	 * Returns the amount of glyphs currently stored in the atlas
+	 * @return 0 if empty
+	 */
+	public int getTotalGlyphs() {
+		return totalGlyphs;
+	}
+
+	/**
+	 * Returns the maximum amount of glyphs that can be stored in the atlas at once
+	 * @return The amount of cells across all pages
+	 */
+	public int getCapacity() {
+		return totalCells;
+	}
+
+	/**
+	 * Returns the amount of glyphs evicted to make room for other glyphs
+	 * @return 0 by default
+	 */
+	public long getTotalEvictions() {
+		return totalEvictions;
+	}
+
+	@Override
+	public void dispose() {
+		clear();
+		for(int i = 0; i < pages.length; i++) {
+			if(pages[i] == null) {
+				continue;
+			}
+			pages[i].pixmap.dispose();
+			pages[i].texture.dispose();
+			pages[i] = null;
+		}
+	}
+
+	private static class Page {
+		Pixmap pixmap;
+		Texture texture;
+		int dirtyMinX = Integer.MAX_VALUE, dirtyMinY = Integer.MAX_VALUE, dirtyMaxX, dirtyMaxY;
+
+		void markDirty(int x, int y, int width, int height) {
+			dirtyMinX = Math.min(dirtyMinX, x);
+			dirtyMinY = Math.min(dirtyMinY, y);
+			dirtyMaxX = Math.max(dirtyMaxX, x + width);
+			dirtyMaxY = Math.max(dirtyMaxY, y + height);
+		}
+
+		boolean isDirty() {
+			return dirtyMaxX > dirtyMinX && dirtyMaxY > dirtyMinY;
+		}
+
+		void clearDirty() {
+			dirtyMinX = Integer.MAX_VALUE;
+			dirtyMinY = Integer.MAX_VALUE;
+			dirtyMaxX = 0;
+			dirtyMaxY = 0;
+		}
+	}
+
+	private static class RasterizerGlyphs {
+		final CharMap<Cell> cells = new CharMap<Cell>();
+		final IntSet unsupported = new IntSet();
+	}
+
+	private static class Cell {
+		int pageIndex, x, y;
+		GlyphRasterizer rasterizer;
+		char glyph;
+		long lastUsedFrameId = -1L;
+		TextureRegion textureRegion;
+		Cell previous, next;
+	}
+}
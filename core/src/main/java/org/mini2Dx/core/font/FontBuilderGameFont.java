@@ -39,12 +39,15 @@ public class FontBuilderGameFont implements GameFont {
 	private static final String LOGGING_TAG = FontBuilderGameFont.class.getSimpleName();
 	private static final FontBuilderXmlReader XML_READER = new FontBuilderXmlReader();
 
-	private final FontBuilderGlyphLayout sharedGlyphLayout;
+	private FontBuilderGlyphLayout sharedGlyphLayout;
 	final FontParameters fontParameters;
 
 	final FontProperties fontProperties = new FontProperties();
 	final CharMap<FontBuilderChar> charMap = new CharMap<>();
 
+	private final Array<TextureRegion> atlasGlyphs = new Array<TextureRegion>();
+	private DynamicGlyphAtlas glyphAtlas;
+	private GlyphRasterizer glyphRasterizer;
 	private Color color = Mdx.graphics.newColor(0f, 0f, 0f, 1f);
 
 	public FontBuilderGameFont(FontParameters fontParameters) {
@@ -58,6 +61,9 @@ public class FontBuilderGameFont implements GameFont {
 		if(fontParameters.xmlFileHandleType != null && !fontParameters.xmlFileHandleType.equals(FileType.INTERNAL)) {
 			throw new MdxException("Attempting to use loadInternal() but font is set to file handle type " + fontParameters.xmlFileHandleType);
 		}
+		if(glyphAtlas != null) {
+			return load(Mdx.files.internal(fontParameters.xmlPath), null);
+		}
 		return load(Mdx.files.internal(fontParameters.xmlPath), Mdx.graphics.newTextureRegion(
 				Mdx.graphics.newTexture(Mdx.files.internal(fontParameters.texturePath))));
 	}
@@ -67,6 +73,9 @@ public class FontBuilderGameFont implements GameFont {
 		if(fontParameters.xmlFileHandleType != null && !fontParameters.xmlFileHandleType.equals(FileType.EXTERNAL)) {
 			throw new MdxException("Attempting to use loadExternal() but font is set to file handle type " + fontParameters.xmlFileHandleType);
 		}
+		if(glyphAtlas != null) {
+			return load(Mdx.files.external(fontParameters.xmlPath), null);
+		}
 		return load(Mdx.files.external(fontParameters.xmlPath), Mdx.graphics.newTextureRegion(
 				Mdx.graphics.newTexture(Mdx.files.external(fontParameters.texturePath))));
 	}
@@ -92,6 +101,9 @@ public class FontBuilderGameFont implements GameFont {
 			break;
 		}
 
+		if(glyphAtlas != null) {
+			return load(xmlFileHandle, null);
+		}
 		if(fontParameters.textureAtlasPath != null) {
 			if(!assetManager.isLoaded(fontParameters.textureAtlasPath)) {
 				assetManager.load(fontParameters.textureAtlasPath, TextureAtlas.class);
@@ -127,6 +139,9 @@ public class FontBuilderGameFont implements GameFont {
 			return false;
 		}
 
+		if(textureRegion == null) {
+			return true;
+		}
 		for(FontBuilderChar fontChar : charMap.values()) {
 			fontChar.textureRegion = Mdx.graphics.newTextureRegion(textureRegion,
 					fontChar.rectX, fontChar.rectY, fontChar.rectWidth, fontChar.rectHeight);
@@ -159,13 +174,24 @@ public class FontBuilderGameFont implements GameFont {
 	}
 
 	public void draw(Graphics g, Array<FontBuilderGlyph> glyphs, float x, float y, MonospaceGameFont.FontRenderListener listener) {
+		if(glyphAtlas != null) {
+			atlasGlyphs.clear();
+			for(int i = 0; i < glyphs.size; i++) {
+				final FontBuilderGlyph glyph = glyphs.get(i);
+				atlasGlyphs.add(glyph.glyphChar == null ? null :
+						glyphAtlas.getGlyph(glyphRasterizer, glyph.glyphChar.code, g.getFrameId()));
+			}
+			glyphAtlas.flush();
+		}
+
 		final Color previousTint = g.getTint();
 		for(int i = 0; i < glyphs.size; i++) {
 			final FontBuilderGlyph glyph = glyphs.get(i);
 			if(glyph.glyphChar == null) {
 				continue;
 			}
-			if(glyph.glyphChar.textureRegion == null) {
+			final TextureRegion textureRegion = glyphAtlas == null ? glyph.glyphChar.textureRegion : atlasGlyphs.get(i);
+			if(textureRegion == null) {
 				continue;
 			}
 
@@ -174,10 +200,10 @@ public class FontBuilderGameFont implements GameFont {
 
 			g.setTint(glyph.color);
 			if(listener == null) {
-				g.drawTextureRegion(glyph.glyphChar.textureRegion, renderX, renderY);
+				g.drawTextureRegion(textureRegion, renderX, renderY);
 			} else {
 				if(listener.preRenderChar(g, glyph.glyphChar.code, renderX, renderY, glyph.glyphChar.rectWidth, glyph.glyphChar.rectHeight)) {
-					g.drawTextureRegion(glyph.glyphChar.textureRegion, renderX, renderY);
+					g.drawTextureRegion(textureRegion, renderX, renderY);
 				}
 				listener.postRenderChar(g, glyph.glyphChar.code, renderX, renderY, glyph.glyphChar.rectWidth, glyph.glyphChar.rectHeight);
 			}
@@ -228,10 +254,45 @@ public class FontBuilderGameFont implements GameFont {
 		return true;
 	}
 
+	/**
+	 * Returns the {@link DynamicGlyphAtlas} used to render characters
+	 * @return Null if characters are rendered from the font texture
+	 */
+	public DynamicGlyphAtlas getGlyphAtlas() {
+		return glyphAtlas;
+	}
+
+	/**
+	 * Sets a {@link DynamicGlyphAtlas} to rasterize characters on demand instead of loading the font texture.
+	 * Must be set before the font is loaded. Character metrics are still read from the font XML.
+	 * The atlas is not disposed with this font.
+	 * @param glyphAtlas The {@link DynamicGlyphAtlas} or null to use the font texture
+	 */
+	public void setGlyphAtlas(DynamicGlyphAtlas glyphAtlas) {
+		setGlyphAtlas(glyphAtlas, glyphAtlas == null ? null : glyphAtlas.getRasterizer());
+	}
+
+	/**
+	 * Sets a {@link DynamicGlyphAtlas} shared with other fonts. Glyphs are stored in the atlas under the
+	 * given {@link GlyphRasterizer} so that they do not collide with the same characters of other fonts.
+	 * @param glyphAtlas The {@link DynamicGlyphAtlas} or null to use the font texture
+	 * @param glyphRasterizer The {@link GlyphRasterizer} for this font's characters
+	 */
+	public void setGlyphAtlas(DynamicGlyphAtlas glyphAtlas, GlyphRasterizer glyphRasterizer) {
+		if(glyphAtlas != null && glyphRasterizer == null) {
+			throw new MdxException("glyphRasterizer cannot be null when a glyph atlas is set");
+		}
+		this.glyphAtlas = glyphAtlas;
+		this.glyphRasterizer = glyphAtlas == null ? null : glyphRasterizer;
+	}
+
 	@Override
 	public void dispose() {
-		if(sharedGlyphLayout != null) {
-			sharedGlyphLayout.dispose();
+		//Replaced so that the font can be reloaded after disposal
+		sharedGlyphLayout.dispose();
+		sharedGlyphLayout = (FontBuilderGlyphLayout) newGlyphLayout();
+		if(Mdx.fonts != null) {
+			Mdx.fonts.getGlyphLayoutCache().invalidate(this);
 		}
 	}
 
@@ -352,6 +352,25 @@ public class FontBuilderGlyphLayout implements FontGlyphLayout {
 		}
 	}
 
+	/**
+	 * Copies the computed glyphs into an {@link Array} without modifying this layout
+	 * @param result The {@link Array} to add the copied glyphs to
+	 * @param x The x offset to apply to the copied glyphs
+	 * @param y The y offset to apply to the copied glyphs
+	 * @param color The {@link Color} to apply to the copied glyphs
+	 */
+	public void copyGlyphsTo(Array<FontBuilderGlyph> result, float x, float y, Color color) {
+		for(int i = 0; i < glyphs.size; i++) {
+			final FontBuilderGlyph source = glyphs.get(i);
+			final FontBuilderGlyph glyph = FontBuilderGlyph.allocate();
+			glyph.x = source.x + x;
+			glyph.y = source.y + y;
+			glyph.glyphChar = source.glyphChar;
+			glyph.color.set(color);
+			result.add(glyph);
+		}
+	}
+
 	public Array<FontBuilderGlyph> getGlyphs() {
 		return glyphs;
 	}
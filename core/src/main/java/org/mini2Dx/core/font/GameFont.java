@@ -79,7 +79,9 @@ public interface GameFont {
 	public FontGlyphLayout newGlyphLayout();
 
 	/**
-	 * Returns a {@link FontGlyphLayout} instance associated with this {@link GameFont} instance
+	 * Returns a {@link FontGlyphLayout} instance associated with this {@link GameFont} instance.
+	 * The instance is shared and must only be used on the game thread. Use {@link #newGlyphLayout()}
+	 * or {@link GlyphLayoutCache} to measure text on other threads.
 	 * @return A {@link FontGlyphLayout} instance attached to this font
 	 */
 	public FontGlyphLayout getSharedGlyphLayout();
@@ -0,0 +1,557 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.core.util.Align;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.IdentityMap;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, least-recently used cache of computed {@link FontGlyphLayout} instances.
+ *
+ * Layouts are keyed by text content, {@link GameFont}, target width, horizontal alignment and wrapping
+ * so that repeated measurement of unchanged text does not re-run glyph layout and line wrapping.
+ * Once the maximum capacity is reached, the least recently used layout is disposed.
+ *
+ * All methods are thread-safe. Layouts returned by {@link #acquire(GameFont, CharSequence, float, int, boolean)}
+ * are owned by the cache and must not be modified or disposed by the caller. They remain valid until
+ * passed to {@link #release(FontGlyphLayout)}, even if they are evicted by another thread in the meantime.
+ *
+ * Large amounts of text can be laid out in parallel ahead of time using
+ * {@link #prewarm(TaskExecutor, GameFont, Array, float, int, boolean)}.
+ */
+public class GlyphLayoutCache {
+	public static final int DEFAULT_MAX_CAPACITY = 256;
+
+	private final ObjectMap<LayoutKey, LayoutEntry> entries;
+	private final IdentityMap<FontGlyphLayout, LayoutEntry> acquiredEntries = new IdentityMap<FontGlyphLayout, LayoutEntry>();
+	private final LayoutKey lookupKey = new LayoutKey();
+	private final int maxCapacity;
+
+	private LayoutEntry head, tail;
+	private Color color;
+	private long hits, misses;
+
+	public GlyphLayoutCache() {
+		this(DEFAULT_MAX_CAPACITY);
+	}
+
+	public GlyphLayoutCache(int maxCapacity) {
+		super();
+		if(maxCapacity < 1) {
+			throw new IllegalArgumentException("maxCapacity must be greater than 0");
+		}
+		this.maxCapacity = maxCapacity;
+		entries = new ObjectMap<LayoutKey, LayoutEntry>(Math.min(maxCapacity, 64));
+	}
+
+	/**
+	 * Acquires the {@link FontGlyphLayout} for the text, computing it if it is not already cached.
+	 * The layout must be passed to {@link #release(FontGlyphLayout)} once it is no longer being read.
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @return A {@link FontGlyphLayout} owned by the cache
+	 */
+	public FontGlyphLayout acquire(GameFont font, CharSequence str) {
+		return acquire(font, str, -1f, Align.LEFT, true);
+	}
+
+	/**
+	 * Acquires the {@link FontGlyphLayout} for the text, computing it if it is not already cached.
+	 * The layout must be passed to {@link #release(FontGlyphLayout)} once it is no longer being read.
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return A {@link FontGlyphLayout} owned by the cache
+	 */
+	public FontGlyphLayout acquire(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		synchronized(this) {
+			final LayoutEntry entry = getCached(font, str, targetWidth, halign, wrap);
+			if(entry != null) {
+				return acquire(entry);
+			}
+		}
+		final FontGlyphLayout layout = newLayout(font, str, targetWidth, halign, wrap);
+		synchronized(this) {
+			return acquire(insert(font, str.toString(), targetWidth, halign, wrap, layout));
+		}
+	}
+
+	private FontGlyphLayout acquire(LayoutEntry entry) {
+		if(entry.acquisitions == 0) {
+			acquiredEntries.put(entry.layout, entry);
+		}
+		entry.acquisitions++;
+		return entry.layout;
+	}
+
+	/**
+	 * Releases a {@link FontGlyphLayout} returned by {@link #acquire(GameFont, CharSequence, float, int, boolean)}.
+	 * If the layout was evicted while acquired, it is disposed once all acquisitions are released.
+	 * @param layout The {@link FontGlyphLayout} to release
+	 */
+	public synchronized void release(FontGlyphLayout layout) {
+		final LayoutEntry entry = acquiredEntries.get(layout);
+		if(entry == null) {
+			throw new IllegalStateException("Layout was not acquired from this cache");
+		}
+		entry.acquisitions--;
+		if(entry.acquisitions > 0) {
+			return;
+		}
+		acquiredEntries.remove(layout);
+		if(entry.evicted) {
+			layout.dispose();
+		}
+	}
+
+	/**
+	 * Must be called while holding the lock on this cache
+	 * @return Null if the text must be laid out
+	 */
+	private LayoutEntry getCached(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		lookupKey.set(font, str, targetWidth, halign, wrap);
+		final LayoutEntry entry = entries.get(lookupKey);
+		lookupKey.clear();
+		if(entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		moveToHead(entry);
+		return entry;
+	}
+
+	/**
+	 * Lays out text without holding the lock so that a slow layout does not block other threads
+	 */
+	private FontGlyphLayout newLayout(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		final FontGlyphLayout layout = font.newGlyphLayout();
+		layout.setText(str, getColor(), targetWidth, halign, wrap);
+		return layout;
+	}
+
+	/**
+	 * Lays out multiple strings in parallel and stores the results in the cache,
+	 * e.g. to pre-warm all UI text of a localization table during loading.
+	 * Each string is laid out on its own {@link FontGlyphLayout}.
+	 * Note: Pre-warming never evicts cached layouts. Only strings that fit in the remaining
+	 * capacity (see {@link #getMaxCapacity()}) are laid out, in the order they are given.
+	 * @param executor The {@link TaskExecutor} to lay out the text on
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param strings The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return An {@link AsyncFuture} that is finished once all text has been laid out
+	 */
+	public AsyncFuture prewarm(TaskExecutor executor, final GameFont font, Array<? extends CharSequence> strings,
+	                           final float targetWidth, final int halign, final boolean wrap) {
+		final Array<String> uncached = new Array<String>(String.class);
+		synchronized(this) {
+			final int remainingCapacity = maxCapacity - entries.size;
+			for(int i = 0; i < strings.size && uncached.size < remainingCapacity; i++) {
+				final String str = strings.get(i).toString();
+				lookupKey.set(font, str, targetWidth, halign, wrap);
+				if(!entries.containsKey(lookupKey) && !uncached.contains(str, false)) {
+					uncached.add(str);
+				}
+				lookupKey.clear();
+			}
+		}
+		final String [] text = uncached.toArray();
+		final Color color = getColor();
+
+		final int totalTasks = Math.max(1, Math.min(text.length, Runtime.getRuntime().availableProcessors()));
+		final int stringsPerTask = (text.length + totalTasks - 1) / totalTasks;
+		final PrewarmFuture result = new PrewarmFuture(totalTasks);
+
+		for(int i = 0; i < totalTasks; i++) {
+			final int from = i * stringsPerTask;
+			final int to = Math.min(text.length, from + stringsPerTask);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for(int j = from; j < to; j++) {
+							layoutIfAbsent(font, text[j], color, targetWidth, halign, wrap);
+						}
+					} finally {
+						result.taskFinished();
+					}
+				}
+			});
+		}
+		return result;
+	}
+
+	private void layoutIfAbsent(GameFont font, String str, Color color, float targetWidth, int halign, boolean wrap) {
+		synchronized(this) {
+			lookupKey.set(font, str, targetWidth, halign, wrap);
+			final boolean exists = entries.containsKey(lookupKey);
+			lookupKey.clear();
+			if(exists || entries.size >= maxCapacity) {
+				return;
+			}
+		}
+
+		final FontGlyphLayout layout = font.newGlyphLayout();
+		layout.setText(str, color, targetWidth, halign, wrap);
+
+		synchronized(this) {
+			if(entries.size >= maxCapacity) {
+				//Filled by other threads while laying out
+				layout.dispose();
+				return;
+			}
+			insert(font, str, targetWidth, halign, wrap, layout);
+		}
+	}
+
+	private LayoutEntry insert(GameFont font, String str, float targetWidth, int halign, boolean wrap, FontGlyphLayout layout) {
+		final LayoutKey key = new LayoutKey();
+		key.set(font, str, targetWidth, halign, wrap);
+
+		final LayoutEntry existing = entries.get(key);
+		if(existing != null) {
+			//Laid out concurrently by another thread
+			layout.dispose();
+			moveToHead(existing);
+			return existing;
+		}
+
+		while(entries.size >= maxCapacity) {
+			evict(tail);
+		}
+
+		final LayoutEntry entry = new LayoutEntry(key, layout);
+		entries.put(key, entry);
+		addToHead(entry);
+		return entry;
+	}
+
+	private synchronized Color getColor() {
+		if(color == null) {
+			color = Mdx.graphics.newColor(1f, 1f, 1f, 1f);
+		}
+		return color;
+	}
+
+	/**
+	 * Returns the width of the text when laid out with the specified parameters
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return The total width of the text
+	 */
+	public float getWidth(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		synchronized(this) {
+			final LayoutEntry entry = getCached(font, str, targetWidth, halign, wrap);
+			if(entry != null) {
+				return entry.layout.getWidth();
+			}
+		}
+		final FontGlyphLayout layout = newLayout(font, str, targetWidth, halign, wrap);
+		synchronized(this) {
+			return insert(font, str.toString(), targetWidth, halign, wrap, layout).layout.getWidth();
+		}
+	}
+
+	/**
+	 * Returns the height of the text when laid out with the specified parameters
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return The total height of the text
+	 */
+	public float getHeight(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		synchronized(this) {
+			final LayoutEntry entry = getCached(font, str, targetWidth, halign, wrap);
+			if(entry != null) {
+				return entry.layout.getHeight();
+			}
+		}
+		final FontGlyphLayout layout = newLayout(font, str, targetWidth, halign, wrap);
+		synchronized(this) {
+			return insert(font, str.toString(), targetWidth, halign, wrap, layout).layout.getHeight();
+		}
+	}
+
+	/**
+	 * Returns the width of the text using the {@link GlyphLayoutCache} of {@link Mdx#fonts}.
+	 * Falls back to a temporary glyph layout if {@link Mdx#fonts} is not set, e.g. in tests or tools.
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return The total width of the text
+	 */
+	public static float measureWidth(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		if(Mdx.fonts == null) {
+			final FontGlyphLayout glyphLayout = font.newGlyphLayout();
+			glyphLayout.setText(str, font.getColor(), targetWidth, halign, wrap);
+			final float result = glyphLayout.getWidth();
+			glyphLayout.dispose();
+			return result;
+		}
+		return Mdx.fonts.getGlyphLayoutCache().getWidth(font, str, targetWidth, halign, wrap);
+	}
+
+	/**
+	 * Returns the height of the text using the {@link GlyphLayoutCache} of {@link Mdx#fonts}.
+	 * Falls back to a temporary glyph layout if {@link Mdx#fonts} is not set, e.g. in tests or tools.
+	 * @param font The {@link GameFont} to layout the text with
+	 * @param str The text to layout
+	 * @param targetWidth The target width (-1 for unbounded)
+	 * @param halign The alignment based on {@link Align}
+	 * @param wrap True if the text should wrap when exceeding the targetWidth
+	 * @return The total height of the text
+	 */
+	public static float measureHeight(GameFont font, CharSequence str, float targetWidth, int halign, boolean wrap) {
+		if(Mdx.fonts == null) {
+			final FontGlyphLayout glyphLayout = font.newGlyphLayout();
+			glyphLayout.setText(str, font.getColor(), targetWidth, halign, wrap);
+			final float result = glyphLayout.getHeight();
+			glyphLayout.dispose();
+			return result;
+		}
+		return Mdx.fonts.getGlyphLayoutCache().getHeight(font, str, targetWidth, halign, wrap);
+	}
+
+	/**
+	 * Removes all cached layouts for a {@link GameFont}, e.g. when it is disposed or reloaded
+	 * @param font The {@link GameFont} to remove layouts for
+	 */
+	public synchronized void invalidate(GameFont font) {
+		LayoutEntry entry = head;
+		while(entry != null) {
+			final LayoutEntry next = entry.next;
+			if(entry.key.font == font) {
+				evict(entry);
+			}
+			entry = next;
+		}
+	}
+
+	/**
+	 * Disposes all cached layouts
+	 */
+	public synchronized void clear() {
+		while(tail != null) {
+			evict(tail);
+		}
+	}
+
+	/**
+	 * Returns the amount of layouts currently cached
+	 * @return 0 if empty
+	 */
+	public synchronized int size() {
+		return entries.size;
+	}
+
+	/**
+	 * Returns the amount of lookups that were served from the cache
+	 * @return 0 by default
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the amount of lookups that required the text to be laid out
+	 * @return 0 by default
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the maximum number of layouts that can be stored in the cache
+	 * @return Defaults to 256
+	 */
+	public int getMaxCapacity() {
+		return maxCapacity;
+	}
+
+	private void evict(LayoutEntry entry) {
+		unlink(entry);
+		entries.remove(entry.key);
+		if(entry.acquisitions > 0) {
+			//Disposed once released by the thread(s) that acquired it
+			entry.evicted = true;
+			return;
+		}
+		entry.layout.dispose();
+	}
+
+	private void addToHead(LayoutEntry entry) {
+		entry.previous = null;
+		entry.next = head;
+		if(head != null) {
+			head.previous = entry;
+		}
+		head = entry;
+		if(tail == null) {
+			tail = entry;
+		}
+	}
+
+	private void moveToHead(LayoutEntry entry) {
+		if(entry == head) {
+			return;
+		}
+		unlink(entry);
+		addToHead(entry);
+	}
+
+	private void unlink(LayoutEntry entry) {
+		if(entry.previous != null) {
+			entry.previous.next = entry.next;
+		} else {
+			head = entry.next;
+		}
+		if(entry.next != null) {
+			entry.next.previous = entry.previous;
+		} else {
+			tail = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+	}
+
+	private static class PrewarmFuture implements AsyncFuture {
+		private final AtomicInteger remainingTasks;
+
+		PrewarmFuture(int totalTasks) {
+			remainingTasks = new AtomicInteger(totalTasks);
+		}
+
+		void taskFinished() {
+			remainingTasks.decrementAndGet();
+		}
+
+		@Override
+		public boolean isFinished() {
+			return remainingTasks.get() <= 0;
+		}
+	}
+
+	private static class LayoutEntry {
+		final LayoutKey key;
+		final FontGlyphLayout layout;
+		LayoutEntry previous, next;
+		int acquisitions;
+		boolean evicted;
+
+		LayoutEntry(LayoutKey key, FontGlyphLayout layout) {
+			this.key = key;
+			this.layout = layout;
+		}
+	}
+
+	private static class LayoutKey {
+		GameFont font;
+		CharSequence text;
+		float targetWidth;
+		int halign;
+		boolean wrap;
+		int hash;
+
+		void set(GameFont font, CharSequence text, float targetWidth, int halign, boolean wrap) {
+			this.font = font;
+			this.text = text;
+			this.targetWidth = targetWidth;
+			this.halign = halign;
+			this.wrap = wrap;
+
+			int result = hashOf(text);
+			result = 31 * result + System.identityHashCode(font);
+			result = 31 * result + Float.floatToIntBits(targetWidth);
+			result = 31 * result + halign;
+			result = 31 * result + (wrap ? 1 : 0);
+			hash = result;
+		}
+
+		void clear() {
+			font = null;
+			text = null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof LayoutKey)) {
+				return false;
+			}
+			final LayoutKey other = (LayoutKey) o;
+			if(hash != other.hash || font != other.font || halign != other.halign || wrap != other.wrap) {
+				return false;
+			}
+			if(Float.floatToIntBits(targetWidth) != Float.floatToIntBits(other.targetWidth)) {
+				return false;
+			}
+			return contentEquals(text, other.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		private static int hashOf(CharSequence str) {
+			if(str instanceof String) {
+				return str.hashCode();
+			}
+			int result = 0;
+			for(int i = 0; i < str.length(); i++) {
+				result = 31 * result + str.charAt(i);
+			}
+			return result;
+		}
+
+		private static boolean contentEquals(CharSequence a, CharSequence b) {
+			if(a == b) {
+				return true;
+			}
+			if(a.length() != b.length()) {
+				return false;
+			}
+			for(int i = 0; i < a.length(); i++) {
+				if(a.charAt(i) != b.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.mini2Dx.core.graphics.Pixmap;
+
+/**
+ * Rasterizes individual characters on demand for a {@link DynamicGlyphAtlas}
+ */
+public interface GlyphRasterizer {
+
+	/**
+	 * Rasterizes a character into a new {@link Pixmap}. The {@link DynamicGlyphAtlas} takes ownership
+	 * of the returned {@link Pixmap} and disposes it once copied into the atlas.
+	 * @param c The character to rasterize
+	 * @return Null if the character is not supported
+	 */
+	public Pixmap rasterize(char c);
+}
@@ -346,6 +346,26 @@ public class MonospaceFontGlyphLayout implements FontGlyphLayout {
 		}
 	}
 
+	/**
+	 * Copies the computed glyphs into an {@link Array} without modifying this layout
+	 * @param result The {@link Array} to add the copied glyphs to
+	 * @param x The x offset to apply to the copied glyphs
+	 * @param y The y offset to apply to the copied glyphs
+	 * @param color The {@link Color} to apply to the copied glyphs
+	 */
+	public void copyGlyphsTo(Array<MonospaceGlyph> result, float x, float y, Color color) {
+		for(int i = 0; i < glyphs.size; i++) {
+			final MonospaceGlyph source = glyphs.get(i);
+			final MonospaceGlyph glyph = MonospaceGlyph.allocate();
+			glyph.x = source.x + x;
+			glyph.y = source.y + y;
+			glyph.glyphChar = source.glyphChar;
+			glyph.textureRegion = source.textureRegion;
+			glyph.color.set(color);
+			result.add(glyph);
+		}
+	}
+
 	public Array<MonospaceGlyph> getGlyphs() {
 		return glyphs;
 	}
@@ -35,11 +35,14 @@ import org.mini2Dx.gdx.utils.IntIntMap;
  * A {@link GameFont} where every character is a fixed-width which simplifies rendering calculations
  */
 public class MonospaceGameFont implements GameFont {
-	private final MonospaceFontGlyphLayout sharedGlyphLayout;
+	private MonospaceFontGlyphLayout sharedGlyphLayout;
 	private final FontParameters fontParameters;
 	private TextureRegion [][] characterTextures;
 	private int charactersPerRow, charactersPerColumn;
 	private Color color = Mdx.graphics.newColor(0f, 0f, 0f, 1f);
+	private final Array<TextureRegion> atlasGlyphs = new Array<TextureRegion>();
+	private DynamicGlyphAtlas glyphAtlas;
+	private GlyphRasterizer glyphRasterizer;
 
 	public MonospaceGameFont(FontParameters fontParameters) {
 		super();
@@ -87,7 +90,7 @@ public class MonospaceGameFont implements GameFont {
 	 * @return True on success
 	 */
 	public boolean load(FileHandle textureHandle) {
-		if(characterTextures != null) {
+		if(characterTextures != null || glyphAtlas != null) {
 			return true;
 		}
 		load(Mdx.graphics.newTextureRegion(Mdx.graphics.newTexture(textureHandle)));
@@ -96,7 +99,7 @@ public class MonospaceGameFont implements GameFont {
 
 	@Override
 	public boolean load(AssetManager assetManager) {
-		if(characterTextures != null) {
+		if(characterTextures != null || glyphAtlas != null) {
 			return true;
 		}
 		final TextureRegion textureRegion;
@@ -168,10 +171,21 @@ public class MonospaceGameFont implements GameFont {
 		final float charRenderWidth = fontParameters.characterWidth;
 		final float charRenderHeight = fontParameters.lineHeight;
 
+		if(glyphAtlas != null) {
+			atlasGlyphs.clear();
+			for(int i = 0; i < glyphs.size; i++) {
+				final MonospaceGlyph glyph = glyphs.get(i);
+				atlasGlyphs.add(Character.isWhitespace(glyph.glyphChar) ? null :
+						glyphAtlas.getGlyph(glyphRasterizer, glyph.glyphChar, g.getFrameId()));
+			}
+			glyphAtlas.flush();
+		}
+
 		final Color previousTint = g.getTint();
 		for(int i = 0; i < glyphs.size; i++) {
 			final MonospaceGlyph glyph = glyphs.get(i);
-			if(glyph.textureRegion == null) {
+			final TextureRegion textureRegion = glyphAtlas == null ? glyph.textureRegion : atlasGlyphs.get(i);
+			if(textureRegion == null) {
 				continue;
 			}
 
@@ -180,10 +194,10 @@ public class MonospaceGameFont implements GameFont {
 
 			g.setTint(glyph.color);
 			if(listener == null) {
-				g.drawTextureRegion(glyph.textureRegion, renderX, renderY);
+				g.drawTextureRegion(textureRegion, renderX, renderY);
 			} else {
 				if(listener.preRenderChar(g, glyph.glyphChar, renderX, renderY, charRenderWidth, charRenderHeight)) {
-					g.drawTextureRegion(glyph.textureRegion, renderX, renderY);
+					g.drawTextureRegion(textureRegion, renderX, renderY);
 				}
 				listener.postRenderChar(g, glyph.glyphChar, renderX, renderY, charRenderWidth, charRenderHeight);
 			}
@@ -265,8 +279,11 @@ public class MonospaceGameFont implements GameFont {
 
 	@Override
 	public void dispose() {
-		if(sharedGlyphLayout != null) {
-			sharedGlyphLayout.dispose();
+		//Replaced so that the font can be reloaded after disposal
+		sharedGlyphLayout.dispose();
+		sharedGlyphLayout = (MonospaceFontGlyphLayout) newGlyphLayout();
+		if(Mdx.fonts != null) {
+			Mdx.fonts.getGlyphLayoutCache().invalidate(this);
 		}
 	}
 
@@ -274,6 +291,38 @@ public class MonospaceGameFont implements GameFont {
 		return fontParameters;
 	}
 
+	/**
+	 * Returns the {@link DynamicGlyphAtlas} used to render characters
+	 * @return Null if characters are rendered from the font texture
+	 */
+	public DynamicGlyphAtlas getGlyphAtlas() {
+		return glyphAtlas;
+	}
+
+	/**
+	 * Sets a {@link DynamicGlyphAtlas} to rasterize characters on demand instead of loading the font texture.
+	 * Cells of the atlas should match the {@link FontParameters} character size.
+	 * The atlas is not disposed with this font.
+	 * @param glyphAtlas The {@link DynamicGlyphAtlas} or null to use the font texture
+	 */
+	public void setGlyphAtlas(DynamicGlyphAtlas glyphAtlas) {
+		setGlyphAtlas(glyphAtlas, glyphAtlas == null ? null : glyphAtlas.getRasterizer());
+	}
+
+	/**
+	 * Sets a {@link DynamicGlyphAtlas} shared with other fonts. Glyphs are stored in the atlas under the
+	 * given {@link GlyphRasterizer} so that they do not collide with the same characters of other fonts.
+	 * @param glyphAtlas The {@link DynamicGlyphAtlas} or null to use the font texture
+	 * @param glyphRasterizer The {@link GlyphRasterizer} for this font's characters
+	 */
+	public void setGlyphAtlas(DynamicGlyphAtlas glyphAtlas, GlyphRasterizer glyphRasterizer) {
+		if(glyphAtlas != null && glyphRasterizer == null) {
+			throw new MdxException("glyphRasterizer cannot be null when a glyph atlas is set");
+		}
+		this.glyphAtlas = glyphAtlas;
+		this.glyphRasterizer = glyphAtlas == null ? null : glyphRasterizer;
+	}
+
 	public static class FontParameters {
 		@Field(optional = true)
 		public String textureAtlasPath;
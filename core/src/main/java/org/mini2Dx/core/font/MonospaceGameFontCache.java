@@ -28,6 +28,7 @@ public class MonospaceGameFontCache implements GameFontCache {
 
 	private final Color color = Mdx.graphics.newColor(0f, 0f, 0f, 1f);
 	private float x, y;
+	private GlyphLayoutCache glyphLayoutCache;
 
 	public MonospaceGameFontCache(MonospaceGameFont monospaceFont) {
 		super();
@@ -37,14 +38,26 @@ public class MonospaceGameFontCache implements GameFontCache {
 
 	@Override
 	public void addText(CharSequence str, float x, float y) {
-		glyphLayout.setText(str, color, -1f, Align.LEFT, true);
-		glyphLayout.transferGlyphsTo(glyphs, x, y);
+		layoutText(str, x, y, -1f, Align.LEFT, true);
 	}
 
 	@Override
 	public void addText(CharSequence str, float x, float y, float targetWidth, int halign, boolean wrap) {
-		glyphLayout.setText(str, color, targetWidth, halign, wrap);
-		glyphLayout.transferGlyphsTo(glyphs, x, y);
+		layoutText(str, x, y, targetWidth, halign, wrap);
+	}
+
+	private void layoutText(CharSequence str, float x, float y, float targetWidth, int halign, boolean wrap) {
+		if(glyphLayoutCache == null) {
+			glyphLayout.setText(str, color, targetWidth, halign, wrap);
+			glyphLayout.transferGlyphsTo(glyphs, x, y);
+			return;
+		}
+		final MonospaceFontGlyphLayout layout = (MonospaceFontGlyphLayout) glyphLayoutCache.acquire(monospaceFont, str, targetWidth, halign, wrap);
+		try {
+			layout.copyGlyphsTo(glyphs, x, y, color);
+		} finally {
+			glyphLayoutCache.release(layout);
+		}
 	}
 
 	@Override
@@ -87,15 +100,13 @@ public class MonospaceGameFontCache implements GameFontCache {
 	@Override
 	public void setText(CharSequence str, float x, float y) {
 		clear();
-		glyphLayout.setText(str, color, -1f, Align.LEFT, true);
-		glyphLayout.transferGlyphsTo(glyphs, x, y);
+		layoutText(str, x, y, -1f, Align.LEFT, true);
 	}
 
 	@Override
 	public void setText(CharSequence str, float x, float y, float targetWidth, int halign, boolean wrap) {
 		clear();
-		glyphLayout.setText(str, color, targetWidth, halign, wrap);
-		glyphLayout.transferGlyphsTo(glyphs, x, y);
+		layoutText(str, x, y, targetWidth, halign, wrap);
 	}
 
 	@Override
@@ -110,6 +121,23 @@ public class MonospaceGameFontCache implements GameFontCache {
 		this.y = y;
 	}
 
+	/**
+	 * Returns the {@link GlyphLayoutCache} used to layout text added to this cache
+	 * @return Null by default
+	 */
+	public GlyphLayoutCache getGlyphLayoutCache() {
+		return glyphLayoutCache;
+	}
+
+	/**
+	 * Sets the {@link GlyphLayoutCache} to layout text with. When set, text that has
+	 * previously been laid out is copied from the {@link GlyphLayoutCache} instead of being laid out again.
+	 * @param glyphLayoutCache Null to layout text on every call
+	 */
+	public void setGlyphLayoutCache(GlyphLayoutCache glyphLayoutCache) {
+		this.glyphLayoutCache = glyphLayoutCache;
+	}
+
 	@Override
 	public GameFont getFont() {
 		return monospaceFont;
@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+
+import java.util.Arrays;
+
+/**
+ * Records draw operations without access to {@link Graphics} so that they can be generated on any thread
+ * and submitted later on the render thread via {@link #submit(Graphics)}.
+ *
+ * Texture, region and sprite draws are recorded as final batch vertices (see {@link Graphics#drawSpriteVertices(Texture, float[], int)})
+ * so translation, scaling, rotation, tinting and optional culling all happen on the recording thread.
+ * A {@link DrawCommandList} must only be accessed by one thread at a time. Recorded {@link Texture}s must not be
+ * disposed before submission.
+ */
+public class DrawCommandList {
+	private static final int TYPE_SPRITE = 0;
+	private static final int TYPE_FILL_RECT = 1;
+	private static final int TYPE_COLOR = 2;
+	private static final int TYPE_LAYER = 3;
+
+	private static final int SPRITE_VERTICES = 20;
+	private static final float WHITE = packColor(1f, 1f, 1f, 1f);
+
+	private int size;
+	private int[] types;
+	private int[] offsets;
+	private Object[] references;
+
+	private int dataSize;
+	private float[] data;
+
+	private float translationX, translationY;
+	private float scaleX = 1f, scaleY = 1f;
+	private float tint = WHITE;
+
+	private boolean cullingEnabled;
+	private float cullingMinX, cullingMinY, cullingMaxX, cullingMaxY;
+	private int culledCount;
+
+	private Color submitColor;
+
+	/**
+	 * Constructor
+	 */
+	public DrawCommandList() {
+		this(64);
+	}
+
+	/**
+	 * Constructor
+	 * @param initialCapacity The initial amount of operations
+	 */
+	public DrawCommandList(int initialCapacity) {
+		super();
+		initialCapacity = Math.max(1, initialCapacity);
+		types = new int[initialCapacity];
+		offsets = new int[initialCapacity];
+		references = new Object[initialCapacity];
+		data = new float[initialCapacity * SPRITE_VERTICES];
+	}
+
+	/**
+	 * Records a {@link Texture} draw. Matches {@link Graphics#drawTexture(Texture, float, float, float, float)}
+	 * which flips the texture vertically.
+	 * @param texture The {@link Texture} to draw
+	 * @param x The x coordinate to draw at
+	 * @param y The y coordinate to draw at
+	 * @param width The width to draw the texture at
+	 * @param height The height to draw the texture at
+	 */
+	public void drawTexture(Texture texture, float x, float y, float width, float height) {
+		drawTexture(texture, x, y, width, height, true);
+	}
+
+	/**
+	 * Records a {@link Texture} draw
+	 * @param texture The {@link Texture} to draw
+	 * @param x The x coordinate to draw at
+	 * @param y The y coordinate to draw at
+	 * @param width The width to draw the texture at
+	 * @param height The height to draw the texture at
+	 * @param flipY True if the texture should be flipped vertically
+	 */
+	public void drawTexture(Texture texture, float x, float y, float width, float height, boolean flipY) {
+		addQuad(texture, x, y, width, height, 0f, 0f, flipY ? 0f : 1f, 1f, flipY ? 1f : 0f);
+	}
+
+	/**
+	 * Records a {@link TextureRegion} draw at its own size
+	 * @param textureRegion The {@link TextureRegion} to draw
+	 * @param x The x coordinate to draw at
+	 * @param y The y coordinate to draw at
+	 */
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y) {
+		drawTextureRegion(textureRegion, x, y, textureRegion.getRegionWidth(), textureRegion.getRegionHeight(), 0f);
+	}
+
+	/**
+	 * Records a {@link TextureRegion} draw. Rotation is around the top-left corner as per
+	 * {@link Graphics#drawTextureRegion(TextureRegion, float, float, float, float, float)}.
+	 * @param textureRegion The {@link TextureRegion} to draw
+	 * @param x The x coordinate to draw at
+	 * @param y The y coordinate to draw at
+	 * @param width The width to draw the region at
+	 * @param height The height to draw the region at
+	 * @param rotation The rotation in degrees
+	 */
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height, float rotation) {
+		addQuad(textureRegion.getTexture(), x, y, width, height, rotation,
+				textureRegion.getU(), textureRegion.getV2(), textureRegion.getU2(), textureRegion.getV());
+	}
+
+	/**
+	 * Records a {@link Sprite} draw using its current vertices and color. The vertices are copied.
+	 * @param sprite The {@link Sprite} to draw
+	 */
+	public void drawSprite(Sprite sprite) {
+		final float[] vertices = sprite.getVertices();
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		for(int i = 0; i < SPRITE_VERTICES; i += 5) {
+			final float vx = translationX + (vertices[i] * scaleX);
+			final float vy = translationY + (vertices[i + 1] * scaleY);
+			minX = Math.min(minX, vx);
+			minY = Math.min(minY, vy);
+			maxX = Math.max(maxX, vx);
+			maxY = Math.max(maxY, vy);
+		}
+		if(isCulled(minX, minY, maxX, maxY)) {
+			return;
+		}
+		final int offset = addCommand(TYPE_SPRITE, sprite.getTexture(), SPRITE_VERTICES);
+		System.arraycopy(vertices, 0, data, offset, SPRITE_VERTICES);
+		for(int i = offset; i < offset + SPRITE_VERTICES; i += 5) {
+			data[i] = translationX + (data[i] * scaleX);
+			data[i + 1] = translationY + (data[i + 1] * scaleY);
+		}
+	}
+
+	/**
+	 * Records a filled rectangle draw using the current color
+	 * @param x The x coordinate to draw at
+	 * @param y The y coordinate to draw at
+	 * @param width The width of the rectangle
+	 * @param height The height of the rectangle
+	 */
+	public void fillRect(float x, float y, float width, float height) {
+		x = translationX + (x * scaleX);
+		y = translationY + (y * scaleY);
+		width *= scaleX;
+		height *= scaleY;
+		if(isCulled(Math.min(x, x + width), Math.min(y, y + height), Math.max(x, x + width), Math.max(y, y + height))) {
+			return;
+		}
+		final int offset = addCommand(TYPE_FILL_RECT, null, 4);
+		data[offset] = x;
+		data[offset + 1] = y;
+		data[offset + 2] = width;
+		data[offset + 3] = height;
+	}
+
+	/**
+	 * Sets the tint applied to subsequently recorded texture and region draws. The values are copied.
+	 * @param tint The tint {@link Color}
+	 */
+	public void setTint(Color tint) {
+		setTint(tint.rf(), tint.gf(), tint.bf(), tint.af());
+	}
+
+	/**
+	 * Sets the tint applied to subsequently recorded texture and region draws
+	 */
+	public void setTint(float r, float g, float b, float a) {
+		tint = packColor(r, g, b, a);
+	}
+
+	/**
+	 * Records a color change for subsequent filled rectangles. The values are copied.
+	 * @param color The {@link Color}
+	 */
+	public void setColor(Color color) {
+		setColor(color.rf(), color.gf(), color.bf(), color.af());
+	}
+
+	/**
+	 * Records a color change for subsequent filled rectangles
+	 */
+	public void setColor(float r, float g, float b, float a) {
+		final int offset = addCommand(TYPE_COLOR, null, 4);
+		data[offset] = r;
+		data[offset + 1] = g;
+		data[offset + 2] = b;
+		data[offset + 3] = a;
+	}
+
+	/**
+	 * Records a draw layer change for subsequent operations. See {@link Graphics#setDrawLayer(int)}.
+	 * @param layer The layer
+	 */
+	public void setDrawLayer(int layer) {
+		final int offset = addCommand(TYPE_LAYER, null, 1);
+		data[offset] = layer;
+	}
+
+	/**
+	 * Sets the translation applied to subsequently recorded operations
+	 * @param translationX The x translation
+	 * @param translationY The y translation
+	 */
+	public void setTranslation(float translationX, float translationY) {
+		this.translationX = translationX;
+		this.translationY = translationY;
+	}
+
+	/**
+	 * Sets the scaling applied to subsequently recorded operations. Scaling is applied before translation.
+	 * @param scaleX The x scale
+	 * @param scaleY The y scale
+	 */
+	public void setScale(float scaleX, float scaleY) {
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+	}
+
+	/**
+	 * Skips recording of subsequent draws that fall entirely outside an area.
+	 * The area is in the same coordinates as the recorded output, i.e. after translation and scaling.
+	 * @param x The x coordinate of the visible area
+	 * @param y The y coordinate of the visible area
+	 * @param width The width of the visible area
+	 * @param height The height of the visible area
+	 */
+	public void setCullingBounds(float x, float y, float width, float height) {
+		cullingEnabled = true;
+		cullingMinX = x;
+		cullingMinY = y;
+		cullingMaxX = x + width;
+		cullingMaxY = y + height;
+	}
+
+	/**
+	 * Disables culling of recorded draws
+	 */
+	public void clearCullingBounds() {
+		cullingEnabled = false;
+	}
+
+	/**
+	 * Returns the amount of draws skipped by culling since the last {@link #clear()}
+	 * @return 0 if no draws were culled
+	 */
+	public int getCulledCount() {
+		return culledCount;
+	}
+
+	private void addQuad(Texture texture, float x, float y, float width, float height, float rotation,
+	                     float u, float v, float u2, float v2) {
+		x = translationX + (x * scaleX);
+		y = translationY + (y * scaleY);
+		width *= scaleX;
+		height *= scaleY;
+
+		float x1 = 0f, y1 = 0f, x2 = 0f, y2 = height, x3 = width, y3 = height, x4 = width, y4 = 0f;
+		if(rotation != 0f) {
+			final double radians = Math.toRadians(rotation);
+			final float cos = (float) Math.cos(radians);
+			final float sin = (float) Math.sin(radians);
+			x2 = -sin * height;
+			y2 = cos * height;
+			x3 = (cos * width) - (sin * height);
+			y3 = (sin * width) + (cos * height);
+			x4 = x3 - x2;
+			y4 = y3 - y2;
+		}
+		x1 += x;
+		y1 += y;
+		x2 += x;
+		y2 += y;
+		x3 += x;
+		y3 += y;
+		x4 += x;
+		y4 += y;
+
+		if(isCulled(Math.min(Math.min(x1, x2), Math.min(x3, x4)), Math.min(Math.min(y1, y2), Math.min(y3, y4)),
+				Math.max(Math.max(x1, x2), Math.max(x3, x4)), Math.max(Math.max(y1, y2), Math.max(y3, y4)))) {
+			return;
+		}
+
+		final int offset = addCommand(TYPE_SPRITE, texture, SPRITE_VERTICES);
+		setVertex(offset, x1, y1, u, v);
+		setVertex(offset + 5, x2, y2, u, v2);
+		setVertex(offset + 10, x3, y3, u2, v2);
+		setVertex(offset + 15, x4, y4, u2, v);
+	}
+
+	private void setVertex(int offset, float x, float y, float u, float v) {
+		data[offset] = x;
+		data[offset + 1] = y;
+		data[offset + 2] = tint;
+		data[offset + 3] = u;
+		data[offset + 4] = v;
+	}
+
+	private boolean isCulled(float minX, float minY, float maxX, float maxY) {
+		if(!cullingEnabled) {
+			return false;
+		}
+		if(maxX < cullingMinX || minX > cullingMaxX || maxY < cullingMinY || minY > cullingMaxY) {
+			culledCount++;
+			return true;
+		}
+		return false;
+	}
+
+	private int addCommand(int type, Object reference, int dataLength) {
+		if(size == types.length) {
+			final int newCapacity = size * 2;
+			types = Arrays.copyOf(types, newCapacity);
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			references = Arrays.copyOf(references, newCapacity);
+		}
+		if(dataSize + dataLength > data.length) {
+			data = Arrays.copyOf(data, Math.max(dataSize + dataLength, data.length * 2));
+		}
+		types[size] = type;
+		offsets[size] = dataSize;
+		references[size] = reference;
+		size++;
+
+		final int offset = dataSize;
+		dataSize += dataLength;
+		return offset;
+	}
+
+	/**
+	 * Draws all recorded operations. Must be called on the render thread.
+	 * Vertices are passed straight to {@link Graphics#drawSpriteVertices(Texture, float[], int)} so that they
+	 * go directly into a deferred draw buffer if one is recording.
+	 * The color and draw layer of the {@link Graphics} are restored afterwards.
+	 * @param g The {@link Graphics} context
+	 */
+	public void submit(Graphics g) {
+		if(size == 0) {
+			return;
+		}
+		if(submitColor == null) {
+			submitColor = Mdx.graphics.newColor(1f, 1f, 1f, 1f);
+		}
+		final Color previousColor = g.getColor();
+		final int previousLayer = g.getDrawLayer();
+
+		for(int i = 0; i < size; i++) {
+			final int offset = offsets[i];
+			switch(types[i]) {
+			case TYPE_SPRITE:
+				g.drawSpriteVertices((Texture) references[i], data, offset);
+				break;
+			case TYPE_FILL_RECT:
+				g.fillRect(data[offset], data[offset + 1], data[offset + 2], data[offset + 3]);
+				break;
+			case TYPE_COLOR:
+				submitColor.set(data[offset], data[offset + 1], data[offset + 2], data[offset + 3]);
+				g.setColor(submitColor);
+				break;
+			case TYPE_LAYER:
+				g.setDrawLayer((int) data[offset]);
+				break;
+			}
+		}
+		g.setColor(previousColor);
+		g.setDrawLayer(previousLayer);
+	}
+
+	/**
+	 * Removes all recorded operations and resets the translation, scaling, tint and culled count
+	 */
+	public void clear() {
+		Arrays.fill(references, 0, size, null);
+		size = 0;
+		dataSize = 0;
+		translationX = 0f;
+		translationY = 0f;
+		scaleX = 1f;
+		scaleY = 1f;
+		tint = WHITE;
+		culledCount = 0;
+	}
+
+	/**
+	 * Returns the amount of recorded operations
+	 * @return 0 if no operations have been recorded
+	 */
+	public int size() {
+		return size;
+	}
+
+	private static float packColor(float r, float g, float b, float a) {
+		final int bits = ((int) (255 * a) << 24) | ((int) (255 * b) << 16) | ((int) (255 * g) << 8) | ((int) (255 * r));
+		return Float.intBitsToFloat(bits & 0xfeffffff);
+	}
+}
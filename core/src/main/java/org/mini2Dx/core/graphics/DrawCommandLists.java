@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Provides indexed {@link DrawCommandList}s so that parts of a scene can be recorded in parallel
+ * (e.g. via {@link org.mini2Dx.core.Mdx#executor}) and then merged on the render thread.
+ *
+ * <pre>
+ * //Task for chunk i, on any thread
+ * DrawCommandList list = drawCommandLists.getList(i);
+ * list.drawTextureRegion(region, x, y);
+ *
+ * //Render thread, after all recording tasks have completed
+ * drawCommandLists.submit(g);
+ * </pre>
+ *
+ * Lists are submitted in index order regardless of which thread recorded them or when,
+ * so the merged draw order is deterministic. Each list must only be recorded into by one thread at a time.
+ */
+public class DrawCommandLists {
+	private final Array<DrawCommandList> lists = new Array<DrawCommandList>();
+
+	/**
+	 * Returns the {@link DrawCommandList} for an index, creating it if necessary
+	 * @param index The index of the list. Lower indices are submitted first.
+	 * @return The {@link DrawCommandList} for the index
+	 */
+	public DrawCommandList getList(int index) {
+		if(index < 0) {
+			throw new IndexOutOfBoundsException("index cannot be negative: " + index);
+		}
+		synchronized(lists) {
+			while(lists.size <= index) {
+				lists.add(new DrawCommandList());
+			}
+			return lists.get(index);
+		}
+	}
+
+	/**
+	 * Submits and clears all lists in index order. Must be called on the render thread after all recording has completed.
+	 * @param g The {@link Graphics} context
+	 */
+	public void submit(Graphics g) {
+		synchronized(lists) {
+			for(int i = 0; i < lists.size; i++) {
+				final DrawCommandList list = lists.get(i);
+				list.submit(g);
+				list.clear();
+			}
+		}
+	}
+
+	/**
+	 * Clears all lists without submitting them
+	 */
+	public void clear() {
+		synchronized(lists) {
+			for(int i = 0; i < lists.size; i++) {
+				lists.get(i).clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the total amount of recorded operations across all lists
+	 * @return 0 if no operations have been recorded
+	 */
+	public int size() {
+		int result = 0;
+		synchronized(lists) {
+			for(int i = 0; i < lists.size; i++) {
+				result += lists.get(i).size();
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.mini2Dx.gdx.math.GridPoint2;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Packs rectangles into a fixed size area using the MaxRects algorithm with the best short side fit heuristic.
+ *
+ * The packer tracks the maximal free rectangles of the area. Packed rectangles can be freed
+ * again, though freed space is not merged with neighbouring free space until the packer is reset and repacked.
+ */
+public class MaxRectsPacker {
+	private final int width, height;
+	private final Array<Node> freeNodes = new Array<Node>(false, 32);
+	private final Array<Node> newNodes = new Array<Node>(false, 8);
+	private final Array<Node> nodePool = new Array<Node>(false, 32);
+
+	private long usedArea;
+
+	/**
+	 * Constructor
+	 * @param width The width of the area to pack into
+	 * @param height The height of the area to pack into
+	 */
+	public MaxRectsPacker(int width, int height) {
+		super();
+		if(width < 1 || height < 1) {
+			throw new IllegalArgumentException("width and height must be greater than 0");
+		}
+		this.width = width;
+		this.height = height;
+		reset();
+	}
+
+	/**
+	 * Packs a rectangle
+	 * @param width The width of the rectangle
+	 * @param height The height of the rectangle
+	 * @param result Set to the top-left position of the rectangle if it was packed
+	 * @return False if there is not enough free space for the rectangle
+	 */
+	public boolean insert(int width, int height, GridPoint2 result) {
+		if(width < 1 || height < 1) {
+			return false;
+		}
+		Node bestNode = null;
+		int bestShortSide = Integer.MAX_VALUE;
+		int bestLongSide = Integer.MAX_VALUE;
+
+		for(int i = 0; i < freeNodes.size; i++) {
+			final Node node = freeNodes.get(i);
+			if(width > node.width || height > node.height) {
+				continue;
+			}
+			final int leftoverX = node.width - width;
+			final int leftoverY = node.height - height;
+			final int shortSide = Math.min(leftoverX, leftoverY);
+			final int longSide = Math.max(leftoverX, leftoverY);
+			if(shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+				bestNode = node;
+				bestShortSide = shortSide;
+				bestLongSide = longSide;
+			}
+		}
+		if(bestNode == null) {
+			return false;
+		}
+
+		final int x = bestNode.x;
+		final int y = bestNode.y;
+		place(x, y, width, height);
+		result.set(x, y);
+		usedArea += (long) width * height;
+		return true;
+	}
+
+	/**
+	 * Marks a previously packed rectangle as free
+	 * @param x The x coordinate of the rectangle
+	 * @param y The y coordinate of the rectangle
+	 * @param width The width of the rectangle
+	 * @param height The height of the rectangle
+	 */
+	public void free(int x, int y, int width, int height) {
+		freeNodes.add(obtainNode(x, y, width, height));
+		prune();
+		usedArea = Math.max(0L, usedArea - ((long) width * height));
+	}
+
+	/**
+	 * Frees the entire area
+	 */
+	public void reset() {
+		for(int i = 0; i < freeNodes.size; i++) {
+			nodePool.add(freeNodes.get(i));
+		}
+		freeNodes.clear();
+		freeNodes.add(obtainNode(0, 0, width, height));
+		usedArea = 0L;
+	}
+
+	private void place(int x, int y, int width, int height) {
+		for(int i = freeNodes.size - 1; i >= 0; i--) {
+			final Node node = freeNodes.get(i);
+			if(split(node, x, y, width, height)) {
+				freeNodes.removeIndex(i);
+				nodePool.add(node);
+			}
+		}
+		freeNodes.addAll(newNodes);
+		newNodes.clear();
+		prune();
+	}
+
+	private boolean split(Node node, int x, int y, int width, int height) {
+		if(x >= node.x + node.width || x + width <= node.x ||
+				y >= node.y + node.height || y + height <= node.y) {
+			return false;
+		}
+		if(x < node.x + node.width && x + width > node.x) {
+			if(y > node.y && y < node.y + node.height) {
+				newNodes.add(obtainNode(node.x, node.y, node.width, y - node.y));
+			}
+			if(y + height < node.y + node.height) {
+				newNodes.add(obtainNode(node.x, y + height, node.width, node.y + node.height - (y + height)));
+			}
+		}
+		if(y < node.y + node.height && y + height > node.y) {
+			if(x > node.x && x < node.x + node.width) {
+				newNodes.add(obtainNode(node.x, node.y, x - node.x, node.height));
+			}
+			if(x + width < node.x + node.width) {
+				newNodes.add(obtainNode(x + width, node.y, node.x + node.width - (x + width), node.height));
+			}
+		}
+		return true;
+	}
+
+	private void prune() {
+		for(int i = 0; i < freeNodes.size; i++) {
+			for(int j = i + 1; j < freeNodes.size; j++) {
+				final Node a = freeNodes.get(i);
+				final Node b = freeNodes.get(j);
+				if(b.contains(a)) {
+					freeNodes.removeIndex(i);
+					nodePool.add(a);
+					i--;
+					break;
+				}
+				if(a.contains(b)) {
+					freeNodes.removeIndex(j);
+					nodePool.add(b);
+					j--;
+				}
+			}
+		}
+	}
+
+	private Node obtainNode(int x, int y, int width, int height) {
+		final Node result = nodePool.size > 0 ? nodePool.pop() : new Node();
+		result.x = x;
+		result.y = y;
+		result.width = width;
+		result.height = height;
+		return result;
+	}
+
+	/**
+	 * Returns the width of the packing area
+	 * @return The width in pixels
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the packing area
+	 * @return The height in pixels
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the fraction of the area used by packed rectangles
+	 * @return A value between 0 and 1
+	 */
+	public float getOccupancy() {
+		return usedArea / ((float) width * height);
+	}
+
+	private static class Node {
+		int x, y, width, height;
+
+		boolean contains(Node node) {
+			return node.x >= x && node.y >= y &&
+					node.x + node.width <= x + width &&
+					node.y + node.height <= y + height;
+		}
+	}
+}
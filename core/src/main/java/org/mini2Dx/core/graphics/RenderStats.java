@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+/**
+ * Counters for the rendering work done during a frame. See {@link org.mini2Dx.core.Graphics#getRenderStats()}.
+ *
+ * Note: The increment methods are for usage by {@link org.mini2Dx.core.Graphics} implementations
+ */
+public class RenderStats {
+	private int textureDraws, spriteDraws, shapeDraws, textDraws, otherDraws;
+	private int rendererSwitches, textureSwitches, shaderSwitches;
+	private int flushes;
+	private long vertices;
+
+	/**
+	 * Internal usage only: Counts a texture or texture region draw
+	 */
+	public void incrementTextureDraws() {
+		textureDraws++;
+	}
+
+	/**
+	 * Internal usage only: Counts a sprite draw
+	 */
+	public void incrementSpriteDraws() {
+		spriteDraws++;
+	}
+
+	/**
+	 * Internal usage only: Counts a line, rectangle, circle or polygon draw
+	 */
+	public void incrementShapeDraws() {
+		shapeDraws++;
+	}
+
+	/**
+	 * Internal usage only: Counts a string or font cache draw
+	 */
+	public void incrementTextDraws() {
+		textDraws++;
+	}
+
+	/**
+	 * Internal usage only: Counts a nine patch or sprite cache draw
+	 */
+	public void incrementOtherDraws() {
+		otherDraws++;
+	}
+
+	/**
+	 * Internal usage only: Counts a change between sprite, shape and polygon renderers
+	 */
+	public void incrementRendererSwitches() {
+		rendererSwitches++;
+	}
+
+	/**
+	 * Internal usage only: Adds texture changes within a renderer
+	 * @param amount The amount of changes
+	 */
+	public void addTextureSwitches(int amount) {
+		textureSwitches += amount;
+	}
+
+	/**
+	 * Internal usage only: Counts a shader change
+	 */
+	public void incrementShaderSwitches() {
+		shaderSwitches++;
+	}
+
+	/**
+	 * Internal usage only: Adds flushes of vertices to the GPU
+	 * @param amount The amount of flushes
+	 */
+	public void addFlushes(int amount) {
+		flushes += amount;
+	}
+
+	/**
+	 * Internal usage only: Adds vertices submitted to the GPU
+	 * @param amount The amount of vertices
+	 */
+	public void addVertices(long amount) {
+		vertices += amount;
+	}
+
+	/**
+	 * Resets all counters to 0
+	 */
+	public void reset() {
+		textureDraws = 0;
+		spriteDraws = 0;
+		shapeDraws = 0;
+		textDraws = 0;
+		otherDraws = 0;
+		rendererSwitches = 0;
+		textureSwitches = 0;
+		shaderSwitches = 0;
+		flushes = 0;
+		vertices = 0L;
+	}
+
+	/**
+	 * Copies the counters of another instance
+	 * @param renderStats The {@link RenderStats} to copy
+	 */
+	public void set(RenderStats renderStats) {
+		textureDraws = renderStats.textureDraws;
+		spriteDraws = renderStats.spriteDraws;
+		shapeDraws = renderStats.shapeDraws;
+		textDraws = renderStats.textDraws;
+		otherDraws = renderStats.otherDraws;
+		rendererSwitches = renderStats.rendererSwitches;
+		textureSwitches = renderStats.textureSwitches;
+		shaderSwitches = renderStats.shaderSwitches;
+		flushes = renderStats.flushes;
+		vertices = renderStats.vertices;
+	}
+
+	/**
+	 * Returns the total amount of draw operations
+	 * @return The sum of all draw counters
+	 */
+	public int getTotalDraws() {
+		return textureDraws + spriteDraws + shapeDraws + textDraws + otherDraws;
+	}
+
+	/**
+	 * Returns the amount of texture and texture region draws
+	 * @return 0 if none were drawn
+	 */
+	public int getTextureDraws() {
+		return textureDraws;
+	}
+
+	/**
+	 * Returns the amount of sprite draws
+	 * @return 0 if none were drawn
+	 */
+	public int getSpriteDraws() {
+		return spriteDraws;
+	}
+
+	/**
+	 * Returns the amount of line, rectangle, circle and polygon draws
+	 * @return 0 if none were drawn
+	 */
+	public int getShapeDraws() {
+		return shapeDraws;
+	}
+
+	/**
+	 * Returns the amount of string and font cache draws
+	 * @return 0 if none were drawn
+	 */
+	public int getTextDraws() {
+		return textDraws;
+	}
+
+	/**
+	 * Returns the amount of nine patch and sprite cache draws
+	 * @return 0 if none were drawn
+	 */
+	public int getOtherDraws() {
+		return otherDraws;
+	}
+
+	/**
+	 * Returns the amount of changes between sprite, shape and polygon renderers
+	 * @return 0 if no changes occurred
+	 */
+	public int getRendererSwitches() {
+		return rendererSwitches;
+	}
+
+	/**
+	 * Returns the amount of texture changes that caused a batch to flush
+	 * @return 0 if no changes occurred
+	 */
+	public int getTextureSwitches() {
+		return textureSwitches;
+	}
+
+	/**
+	 * Returns the amount of shader changes
+	 * @return 0 if no changes occurred
+	 */
+	public int getShaderSwitches() {
+		return shaderSwitches;
+	}
+
+	/**
+	 * Returns the amount of times vertices were flushed to the GPU (i.e. draw calls)
+	 * @return 0 if nothing was flushed
+	 */
+	public int getFlushes() {
+		return flushes;
+	}
+
+	/**
+	 * Returns the amount of vertices submitted to the GPU
+	 * @return 0 if nothing was submitted
+	 */
+	public long getVertices() {
+		return vertices;
+	}
+}
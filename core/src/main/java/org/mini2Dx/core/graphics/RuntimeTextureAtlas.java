@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.gdx.math.GridPoint2;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.Disposable;
+import org.mini2Dx.gdx.utils.ObjectMap;
+
+import java.util.Comparator;
+
+/**
+ * A texture atlas that packs {@link Pixmap}s into shared texture pages at runtime so that dynamically
+ * loaded images (e.g. mods, avatars, streamed tiles) can be batched together.
+ *
+ * Images are packed with a {@link MaxRectsPacker} per page and new pages are created as required.
+ * Modified pages are uploaded once when {@link #flush()} is called. Space freed by {@link #remove(String)}
+ * is reclaimed by {@link #defragment()}, which repacks fragmented pages and updates their regions in place.
+ *
+ * Note: This class is not thread-safe and should only be used on the game thread.
+ */
+public class RuntimeTextureAtlas implements Disposable {
+	private static final Comparator<Entry> HEIGHT_COMPARATOR = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			final int result = Integer.compare(o2.height, o1.height);
+			return result != 0 ? result : Integer.compare(o2.width, o1.width);
+		}
+	};
+
+	private final int pageWidth, pageHeight, padding;
+	private final Array<Page> pages = new Array<Page>();
+	private final ObjectMap<String, Entry> entries = new ObjectMap<String, Entry>();
+	private final GridPoint2 position = new GridPoint2();
+	private Color clearColor;
+
+	/**
+	 * Constructor. Uses 1 pixel of padding between images.
+	 * @param pageWidth The width of each texture page in pixels
+	 * @param pageHeight The height of each texture page in pixels
+	 */
+	public RuntimeTextureAtlas(int pageWidth, int pageHeight) {
+		this(pageWidth, pageHeight, 1);
+	}
+
+	/**
+	 * Constructor
+	 * @param pageWidth The width of each texture page in pixels
+	 * @param pageHeight The height of each texture page in pixels
+	 * @param padding The padding between images in pixels
+	 */
+	public RuntimeTextureAtlas(int pageWidth, int pageHeight, int padding) {
+		super();
+		if(pageWidth < 1 || pageHeight < 1) {
+			throw new IllegalArgumentException("pageWidth and pageHeight must be greater than 0");
+		}
+		if(padding < 0) {
+			throw new IllegalArgumentException("padding cannot be negative");
+		}
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.padding = padding;
+	}
+
+	/**
+	 * Packs an image into the atlas. The {@link Pixmap} is copied and can be disposed afterwards.
+	 * If an image with the same name exists, it is replaced.
+	 * @param name The name of the image
+	 * @param pixmap The image
+	 * @return The {@link TextureAtlasRegion} of the packed image
+	 */
+	public TextureAtlasRegion add(String name, Pixmap pixmap) {
+		final int width = pixmap.getWidth();
+		final int height = pixmap.getHeight();
+		if(width > pageWidth || height > pageHeight) {
+			throw new IllegalArgumentException(name + " (" + width + "x" + height + ") is larger than the page size");
+		}
+		remove(name);
+
+		final int packedWidth = Math.min(pageWidth, width + padding);
+		final int packedHeight = Math.min(pageHeight, height + padding);
+
+		Page page = null;
+		for(int i = 0; i < pages.size; i++) {
+			if(pages.get(i).packer.insert(packedWidth, packedHeight, position)) {
+				page = pages.get(i);
+				break;
+			}
+		}
+		if(page == null) {
+			page = new Page();
+			pages.add(page);
+			page.packer.insert(packedWidth, packedHeight, position);
+		}
+
+		page.pixmap.drawPixmap(pixmap, position.x, position.y, 0, 0, width, height);
+		page.dirty = true;
+
+		final Entry entry = new Entry();
+		entry.page = page;
+		entry.x = position.x;
+		entry.y = position.y;
+		entry.width = width;
+		entry.height = height;
+		entry.region = Mdx.graphics.newTextureAtlasRegion(page.texture, name, -1, entry.x, entry.y, width, height,
+				false, width, height, 0, 0);
+		page.entries.add(entry);
+		entries.put(name, entry);
+		return entry.region;
+	}
+
+	/**
+	 * Returns a packed image
+	 * @param name The name of the image
+	 * @return Null if no image with the name exists
+	 */
+	public TextureAtlasRegion findRegion(String name) {
+		final Entry entry = entries.get(name);
+		return entry == null ? null : entry.region;
+	}
+
+	/**
+	 * Removes an image from the atlas. Its pixels are cleared on the next {@link #flush()} and its space
+	 * can be reused by subsequent images but is only fully reclaimed by {@link #defragment()}.
+	 * @param name The name of the image
+	 * @return False if no image with the name exists
+	 */
+	public boolean remove(String name) {
+		final Entry entry = entries.remove(name);
+		if(entry == null) {
+			return false;
+		}
+		final Page page = entry.page;
+		page.entries.removeValue(entry, true);
+		if(clearColor == null) {
+			clearColor = Mdx.graphics.newColor(0f, 0f, 0f, 0f);
+		}
+		page.pixmap.setColor(clearColor);
+		page.pixmap.fillRectangle(entry.x, entry.y, entry.width, entry.height);
+		page.dirty = true;
+		if(page.entries.size == 0) {
+			page.packer.reset();
+			page.fragmented = false;
+		} else {
+			page.packer.free(entry.x, entry.y, Math.min(pageWidth, entry.width + padding),
+					Math.min(pageHeight, entry.height + padding));
+			page.fragmented = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Uploads all modified pages to their textures. Should be called after images are added and before they are drawn.
+	 */
+	public void flush() {
+		for(int i = 0; i < pages.size; i++) {
+			final Page page = pages.get(i);
+			if(!page.dirty) {
+				continue;
+			}
+			page.texture.draw(page.pixmap, 0, 0);
+			page.dirty = false;
+		}
+	}
+
+	/**
+	 * Repacks all pages that have had images removed. The {@link TextureAtlasRegion}s of
+	 * repacked images are updated in place and keep their texture. Their current position must be read
+	 * via {@link TextureRegion#getRegionX()} and {@link TextureRegion#getRegionY()} since any packed
+	 * position stored by the implementation at creation (e.g. public x and y fields) is not updated.
+	 * @return The amount of pages that were repacked
+	 */
+	public int defragment() {
+		int result = 0;
+		for(int i = 0; i < pages.size; i++) {
+			final Page page = pages.get(i);
+			if(page.fragmented && defragment(page)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private boolean defragment(Page page) {
+		final Array<Entry> sortedEntries = new Array<Entry>(page.entries);
+		sortedEntries.sort(HEIGHT_COMPARATOR);
+
+		final MaxRectsPacker packer = new MaxRectsPacker(pageWidth, pageHeight);
+		final int[] positions = new int[sortedEntries.size * 2];
+		for(int i = 0; i < sortedEntries.size; i++) {
+			final Entry entry = sortedEntries.get(i);
+			if(!packer.insert(Math.min(pageWidth, entry.width + padding),
+					Math.min(pageHeight, entry.height + padding), position)) {
+				return false;
+			}
+			positions[i * 2] = position.x;
+			positions[(i * 2) + 1] = position.y;
+		}
+
+		final Pixmap pixmap = newPagePixmap();
+		for(int i = 0; i < sortedEntries.size; i++) {
+			final Entry entry = sortedEntries.get(i);
+			final int x = positions[i * 2];
+			final int y = positions[(i * 2) + 1];
+			pixmap.drawPixmap(page.pixmap, x, y, entry.x, entry.y, entry.width, entry.height);
+			entry.x = x;
+			entry.y = y;
+			entry.region.setRegion(x, y, entry.width, entry.height);
+		}
+		page.pixmap.dispose();
+		page.pixmap = pixmap;
+		page.packer = packer;
+		page.fragmented = false;
+		page.dirty = true;
+		return true;
+	}
+
+	private Pixmap newPagePixmap() {
+		final Pixmap result = Mdx.graphics.newPixmap(pageWidth, pageHeight, PixmapFormat.RGBA8888);
+		result.setBlending(PixmapBlending.NONE);
+		return result;
+	}
+
+	/**
+	 * Returns the amount of texture pages
+	 * @return 0 if no images have been added
+	 */
+	public int getTotalPages() {
+		return pages.size;
+	}
+
+	/**
+	 * Returns the {@link Texture} of a page
+	 * @param pageIndex The index of the page
+	 * @return The page {@link Texture}
+	 */
+	public Texture getPageTexture(int pageIndex) {
+		return pages.get(pageIndex).texture;
+	}
+
+	/**
+	 * Returns the fraction of a page used by images (including padding)
+	 * @param pageIndex The index of the page
+	 * @return A value between 0 and 1
+	 */
+	public float getPageOccupancy(int pageIndex) {
+		return pages.get(pageIndex).packer.getOccupancy();
+	}
+
+	/**
+	 * Returns the amount of images in the atlas
+	 * @return 0 if empty
+	 */
+	public int getTotalRegions() {
+		return entries.size;
+	}
+
+	@Override
+	public void dispose() {
+		for(int i = 0; i < pages.size; i++) {
+			pages.get(i).pixmap.dispose();
+			pages.get(i).texture.dispose();
+		}
+		pages.clear();
+		entries.clear();
+	}
+
+	private class Page {
+		final Array<Entry> entries = new Array<Entry>(false, 16);
+		MaxRectsPacker packer = new MaxRectsPacker(pageWidth, pageHeight);
+		Pixmap pixmap;
+		Texture texture;
+		boolean dirty, fragmented;
+
+		Page() {
+			pixmap = newPagePixmap();
+			texture = Mdx.graphics.newTexture(pixmap);
+		}
+	}
+
+	private static class Entry {
+		Page page;
+		int x, y, width, height;
+		TextureAtlasRegion region;
+	}
+}
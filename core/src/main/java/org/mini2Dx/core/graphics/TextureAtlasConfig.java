@@ -23,6 +23,12 @@ import org.mini2Dx.gdx.utils.Array;
 import java.io.IOException;
 import java.util.HashMap;
 
+/**
+ * Parses a libGDX texture atlas pack file. Both the legacy format (xy/size/orig/offset fields)
+ * and the format introduced in libGDX 1.9.12 (bounds/offsets fields, optional page fields) are supported.
+ *
+ * The file is scanned in a single pass without splitting lines or fields into temporary strings.
+ */
 public class TextureAtlasConfig {
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
     public HashMap<String, Texture> textures = new HashMap<>();
@@ -33,55 +39,179 @@ public class TextureAtlasConfig {
     }
 
     public TextureAtlasConfig(FileHandle packFile, FileHandle imagesDir){
-        String[] lines;
+        final String contents;
         try {
-            lines = packFile.readAllLines();
+            contents = packFile.readString();
         } catch (IOException e) {
             throw new MdxException(e.toString());
         }
-        final int [] xyTuple = new int[2];
-        final int [] whTuple = new int[2];
-        final int [] originalWhTuple = new int[2];
-        final int [] offsetTuple = new int[2];
-
-        int i = 1;
-        while (i < lines.length){
-            String texturePath = imagesDir.child(lines[i]).path();
-            textures.put(texturePath, null);
-            i+=5;
-            while (i < lines.length && !lines[i].isEmpty()){
-                int index, x, y, width, height, originalWidth, originalHeight, offsetX, offsetY;
-                String name = lines[i];
-                boolean rotate = Boolean.parseBoolean(lines[i + 1].split(":")[1].trim());
-                readTuple(xyTuple, lines[i + 2]);
-                x = xyTuple[0];
-                y = xyTuple[1];
-                readTuple(whTuple, lines[i + 3]);
-                width = whTuple[0];
-                height = whTuple[1];
-                readTuple(originalWhTuple, lines[i + 4]);
-                originalWidth = originalWhTuple[0];
-                originalHeight = originalWhTuple[1];
-                readTuple(offsetTuple, lines[i + 5]);
-                offsetX = offsetTuple[0];
-                offsetY = offsetTuple[1];
-                index = Integer.parseInt(lines[i + 6].split(":")[1].trim());
-
-                atlasRegions.add(Mdx.graphics.newTextureAtlasRegion(texturePath, name, index, x, y, width, height, rotate, originalWidth, originalHeight, offsetX, offsetY));
-                i += 7;
-            }
-            i++;
-        }
-    }
-
-    private static void readTuple(int [] result, String s){
-        String[] tuple = s.split(":")[1].split(",");
-        result[0] = Integer.parseInt(tuple[0].trim());
-        result[1] = Integer.parseInt(tuple[1].trim());
+        new Parser(contents).parse(imagesDir);
     }
 
     public String[] getDependencies(){
         return textures.keySet().toArray(EMPTY_STRING_ARRAY);
     }
 
+    private class Parser {
+        private final String contents;
+        private final int [] values = new int[4];
+
+        private String texturePath, name;
+        private int index, x, y, width, height, originalWidth, originalHeight, offsetX, offsetY;
+        private boolean rotate;
+
+        Parser(String contents) {
+            this.contents = contents;
+        }
+
+        void parse(FileHandle imagesDir) {
+            final int length = contents.length();
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = contents.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = length;
+                }
+                int start = lineStart;
+                int end = lineEnd;
+                lineStart = lineEnd + 1;
+                while (start < end && contents.charAt(start) <= ' ') {
+                    start++;
+                }
+                while (end > start && contents.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+
+                if (start == end) {
+                    //Blank lines separate pages
+                    addRegion();
+                    texturePath = null;
+                    continue;
+                }
+                if (texturePath == null) {
+                    texturePath = imagesDir.child(contents.substring(start, end)).path();
+                    textures.put(texturePath, null);
+                    continue;
+                }
+                final int colon = contents.indexOf(':', start);
+                if (colon < 0 || colon >= end) {
+                    addRegion();
+                    beginRegion(contents.substring(start, end));
+                    continue;
+                }
+                if (name == null) {
+                    //Page fields (size, format, filter, repeat, pma) are not required
+                    continue;
+                }
+                parseField(start, colon, end);
+            }
+            addRegion();
+        }
+
+        private void beginRegion(String name) {
+            this.name = name;
+            index = -1;
+            x = 0;
+            y = 0;
+            width = 0;
+            height = 0;
+            originalWidth = -1;
+            originalHeight = -1;
+            offsetX = 0;
+            offsetY = 0;
+            rotate = false;
+        }
+
+        private void addRegion() {
+            if (name == null) {
+                return;
+            }
+            atlasRegions.add(Mdx.graphics.newTextureAtlasRegion(texturePath, name, index, x, y, width, height, rotate,
+                    originalWidth < 0 ? width : originalWidth, originalHeight < 0 ? height : originalHeight, offsetX, offsetY));
+            name = null;
+        }
+
+        private void parseField(int keyStart, int keyEnd, int end) {
+            if (isKey("xy", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                x = values[0];
+                y = values[1];
+            } else if (isKey("size", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                width = values[0];
+                height = values[1];
+            } else if (isKey("bounds", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                x = values[0];
+                y = values[1];
+                width = values[2];
+                height = values[3];
+            } else if (isKey("orig", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                originalWidth = values[0];
+                originalHeight = values[1];
+            } else if (isKey("offset", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                offsetX = values[0];
+                offsetY = values[1];
+            } else if (isKey("offsets", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                offsetX = values[0];
+                offsetY = values[1];
+                originalWidth = values[2];
+                originalHeight = values[3];
+            } else if (isKey("index", keyStart, keyEnd)) {
+                parseInts(keyEnd + 1, end);
+                index = values[0];
+            } else if (isKey("rotate", keyStart, keyEnd)) {
+                int valueStart = keyEnd + 1;
+                while (valueStart < end && contents.charAt(valueStart) == ' ') {
+                    valueStart++;
+                }
+                if (contents.regionMatches(valueStart, "true", 0, 4)) {
+                    rotate = true;
+                } else if (contents.regionMatches(valueStart, "false", 0, 5)) {
+                    rotate = false;
+                } else {
+                    parseInts(valueStart, end);
+                    rotate = values[0] == 90;
+                }
+            }
+        }
+
+        private boolean isKey(String key, int keyStart, int keyEnd) {
+            return keyEnd - keyStart == key.length() && contents.regionMatches(keyStart, key, 0, key.length());
+        }
+
+        private void parseInts(int start, int end) {
+            values[0] = 0;
+            values[1] = 0;
+            values[2] = 0;
+            values[3] = 0;
+
+            int valueIndex = 0;
+            int i = start;
+            while (i < end && valueIndex < values.length) {
+                char c = contents.charAt(i);
+                if (c == ' ' || c == ',') {
+                    i++;
+                    continue;
+                }
+                boolean negative = false;
+                if (c == '-') {
+                    negative = true;
+                    i++;
+                }
+                int value = 0;
+                while (i < end && (c = contents.charAt(i)) >= '0' && c <= '9') {
+                    value = (value * 10) + (c - '0');
+                    i++;
+                }
+                values[valueIndex++] = negative ? -value : value;
+                while (i < end && contents.charAt(i) != ',') {
+                    i++;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+/**
+ * Platform-specific source of per-thread allocation counters.
+ * Set via {@link org.mini2Dx.core.PlatformUtils#setAllocationMonitor(AllocationMonitor)} to track bytes allocated
+ * during each frame phase.
+ */
+public interface AllocationMonitor {
+
+	/**
+	 * Returns the total bytes allocated by the current thread since it started
+	 * @return A monotonically increasing value or -1 if unavailable
+	 */
+	public long getCurrentThreadAllocatedBytes();
+}
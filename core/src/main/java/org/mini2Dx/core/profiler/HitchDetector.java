@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Detects frames which take longer than a threshold and captures the per-phase timings of the preceding frames.
+ *
+ * Note: Should only be used on the game thread
+ */
+public class HitchDetector {
+	public static final int DEFAULT_CAPTURED_FRAMES = 60;
+
+	private final Array<HitchListener> listeners = new Array<HitchListener>();
+	private final long[] frameDurations, updateDurations, interpolateDurations, renderDurations;
+	private final HitchReport report;
+
+	private long thresholdNanos;
+	private int nextIndex;
+	private long totalFrames, totalHitches;
+
+	/**
+	 * Constructor
+	 * @param thresholdNanos The frame duration (in nanoseconds) at or above which a frame is considered a hitch
+	 * @param capturedFrames The amount of frames (including the hitch frame) to capture in each {@link HitchReport}
+	 */
+	public HitchDetector(long thresholdNanos, int capturedFrames) {
+		super();
+		if(capturedFrames < 1) {
+			throw new IllegalArgumentException("capturedFrames must be greater than 0");
+		}
+		this.thresholdNanos = thresholdNanos;
+		frameDurations = new long[capturedFrames];
+		updateDurations = new long[capturedFrames];
+		interpolateDurations = new long[capturedFrames];
+		renderDurations = new long[capturedFrames];
+		report = new HitchReport(capturedFrames);
+	}
+
+	/**
+	 * Records the timings of a completed frame
+	 * @param frameDuration The total frame duration in nanoseconds
+	 * @param updateDuration The total update duration during the frame in nanoseconds
+	 * @param interpolateDuration The total interpolate duration during the frame in nanoseconds
+	 * @param renderDuration The render duration during the frame in nanoseconds
+	 * @return True if the frame was a hitch
+	 */
+	public boolean markFrame(long frameDuration, long updateDuration, long interpolateDuration, long renderDuration) {
+		frameDurations[nextIndex] = frameDuration;
+		updateDurations[nextIndex] = updateDuration;
+		interpolateDurations[nextIndex] = interpolateDuration;
+		renderDurations[nextIndex] = renderDuration;
+		nextIndex = (nextIndex + 1) % frameDurations.length;
+		totalFrames++;
+
+		if(frameDuration < thresholdNanos) {
+			return false;
+		}
+		totalHitches++;
+
+		final int capturedFrames = (int) Math.min(totalFrames, frameDurations.length);
+		for(int i = 0; i < capturedFrames; i++) {
+			final int index = (nextIndex - capturedFrames + i + frameDurations.length) % frameDurations.length;
+			report.setFrame(i, frameDurations[index], updateDurations[index], interpolateDurations[index], renderDurations[index]);
+		}
+		report.set(totalFrames - 1, capturedFrames);
+
+		for(int i = listeners.size - 1; i >= 0; i--) {
+			listeners.get(i).onHitch(report);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the report of the most recent hitch
+	 * @return Null if no hitch has occurred
+	 */
+	public HitchReport getLastHitchReport() {
+		return totalHitches == 0 ? null : report;
+	}
+
+	/**
+	 * Returns the amount of hitches since this detector was created
+	 * @return 0 if no hitch has occurred
+	 */
+	public long getTotalHitches() {
+		return totalHitches;
+	}
+
+	/**
+	 * Returns the amount of frames recorded since this detector was created
+	 * @return 0 if no frames have been recorded
+	 */
+	public long getTotalFrames() {
+		return totalFrames;
+	}
+
+	/**
+	 * Returns the frame duration at or above which a frame is considered a hitch
+	 * @return The threshold in nanoseconds
+	 */
+	public long getThreshold() {
+		return thresholdNanos;
+	}
+
+	/**
+	 * Sets the frame duration at or above which a frame is considered a hitch
+	 * @param thresholdNanos The threshold in nanoseconds
+	 */
+	public void setThreshold(long thresholdNanos) {
+		this.thresholdNanos = thresholdNanos;
+	}
+
+	/**
+	 * Adds a {@link HitchListener} to be notified of hitches
+	 * @param listener The {@link HitchListener} to add
+	 */
+	public void addHitchListener(HitchListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a {@link HitchListener}
+	 * @param listener The {@link HitchListener} to remove
+	 */
+	public void removeHitchListener(HitchListener listener) {
+		listeners.removeValue(listener, true);
+	}
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+/**
+ * Notified by {@link HitchDetector} when a frame exceeds the hitch threshold
+ */
+public interface HitchListener {
+
+	/**
+	 * Called on the game thread at the end of a frame that exceeded the hitch threshold
+	 * @param report The {@link HitchReport}. Reused for each hitch so should be copied if it needs to be retained.
+	 */
+	public void onHitch(HitchReport report);
+}
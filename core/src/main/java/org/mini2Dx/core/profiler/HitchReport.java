@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+/**
+ * Per-phase timings of the frames leading up to and including a hitch. Index 0 is the oldest frame
+ * and {@link #getTotalFrames()} - 1 is the frame which exceeded the hitch threshold.
+ */
+public class HitchReport {
+	private final long[] frameDurations, updateDurations, interpolateDurations, renderDurations;
+	private int totalFrames;
+	private long frameId;
+
+	/**
+	 * Constructor
+	 * @param maxFrames The maximum amount of frames to capture
+	 */
+	public HitchReport(int maxFrames) {
+		super();
+		frameDurations = new long[maxFrames];
+		updateDurations = new long[maxFrames];
+		interpolateDurations = new long[maxFrames];
+		renderDurations = new long[maxFrames];
+	}
+
+	void set(long frameId, int totalFrames) {
+		this.frameId = frameId;
+		this.totalFrames = totalFrames;
+	}
+
+	void setFrame(int index, long frameDuration, long updateDuration, long interpolateDuration, long renderDuration) {
+		frameDurations[index] = frameDuration;
+		updateDurations[index] = updateDuration;
+		interpolateDurations[index] = interpolateDuration;
+		renderDurations[index] = renderDuration;
+	}
+
+	/**
+	 * Copies another report into this report
+	 * @param report The {@link HitchReport} to copy
+	 */
+	public void set(HitchReport report) {
+		final int totalFrames = Math.min(report.totalFrames, frameDurations.length);
+		final int offset = report.totalFrames - totalFrames;
+		System.arraycopy(report.frameDurations, offset, frameDurations, 0, totalFrames);
+		System.arraycopy(report.updateDurations, offset, updateDurations, 0, totalFrames);
+		System.arraycopy(report.interpolateDurations, offset, interpolateDurations, 0, totalFrames);
+		System.arraycopy(report.renderDurations, offset, renderDurations, 0, totalFrames);
+		this.totalFrames = totalFrames;
+		this.frameId = report.frameId;
+	}
+
+	/**
+	 * Returns the index of the hitch frame since the {@link HitchDetector} was created
+	 * @return The frame index
+	 */
+	public long getFrameId() {
+		return frameId;
+	}
+
+	/**
+	 * Returns the amount of frames captured
+	 * @return The amount of frames including the hitch frame
+	 */
+	public int getTotalFrames() {
+		return totalFrames;
+	}
+
+	/**
+	 * Returns the duration of the hitch frame
+	 * @return The duration in nanoseconds
+	 */
+	public long getHitchDuration() {
+		return totalFrames == 0 ? 0L : frameDurations[totalFrames - 1];
+	}
+
+	/**
+	 * Returns the total duration of a captured frame
+	 * @param index The frame index (0 is the oldest frame)
+	 * @return The duration in nanoseconds
+	 */
+	public long getFrameDuration(int index) {
+		return frameDurations[index];
+	}
+
+	/**
+	 * Returns the total update duration of a captured frame
+	 * @param index The frame index (0 is the oldest frame)
+	 * @return The duration in nanoseconds
+	 */
+	public long getUpdateDuration(int index) {
+		return updateDurations[index];
+	}
+
+	/**
+	 * Returns the total interpolate duration of a captured frame
+	 * @param index The frame index (0 is the oldest frame)
+	 * @return The duration in nanoseconds
+	 */
+	public long getInterpolateDuration(int index) {
+		return interpolateDurations[index];
+	}
+
+	/**
+	 * Returns the render duration of a captured frame
+	 * @param index The frame index (0 is the oldest frame)
+	 * @return The duration in nanoseconds
+	 */
+	public long getRenderDuration(int index) {
+		return renderDurations[index];
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * A hierarchical profiler for named scopes. Scopes can be nested and used from any thread.
+ *
+ * <pre>
+ * Profiler.begin("ai");
+ * Profiler.begin("pathfinding");
+ * ...
+ * Profiler.end();
+ * Profiler.end();
+ * </pre>
+ *
+ * Each thread records completed scopes into its own ring buffer without allocating (after a scope
+ * is first seen). The buffers are drained into a per-thread tree of {@link ProfilerScope}s at the end
+ * of each frame via {@link org.mini2Dx.core.PlatformUtils#markFrameEnd()}.
+ *
+ * The profiler is disabled by default. When disabled, {@link #begin(String)} and {@link #end()} do nothing.
+ * It should only be enabled or disabled between frames.
+ */
+public class Profiler {
+	public static final String UPDATE_SCOPE = "update";
+	public static final String INTERPOLATE_SCOPE = "interpolate";
+	public static final String RENDER_SCOPE = "render";
+
+	/**
+	 * The maximum amount of completed scopes per thread between frames. Applies to threads that begin profiling after it is set.
+	 */
+	public static int BUFFER_SIZE = 4096;
+	/**
+	 * The amount of frames to calculate percentiles over. Applies to threads that begin profiling after it is set.
+	 */
+	public static int HISTORY_SIZE = 300;
+
+	private static final Array<ProfilerThread> THREADS = new Array<ProfilerThread>();
+	private static final Array<ProfilerThread> FRAME_THREADS = new Array<ProfilerThread>();
+	private static final ThreadLocal<ProfilerThread> THREAD = new ThreadLocal<ProfilerThread>() {
+		@Override
+		protected ProfilerThread initialValue() {
+			final ProfilerThread result = new ProfilerThread(Thread.currentThread(), BUFFER_SIZE, HISTORY_SIZE);
+			synchronized(THREADS) {
+				THREADS.add(result);
+				threadsVersion++;
+			}
+			return result;
+		}
+	};
+
+	private static volatile boolean enabled = false;
+	private static volatile int threadsVersion;
+	private static int frameThreadsVersion;
+	private static long totalFrames;
+
+	/**
+	 * Begins a scope on the current thread. Must be followed by a call to {@link #end()} on the same thread.
+	 * @param name The name of the scope. Constant strings are recommended.
+	 */
+	public static void begin(String name) {
+		if(!enabled) {
+			return;
+		}
+		THREAD.get().begin(name, Mdx.platformUtils.nanoTime());
+	}
+
+	/**
+	 * Ends the most recently begun scope on the current thread
+	 */
+	public static void end() {
+		if(!enabled) {
+			return;
+		}
+		THREAD.get().end(Mdx.platformUtils.nanoTime());
+	}
+
+	/**
+	 * Internal usage only: Collects all scopes completed since the previous frame. Called on the game thread.
+	 */
+	public static void markFrameEnd() {
+		if(!enabled) {
+			return;
+		}
+		if(frameThreadsVersion != threadsVersion) {
+			synchronized(THREADS) {
+				FRAME_THREADS.clear();
+				FRAME_THREADS.addAll(THREADS);
+				frameThreadsVersion = threadsVersion;
+			}
+		}
+		for(int i = 0; i < FRAME_THREADS.size; i++) {
+			final ProfilerThread thread = FRAME_THREADS.get(i);
+			thread.drain();
+			thread.completeFrame();
+
+			if(!thread.isThreadAlive()) {
+				//Remains visible until the next frame so that its final scopes can be read
+				synchronized(THREADS) {
+					THREADS.removeValue(thread, true);
+					threadsVersion++;
+				}
+			}
+		}
+		totalFrames++;
+	}
+
+	/**
+	 * Returns the profiling state of each thread that has used the profiler. Threads that have terminated are
+	 * removed at the end of the frame after their final scopes were collected. Should only be accessed on the game thread.
+	 * @return An empty {@link Array} if no profiling has occurred
+	 */
+	public static Array<ProfilerThread> getThreads() {
+		return FRAME_THREADS;
+	}
+
+	/**
+	 * Returns the profiling state of a thread. Should only be accessed on the game thread.
+	 * @param threadName The name of the thread
+	 * @return Null if the thread has not used the profiler
+	 */
+	public static ProfilerThread getThread(String threadName) {
+		for(int i = 0; i < FRAME_THREADS.size; i++) {
+			if(FRAME_THREADS.get(i).getThreadName().equals(threadName)) {
+				return FRAME_THREADS.get(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the amount of frames collected while the profiler was enabled
+	 * @return 0 by default
+	 */
+	public static long getTotalFrames() {
+		return totalFrames;
+	}
+
+	/**
+	 * Returns if the profiler is enabled
+	 * @return False by default
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the profiler
+	 * @param enabled True if scopes should be recorded
+	 */
+	public static void setEnabled(boolean enabled) {
+		Profiler.enabled = enabled;
+	}
+}
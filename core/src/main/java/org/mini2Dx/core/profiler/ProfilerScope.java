@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * A named node in the per-thread scope tree of the {@link Profiler}.
+ *
+ * Timings are accumulated per frame. The total time of the last {@link Profiler#HISTORY_SIZE}
+ * frames is kept for calculating percentiles.
+ *
+ * Note: Timing values should only be read on the game thread
+ */
+public class ProfilerScope {
+	private final String name;
+	private final ProfilerScope parent;
+	private final int id;
+	private final int depth;
+
+	/**
+	 * Only accessed by the thread that owns the scope tree
+	 */
+	final Array<ProfilerScope> lookupChildren = new Array<ProfilerScope>(false, 4);
+	/**
+	 * Only accessed by the game thread
+	 */
+	final Array<ProfilerScope> children = new Array<ProfilerScope>(false, 4);
+	boolean registered;
+
+	private final long[] history;
+	private final long[] sortedHistory;
+	private int historyIndex, historySize;
+	private boolean sortedHistoryValid;
+
+	private long frameDuration, lastFrameDuration;
+	private int frameCalls, lastFrameCalls;
+
+	ProfilerScope(String name, ProfilerScope parent, int id, int historySize) {
+		super();
+		this.name = name;
+		this.parent = parent;
+		this.id = id;
+		this.depth = parent == null ? 0 : parent.depth + 1;
+		this.history = new long[historySize];
+		this.sortedHistory = new long[historySize];
+	}
+
+	ProfilerScope getLookupChild(String name) {
+		for(int i = 0; i < lookupChildren.size; i++) {
+			final ProfilerScope child = lookupChildren.get(i);
+			if(child.name == name || child.name.equals(name)) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	void mark(long duration) {
+		frameDuration += duration;
+		frameCalls++;
+	}
+
+	long getFrameDuration() {
+		return frameDuration;
+	}
+
+	void completeFrame() {
+		lastFrameDuration = frameDuration;
+		lastFrameCalls = frameCalls;
+		frameDuration = 0L;
+		frameCalls = 0;
+
+		history[historyIndex] = lastFrameDuration;
+		historyIndex = (historyIndex + 1) % history.length;
+		historySize = Math.min(historySize + 1, history.length);
+		sortedHistoryValid = false;
+
+		for(int i = 0; i < children.size; i++) {
+			children.get(i).completeFrame();
+		}
+	}
+
+	/**
+	 * Returns the total time spent in this scope during the last completed frame
+	 * @return The duration in nanoseconds
+	 */
+	public long getLastFrameDuration() {
+		return lastFrameDuration;
+	}
+
+	/**
+	 * Returns the amount of times this scope was entered during the last completed frame
+	 * @return 0 if the scope was not entered
+	 */
+	public int getLastFrameCalls() {
+		return lastFrameCalls;
+	}
+
+	/**
+	 * Returns the per-frame duration at the specified percentile of recent frames
+	 * @param percentile The percentile between 0 and 100 (e.g. 95 for p95)
+	 * @return The duration in nanoseconds
+	 */
+	public long getPercentile(float percentile) {
+		if(historySize == 0) {
+			return 0L;
+		}
+		if(!sortedHistoryValid) {
+			System.arraycopy(history, 0, sortedHistory, 0, historySize);
+			Arrays.sort(sortedHistory, 0, historySize);
+			sortedHistoryValid = true;
+		}
+		final int index = (int) Math.ceil((Math.max(0f, Math.min(100f, percentile)) / 100f) * historySize) - 1;
+		return sortedHistory[Math.max(0, index)];
+	}
+
+	/**
+	 * Returns the median per-frame duration of recent frames
+	 * @return The duration in nanoseconds
+	 */
+	public long getP50() {
+		return getPercentile(50f);
+	}
+
+	/**
+	 * Returns the 95th percentile per-frame duration of recent frames
+	 * @return The duration in nanoseconds
+	 */
+	public long getP95() {
+		return getPercentile(95f);
+	}
+
+	/**
+	 * Returns the 99th percentile per-frame duration of recent frames
+	 * @return The duration in nanoseconds
+	 */
+	public long getP99() {
+		return getPercentile(99f);
+	}
+
+	/**
+	 * Returns the maximum per-frame duration of recent frames
+	 * @return The duration in nanoseconds
+	 */
+	public long getMax() {
+		return getPercentile(100f);
+	}
+
+	/**
+	 * Returns the average per-frame duration of recent frames
+	 * @return The duration in nanoseconds
+	 */
+	public double getAverage() {
+		if(historySize == 0) {
+			return 0.0;
+		}
+		long total = 0L;
+		for(int i = 0; i < historySize; i++) {
+			total += history[i];
+		}
+		return total / (double) historySize;
+	}
+
+	/**
+	 * Returns the name of this scope
+	 * @return The name passed to {@link Profiler#begin(String)} or the thread name for root scopes
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the parent of this scope
+	 * @return Null if this is a root scope
+	 */
+	public ProfilerScope getParent() {
+		return parent;
+	}
+
+	/**
+	 * Returns the depth of this scope in the tree
+	 * @return 0 for root scopes
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the nested scopes that have been recorded
+	 * @return An empty {@link Array} if there are no nested scopes
+	 */
+	public Array<ProfilerScope> getChildren() {
+		return children;
+	}
+
+	/**
+	 * Returns a nested scope by name
+	 * @param name The name of the scope
+	 * @return Null if no scope has been recorded with the name
+	 */
+	public ProfilerScope getChild(String name) {
+		for(int i = 0; i < children.size; i++) {
+			final ProfilerScope child = children.get(i);
+			if(child.name.equals(name)) {
+				return child;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Per-thread state of the {@link Profiler}.
+ *
+ * Completed scopes are written to a single-producer ring buffer by the owning thread
+ * and drained on the game thread at the end of each frame.
+ */
+public class ProfilerThread {
+	private final Thread thread;
+	private final String threadName;
+	private final int historySize;
+	private final ProfilerScope root;
+
+	/**
+	 * Written by the owning thread when a scope is first seen and read by the game thread when it first drains
+	 * an event for a scope. Both are rare so access is guarded by locking on the array.
+	 */
+	private final Array<ProfilerScope> scopes = new Array<ProfilerScope>();
+	private ProfilerScope[] stackScopes;
+	private long[] stackStartTimes;
+	private int stackSize;
+
+	private final int[] eventScopeIds;
+	private final long[] eventDurations;
+	private final int eventMask;
+	private volatile long writeIndex;
+	private volatile long readIndex;
+	private volatile long totalDroppedEvents;
+
+	/**
+	 * Only accessed by the game thread
+	 */
+	private ProfilerScope[] knownScopes = new ProfilerScope[16];
+
+	ProfilerThread(Thread thread, int bufferSize, int historySize) {
+		super();
+		this.thread = thread;
+		this.threadName = thread.getName();
+		this.historySize = historySize;
+
+		final int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+		eventScopeIds = new int[capacity];
+		eventDurations = new long[capacity];
+		eventMask = capacity - 1;
+
+		stackScopes = new ProfilerScope[16];
+		stackStartTimes = new long[16];
+
+		root = newScope(threadName, null);
+		root.registered = true;
+		knownScopes[0] = root;
+	}
+
+	private ProfilerScope newScope(String name, ProfilerScope parent) {
+		final ProfilerScope result;
+		synchronized(scopes) {
+			result = new ProfilerScope(name, parent, scopes.size, historySize);
+			scopes.add(result);
+		}
+		if(parent != null) {
+			parent.lookupChildren.add(result);
+		}
+		return result;
+	}
+
+	void begin(String name, long time) {
+		final ProfilerScope parent = stackSize == 0 ? root : stackScopes[stackSize - 1];
+		ProfilerScope scope = parent.getLookupChild(name);
+		if(scope == null) {
+			scope = newScope(name, parent);
+		}
+		if(stackSize == stackScopes.length) {
+			final ProfilerScope[] newStackScopes = new ProfilerScope[stackSize * 2];
+			final long[] newStackStartTimes = new long[stackSize * 2];
+			System.arraycopy(stackScopes, 0, newStackScopes, 0, stackSize);
+			System.arraycopy(stackStartTimes, 0, newStackStartTimes, 0, stackSize);
+			stackScopes = newStackScopes;
+			stackStartTimes = newStackStartTimes;
+		}
+		stackScopes[stackSize] = scope;
+		stackStartTimes[stackSize] = time;
+		stackSize++;
+	}
+
+	void end(long time) {
+		if(stackSize == 0) {
+			return;
+		}
+		stackSize--;
+		final ProfilerScope scope = stackScopes[stackSize];
+		stackScopes[stackSize] = null;
+
+		final long index = writeIndex;
+		if(index - readIndex > eventMask) {
+			totalDroppedEvents++;
+			return;
+		}
+		final int bufferIndex = (int) (index & eventMask);
+		eventScopeIds[bufferIndex] = scope.getId();
+		eventDurations[bufferIndex] = time - stackStartTimes[stackSize];
+		writeIndex = index + 1;
+	}
+
+	void drain() {
+		final long index = writeIndex;
+		for(long i = readIndex; i < index; i++) {
+			final int bufferIndex = (int) (i & eventMask);
+			final int scopeId = eventScopeIds[bufferIndex];
+			ProfilerScope scope = scopeId < knownScopes.length ? knownScopes[scopeId] : null;
+			if(scope == null) {
+				synchronized(scopes) {
+					scope = scopes.get(scopeId);
+				}
+				register(scope);
+			}
+			scope.mark(eventDurations[bufferIndex]);
+		}
+		readIndex = index;
+	}
+
+	private void register(ProfilerScope scope) {
+		if(scope.registered) {
+			return;
+		}
+		register(scope.getParent());
+		scope.registered = true;
+		scope.getParent().children.add(scope);
+
+		if(scope.getId() >= knownScopes.length) {
+			final ProfilerScope[] newKnownScopes = new ProfilerScope[Math.max(scope.getId() + 1, knownScopes.length * 2)];
+			System.arraycopy(knownScopes, 0, newKnownScopes, 0, knownScopes.length);
+			knownScopes = newKnownScopes;
+		}
+		knownScopes[scope.getId()] = scope;
+	}
+
+	void completeFrame() {
+		long total = 0L;
+		for(int i = 0; i < root.children.size; i++) {
+			total += root.children.get(i).getFrameDuration();
+		}
+		root.mark(total);
+		root.completeFrame();
+	}
+
+	boolean isThreadAlive() {
+		return thread.isAlive();
+	}
+
+	/**
+	 * Returns the name of the thread
+	 * @return The value of {@link Thread#getName()} when the thread first used the {@link Profiler}
+	 */
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Returns the root of the scope tree for this thread. The root's duration is the total of its top-level scopes.
+	 * @return The root {@link ProfilerScope}
+	 */
+	public ProfilerScope getRoot() {
+		return root;
+	}
+
+	/**
+	 * Returns the amount of scopes dropped because the ring buffer was full before it was drained
+	 * @return 0 if no scopes have been dropped
+	 */
+	public long getTotalDroppedEvents() {
+		return totalDroppedEvents;
+	}
+}
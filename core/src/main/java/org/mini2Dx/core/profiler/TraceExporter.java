@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams timing events to a file in the Chrome Trace Event format (JSON array format).
+ * The output can be opened in chrome://tracing or https://ui.perfetto.dev
+ *
+ * Events are recorded into a bounded buffer. At the end of each frame the buffer is swapped and
+ * written on a background thread via {@link Mdx#executor}. If the buffer fills up before it is written,
+ * further events are dropped until the next frame (see {@link #getTotalDroppedEvents()}).
+ *
+ * mini2Dx records frame phases, {@link org.mini2Dx.core.TaskExecutor} tasks and asset loads.
+ * Additional sources can be added via {@link #addSampler(TraceSampler)}.
+ */
+public class TraceExporter {
+	private static final String LOGGING_TAG = TraceExporter.class.getSimpleName();
+
+	public static final String CATEGORY_FRAME = "frame";
+	public static final String CATEGORY_TASK = "task";
+	public static final String CATEGORY_ASSET = "asset";
+	public static final String CATEGORY_GC = "gc";
+
+	/**
+	 * The maximum amount of events buffered per frame. Applies when {@link #start(Writer)} is called.
+	 */
+	public static int BUFFER_SIZE = 16384;
+
+	private static final Object LOCK = new Object();
+	private static final AtomicInteger TRACK_ID_GENERATOR = new AtomicInteger(1);
+	private static final ThreadLocal<TraceTrack> THREAD_TRACK = new ThreadLocal<TraceTrack>() {
+		@Override
+		protected TraceTrack initialValue() {
+			return newTrack(Thread.currentThread().getName());
+		}
+	};
+	private static final Array<TraceSampler> SAMPLERS = new Array<TraceSampler>();
+	private static final Runnable WRITE_TASK = new Runnable() {
+		@Override
+		public void run() {
+			writeEvents();
+		}
+	};
+
+	private static volatile boolean enabled = false;
+	private static TraceEvent[] recordingEvents, writingEvents;
+	private static int totalRecordingEvents, totalWritingEvents;
+	private static long totalDroppedEvents;
+
+	private static Writer writer;
+	private static long startTimeNanos;
+	private static boolean eventsWritten;
+	private static int traceId;
+	private static AsyncFuture writeFuture;
+	private static final StringBuilder STRING_BUILDER = new StringBuilder();
+
+	/**
+	 * Starts writing a trace to a file. Any existing trace is stopped.
+	 * @param fileHandle The file to write to
+	 * @throws IOException Thrown if the file could not be opened
+	 */
+	public static void start(FileHandle fileHandle) throws IOException {
+		start(fileHandle.writer(false));
+	}
+
+	/**
+	 * Starts writing a trace. Any existing trace is stopped.
+	 * @param writer The {@link Writer} to write to. Closed when {@link #stop()} is called.
+	 * @throws IOException Thrown if the trace header could not be written
+	 */
+	public static void start(Writer writer) throws IOException {
+		stop();
+
+		synchronized(LOCK) {
+			recordingEvents = newEvents(BUFFER_SIZE);
+			writingEvents = newEvents(BUFFER_SIZE);
+			totalRecordingEvents = 0;
+			totalWritingEvents = 0;
+			totalDroppedEvents = 0;
+		}
+		writer.write('[');
+
+		TraceExporter.writer = writer;
+		eventsWritten = false;
+		traceId++;
+		startTimeNanos = Mdx.platformUtils.nanoTime();
+		enabled = true;
+	}
+
+	/**
+	 * Writes all remaining events and closes the trace
+	 */
+	public static void stop() {
+		if(!enabled) {
+			return;
+		}
+		enabled = false;
+
+		waitForWrite();
+		swapBuffers();
+		writeEvents();
+
+		try {
+			writer.write('\n');
+			writer.write(']');
+			writer.close();
+		} catch (IOException e) {
+			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+		}
+		writer = null;
+		writeFuture = null;
+	}
+
+	/**
+	 * Creates a new track for events that do not belong to a thread
+	 * @param name The name of the track
+	 * @return A new {@link TraceTrack}
+	 */
+	public static TraceTrack newTrack(String name) {
+		return new TraceTrack(TRACK_ID_GENERATOR.getAndIncrement(), name);
+	}
+
+	/**
+	 * Records an event with a duration on the current thread's track
+	 * @param category The event category
+	 * @param name The event name
+	 * @param startNanos The start time in nanoseconds
+	 * @param endNanos The end time in nanoseconds
+	 */
+	public static void complete(String category, String name, long startNanos, long endNanos) {
+		if(!enabled) {
+			return;
+		}
+		record(THREAD_TRACK.get(), TraceEvent.PHASE_COMPLETE, category, name, startNanos, endNanos - startNanos);
+	}
+
+	/**
+	 * Records an event with a duration
+	 * @param track The {@link TraceTrack} to record the event on
+	 * @param category The event category
+	 * @param name The event name
+	 * @param startNanos The start time in nanoseconds
+	 * @param endNanos The end time in nanoseconds
+	 */
+	public static void complete(TraceTrack track, String category, String name, long startNanos, long endNanos) {
+		if(!enabled) {
+			return;
+		}
+		record(track, TraceEvent.PHASE_COMPLETE, category, name, startNanos, endNanos - startNanos);
+	}
+
+	/**
+	 * Records an event without a duration on the current thread's track
+	 * @param category The event category
+	 * @param name The event name
+	 * @param timeNanos The time in nanoseconds
+	 */
+	public static void instant(String category, String name, long timeNanos) {
+		if(!enabled) {
+			return;
+		}
+		record(THREAD_TRACK.get(), TraceEvent.PHASE_INSTANT, category, name, timeNanos, 0L);
+	}
+
+	private static void record(TraceTrack track, char phase, String category, String name, long timeNanos, long durationNanos) {
+		synchronized(LOCK) {
+			if(recordingEvents == null) {
+				return;
+			}
+			if(totalRecordingEvents >= recordingEvents.length) {
+				totalDroppedEvents++;
+				return;
+			}
+			final TraceEvent event = recordingEvents[totalRecordingEvents++];
+			event.track = track;
+			event.phase = phase;
+			event.category = category;
+			event.name = name;
+			event.timeNanos = timeNanos;
+			event.durationNanos = durationNanos;
+		}
+	}
+
+	/**
+	 * Internal usage only: Runs {@link TraceSampler}s and writes events recorded since the previous frame. Called on the game thread.
+	 */
+	public static void markFrameEnd() {
+		if(!enabled) {
+			return;
+		}
+		final long time = Mdx.platformUtils.nanoTime();
+		for(int i = 0; i < SAMPLERS.size; i++) {
+			SAMPLERS.get(i).sample(time);
+		}
+
+		if(writeFuture != null && !writeFuture.isFinished()) {
+			return;
+		}
+		swapBuffers();
+		if(totalWritingEvents == 0) {
+			return;
+		}
+		if(Mdx.executor == null) {
+			writeEvents();
+			return;
+		}
+		writeFuture = Mdx.executor.submitBlocking(WRITE_TASK);
+	}
+
+	private static void waitForWrite() {
+		while(writeFuture != null && !writeFuture.isFinished()) {
+			Thread.yield();
+		}
+	}
+
+	private static void swapBuffers() {
+		synchronized(LOCK) {
+			final TraceEvent[] events = writingEvents;
+			writingEvents = recordingEvents;
+			totalWritingEvents = totalRecordingEvents;
+			recordingEvents = events;
+			totalRecordingEvents = 0;
+		}
+	}
+
+	private static void writeEvents() {
+		final Writer writer = TraceExporter.writer;
+		try {
+			for(int i = 0; i < totalWritingEvents; i++) {
+				final TraceEvent event = writingEvents[i];
+				if(event.track.describedTraceId != traceId) {
+					writeTrackMetadata(writer, event.track);
+					event.track.describedTraceId = traceId;
+				}
+				writeEvent(writer, event);
+				event.clear();
+			}
+			writer.flush();
+		} catch (IOException e) {
+			Mdx.log.error(LOGGING_TAG, e.getMessage(), e);
+		}
+		totalWritingEvents = 0;
+	}
+
+	private static void writeTrackMetadata(Writer writer, TraceTrack track) throws IOException {
+		beginEntry();
+		STRING_BUILDER.append("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":");
+		STRING_BUILDER.append(track.getId());
+		STRING_BUILDER.append(",\"args\":{\"name\":");
+		appendString(track.getName());
+		STRING_BUILDER.append("}}");
+		writer.append(STRING_BUILDER);
+	}
+
+	private static void writeEvent(Writer writer, TraceEvent event) throws IOException {
+		beginEntry();
+		STRING_BUILDER.append("{\"ph\":\"");
+		STRING_BUILDER.append(event.phase);
+		STRING_BUILDER.append("\",\"cat\":");
+		appendString(event.category);
+		STRING_BUILDER.append(",\"name\":");
+		appendString(event.name);
+		STRING_BUILDER.append(",\"pid\":1,\"tid\":");
+		STRING_BUILDER.append(event.track.getId());
+		STRING_BUILDER.append(",\"ts\":");
+		appendMicros(event.timeNanos - startTimeNanos);
+		if(event.phase == TraceEvent.PHASE_COMPLETE) {
+			STRING_BUILDER.append(",\"dur\":");
+			appendMicros(event.durationNanos);
+		} else {
+			STRING_BUILDER.append(",\"s\":\"t\"");
+		}
+		STRING_BUILDER.append('}');
+		writer.append(STRING_BUILDER);
+	}
+
+	private static void beginEntry() {
+		STRING_BUILDER.setLength(0);
+		if(eventsWritten) {
+			STRING_BUILDER.append(',');
+		}
+		STRING_BUILDER.append('\n');
+		eventsWritten = true;
+	}
+
+	private static void appendMicros(long nanos) {
+		if(nanos < 0L) {
+			STRING_BUILDER.append('-');
+			nanos = -nanos;
+		}
+		STRING_BUILDER.append(nanos / 1000L);
+		STRING_BUILDER.append('.');
+		final long remainder = nanos % 1000L;
+		if(remainder < 100L) {
+			STRING_BUILDER.append('0');
+		}
+		if(remainder < 10L) {
+			STRING_BUILDER.append('0');
+		}
+		STRING_BUILDER.append(remainder);
+	}
+
+	private static void appendString(String value) {
+		STRING_BUILDER.append('"');
+		if(value != null) {
+			for(int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				switch(c) {
+				case '"':
+				case '\\':
+					STRING_BUILDER.append('\\');
+					STRING_BUILDER.append(c);
+					break;
+				default:
+					if(c < ' ') {
+						STRING_BUILDER.append(' ');
+					} else {
+						STRING_BUILDER.append(c);
+					}
+					break;
+				}
+			}
+		}
+		STRING_BUILDER.append('"');
+	}
+
+	private static TraceEvent[] newEvents(int size) {
+		final TraceEvent[] result = new TraceEvent[size];
+		for(int i = 0; i < size; i++) {
+			result[i] = new TraceEvent();
+		}
+		return result;
+	}
+
+	/**
+	 * Adds a {@link TraceSampler} to be called at the end of each frame
+	 * @param sampler The {@link TraceSampler} to add
+	 */
+	public static void addSampler(TraceSampler sampler) {
+		SAMPLERS.add(sampler);
+	}
+
+	/**
+	 * Removes a {@link TraceSampler}
+	 * @param sampler The {@link TraceSampler} to remove
+	 */
+	public static void removeSampler(TraceSampler sampler) {
+		SAMPLERS.removeValue(sampler, true);
+	}
+
+	/**
+	 * Returns the amount of events dropped because the buffer was full since the trace started
+	 * @return 0 if no events were dropped
+	 */
+	public static long getTotalDroppedEvents() {
+		synchronized(LOCK) {
+			return totalDroppedEvents;
+		}
+	}
+
+	/**
+	 * Returns if a trace is being written
+	 * @return False by default
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	private static class TraceEvent {
+		static final char PHASE_COMPLETE = 'X';
+		static final char PHASE_INSTANT = 'i';
+
+		TraceTrack track;
+		char phase;
+		String category;
+		String name;
+		long timeNanos, durationNanos;
+
+		void clear() {
+			track = null;
+			category = null;
+			name = null;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+/**
+ * Records events to the {@link TraceExporter} at the end of each frame, e.g. from platform-specific sources
+ */
+public interface TraceSampler {
+
+	/**
+	 * Called on the game thread at the end of each frame while the {@link TraceExporter} is enabled
+	 * @param timeNanos The current time in nanoseconds
+	 */
+	public void sample(long timeNanos);
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+/**
+ * A row in an exported trace, e.g. a thread. See {@link TraceExporter#newTrack(String)}
+ */
+public class TraceTrack {
+	private final int id;
+	private final String name;
+
+	/**
+	 * Only accessed when writing events
+	 */
+	int describedTraceId;
+
+	TraceTrack(int id, String name) {
+		super();
+		this.id = id;
+		this.name = name;
+	}
+
+	/**
+	 * Returns the unique id of this track
+	 * @return The id written as the trace's tid
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the name of this track
+	 * @return The thread name for thread tracks
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.util;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds with log-linear buckets (similar to HdrHistogram).
+ *
+ * Values below 128 are recorded exactly. Larger values are recorded with a relative error of under 1.6%.
+ * Recording is allocation-free and constant time. Values above {@link #MAX_VALUE} are recorded as {@link #MAX_VALUE}.
+ */
+public class DurationHistogram {
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+	private static final int MAX_MAGNITUDE = 42;
+	/**
+	 * The maximum recordable value (roughly 73 minutes in nanoseconds)
+	 */
+	public static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1L;
+
+	private final long[] counts = new long[getIndex(MAX_VALUE) + 1];
+	private long totalCount;
+	private long total;
+	private long min = Long.MAX_VALUE;
+	private long max;
+
+	/**
+	 * Records a value
+	 * @param value The value in nanoseconds. Negative values are recorded as 0.
+	 */
+	public void record(long value) {
+		value = Math.max(0L, Math.min(MAX_VALUE, value));
+		counts[getIndex(value)]++;
+		totalCount++;
+		total += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Returns the value at a percentile. The returned value is the highest value
+	 * that is equivalent to the recorded values at that percentile.
+	 * @param percentile The percentile between 0 and 100 (e.g. 99 for p99)
+	 * @return 0 if no values have been recorded
+	 */
+	public long getPercentile(double percentile) {
+		if(totalCount == 0) {
+			return 0L;
+		}
+		percentile = Math.max(0.0, Math.min(100.0, percentile));
+		final long targetCount = Math.max(1L, (long) Math.ceil((percentile / 100.0) * totalCount));
+
+		long count = 0L;
+		for(int i = 0; i < counts.length; i++) {
+			count += counts[i];
+			if(count >= targetCount) {
+				return Math.min(max, getHighestEquivalentValue(i));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the amount of recorded values at or below a value
+	 * @param value The value in nanoseconds
+	 * @return 0 if no values have been recorded
+	 */
+	public long getCountAtOrBelow(long value) {
+		final int index = getIndex(Math.max(0L, Math.min(MAX_VALUE, value)));
+		long result = 0L;
+		for(int i = 0; i <= index; i++) {
+			result += counts[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Resets the histogram to contain no values
+	 */
+	public void reset() {
+		for(int i = 0; i < counts.length; i++) {
+			counts[i] = 0L;
+		}
+		totalCount = 0L;
+		total = 0L;
+		min = Long.MAX_VALUE;
+		max = 0L;
+	}
+
+	/**
+	 * Copies the values of another histogram into this histogram
+	 * @param histogram The {@link DurationHistogram} to copy
+	 */
+	public void set(DurationHistogram histogram) {
+		System.arraycopy(histogram.counts, 0, counts, 0, counts.length);
+		totalCount = histogram.totalCount;
+		total = histogram.total;
+		min = histogram.min;
+		max = histogram.max;
+	}
+
+	/**
+	 * Returns the amount of recorded values
+	 * @return 0 if no values have been recorded
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Returns the smallest recorded value
+	 * @return 0 if no values have been recorded
+	 */
+	public long getMin() {
+		return totalCount == 0 ? 0L : min;
+	}
+
+	/**
+	 * Returns the largest recorded value
+	 * @return 0 if no values have been recorded
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the average of the recorded values
+	 * @return 0 if no values have been recorded
+	 */
+	public double getMean() {
+		return totalCount == 0 ? 0.0 : total / (double) totalCount;
+	}
+
+	private static int getIndex(long value) {
+		final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if(magnitude < SUB_BUCKET_BITS) {
+			return (int) value;
+		}
+		final int shift = magnitude - (SUB_BUCKET_BITS - 1);
+		return (shift * SUB_BUCKET_HALF_COUNT) + (int) (value >>> shift);
+	}
+
+	private static long getHighestEquivalentValue(int index) {
+		if(index < SUB_BUCKET_HALF_COUNT * 2) {
+			return index;
+		}
+		final int shift = (index / SUB_BUCKET_HALF_COUNT) - 1;
+		final long subBucket = index - (shift * SUB_BUCKET_HALF_COUNT);
+		return ((subBucket + 1L) << shift) - 1L;
+	}
+}
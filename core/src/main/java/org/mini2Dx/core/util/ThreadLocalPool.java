@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.util;
+
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.Queue;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A pool that keeps a small magazine of instances per thread in front of a shared, synchronized pool.
+ *
+ * Obtaining and releasing instances only locks the shared pool when the current thread's magazine
+ * is empty (refill) or full (spill), and then moves a batch of instances at once. Magazines of threads
+ * that have terminated are reclaimed into the shared pool when it runs empty or a new thread uses the pool.
+ *
+ * Totals and statistics are read without synchronizing with other threads' magazines
+ * and are approximate while other threads are obtaining or releasing instances.
+ *
+ * @param <T> The pooled type
+ */
+public class ThreadLocalPool<T> {
+	/**
+	 * Default amount of instances each thread may hold. Modify this value before launching the game.
+	 */
+	public static int DEFAULT_MAGAZINE_SIZE = 32;
+
+	private final Queue<T> pool;
+	private final int magazineSize;
+	private final int batchSize;
+	private final Array<Magazine> magazines = new Array<Magazine>(false, 8);
+	private final ThreadLocal<Magazine> threadMagazine = new ThreadLocal<Magazine>() {
+		@Override
+		protected Magazine initialValue() {
+			final Magazine result = new Magazine(Thread.currentThread(), magazineSize);
+			synchronized(pool) {
+				//Prune magazines of terminated threads so that pools used by short-lived threads do not grow
+				reclaimTerminatedMagazines();
+				synchronized(magazines) {
+					magazines.add(result);
+				}
+			}
+			return result;
+		}
+	};
+
+	private long reclaimedHits, reclaimedMisses, reclaimedAllocations;
+
+	/**
+	 * Constructor using {@link #DEFAULT_MAGAZINE_SIZE}
+	 * @param initialCapacity The initial capacity of the shared pool
+	 */
+	public ThreadLocalPool(int initialCapacity) {
+		this(initialCapacity, DEFAULT_MAGAZINE_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * @param initialCapacity The initial capacity of the shared pool
+	 * @param magazineSize The amount of instances each thread may hold
+	 */
+	public ThreadLocalPool(int initialCapacity, int magazineSize) {
+		pool = new Queue<T>(Math.max(1, initialCapacity));
+		this.magazineSize = Math.max(1, magazineSize);
+		this.batchSize = Math.max(1, this.magazineSize / 2);
+	}
+
+	/**
+	 * Obtains an instance from the pool
+	 * @return Null if the pool is empty and a new instance must be created by the caller
+	 */
+	public T obtain() {
+		final Magazine magazine = threadMagazine.get();
+		if(magazine.size > 0) {
+			magazine.hits++;
+			return magazine.pop();
+		}
+		magazine.misses++;
+
+		synchronized(pool) {
+			if(pool.size == 0) {
+				reclaimTerminatedMagazines();
+			}
+			if(pool.size == 0) {
+				magazine.allocations++;
+				return null;
+			}
+			final int refill = Math.min(batchSize, pool.size) - 1;
+			for(int i = 0; i < refill; i++) {
+				magazine.push(pool.removeFirst());
+			}
+			return pool.removeFirst();
+		}
+	}
+
+	/**
+	 * Releases an instance back to the current thread's magazine, spilling a batch to the shared pool if full
+	 * @param instance The instance to release
+	 */
+	public void release(T instance) {
+		final Magazine magazine = threadMagazine.get();
+		if(magazine.size == magazine.items.length) {
+			synchronized(pool) {
+				for(int i = 0; i < batchSize; i++) {
+					pool.addLast(magazine.pop());
+				}
+			}
+		}
+		magazine.push(instance);
+	}
+
+	/**
+	 * Adds an instance directly to the shared pool
+	 * @param instance The instance to add
+	 */
+	public void add(T instance) {
+		synchronized(pool) {
+			pool.addLast(instance);
+		}
+	}
+
+	/**
+	 * Returns all instances held by the current thread to the shared pool.
+	 * Call this before a worker thread goes idle for a long time.
+	 */
+	public void flush() {
+		final Magazine magazine = threadMagazine.get();
+		if(magazine.size == 0) {
+			return;
+		}
+		synchronized(pool) {
+			while(magazine.size > 0) {
+				pool.addLast(magazine.pop());
+			}
+		}
+	}
+
+	private void reclaimTerminatedMagazines() {
+		synchronized(magazines) {
+			for(int i = magazines.size - 1; i >= 0; i--) {
+				final Magazine magazine = magazines.get(i);
+				if(magazine.isOwnerAlive()) {
+					continue;
+				}
+				while(magazine.size > 0) {
+					pool.addLast(magazine.pop());
+				}
+				reclaimedHits += magazine.hits;
+				reclaimedMisses += magazine.misses;
+				reclaimedAllocations += magazine.allocations;
+				magazines.removeIndex(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the total instances available in the shared pool and all thread magazines
+	 * @return Total available instances excluding instances already obtained
+	 */
+	public int getTotalAvailable() {
+		int result;
+		synchronized(pool) {
+			result = pool.size;
+		}
+		synchronized(magazines) {
+			for(int i = 0; i < magazines.size; i++) {
+				result += magazines.get(i).size;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the amount of instances obtained from a thread magazine without locking
+	 * @return The total magazine hits
+	 */
+	public long getHits() {
+		synchronized(magazines) {
+			long result = reclaimedHits;
+			for(int i = 0; i < magazines.size; i++) {
+				result += magazines.get(i).hits;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the amount of times a thread magazine was empty and the shared pool had to be locked
+	 * @return The total magazine misses
+	 */
+	public long getMisses() {
+		synchronized(magazines) {
+			long result = reclaimedMisses;
+			for(int i = 0; i < magazines.size; i++) {
+				result += magazines.get(i).misses;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the amount of times the pool was exhausted and a new instance had to be created
+	 * @return The total pool allocations
+	 */
+	public long getAllocations() {
+		synchronized(magazines) {
+			long result = reclaimedAllocations;
+			for(int i = 0; i < magazines.size; i++) {
+				result += magazines.get(i).allocations;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the amount of instances each thread may hold
+	 * @return The magazine size
+	 */
+	public int getMagazineSize() {
+		return magazineSize;
+	}
+
+	private class Magazine {
+		final WeakReference<Thread> owner;
+		final Object[] items;
+		int size;
+		long hits, misses, allocations;
+
+		Magazine(Thread owner, int capacity) {
+			this.owner = new WeakReference<Thread>(owner);
+			this.items = new Object[capacity];
+		}
+
+		boolean isOwnerAlive() {
+			final Thread thread = owner.get();
+			return thread != null && thread.isAlive();
+		}
+
+		void push(T item) {
+			items[size++] = item;
+		}
+
+		@SuppressWarnings("unchecked")
+		T pop() {
+			final T result = (T) items[--size];
+			items[size] = null;
+			return result;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.profiler.AllocationMonitor;
+
+/**
+ * Unit tests for {@link PlatformUtils}
+ */
+public class PlatformUtilsTest implements AllocationMonitor {
+	private final PlatformUtils platformUtils = new JvmPlatformUtils() {
+		@Override
+		public void exit(boolean ignorePlatformRestrictions) {
+		}
+
+		@Override
+		public boolean isGameThread() {
+			return true;
+		}
+
+		@Override
+		public void enablePerformanceMode() {
+		}
+
+		@Override
+		public void cancelPerformanceMode() {
+		}
+
+		@Override
+		public String timestampToDateFormat(long millis, String format) {
+			return null;
+		}
+	};
+
+	private long allocatedBytes;
+
+	@Before
+	public void setUp() {
+		Mdx.platformUtils = platformUtils;
+	}
+
+	@Override
+	public long getCurrentThreadAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Test
+	public void testAllocationTracking() {
+		platformUtils.setAllocationMonitor(this);
+
+		platformUtils.markFrameBegin();
+		platformUtils.markUpdateBegin();
+		allocatedBytes += 100L;
+		platformUtils.markUpdateEnd();
+		platformUtils.markInterpolateBegin();
+		platformUtils.markInterpolateEnd();
+		platformUtils.markRenderBegin();
+		allocatedBytes += 50L;
+		platformUtils.markRenderEnd();
+		allocatedBytes += 10L;
+		platformUtils.markFrameEnd();
+
+		Assert.assertEquals(100.0, platformUtils.getAverageUpdateAllocatedBytes(), 0.0);
+		Assert.assertEquals(0.0, platformUtils.getAverageInterpolateAllocatedBytes(), 0.0);
+		Assert.assertEquals(50.0, platformUtils.getMaxRenderAllocatedBytes(), 0.0);
+		Assert.assertEquals(160.0, platformUtils.getAverageFrameAllocatedBytes(), 0.0);
+	}
+
+	@Test
+	public void testAllocationTrackingDisabledByDefault() {
+		platformUtils.markFrameBegin();
+		platformUtils.markUpdateBegin();
+		allocatedBytes += 100L;
+		platformUtils.markUpdateEnd();
+		platformUtils.markFrameEnd();
+
+		Assert.assertNull(platformUtils.getAllocationMonitor());
+		Assert.assertEquals(0.0, platformUtils.getAverageUpdateAllocatedBytes(), 0.0);
+	}
+
+	@Test
+	public void testAllocationMonitorSetDuringFrame() {
+		platformUtils.markFrameBegin();
+		platformUtils.markUpdateBegin();
+		platformUtils.setAllocationMonitor(this);
+		allocatedBytes += 100L;
+		platformUtils.markUpdateEnd();
+		platformUtils.markFrameEnd();
+
+		Assert.assertEquals(0.0, platformUtils.getAverageUpdateAllocatedBytes(), 0.0);
+		Assert.assertEquals(0.0, platformUtils.getAverageFrameAllocatedBytes(), 0.0);
+	}
+
+	@Test
+	public void testFrameDurationsRecorded() {
+		platformUtils.markFrameBegin();
+		platformUtils.markUpdateBegin();
+		platformUtils.markUpdateEnd();
+		platformUtils.markRenderBegin();
+		platformUtils.markRenderEnd();
+		platformUtils.markFrameEnd();
+
+		Assert.assertEquals(1L, platformUtils.getFrameDurationHistogram().getTotalCount());
+		Assert.assertEquals(1L, platformUtils.getUpdateDurationHistogram().getTotalCount());
+		Assert.assertEquals(1L, platformUtils.getRenderDurationHistogram().getTotalCount());
+		Assert.assertEquals(1L, platformUtils.getHitchDetector().getTotalFrames());
+	}
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class LockFreeIntIntMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap(4);
+        for (int i = -500; i < 500; i++) {
+            map.put(i, i * 2);
+        }
+        assertEquals(1000, map.size());
+        for (int i = -500; i < 500; i++) {
+            assertTrue(map.containsKey(i));
+            assertEquals(i * 2, map.get(i, -1));
+        }
+        assertEquals(-1, map.get(500, -1));
+        assertEquals(0, map.remove(0, -1));
+        assertEquals(20, map.remove(10, -1));
+        assertEquals(-1, map.remove(10, -1));
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(10));
+        assertEquals(998, map.size());
+        assertEquals(4, map.put(2, 7, -1));
+        assertEquals(7, map.get(2, -1));
+    }
+
+    @Test
+    public void testPutIfAbsentAndPresent() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap();
+        assertFalse(map.putIfPresent(1, 1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.putIfAbsent(1, 2));
+        assertFalse(map.putIfAbsent(1, 3));
+        assertEquals(2, map.get(1, -1));
+        assertTrue(map.putIfPresent(1, 4));
+        assertEquals(4, map.get(1, -1));
+        assertFalse(map.replace(1, 5, 6));
+        assertTrue(map.replace(1, 4, 6));
+        assertEquals(6, map.get(1, -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGetAndIncrement() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap();
+        assertEquals(10, map.getAndIncrement(5, 10, 2));
+        assertEquals(12, map.getAndIncrement(5, 10, 2));
+        assertEquals(14, map.get(5, -1));
+    }
+
+    @Test
+    public void testRemovedSlotsAreReclaimed() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap(16);
+        for (int i = 1; i < 100000; i++) {
+            map.put(i, i);
+            assertEquals(i, map.remove(i, -1));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testClearAndEntries() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i + 1);
+        }
+        int total = 0;
+        for (LockFreeIntIntMap.Entry entry : map.entries()) {
+            assertEquals(entry.key + 1, entry.value);
+            total++;
+        }
+        assertEquals(100, total);
+        assertTrue(map.containsValue(100));
+        assertEquals(99, map.findKey(100, -1));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.entries().hasNext());
+        assertEquals("[]", map.toString());
+    }
+
+    @Test(timeout = 20000L)
+    public void testConcurrentGrowth() {
+        final int threads = 16;
+        final int keysPerThread = 40;
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final LockFreeIntIntMap map = new LockFreeIntIntMap(8);
+            final CountDownLatch latch = new CountDownLatch(threads);
+            final AtomicInteger threadIds = new AtomicInteger();
+            createStartAndJoinThreads(new Runnable() {
+                @Override
+                public void run() {
+                    final int offset = threadIds.getAndIncrement() * keysPerThread;
+                    latch.countDown();
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (int i = 0; i < keysPerThread; i++) {
+                        map.put(offset + i, offset + i);
+                    }
+                }
+            }, threads);
+            assertEquals(threads * keysPerThread, map.size());
+            for (int i = 0; i < threads * keysPerThread; i++) {
+                assertEquals(i, map.get(i, -1));
+            }
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentPutAndRemove() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap();
+        final int threads = 8;
+        final int keysPerThread = 10000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final AtomicInteger threadIds = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int offset = threadIds.getAndIncrement() * keysPerThread;
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int i = 0; i < keysPerThread; i++) {
+                    map.put(offset + i, offset + i);
+                }
+                for (int i = 0; i < keysPerThread; i += 2) {
+                    assertEquals(offset + i, map.remove(offset + i, -1));
+                }
+            }
+        }, threads);
+        assertEquals(threads * keysPerThread / 2, map.size());
+        for (int i = 0; i < threads * keysPerThread; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, map.get(i, -1));
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentReadsDuringResize() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap(2);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 100; i < 200000; i++) {
+                    map.put(i, i);
+                }
+                writing.set(false);
+            }
+        });
+        writer.start();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                while (writing.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        if (map.get(i, -1) != i) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        }, 4);
+        assertEquals(0, errors.get());
+        assertEquals(200000, map.size());
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentIncrement() {
+        final LockFreeIntIntMap map = new LockFreeIntIntMap();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 10000; i++) {
+                    map.getAndIncrement(i % 10, 0, 1);
+                }
+            }
+        }, 8);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(8000, map.get(i, -1));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class LockFreeLongMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final LockFreeLongMap<String> map = new LockFreeLongMap<String>(4);
+        for (long i = -500; i < 500; i++) {
+            assertNull(map.put(i * Integer.MAX_VALUE, String.valueOf(i)));
+        }
+        assertEquals(1000, map.size());
+        for (long i = -500; i < 500; i++) {
+            assertEquals(String.valueOf(i), map.get(i * Integer.MAX_VALUE));
+        }
+        assertNull(map.get(500L * Integer.MAX_VALUE));
+        assertEquals("default", map.get(500, "default"));
+        assertEquals("0", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals("1", map.put(Integer.MAX_VALUE, "one"));
+        assertEquals("one", map.get(Integer.MAX_VALUE));
+        assertEquals(999, map.size());
+    }
+
+    @Test
+    public void testPutIfAbsentAndPresent() {
+        final LockFreeLongMap<String> map = new LockFreeLongMap<String>();
+        assertFalse(map.putIfPresent(1, "a"));
+        assertTrue(map.putIfAbsent(1, "b"));
+        assertFalse(map.putIfAbsent(1, "c"));
+        assertTrue(map.putIfPresent(1, "d"));
+        assertEquals("d", map.get(1));
+        assertFalse(map.replace(1, "b", "e"));
+        assertTrue(map.replace(1, map.get(1), "e"));
+        assertEquals("e", map.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        new LockFreeLongMap<String>().put(1, null);
+    }
+
+    @Test
+    public void testEntriesAndFind() {
+        final LockFreeLongMap<String> map = new LockFreeLongMap<String>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+        int total = 0;
+        for (LockFreeLongMap.Entry<String> entry : map) {
+            assertEquals("value" + entry.key, entry.value);
+            total++;
+        }
+        assertEquals(100, total);
+        assertTrue(map.containsValue("value50", false));
+        assertFalse(map.containsValue("value50", true));
+        assertEquals(50L, map.findKey("value50", false, -1L));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(50));
+    }
+
+    @Test(timeout = 20000L)
+    public void testConcurrentGrowth() {
+        final int threads = 16;
+        final int keysPerThread = 40;
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final LockFreeLongMap<Integer> map = new LockFreeLongMap<Integer>(8);
+            final CountDownLatch latch = new CountDownLatch(threads);
+            final AtomicInteger threadIds = new AtomicInteger();
+            createStartAndJoinThreads(new Runnable() {
+                @Override
+                public void run() {
+                    final int offset = threadIds.getAndIncrement() * keysPerThread;
+                    latch.countDown();
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (int i = 0; i < keysPerThread; i++) {
+                        map.put(offset + i, offset + i);
+                    }
+                }
+            }, threads);
+            assertEquals(threads * keysPerThread, map.size());
+            for (int i = 0; i < threads * keysPerThread; i++) {
+                assertEquals(Integer.valueOf(i), map.get(i));
+            }
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentPutAndRemove() {
+        final LockFreeLongMap<Integer> map = new LockFreeLongMap<Integer>();
+        final int threads = 8;
+        final int keysPerThread = 10000;
+        final AtomicInteger threadIds = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int offset = threadIds.getAndIncrement() * keysPerThread;
+                for (int i = 0; i < keysPerThread; i++) {
+                    map.put(Long.MAX_VALUE - offset - i, offset + i);
+                }
+                for (int i = 0; i < keysPerThread; i += 2) {
+                    assertEquals(Integer.valueOf(offset + i), map.remove(Long.MAX_VALUE - offset - i));
+                }
+            }
+        }, threads);
+        assertEquals(threads * keysPerThread / 2, map.size());
+        for (int i = 0; i < threads * keysPerThread; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(Long.MAX_VALUE - i));
+        }
+    }
+}
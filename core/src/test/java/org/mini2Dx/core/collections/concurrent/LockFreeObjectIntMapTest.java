@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class LockFreeObjectIntMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final LockFreeObjectIntMap<String> map = new LockFreeObjectIntMap<String>(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get("key" + i, -1));
+        }
+        assertEquals(-1, map.get("missing", -1));
+        assertEquals(5, map.remove("key5", -1));
+        assertEquals(-1, map.remove("key5", -1));
+        assertFalse(map.containsKey("key5"));
+        assertEquals(6, map.put("key6", 60, -1));
+        assertEquals("key6", map.findKey(60));
+        assertNull(map.findKey(-60));
+        assertEquals(999, map.size());
+    }
+
+    @Test
+    public void testPutIfAbsentAndIncrement() {
+        final LockFreeObjectIntMap<String> map = new LockFreeObjectIntMap<String>();
+        assertTrue(map.putIfAbsent("a", 1));
+        assertFalse(map.putIfAbsent("a", 2));
+        assertTrue(map.putIfPresent("a", 3));
+        assertEquals(3, map.getAndIncrement("a", 0, 2));
+        assertEquals(0, map.getAndIncrement("b", 0, 2));
+        assertEquals(5, map.get("a", -1));
+        assertEquals(2, map.get("b", -1));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        new LockFreeObjectIntMap<String>().put(null, 1);
+    }
+
+    @Test(timeout = 20000L)
+    public void testConcurrentGrowth() {
+        final int threads = 16;
+        final int keysPerThread = 40;
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            final LockFreeObjectIntMap<String> map = new LockFreeObjectIntMap<String>(8);
+            final CountDownLatch latch = new CountDownLatch(threads);
+            final AtomicInteger threadIds = new AtomicInteger();
+            createStartAndJoinThreads(new Runnable() {
+                @Override
+                public void run() {
+                    final int offset = threadIds.getAndIncrement() * keysPerThread;
+                    latch.countDown();
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (int i = 0; i < keysPerThread; i++) {
+                        map.put(String.valueOf(offset + i), offset + i);
+                    }
+                }
+            }, threads);
+            assertEquals(threads * keysPerThread, map.size());
+            for (int i = 0; i < threads * keysPerThread; i++) {
+                assertEquals(i, map.get(String.valueOf(i), -1));
+            }
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentIncrement() {
+        final LockFreeObjectIntMap<String> map = new LockFreeObjectIntMap<String>(2);
+        final AtomicInteger total = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 10000; i++) {
+                    map.getAndIncrement("key" + (i % 100), 0, 1);
+                    total.incrementAndGet();
+                }
+            }
+        }, 8);
+        int sum = 0;
+        for (LockFreeObjectIntMap.Entry<String> entry : map) {
+            sum += entry.value;
+        }
+        assertEquals(100, map.size());
+        assertEquals(total.get(), sum);
+    }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+import org.mini2Dx.gdx.utils.IntArray;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createAndStartThreads;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.joinAll;
+
+public class MpscIntRingBufferTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        final MpscIntRingBuffer buffer = new MpscIntRingBuffer(2);
+        assertEquals(-1, buffer.poll(-1));
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(1, buffer.peek(-1));
+        assertEquals(1, buffer.poll(-1));
+        assertTrue(buffer.offer(3));
+        assertEquals(2, buffer.poll(-1));
+        assertEquals(3, buffer.poll(-1));
+        assertEquals(-1, buffer.poll(-1));
+    }
+
+    @Test(timeout = 10000L)
+    public void testMultipleProducers() {
+        final MpscIntRingBuffer buffer = new MpscIntRingBuffer(64);
+        final int producers = 4;
+        final int itemsPerProducer = 5000;
+        final AtomicInteger producerIds = new AtomicInteger();
+        final Thread[] threads = createAndStartThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int offset = producerIds.getAndIncrement() * itemsPerProducer;
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.yield();
+                    }
+                }
+            }
+        }, producers);
+
+        final IntArray result = new IntArray();
+        while (result.size < producers * itemsPerProducer) {
+            if (buffer.drainTo(result) == 0) {
+                Thread.yield();
+            }
+        }
+        joinAll(threads);
+        result.sort();
+        for (int i = 0; i < result.size; i++) {
+            assertEquals(i, result.get(i));
+        }
+    }
+}
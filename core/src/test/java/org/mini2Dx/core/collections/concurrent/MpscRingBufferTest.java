@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createAndStartThreads;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.joinAll;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void testMinimumCapacity() {
+        final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(1);
+        assertEquals(2, buffer.getCapacity());
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(4);
+        assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("item" + i));
+        }
+        assertFalse(buffer.offer("item4"));
+        assertEquals("item0", buffer.peek());
+        assertEquals("item0", buffer.poll());
+        assertTrue(buffer.offer("item4"));
+
+        final Array<String> result = new Array<String>();
+        assertEquals(2, buffer.drainTo(result, 2));
+        assertEquals(2, buffer.drainTo(result));
+        assertEquals(4, result.size);
+        assertEquals("item4", result.get(3));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        new MpscRingBuffer<String>(4).offer(null);
+    }
+
+    @Test(timeout = 10000L)
+    public void testMultipleProducers() {
+        final MpscRingBuffer<int[]> buffer = new MpscRingBuffer<int[]>(128);
+        final int producers = 4;
+        final int itemsPerProducer = 5000;
+        final AtomicInteger producerIds = new AtomicInteger();
+        final Thread[] threads = createAndStartThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int producerId = producerIds.getAndIncrement();
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    while (!buffer.offer(new int[] { producerId, i })) {
+                        Thread.yield();
+                    }
+                }
+            }
+        }, producers);
+
+        final int[] nextItem = new int[producers];
+        final Array<int[]> result = new Array<int[]>();
+        int total = 0;
+        while (total < producers * itemsPerProducer) {
+            result.clear();
+            final int drained = buffer.drainTo(result);
+            if (drained == 0) {
+                Thread.yield();
+            }
+            total += drained;
+            for (int i = 0; i < result.size; i++) {
+                final int[] item = result.get(i);
+                assertEquals(nextItem[item[0]], item[1]);
+                nextItem[item[0]]++;
+            }
+        }
+        joinAll(threads);
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.gdx.utils.IntArray;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class ShardedIntQueueTest {
+
+    @Before
+    public void setUp() {
+        Mdx.locks = new JvmLocks();
+    }
+
+    @Test
+    public void testSingleProducerOrder() {
+        final ShardedIntQueue queue = new ShardedIntQueue(4, 16);
+        for (int i = 0; i < 10; i++) {
+            queue.addLast(i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, queue.removeFirst());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testRemoveFirstWhenEmpty() {
+        new ShardedIntQueue(4, 16).removeFirst();
+    }
+
+    @Test(timeout = 10000L)
+    public void testMultipleProducers() {
+        final ShardedIntQueue queue = new ShardedIntQueue();
+        final AtomicInteger producerIds = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int offset = producerIds.getAndIncrement() * 1000;
+                for (int i = 0; i < 1000; i++) {
+                    queue.addLast(offset + i);
+                }
+            }
+        }, 8);
+        assertEquals(8000, queue.size());
+
+        final IntArray result = new IntArray();
+        assertEquals(8000, queue.drainTo(result));
+        result.sort();
+        for (int i = 0; i < 8000; i++) {
+            assertEquals(i, result.get(i));
+        }
+    }
+}
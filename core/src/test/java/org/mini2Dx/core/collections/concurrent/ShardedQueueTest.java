@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class ShardedQueueTest {
+
+    @Before
+    public void setUp() {
+        Mdx.locks = new JvmLocks();
+    }
+
+    @Test
+    public void testSingleProducerOrder() {
+        final ShardedQueue<Integer> queue = new ShardedQueue<Integer>(4, 16);
+        for (int i = 0; i < 10; i++) {
+            queue.addLast(i);
+        }
+        assertEquals(10, queue.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), queue.removeFirst());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testRemoveFirstWhenEmpty() {
+        new ShardedQueue<Integer>(4, 16).removeFirst();
+    }
+
+    @Test(timeout = 10000L)
+    public void testMultipleProducers() {
+        final ShardedQueue<int[]> queue = new ShardedQueue<int[]>(4, 16);
+        final int producers = 8;
+        final int itemsPerProducer = 1000;
+        final AtomicInteger producerIds = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int producerId = producerIds.getAndIncrement();
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    queue.addLast(new int[] { producerId, i });
+                }
+            }
+        }, producers);
+
+        final Array<int[]> result = new Array<int[]>();
+        assertEquals(producers * itemsPerProducer, queue.drainTo(result));
+        assertTrue(queue.isEmpty());
+
+        final int[] nextItem = new int[producers];
+        for (int[] item : result) {
+            assertEquals(nextItem[item[0]], item[1]);
+            nextItem[item[0]]++;
+        }
+        for (int i = 0; i < producers; i++) {
+            assertEquals(itemsPerProducer, nextItem[i]);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+import org.mini2Dx.gdx.utils.IntArray;
+
+import static org.junit.Assert.*;
+
+public class SpscIntRingBufferTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        final SpscIntRingBuffer buffer = new SpscIntRingBuffer(2);
+        assertEquals(-1, buffer.poll(-1));
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(1, buffer.peek(-1));
+        assertEquals(1, buffer.poll(-1));
+        assertEquals(2, buffer.poll(-1));
+        assertEquals(-1, buffer.peek(-1));
+    }
+
+    @Test(timeout = 10000L)
+    public void testProducerAndConsumerThreads() throws InterruptedException {
+        final SpscIntRingBuffer buffer = new SpscIntRingBuffer(64);
+        final int total = 20000;
+        final Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < total; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        final IntArray result = new IntArray();
+        int expected = 0;
+        while (expected < total) {
+            result.clear();
+            if (buffer.drainTo(result, 16) == 0) {
+                Thread.yield();
+            }
+            assertTrue(result.size <= 16);
+            for (int i = 0; i < result.size; i++) {
+                assertEquals(expected++, result.get(i));
+            }
+        }
+        producer.join();
+        assertTrue(buffer.isEmpty());
+    }
+}
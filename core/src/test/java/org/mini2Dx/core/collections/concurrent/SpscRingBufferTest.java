@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Test;
+import org.mini2Dx.gdx.utils.Array;
+
+import static org.junit.Assert.*;
+
+public class SpscRingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(8, new SpscRingBuffer<Integer>(5).getCapacity());
+        assertEquals(1, new SpscRingBuffer<Integer>(1).getCapacity());
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<Integer>(4);
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+        assertEquals(Integer.valueOf(0), buffer.peek());
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testDrainTo() {
+        final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<Integer>(8);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+        }
+        final Array<Integer> result = new Array<Integer>();
+        assertEquals(2, buffer.drainTo(result, 2));
+        assertEquals(4, buffer.drainTo(result));
+        assertEquals(0, buffer.drainTo(result));
+        assertEquals(6, result.size);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(Integer.valueOf(i), result.get(i));
+        }
+        //Wraps around the end of the buffer
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertEquals(8, buffer.drainTo(result));
+    }
+
+    @Test(timeout = 10000L)
+    public void testProducerAndConsumerThreads() throws InterruptedException {
+        final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<Integer>(64);
+        final int total = 20000;
+        final Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < total; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }
+        });
+        producer.start();
+
+        final Array<Integer> result = new Array<Integer>();
+        int expected = 0;
+        while (expected < total) {
+            result.clear();
+            if (buffer.drainTo(result) == 0) {
+                Thread.yield();
+            }
+            for (int i = 0; i < result.size; i++) {
+                assertEquals(expected++, result.get(i).intValue());
+            }
+        }
+        producer.join();
+        assertTrue(buffer.isEmpty());
+    }
+}
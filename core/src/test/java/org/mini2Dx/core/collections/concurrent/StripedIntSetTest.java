@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class StripedIntSetTest {
+
+    @Before
+    public void setUp() {
+        Mdx.locks = new JvmLocks();
+    }
+
+    @Test
+    public void testAddRemove() {
+        final StripedIntSet set = new StripedIntSet(4, 16);
+        assertTrue(set.add(1));
+        assertFalse(set.add(1));
+        assertTrue(set.add(-1));
+        assertTrue(set.contains(1));
+        assertEquals(2, set.size());
+        assertTrue(set.remove(1));
+        assertFalse(set.remove(1));
+        assertFalse(set.contains(1));
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentAdd() {
+        final StripedIntSet set = new StripedIntSet();
+        final AtomicInteger added = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    if (set.add(i)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }
+        }, 8);
+        assertEquals(1000, added.get());
+        assertEquals(1000, set.size());
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.collections.concurrent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mini2Dx.core.collections.concurrent.ConcurrentCollectionTest.createStartAndJoinThreads;
+
+public class StripedObjectMapTest {
+
+    @Before
+    public void setUp() {
+        Mdx.locks = new JvmLocks();
+    }
+
+    @Test
+    public void testTotalShards() {
+        assertEquals(8, new StripedObjectMap<String, String>(5, 16).getTotalShards());
+        assertEquals(1, new StripedObjectMap<String, String>(1, 16).getTotalShards());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTotalShards() {
+        new StripedObjectMap<String, String>(0, 16);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        final StripedObjectMap<String, Integer> map = new StripedObjectMap<String, Integer>(4, 16);
+        for (int i = 0; i < 100; i++) {
+            assertNull(map.put("key" + i, i));
+        }
+        assertEquals(100, map.size());
+        assertEquals(Integer.valueOf(5), map.get("key5"));
+        assertEquals(Integer.valueOf(-1), map.get("missing", -1));
+        assertFalse(map.putIfAbsent("key5", 50));
+        assertTrue(map.putIfPresent("key5", 50));
+        assertEquals(Integer.valueOf(50), map.remove("key5"));
+        assertFalse(map.containsKey("key5"));
+        assertSame(map.getShardForKey("key6"), map.getShardForKey("key6"));
+        assertTrue(map.getShardForKey("key6").containsKey("key6"));
+
+        int total = 0;
+        for (int i = 0; i < map.getTotalShards(); i++) {
+            total += map.getShard(i).size();
+        }
+        assertEquals(99, total);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test(timeout = 10000L)
+    public void testConcurrentPut() {
+        final StripedObjectMap<Integer, Integer> map = new StripedObjectMap<Integer, Integer>();
+        final AtomicInteger threadIds = new AtomicInteger();
+        createStartAndJoinThreads(new Runnable() {
+            @Override
+            public void run() {
+                final int offset = threadIds.getAndIncrement() * 1000;
+                for (int i = 0; i < 1000; i++) {
+                    map.put(offset + i, i);
+                }
+            }
+        }, 8);
+        assertEquals(8000, map.size());
+    }
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Unit tests for {@link AsyncPromise}
+ */
+public class AsyncPromiseTest {
+	private final Mockery mockery = new Mockery();
+	private final List<Runnable> gameThreadRunnables = new ArrayList<Runnable>();
+
+	private TaskExecutor taskExecutor;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		taskExecutor = mockery.mock(TaskExecutor.class);
+		Mdx.executor = taskExecutor;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(taskExecutor).executeOnGameThread(with(any(Runnable.class)));
+				will(new CustomAction("executeOnGameThread") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						gameThreadRunnables.add((Runnable) invocation.getParameter(0));
+						return null;
+					}
+				});
+			}
+		});
+	}
+
+	@Test
+	public void testThenApply() {
+		final AsyncPromise<Integer> promise = new AsyncPromise<Integer>();
+		final AsyncPromise<String> result = promise.thenApply(new AsyncFunction<Integer, String>() {
+			@Override
+			public String apply(Integer value) {
+				return "value" + value;
+			}
+		});
+		Assert.assertFalse(result.isFinished());
+
+		Assert.assertTrue(promise.complete(7));
+		Assert.assertTrue(result.isSuccessful());
+		Assert.assertEquals("value7", result.getResult());
+		Assert.assertFalse(promise.complete(8));
+	}
+
+	@Test
+	public void testThenApplyAfterCompletion() {
+		final AsyncPromise<String> result = AsyncPromise.completed(2).thenApply(new AsyncFunction<Integer, String>() {
+			@Override
+			public String apply(Integer value) {
+				return String.valueOf(value * 2);
+			}
+		});
+		Assert.assertEquals("4", result.getResult());
+	}
+
+	@Test
+	public void testThenApplyOnGameThread() {
+		final AsyncPromise<Integer> promise = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> result = promise.thenApply(new AsyncFunction<Integer, Integer>() {
+			@Override
+			public Integer apply(Integer value) {
+				return value + 1;
+			}
+		}, true);
+
+		promise.complete(1);
+		Assert.assertFalse(result.isFinished());
+		Assert.assertEquals(1, gameThreadRunnables.size());
+
+		gameThreadRunnables.get(0).run();
+		Assert.assertEquals(Integer.valueOf(2), result.getResult());
+	}
+
+	@Test
+	public void testThenApplyException() {
+		final IllegalStateException exception = new IllegalStateException();
+		final AsyncPromise<Integer> promise = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> result = promise.thenApply(new AsyncFunction<Integer, Integer>() {
+			@Override
+			public Integer apply(Integer value) {
+				throw exception;
+			}
+		}).thenApply(new AsyncFunction<Integer, Integer>() {
+			@Override
+			public Integer apply(Integer value) {
+				Assert.fail();
+				return value;
+			}
+		});
+
+		promise.complete(1);
+		Assert.assertTrue(result.isFailed());
+		Assert.assertSame(exception, result.getError());
+		Assert.assertNull(result.getResult());
+	}
+
+	@Test
+	public void testLongThenApplyChain() {
+		final AsyncPromise<Integer> root = new AsyncPromise<Integer>();
+		AsyncPromise<Integer> last = root;
+		for(int i = 0; i < 100000; i++) {
+			last = last.thenApply(new AsyncFunction<Integer, Integer>() {
+				@Override
+				public Integer apply(Integer value) {
+					return value + 1;
+				}
+			});
+		}
+		root.complete(0);
+		Assert.assertTrue(last.isSuccessful());
+		Assert.assertEquals(100000, last.getResult().intValue());
+	}
+
+	@Test
+	public void testThenCompose() {
+		final AsyncPromise<Integer> first = new AsyncPromise<Integer>();
+		final AsyncPromise<String> second = new AsyncPromise<String>();
+		final AsyncPromise<String> result = first.thenCompose(new AsyncFunction<Integer, AsyncPromise<String>>() {
+			@Override
+			public AsyncPromise<String> apply(Integer value) {
+				return second;
+			}
+		});
+
+		first.complete(1);
+		Assert.assertFalse(result.isFinished());
+		second.complete("done");
+		Assert.assertEquals("done", result.getResult());
+	}
+
+	@Test
+	public void testWhenComplete() {
+		final List<String> results = new ArrayList<String>();
+		final List<Throwable> errors = new ArrayList<Throwable>();
+		final AsyncCompletionListener<String> listener = new AsyncCompletionListener<String>() {
+			@Override
+			public void onComplete(String result, Throwable error) {
+				results.add(result);
+				errors.add(error);
+			}
+		};
+
+		final AsyncPromise<String> success = new AsyncPromise<String>();
+		final AsyncPromise<String> successResult = success.whenComplete(listener);
+		success.complete("a");
+		Assert.assertEquals("a", successResult.getResult());
+
+		final AsyncPromise<String> failure = new AsyncPromise<String>();
+		failure.whenComplete(listener, true);
+		failure.completeExceptionally(new RuntimeException());
+		Assert.assertEquals(1, results.size());
+		gameThreadRunnables.get(0).run();
+
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals("a", results.get(0));
+		Assert.assertNull(errors.get(0));
+		Assert.assertNull(results.get(1));
+		Assert.assertTrue(errors.get(1) instanceof RuntimeException);
+	}
+
+	@Test
+	public void testCancel() {
+		final AsyncPromise<Integer> promise = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> result = promise.thenApply(new AsyncFunction<Integer, Integer>() {
+			@Override
+			public Integer apply(Integer value) {
+				return value;
+			}
+		});
+
+		Assert.assertTrue(promise.cancel());
+		Assert.assertFalse(promise.complete(1));
+		Assert.assertTrue(promise.isCancelled());
+		Assert.assertTrue(promise.getError() instanceof CancellationException);
+		Assert.assertTrue(result.isCancelled());
+	}
+
+	@Test
+	public void testAllOf() {
+		final AsyncPromise<Integer> first = new AsyncPromise<Integer>();
+		final AsyncPromise<String> second = new AsyncPromise<String>();
+		final AsyncPromise<Void> result = AsyncPromise.allOf(first, second);
+
+		first.complete(1);
+		Assert.assertFalse(result.isFinished());
+		second.complete("2");
+		Assert.assertTrue(result.isSuccessful());
+
+		Assert.assertTrue(AsyncPromise.allOf().isSuccessful());
+	}
+
+	@Test
+	public void testAllOfFailure() {
+		final AsyncPromise<Integer> first = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> second = new AsyncPromise<Integer>();
+		final AsyncPromise<Void> result = AsyncPromise.allOf(first, second);
+
+		second.cancel();
+		Assert.assertTrue(result.isCancelled());
+	}
+
+	@Test
+	public void testAnyOf() {
+		final AsyncPromise<Integer> first = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> second = new AsyncPromise<Integer>();
+		final AsyncPromise<Integer> result = AsyncPromise.anyOf(first, second);
+
+		second.complete(2);
+		first.complete(1);
+		Assert.assertEquals(Integer.valueOf(2), result.getResult());
+	}
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.executor;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.PlatformUtils;
+import org.mini2Dx.core.game.GameContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link FrameSpreadScheduler}
+ */
+public class FrameSpreadSchedulerTest {
+	private final Mockery mockery = new Mockery();
+	private final List<String> updates = new ArrayList<String>();
+
+	private PlatformUtils platformUtils;
+	private FrameSpreadScheduler scheduler;
+	private long time;
+	private double averageFrameDuration;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		platformUtils = mockery.mock(PlatformUtils.class);
+		Mdx.platformUtils = platformUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(platformUtils).nanoTime();
+				will(new CustomAction("nanoTime") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						return time;
+					}
+				});
+				allowing(platformUtils).getAverageFrameDuration();
+				will(new CustomAction("getAverageFrameDuration") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						return averageFrameDuration;
+					}
+				});
+			}
+		});
+
+		scheduler = new FrameSpreadScheduler();
+		scheduler.setAdaptiveBudget(false);
+		scheduler.setFrameBudget(0L, 1000L);
+	}
+
+	@Test
+	public void testUpdateStopsWhenBudgetIsUsed() {
+		scheduler.submit(new TestTask("a", 600L, 10));
+		scheduler.submit(new TestTask("b", 600L, 10));
+		scheduler.submit(new TestTask("c", 600L, 10));
+
+		scheduler.update(32);
+		Assert.assertEquals(2, updates.size());
+		Assert.assertEquals(2, scheduler.getLastFrameUpdatedTasks());
+		Assert.assertEquals(1200L, scheduler.getLastFrameDuration());
+	}
+
+	@Test
+	public void testUpdateAlwaysUpdatesOneTask() {
+		scheduler.submit(new TestTask("a", 5000L, 10));
+		scheduler.submit(new TestTask("b", 5000L, 10));
+
+		scheduler.update(32);
+		Assert.assertEquals(1, updates.size());
+	}
+
+	@Test
+	public void testUpdateRespectsMaxTasks() {
+		for(int i = 0; i < 5; i++) {
+			scheduler.submit(new TestTask(String.valueOf(i), 0L, 10));
+		}
+		scheduler.update(3);
+		Assert.assertEquals(3, updates.size());
+	}
+
+	@Test
+	public void testUpdateWithoutPlatformUtilsOrTaskLimit() {
+		Mdx.platformUtils = null;
+		scheduler.setAdaptiveBudget(true);
+		scheduler.setFrameBudget(0L, 60000000000L);
+		for(int i = 0; i < 40; i++) {
+			scheduler.submit(new TestTask(String.valueOf(i), 0L, 10));
+		}
+		scheduler.update();
+		Assert.assertEquals(40, updates.size());
+		Assert.assertEquals(60000000000L, scheduler.getLastFrameBudget());
+	}
+
+	@Test
+	public void testRoundRobinWithinPriority() {
+		scheduler.submit(new TestTask("a", 600L, 10));
+		scheduler.submit(new TestTask("b", 600L, 10));
+		scheduler.submit(new TestTask("c", 600L, 10));
+
+		scheduler.update(32);
+		scheduler.update(32);
+		scheduler.update(32);
+		assertUpdates("a", "b", "c", "a", "b", "c");
+	}
+
+	@Test
+	public void testEachTaskUpdatedOncePerFrame() {
+		scheduler.submit(new TestTask("a", 0L, 10));
+		scheduler.submit(new TestTask("b", 0L, 10));
+
+		scheduler.update(32);
+		assertUpdates("a", "b");
+	}
+
+	@Test
+	public void testHigherPriorityUpdatedFirst() {
+		scheduler.submit(new TestTask("low", 0L, 10), FrameSpreadPriority.LOW);
+		scheduler.submit(new TestTask("normal", 0L, 10));
+		scheduler.submit(new TestTask("high", 0L, 10), FrameSpreadPriority.HIGH);
+
+		scheduler.update(32);
+		assertUpdates("high", "normal", "low");
+	}
+
+	@Test
+	public void testStarvedPriorityIsUpdated() {
+		scheduler.setMaxStarvedFrames(2);
+		scheduler.submit(new TestTask("high", 2000L, 100), FrameSpreadPriority.HIGH);
+		scheduler.submit(new TestTask("low", 0L, 100), FrameSpreadPriority.LOW);
+
+		scheduler.update(32);
+		scheduler.update(32);
+		assertUpdates("high", "high");
+
+		scheduler.update(32);
+		assertUpdates("high", "high", "low", "high");
+	}
+
+	@Test
+	public void testCompletedTasksAreRemoved() {
+		scheduler.submit(new TestTask("a", 0L, 1));
+		scheduler.submit(new TestTask("b", 0L, 2));
+		scheduler.submit(new TestTask("c", 0L, 3));
+		Assert.assertEquals(3, scheduler.getTotalQueuedTasks());
+
+		scheduler.update(32);
+		Assert.assertEquals(2, scheduler.getTotalQueuedTasks());
+		scheduler.update(32);
+		Assert.assertEquals(1, scheduler.getTotalQueuedTasks());
+		scheduler.update(32);
+		Assert.assertEquals(0, scheduler.getTotalQueuedTasks());
+		assertUpdates("a", "b", "c", "b", "c", "c");
+	}
+
+	@Test
+	public void testRoundRobinContinuesAfterRemoval() {
+		scheduler.submit(new TestTask("a", 600L, 1));
+		scheduler.submit(new TestTask("b", 600L, 10));
+		scheduler.submit(new TestTask("c", 600L, 10));
+
+		scheduler.update(32);
+		scheduler.update(32);
+		assertUpdates("a", "b", "c", "b");
+	}
+
+	@Test
+	public void testAdaptiveBudget() {
+		final double targetFrameDuration = 1000000000.0 / GameContainer.TARGET_FPS;
+		scheduler.setAdaptiveBudget(true);
+		scheduler.setFrameBudget(FrameSpreadScheduler.DEFAULT_MIN_BUDGET_NANOS, FrameSpreadScheduler.DEFAULT_MAX_BUDGET_NANOS);
+
+		averageFrameDuration = targetFrameDuration - 4000000.0;
+		Assert.assertEquals(2000000L, scheduler.getFrameBudget(), 1L);
+
+		averageFrameDuration = 0.0;
+		Assert.assertEquals(FrameSpreadScheduler.DEFAULT_MAX_BUDGET_NANOS, scheduler.getFrameBudget());
+
+		averageFrameDuration = targetFrameDuration * 2.0;
+		Assert.assertEquals(FrameSpreadScheduler.DEFAULT_MIN_BUDGET_NANOS, scheduler.getFrameBudget());
+	}
+
+	private void assertUpdates(String... expected) {
+		Assert.assertEquals(expected.length, updates.size());
+		for(int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], updates.get(i));
+		}
+	}
+
+	private class TestTask implements FrameSpreadTask {
+		private final String name;
+		private final long duration;
+		private int remainingUpdates;
+
+		public TestTask(String name, long duration, int totalUpdates) {
+			this.name = name;
+			this.duration = duration;
+			this.remainingUpdates = totalUpdates;
+		}
+
+		@Override
+		public boolean updateTask() {
+			updates.add(name);
+			time += duration;
+			remainingUpdates--;
+			return remainingUpdates <= 0;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.graphics.Pixmap;
+import org.mini2Dx.core.graphics.PixmapBlending;
+import org.mini2Dx.core.graphics.PixmapFormat;
+import org.mini2Dx.core.graphics.Texture;
+import org.mini2Dx.core.graphics.TextureRegion;
+
+/**
+ * Unit tests for {@link DynamicGlyphAtlas}
+ */
+public class DynamicGlyphAtlasTest implements GlyphRasterizer {
+	private static final int CELL_SIZE = 8;
+
+	private final Mockery mockery = new Mockery();
+
+	private Pixmap pagePixmap, glyphPixmap;
+	private Texture pageTexture;
+	private DynamicGlyphAtlas glyphAtlas;
+	private int totalRasterized;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		final GraphicsUtils graphicsUtils = mockery.mock(GraphicsUtils.class);
+		final TextureRegion textureRegion = mockery.mock(TextureRegion.class);
+		pagePixmap = mockery.mock(Pixmap.class, "pagePixmap");
+		glyphPixmap = mockery.mock(Pixmap.class, "glyphPixmap");
+		pageTexture = mockery.mock(Texture.class);
+
+		Mdx.graphics = graphicsUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(graphicsUtils).newPixmap(CELL_SIZE * 2, CELL_SIZE, PixmapFormat.RGBA8888);
+				will(returnValue(pagePixmap));
+				allowing(pagePixmap).setBlending(PixmapBlending.NONE);
+				allowing(graphicsUtils).newTexture(pagePixmap);
+				will(returnValue(pageTexture));
+				allowing(graphicsUtils).newTextureRegion(with(pageTexture), with(any(Integer.class)), with(any(Integer.class)), with(any(Integer.class)), with(any(Integer.class)));
+				will(returnValue(textureRegion));
+				allowing(glyphPixmap).getWidth();
+				will(returnValue(CELL_SIZE));
+				allowing(glyphPixmap).getHeight();
+				will(returnValue(CELL_SIZE));
+				allowing(glyphPixmap).dispose();
+				allowing(pagePixmap).drawPixmap(with(glyphPixmap), with(any(Integer.class)), with(any(Integer.class)),
+						with(any(Integer.class)), with(any(Integer.class)), with(any(Integer.class)), with(any(Integer.class)));
+			}
+		});
+
+		glyphAtlas = new DynamicGlyphAtlas(this, CELL_SIZE * 2, CELL_SIZE, 1, CELL_SIZE, CELL_SIZE);
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Override
+	public Pixmap rasterize(char c) {
+		if(Character.isDigit(c)) {
+			return null;
+		}
+		totalRasterized++;
+		return glyphPixmap;
+	}
+
+	@Test
+	public void testGlyphRasterizedOnce() {
+		Assert.assertNotNull(glyphAtlas.getGlyph('a', 0L));
+		Assert.assertNotNull(glyphAtlas.getGlyph('a', 1L));
+		Assert.assertEquals(1, totalRasterized);
+		Assert.assertEquals(1, glyphAtlas.getTotalGlyphs());
+	}
+
+	@Test
+	public void testUnsupportedGlyph() {
+		Assert.assertNull(glyphAtlas.getGlyph('1', 0L));
+		Assert.assertNull(glyphAtlas.getGlyph('1', 0L));
+		Assert.assertEquals(0, glyphAtlas.getTotalGlyphs());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		glyphAtlas.getGlyph('a', 0L);
+		glyphAtlas.getGlyph('b', 0L);
+		glyphAtlas.getGlyph('a', 1L);
+
+		Assert.assertNotNull(glyphAtlas.getGlyph('c', 2L));
+		Assert.assertTrue(glyphAtlas.contains('a'));
+		Assert.assertFalse(glyphAtlas.contains('b'));
+		Assert.assertTrue(glyphAtlas.contains('c'));
+		Assert.assertEquals(1, glyphAtlas.getTotalEvictions());
+	}
+
+	@Test
+	public void testGlyphsInCurrentFrameNotEvicted() {
+		glyphAtlas.getGlyph('a', 0L);
+		glyphAtlas.getGlyph('b', 0L);
+
+		Assert.assertNull(glyphAtlas.getGlyph('c', 0L));
+		Assert.assertTrue(glyphAtlas.contains('a'));
+		Assert.assertTrue(glyphAtlas.contains('b'));
+	}
+
+	@Test
+	public void testSameCharacterOfDifferentRasterizers() {
+		final GlyphRasterizer otherRasterizer = new GlyphRasterizer() {
+			@Override
+			public Pixmap rasterize(char c) {
+				totalRasterized++;
+				return glyphPixmap;
+			}
+		};
+		Assert.assertNotNull(glyphAtlas.getGlyph(this, 'a', 0L));
+		Assert.assertNotNull(glyphAtlas.getGlyph(otherRasterizer, 'a', 0L));
+		Assert.assertEquals(2, totalRasterized);
+		Assert.assertEquals(2, glyphAtlas.getTotalGlyphs());
+		Assert.assertTrue(glyphAtlas.contains(this, 'a'));
+		Assert.assertTrue(glyphAtlas.contains(otherRasterizer, 'a'));
+
+		Assert.assertNotNull(glyphAtlas.getGlyph(this, 'b', 1L));
+		Assert.assertFalse(glyphAtlas.contains('a'));
+		Assert.assertTrue(glyphAtlas.contains(otherRasterizer, 'a'));
+		Assert.assertEquals(2, glyphAtlas.getTotalGlyphs());
+	}
+
+	@Test
+	public void testFlushUploadsModifiedPagesOnce() {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(pageTexture).draw(pagePixmap, 0, 0);
+			}
+		});
+		glyphAtlas.getGlyph('a', 0L);
+		glyphAtlas.getGlyph('b', 0L);
+		glyphAtlas.flush();
+		glyphAtlas.flush();
+	}
+
+	@Test
+	public void testFlushUploadsOnlyModifiedArea() {
+		final Pixmap dirtyPixmap = mockery.mock(Pixmap.class, "dirtyPixmap");
+		mockery.checking(new Expectations() {
+			{
+				exactly(2).of(Mdx.graphics).newPixmap(CELL_SIZE, CELL_SIZE, PixmapFormat.RGBA8888);
+				will(returnValue(dirtyPixmap));
+				allowing(dirtyPixmap).setBlending(PixmapBlending.NONE);
+				oneOf(dirtyPixmap).drawPixmap(pagePixmap, 0, 0, 0, 0, CELL_SIZE, CELL_SIZE);
+				oneOf(pageTexture).draw(dirtyPixmap, 0, 0);
+				oneOf(dirtyPixmap).drawPixmap(pagePixmap, 0, 0, CELL_SIZE, 0, CELL_SIZE, CELL_SIZE);
+				oneOf(pageTexture).draw(dirtyPixmap, CELL_SIZE, 0);
+				exactly(2).of(dirtyPixmap).dispose();
+			}
+		});
+		glyphAtlas.getGlyph('a', 0L);
+		glyphAtlas.flush();
+		glyphAtlas.getGlyph('b', 0L);
+		glyphAtlas.flush();
+		glyphAtlas.flush();
+	}
+}
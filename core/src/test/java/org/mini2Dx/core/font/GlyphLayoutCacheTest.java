@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.font;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.core.util.Align;
+import org.mini2Dx.gdx.utils.Array;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link GlyphLayoutCache}
+ */
+public class GlyphLayoutCacheTest {
+	private static final int MAX_CAPACITY = 4;
+	private static final int FONT_CHARACTER_WIDTH = 16;
+	private static final int FONT_LINE_HEIGHT = 24;
+	private static final int FONT_SPACING = 1;
+
+	private final Mockery mockery = new Mockery();
+	private final MonospaceGameFont.FontParameters fontParameters = new MonospaceGameFont.FontParameters();
+
+	private MonospaceGameFont monospaceFont;
+	private GlyphLayoutCache glyphLayoutCache;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		final Color color = mockery.mock(Color.class);
+		final GraphicsUtils graphicsUtils = mockery.mock(GraphicsUtils.class);
+
+		Mdx.graphics = graphicsUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(graphicsUtils).newColor(with(any(Float.class)), with(any(Float.class)), with(any(Float.class)), with(any(Float.class)));
+				will(returnValue(color));
+				allowing(color).set(with(any(Color.class)));
+			}
+		});
+
+		fontParameters.frameWidth = 32;
+		fontParameters.frameHeight = 32;
+		fontParameters.characterWidth = FONT_CHARACTER_WIDTH;
+		fontParameters.lineHeight = FONT_LINE_HEIGHT;
+		fontParameters.spacing = FONT_SPACING;
+
+		monospaceFont = new MonospaceGameFont(fontParameters);
+		glyphLayoutCache = new GlyphLayoutCache(MAX_CAPACITY);
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testMeasurementMatchesGlyphLayout() {
+		final String str = "abc def";
+		final float targetWidth = (FONT_CHARACTER_WIDTH + FONT_SPACING) * 5f;
+
+		final FontGlyphLayout expected = monospaceFont.newGlyphLayout();
+		expected.setText(str, null, targetWidth, Align.LEFT, true);
+
+		Assert.assertEquals(expected.getWidth(), glyphLayoutCache.getWidth(monospaceFont, str, targetWidth, Align.LEFT, true), 0.01f);
+		Assert.assertEquals(expected.getHeight(), glyphLayoutCache.getHeight(monospaceFont, str, targetWidth, Align.LEFT, true), 0.01f);
+	}
+
+	@Test
+	public void testHitOnEqualContent() {
+		final FontGlyphLayout layout = glyphLayoutCache.acquire(monospaceFont, "abc", -1f, Align.LEFT, true);
+		Assert.assertEquals(1, glyphLayoutCache.getMisses());
+
+		Assert.assertSame(layout, glyphLayoutCache.acquire(monospaceFont, new StringBuilder("abc"), -1f, Align.LEFT, true));
+		Assert.assertEquals(1, glyphLayoutCache.getHits());
+		Assert.assertEquals(1, glyphLayoutCache.size());
+	}
+
+	@Test
+	public void testLayoutDoesNotBlockCachedLookups() throws InterruptedException {
+		final CountDownLatch layoutStarted = new CountDownLatch(1);
+		final CountDownLatch finishLayout = new CountDownLatch(1);
+		final MonospaceGameFont slowFont = new MonospaceGameFont(fontParameters) {
+			@Override
+			public FontGlyphLayout newGlyphLayout() {
+				return new MonospaceFontGlyphLayout(this) {
+					@Override
+					public void setText(CharSequence str, Color color, float targetWidth, int halign, boolean wrap) {
+						layoutStarted.countDown();
+						try {
+							finishLayout.await(10, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+						}
+						super.setText(str, color, targetWidth, halign, wrap);
+					}
+				};
+			}
+		};
+		final float cachedWidth = glyphLayoutCache.getWidth(monospaceFont, "abc", -1f, Align.LEFT, true);
+
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				glyphLayoutCache.getWidth(slowFont, "abc", -1f, Align.LEFT, true);
+			}
+		});
+		thread.start();
+		Assert.assertTrue(layoutStarted.await(10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(cachedWidth, glyphLayoutCache.getWidth(monospaceFont, "abc", -1f, Align.LEFT, true), 0.01f);
+		finishLayout.countDown();
+		thread.join();
+		Assert.assertEquals(2, glyphLayoutCache.size());
+	}
+
+	@Test
+	public void testMissOnDifferentParameters() {
+		glyphLayoutCache.acquire(monospaceFont, "abc", -1f, Align.LEFT, true);
+		glyphLayoutCache.acquire(monospaceFont, "abc", 100f, Align.LEFT, true);
+		glyphLayoutCache.acquire(monospaceFont, "abc", 100f, Align.RIGHT, true);
+		glyphLayoutCache.acquire(monospaceFont, "abc", 100f, Align.RIGHT, false);
+
+		Assert.assertEquals(0, glyphLayoutCache.getHits());
+		Assert.assertEquals(4, glyphLayoutCache.getMisses());
+		Assert.assertEquals(4, glyphLayoutCache.size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		final FontGlyphLayout first = glyphLayoutCache.acquire(monospaceFont, "text0");
+		for(int i = 1; i < MAX_CAPACITY; i++) {
+			glyphLayoutCache.acquire(monospaceFont, "text" + i);
+		}
+		Assert.assertSame(first, glyphLayoutCache.acquire(monospaceFont, "text0"));
+
+		glyphLayoutCache.acquire(monospaceFont, "text" + MAX_CAPACITY);
+		Assert.assertEquals(MAX_CAPACITY, glyphLayoutCache.size());
+
+		final long misses = glyphLayoutCache.getMisses();
+		glyphLayoutCache.acquire(monospaceFont, "text0");
+		Assert.assertEquals(misses, glyphLayoutCache.getMisses());
+		glyphLayoutCache.acquire(monospaceFont, "text1");
+		Assert.assertEquals(misses + 1, glyphLayoutCache.getMisses());
+	}
+
+	@Test
+	public void testEvictedLayoutDisposedOnRelease() {
+		final FontGlyphLayout first = glyphLayoutCache.acquire(monospaceFont, "text0");
+		final float width = first.getWidth();
+		Assert.assertTrue(width > 0f);
+
+		for(int i = 1; i <= MAX_CAPACITY; i++) {
+			glyphLayoutCache.release(glyphLayoutCache.acquire(monospaceFont, "text" + i));
+		}
+		Assert.assertEquals(MAX_CAPACITY, glyphLayoutCache.size());
+		Assert.assertEquals(width, first.getWidth(), 0.01f);
+
+		glyphLayoutCache.release(first);
+		Assert.assertNotEquals(width, first.getWidth(), 0.01f);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testReleaseUnacquiredLayout() {
+		glyphLayoutCache.release(monospaceFont.newGlyphLayout());
+	}
+
+	@Test
+	public void testMeasureWithoutFonts() {
+		Mdx.fonts = null;
+		final FontGlyphLayout expected = monospaceFont.newGlyphLayout();
+		expected.setText("abc def", null, -1f, Align.LEFT, true);
+
+		Assert.assertEquals(expected.getWidth(), GlyphLayoutCache.measureWidth(monospaceFont, "abc def", -1f, Align.LEFT, true), 0.01f);
+		Assert.assertEquals(expected.getHeight(), GlyphLayoutCache.measureHeight(monospaceFont, "abc def", -1f, Align.LEFT, true), 0.01f);
+	}
+
+	@Test
+	public void testInvalidate() {
+		final MonospaceGameFont otherFont = new MonospaceGameFont(fontParameters);
+		glyphLayoutCache.acquire(monospaceFont, "abc");
+		glyphLayoutCache.acquire(otherFont, "abc");
+		Assert.assertEquals(2, glyphLayoutCache.size());
+
+		glyphLayoutCache.invalidate(monospaceFont);
+		Assert.assertEquals(1, glyphLayoutCache.size());
+
+		glyphLayoutCache.clear();
+		Assert.assertEquals(0, glyphLayoutCache.size());
+	}
+
+	@Test
+	public void testPrewarm() {
+		final TaskExecutor taskExecutor = mockery.mock(TaskExecutor.class);
+		mockery.checking(new Expectations() {
+			{
+				atLeast(1).of(taskExecutor).execute(with(any(Runnable.class)));
+				will(new CustomAction("run task") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						((Runnable) invocation.getParameter(0)).run();
+						return null;
+					}
+				});
+			}
+		});
+
+		final Array<String> strings = new Array<String>();
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			strings.add("text" + i);
+		}
+		final AsyncFuture future = glyphLayoutCache.prewarm(taskExecutor, monospaceFont, strings, -1f, Align.LEFT, true);
+
+		Assert.assertTrue(future.isFinished());
+		Assert.assertEquals(MAX_CAPACITY, glyphLayoutCache.size());
+		for(int i = 0; i < MAX_CAPACITY; i++) {
+			glyphLayoutCache.acquire(monospaceFont, "text" + i);
+		}
+		Assert.assertEquals(MAX_CAPACITY, glyphLayoutCache.getHits());
+		Assert.assertEquals(0, glyphLayoutCache.getMisses());
+	}
+
+	@Test
+	public void testPrewarmDoesNotEvict() {
+		final TaskExecutor taskExecutor = mockery.mock(TaskExecutor.class);
+		mockery.checking(new Expectations() {
+			{
+				atLeast(1).of(taskExecutor).execute(with(any(Runnable.class)));
+				will(new CustomAction("run task") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						((Runnable) invocation.getParameter(0)).run();
+						return null;
+					}
+				});
+			}
+		});
+
+		glyphLayoutCache.release(glyphLayoutCache.acquire(monospaceFont, "existing"));
+
+		final Array<String> strings = new Array<String>();
+		for(int i = 0; i < MAX_CAPACITY * 2; i++) {
+			strings.add("text" + i);
+		}
+		final AsyncFuture future = glyphLayoutCache.prewarm(taskExecutor, monospaceFont, strings, -1f, Align.LEFT, true);
+
+		Assert.assertTrue(future.isFinished());
+		Assert.assertEquals(MAX_CAPACITY, glyphLayoutCache.size());
+		final long misses = glyphLayoutCache.getMisses();
+		glyphLayoutCache.release(glyphLayoutCache.acquire(monospaceFont, "existing"));
+		for(int i = 0; i < MAX_CAPACITY - 1; i++) {
+			glyphLayoutCache.release(glyphLayoutCache.acquire(monospaceFont, "text" + i));
+		}
+		Assert.assertEquals(misses, glyphLayoutCache.getMisses());
+	}
+
+	@Test
+	public void testSharedGlyphLayoutReplacedOnDispose() {
+		final FontGlyphLayout glyphLayout = monospaceFont.getSharedGlyphLayout();
+		glyphLayout.setText("text", monospaceFont.getColor(), -1f, Align.LEFT, true);
+		final float width = glyphLayout.getWidth();
+
+		monospaceFont.dispose();
+
+		final FontGlyphLayout result = monospaceFont.getSharedGlyphLayout();
+		Assert.assertNotSame(glyphLayout, result);
+		result.setText("text", monospaceFont.getColor(), -1f, Align.LEFT, true);
+		Assert.assertEquals(width, result.getWidth(), 0.01f);
+	}
+
+	@Test
+	public void testSharedGlyphLayoutIsSharedAcrossThreads() throws InterruptedException {
+		final FontGlyphLayout [] result = new FontGlyphLayout[1];
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				result[0] = monospaceFont.getSharedGlyphLayout();
+			}
+		});
+		thread.start();
+		thread.join();
+
+		Assert.assertSame(monospaceFont.getSharedGlyphLayout(), result[0]);
+	}
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.Sequence;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for {@link DrawCommandList} and {@link DrawCommandLists}
+ */
+public class DrawCommandListTest {
+	private Mockery mockery;
+	private Graphics g;
+	private GraphicsUtils graphicsUtils;
+	private TextureRegion region;
+	private Texture texture;
+	private Color previousColor, submitColor;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+
+		g = mockery.mock(Graphics.class);
+		graphicsUtils = mockery.mock(GraphicsUtils.class);
+		region = mockery.mock(TextureRegion.class);
+		texture = mockery.mock(Texture.class);
+		previousColor = mockery.mock(Color.class, "previousColor");
+		submitColor = mockery.mock(Color.class, "submitColor");
+		Mdx.graphics = graphicsUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(g).getColor();
+				will(returnValue(previousColor));
+				allowing(g).getDrawLayer();
+				will(returnValue(0));
+			}
+		});
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testSubmitAppliesTransformAndRestoresState() {
+		final Sequence sequence = mockery.sequence("submit");
+		final float[][] submitted = new float[1][];
+		mockery.checking(new Expectations() {
+			{
+				oneOf(graphicsUtils).newColor(1f, 1f, 1f, 1f);
+				will(returnValue(submitColor));
+				allowing(region).getTexture();
+				will(returnValue(texture));
+				allowing(region).getU();
+				will(returnValue(0f));
+				allowing(region).getV();
+				will(returnValue(0.25f));
+				allowing(region).getU2();
+				will(returnValue(0.5f));
+				allowing(region).getV2();
+				will(returnValue(0.75f));
+				oneOf(g).setDrawLayer(3);
+				inSequence(sequence);
+				oneOf(g).drawSpriteVertices(with(same(texture)), with(any(float[].class)), with(any(Integer.class)));
+				inSequence(sequence);
+				will(new CustomAction("copy vertices") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						final int offset = (Integer) invocation.getParameter(2);
+						submitted[0] = Arrays.copyOfRange((float[]) invocation.getParameter(1), offset, offset + 20);
+						return null;
+					}
+				});
+				oneOf(submitColor).set(1f, 0f, 0f, 1f);
+				inSequence(sequence);
+				oneOf(g).setColor(submitColor);
+				inSequence(sequence);
+				oneOf(g).fillRect(10f, 20f, 2f, 2f);
+				inSequence(sequence);
+				oneOf(g).setColor(previousColor);
+				inSequence(sequence);
+				oneOf(g).setDrawLayer(0);
+				inSequence(sequence);
+			}
+		});
+
+		final DrawCommandList list = new DrawCommandList(1);
+		list.setTranslation(10f, 20f);
+		list.setScale(2f, 2f);
+		list.setTint(0.5f, 0.5f, 0.5f, 1f);
+		list.setDrawLayer(3);
+		list.drawTextureRegion(region, 2.5f, 5f, 4f, 4f, 90f);
+		list.setColor(1f, 0f, 0f, 1f);
+		list.fillRect(0f, 0f, 1f, 1f);
+		Assert.assertEquals(4, list.size());
+
+		list.submit(g);
+		list.clear();
+		Assert.assertEquals(0, list.size());
+		list.submit(g);
+
+		final float[] vertices = submitted[0];
+		final float tint = vertices[2];
+		final float[] expected = new float[] {
+				15f, 30f, tint, 0f, 0.75f,
+				7f, 30f, tint, 0f, 0.25f,
+				7f, 38f, tint, 0.5f, 0.25f,
+				15f, 38f, tint, 0.5f, 0.75f
+		};
+		Assert.assertArrayEquals(expected, vertices, 0.0001f);
+		final int packedTint = Float.floatToRawIntBits(tint);
+		Assert.assertEquals(127, packedTint & 0xff);
+		Assert.assertEquals(127, (packedTint >>> 8) & 0xff);
+		Assert.assertEquals(127, (packedTint >>> 16) & 0xff);
+	}
+
+	@Test
+	public void testCullingSkipsDrawsOutsideBounds() {
+		final Sprite sprite = mockery.mock(Sprite.class);
+		final float[] spriteVertices = new float[] {
+				0f, 0f, 1f, 0f, 1f,
+				0f, 4f, 1f, 0f, 0f,
+				4f, 4f, 1f, 1f, 0f,
+				4f, 0f, 1f, 1f, 1f
+		};
+		final float[][] submitted = new float[1][];
+		mockery.checking(new Expectations() {
+			{
+				allowing(sprite).getVertices();
+				will(returnValue(spriteVertices));
+				allowing(sprite).getTexture();
+				will(returnValue(texture));
+				oneOf(graphicsUtils).newColor(1f, 1f, 1f, 1f);
+				will(returnValue(submitColor));
+				oneOf(g).drawSpriteVertices(with(same(texture)), with(any(float[].class)), with(any(Integer.class)));
+				will(new CustomAction("copy vertices") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						final int offset = (Integer) invocation.getParameter(2);
+						submitted[0] = Arrays.copyOfRange((float[]) invocation.getParameter(1), offset, offset + 20);
+						return null;
+					}
+				});
+				oneOf(g).fillRect(5f, 5f, 1f, 1f);
+				oneOf(g).setColor(previousColor);
+				oneOf(g).setDrawLayer(0);
+			}
+		});
+
+		final DrawCommandList list = new DrawCommandList();
+		list.setCullingBounds(0f, 0f, 10f, 10f);
+		list.fillRect(5f, 5f, 1f, 1f);
+		list.fillRect(20f, 20f, 1f, 1f);
+		list.drawTexture(texture, -10f, -10f, 5f, 5f);
+		list.setTranslation(2f, 2f);
+		list.drawSprite(sprite);
+		list.setTranslation(20f, 20f);
+		list.drawSprite(sprite);
+		Assert.assertEquals(2, list.size());
+		Assert.assertEquals(3, list.getCulledCount());
+
+		list.submit(g);
+		Assert.assertEquals(2f, submitted[0][0], 0.0001f);
+		Assert.assertEquals(2f, submitted[0][1], 0.0001f);
+		Assert.assertEquals(6f, submitted[0][10], 0.0001f);
+		Assert.assertEquals(6f, submitted[0][11], 0.0001f);
+		Assert.assertEquals(1f, submitted[0][12], 0.0001f);
+	}
+
+	@Test
+	public void testListsAreMergedInIndexOrder() throws InterruptedException {
+		final Sequence submitOrder = mockery.sequence("submitOrder");
+		mockery.checking(new Expectations() {
+			{
+				allowing(graphicsUtils).newColor(1f, 1f, 1f, 1f);
+				will(returnValue(submitColor));
+				oneOf(g).fillRect(1f, 0f, 1f, 1f);
+				inSequence(submitOrder);
+				oneOf(g).fillRect(2f, 0f, 1f, 1f);
+				inSequence(submitOrder);
+				oneOf(g).fillRect(3f, 0f, 1f, 1f);
+				inSequence(submitOrder);
+				atLeast(1).of(g).setColor(previousColor);
+				atLeast(1).of(g).setDrawLayer(0);
+			}
+		});
+
+		final DrawCommandLists lists = new DrawCommandLists();
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				lists.getList(1).fillRect(2f, 0f, 1f, 1f);
+				lists.getList(1).fillRect(3f, 0f, 1f, 1f);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		lists.getList(0).fillRect(1f, 0f, 1f, 1f);
+		Assert.assertSame(lists.getList(0), lists.getList(0));
+		Assert.assertEquals(3, lists.size());
+
+		lists.submit(g);
+		Assert.assertEquals(0, lists.size());
+	}
+}
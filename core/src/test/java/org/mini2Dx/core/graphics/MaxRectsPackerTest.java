@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mini2Dx.gdx.math.GridPoint2;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Unit tests for {@link MaxRectsPacker}
+ */
+public class MaxRectsPackerTest {
+	private final GridPoint2 position = new GridPoint2();
+
+	@Test
+	public void testFillsAreaExactly() {
+		final MaxRectsPacker packer = new MaxRectsPacker(64, 64);
+		final Array<int[]> packed = new Array<int[]>();
+		for(int i = 0; i < 16; i++) {
+			Assert.assertTrue(packer.insert(16, 16, position));
+			packed.add(new int[] {position.x, position.y, 16, 16});
+		}
+		Assert.assertFalse(packer.insert(1, 1, position));
+		Assert.assertEquals(1f, packer.getOccupancy(), 0.0001f);
+		assertNoOverlaps(packed);
+	}
+
+	@Test
+	public void testMixedSizesDoNotOverlap() {
+		final MaxRectsPacker packer = new MaxRectsPacker(256, 256);
+		final Array<int[]> packed = new Array<int[]>();
+		final int[][] sizes = new int[][] {{100, 20}, {30, 90}, {64, 64}, {10, 10}, {200, 15}, {50, 120}, {17, 33}, {80, 40}};
+		for(int i = 0; i < sizes.length; i++) {
+			Assert.assertTrue(packer.insert(sizes[i][0], sizes[i][1], position));
+			Assert.assertTrue(position.x + sizes[i][0] <= 256);
+			Assert.assertTrue(position.y + sizes[i][1] <= 256);
+			packed.add(new int[] {position.x, position.y, sizes[i][0], sizes[i][1]});
+		}
+		assertNoOverlaps(packed);
+	}
+
+	@Test
+	public void testFreeAndReset() {
+		final MaxRectsPacker packer = new MaxRectsPacker(32, 32);
+		Assert.assertTrue(packer.insert(32, 16, position));
+		final int x = position.x;
+		final int y = position.y;
+		Assert.assertTrue(packer.insert(32, 16, position));
+		Assert.assertFalse(packer.insert(32, 16, position));
+
+		packer.free(x, y, 32, 16);
+		Assert.assertEquals(0.5f, packer.getOccupancy(), 0.0001f);
+		Assert.assertTrue(packer.insert(32, 16, position));
+		Assert.assertEquals(x, position.x);
+		Assert.assertEquals(y, position.y);
+
+		packer.reset();
+		Assert.assertEquals(0f, packer.getOccupancy(), 0.0001f);
+		Assert.assertTrue(packer.insert(32, 32, position));
+	}
+
+	private void assertNoOverlaps(Array<int[]> packed) {
+		for(int i = 0; i < packed.size; i++) {
+			for(int j = i + 1; j < packed.size; j++) {
+				final int[] a = packed.get(i);
+				final int[] b = packed.get(j);
+				final boolean overlaps = a[0] < b[0] + b[2] && a[0] + a[2] > b[0] && a[1] < b[1] + b[3] && a[1] + a[3] > b[1];
+				Assert.assertFalse(overlaps);
+			}
+		}
+	}
+}
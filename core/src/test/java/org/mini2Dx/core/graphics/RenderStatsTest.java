@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RenderStats}
+ */
+public class RenderStatsTest {
+
+	@Test
+	public void testTotalDraws() {
+		final RenderStats renderStats = new RenderStats();
+		renderStats.incrementTextureDraws();
+		renderStats.incrementTextureDraws();
+		renderStats.incrementSpriteDraws();
+		renderStats.incrementShapeDraws();
+		renderStats.incrementTextDraws();
+		renderStats.incrementOtherDraws();
+		Assert.assertEquals(2, renderStats.getTextureDraws());
+		Assert.assertEquals(6, renderStats.getTotalDraws());
+	}
+
+	@Test
+	public void testSetAndReset() {
+		final RenderStats frameStats = new RenderStats();
+		frameStats.incrementRendererSwitches();
+		frameStats.incrementShaderSwitches();
+		frameStats.addTextureSwitches(3);
+		frameStats.addFlushes(4);
+		frameStats.addVertices(120L);
+
+		final RenderStats renderStats = new RenderStats();
+		renderStats.set(frameStats);
+		frameStats.reset();
+
+		Assert.assertEquals(1, renderStats.getRendererSwitches());
+		Assert.assertEquals(1, renderStats.getShaderSwitches());
+		Assert.assertEquals(3, renderStats.getTextureSwitches());
+		Assert.assertEquals(4, renderStats.getFlushes());
+		Assert.assertEquals(120L, renderStats.getVertices());
+		Assert.assertEquals(0, frameStats.getFlushes());
+		Assert.assertEquals(0L, frameStats.getVertices());
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+
+/**
+ * Unit tests for {@link RuntimeTextureAtlas}
+ */
+public class RuntimeTextureAtlasTest {
+	private Mockery mockery;
+	private GraphicsUtils graphicsUtils;
+	private Pixmap pagePixmap, defragmentedPixmap, image;
+	private Texture pageTexture;
+	private Color clearColor;
+	private TextureAtlasRegion regionA, regionB;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		graphicsUtils = mockery.mock(GraphicsUtils.class);
+		pagePixmap = mockery.mock(Pixmap.class, "pagePixmap");
+		defragmentedPixmap = mockery.mock(Pixmap.class, "defragmentedPixmap");
+		image = mockery.mock(Pixmap.class, "image");
+		pageTexture = mockery.mock(Texture.class);
+		clearColor = mockery.mock(Color.class);
+		regionA = mockery.mock(TextureAtlasRegion.class, "regionA");
+		regionB = mockery.mock(TextureAtlasRegion.class, "regionB");
+		Mdx.graphics = graphicsUtils;
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testAddRemoveAndDefragment() {
+		mockery.checking(new Expectations() {
+			{
+				allowing(image).getWidth();
+				will(returnValue(31));
+				allowing(image).getHeight();
+				will(returnValue(31));
+				exactly(2).of(graphicsUtils).newPixmap(64, 64, PixmapFormat.RGBA8888);
+				will(onConsecutiveCalls(returnValue(pagePixmap), returnValue(defragmentedPixmap)));
+				oneOf(pagePixmap).setBlending(PixmapBlending.NONE);
+				oneOf(defragmentedPixmap).setBlending(PixmapBlending.NONE);
+				oneOf(graphicsUtils).newTexture(pagePixmap);
+				will(returnValue(pageTexture));
+
+				oneOf(pagePixmap).drawPixmap(image, 0, 0, 0, 0, 31, 31);
+				oneOf(graphicsUtils).newTextureAtlasRegion(pageTexture, "a", -1, 0, 0, 31, 31, false, 31, 31, 0, 0);
+				will(returnValue(regionA));
+				oneOf(pagePixmap).drawPixmap(with(same(image)), with(any(Integer.class)), with(any(Integer.class)),
+						with(equal(0)), with(equal(0)), with(equal(31)), with(equal(31)));
+				oneOf(graphicsUtils).newTextureAtlasRegion(with(same(pageTexture)), with(equal("b")), with(equal(-1)),
+						with(any(Integer.class)), with(any(Integer.class)), with(equal(31)), with(equal(31)), with(equal(false)),
+						with(equal(31)), with(equal(31)), with(equal(0)), with(equal(0)));
+				will(returnValue(regionB));
+				oneOf(graphicsUtils).newColor(0f, 0f, 0f, 0f);
+				will(returnValue(clearColor));
+				oneOf(pagePixmap).setColor(clearColor);
+				oneOf(pagePixmap).fillRectangle(0, 0, 31, 31);
+				exactly(2).of(pageTexture).draw(with(any(Pixmap.class)), with(equal(0)), with(equal(0)));
+
+				oneOf(defragmentedPixmap).drawPixmap(with(same(pagePixmap)), with(equal(0)), with(equal(0)),
+						with(any(Integer.class)), with(any(Integer.class)), with(equal(31)), with(equal(31)));
+				oneOf(regionB).setRegion(0, 0, 31, 31);
+				oneOf(pagePixmap).dispose();
+			}
+		});
+
+		final RuntimeTextureAtlas atlas = new RuntimeTextureAtlas(64, 64);
+		Assert.assertSame(regionA, atlas.add("a", image));
+		Assert.assertSame(regionB, atlas.add("b", image));
+		Assert.assertEquals(1, atlas.getTotalPages());
+		Assert.assertEquals(2, atlas.getTotalRegions());
+		atlas.flush();
+
+		Assert.assertTrue(atlas.remove("a"));
+		Assert.assertFalse(atlas.remove("a"));
+		Assert.assertNull(atlas.findRegion("a"));
+		Assert.assertSame(regionB, atlas.findRegion("b"));
+
+		Assert.assertEquals(1, atlas.defragment());
+		Assert.assertEquals(0, atlas.defragment());
+		atlas.flush();
+		atlas.flush();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testImageLargerThanPage() {
+		mockery.checking(new Expectations() {
+			{
+				allowing(image).getWidth();
+				will(returnValue(128));
+				allowing(image).getHeight();
+				will(returnValue(32));
+			}
+		});
+		new RuntimeTextureAtlas(64, 64).add("a", image);
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.graphics;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.GraphicsUtils;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link TextureAtlasConfig}
+ */
+public class TextureAtlasConfigTest {
+	private static final String LEGACY_ATLAS = "\n" +
+			"page1.png\n" +
+			"size: 256,256\n" +
+			"format: RGBA8888\n" +
+			"filter: Nearest,Nearest\n" +
+			"repeat: none\n" +
+			"player\n" +
+			"  rotate: false\n" +
+			"  xy: 2, 4\n" +
+			"  size: 32, 48\n" +
+			"  orig: 34, 50\n" +
+			"  offset: 1, -1\n" +
+			"  index: -1\n" +
+			"enemy\n" +
+			"  rotate: true\n" +
+			"  xy: 40, 4\n" +
+			"  size: 16, 16\n" +
+			"  orig: 16, 16\n" +
+			"  offset: 0, 0\n" +
+			"  index: 3\n" +
+			"\n" +
+			"page2.png\n" +
+			"size: 64,64\n" +
+			"format: RGBA8888\n" +
+			"filter: Nearest,Nearest\n" +
+			"repeat: none\n" +
+			"tile\n" +
+			"  rotate: false\n" +
+			"  xy: 0, 0\n" +
+			"  size: 8, 8\n" +
+			"  orig: 8, 8\n" +
+			"  offset: 0, 0\n" +
+			"  index: -1\n";
+
+	private static final String ATLAS = "page1.png\r\n" +
+			"size:256,256\r\n" +
+			"filter:Nearest,Nearest\r\n" +
+			"pma:true\r\n" +
+			"player\r\n" +
+			"bounds:2,4,32,48\r\n" +
+			"offsets:1,-1,34,50\r\n" +
+			"enemy\r\n" +
+			"index:3\r\n" +
+			"rotate:90\r\n" +
+			"bounds:40,4,16,16\r\n" +
+			"split:1,1,1,1\r\n" +
+			"\r\n" +
+			"page2.png\r\n" +
+			"size:64,64\r\n" +
+			"tile\r\n" +
+			"bounds:0,0,8,8\r\n";
+
+	private Mockery mockery;
+	private GraphicsUtils graphicsUtils;
+	private FileHandle packFile, imagesDir, page1, page2;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		graphicsUtils = mockery.mock(GraphicsUtils.class);
+		packFile = mockery.mock(FileHandle.class, "packFile");
+		imagesDir = mockery.mock(FileHandle.class, "imagesDir");
+		page1 = mockery.mock(FileHandle.class, "page1");
+		page2 = mockery.mock(FileHandle.class, "page2");
+		Mdx.graphics = graphicsUtils;
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testLegacyFormat() throws IOException {
+		assertParsed(LEGACY_ATLAS);
+	}
+
+	@Test
+	public void testFormat() throws IOException {
+		assertParsed(ATLAS);
+	}
+
+	private void assertParsed(final String contents) throws IOException {
+		mockery.checking(new Expectations() {
+			{
+				oneOf(packFile).readString();
+				will(returnValue(contents));
+				oneOf(imagesDir).child("page1.png");
+				will(returnValue(page1));
+				oneOf(imagesDir).child("page2.png");
+				will(returnValue(page2));
+				allowing(page1).path();
+				will(returnValue("atlas/page1.png"));
+				allowing(page2).path();
+				will(returnValue("atlas/page2.png"));
+
+				oneOf(graphicsUtils).newTextureAtlasRegion("atlas/page1.png", "player", -1, 2, 4, 32, 48, false, 34, 50, 1, -1);
+				oneOf(graphicsUtils).newTextureAtlasRegion("atlas/page1.png", "enemy", 3, 40, 4, 16, 16, true, 16, 16, 0, 0);
+				oneOf(graphicsUtils).newTextureAtlasRegion("atlas/page2.png", "tile", -1, 0, 0, 8, 8, false, 8, 8, 0, 0);
+			}
+		});
+
+		final TextureAtlasConfig config = new TextureAtlasConfig(packFile, imagesDir);
+		Assert.assertEquals(3, config.atlasRegions.size);
+		Assert.assertEquals(2, config.getDependencies().length);
+		Assert.assertTrue(config.textures.containsKey("atlas/page1.png"));
+		Assert.assertTrue(config.textures.containsKey("atlas/page2.png"));
+	}
+}
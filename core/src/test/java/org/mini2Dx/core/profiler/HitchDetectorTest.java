@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HitchDetector}
+ */
+public class HitchDetectorTest {
+	private final HitchDetector hitchDetector = new HitchDetector(30L, 3);
+
+	@Test
+	public void testNoHitch() {
+		Assert.assertFalse(hitchDetector.markFrame(29L, 10L, 1L, 18L));
+		Assert.assertEquals(0L, hitchDetector.getTotalHitches());
+		Assert.assertNull(hitchDetector.getLastHitchReport());
+	}
+
+	@Test
+	public void testHitchCapturesPrecedingFrames() {
+		final HitchReport [] notifiedReport = new HitchReport[1];
+		hitchDetector.addHitchListener(new HitchListener() {
+			@Override
+			public void onHitch(HitchReport report) {
+				notifiedReport[0] = report;
+			}
+		});
+
+		for(int i = 1; i <= 5; i++) {
+			hitchDetector.markFrame(i, i, 0L, 0L);
+		}
+		Assert.assertTrue(hitchDetector.markFrame(40L, 5L, 1L, 34L));
+
+		final HitchReport report = hitchDetector.getLastHitchReport();
+		Assert.assertSame(report, notifiedReport[0]);
+		Assert.assertEquals(1L, hitchDetector.getTotalHitches());
+		Assert.assertEquals(5L, report.getFrameId());
+		Assert.assertEquals(3, report.getTotalFrames());
+		Assert.assertEquals(4L, report.getFrameDuration(0));
+		Assert.assertEquals(5L, report.getFrameDuration(1));
+		Assert.assertEquals(40L, report.getHitchDuration());
+		Assert.assertEquals(5L, report.getUpdateDuration(2));
+		Assert.assertEquals(1L, report.getInterpolateDuration(2));
+		Assert.assertEquals(34L, report.getRenderDuration(2));
+	}
+
+	@Test
+	public void testHitchBeforeHistoryFull() {
+		Assert.assertTrue(hitchDetector.markFrame(30L, 0L, 0L, 0L));
+		Assert.assertEquals(1, hitchDetector.getLastHitchReport().getTotalFrames());
+		Assert.assertEquals(30L, hitchDetector.getLastHitchReport().getHitchDuration());
+	}
+
+	@Test
+	public void testCopyReport() {
+		hitchDetector.markFrame(10L, 0L, 0L, 0L);
+		hitchDetector.markFrame(50L, 0L, 0L, 0L);
+
+		final HitchReport copy = new HitchReport(1);
+		copy.set(hitchDetector.getLastHitchReport());
+		Assert.assertEquals(1, copy.getTotalFrames());
+		Assert.assertEquals(50L, copy.getHitchDuration());
+	}
+}
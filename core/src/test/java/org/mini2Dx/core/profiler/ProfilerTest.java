@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.PlatformUtils;
+
+/**
+ * Unit tests for {@link Profiler}
+ */
+public class ProfilerTest {
+	private final Mockery mockery = new Mockery();
+
+	private PlatformUtils platformUtils;
+	private long time;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		platformUtils = mockery.mock(PlatformUtils.class);
+		Mdx.platformUtils = platformUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(platformUtils).nanoTime();
+				will(new CustomAction("nanoTime") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						return time;
+					}
+				});
+			}
+		});
+		Profiler.setEnabled(true);
+	}
+
+	@After
+	public void teardown() {
+		Profiler.setEnabled(false);
+	}
+
+	@Test
+	public void testNestedScopes() {
+		Profiler.begin("testNestedScopes");
+		time += 10L;
+		Profiler.begin("child");
+		time += 5L;
+		Profiler.end();
+		Profiler.begin("child");
+		time += 5L;
+		Profiler.end();
+		Profiler.end();
+		Profiler.markFrameEnd();
+
+		final ProfilerScope scope = getThreadRoot().getChild("testNestedScopes");
+		Assert.assertEquals(20L, scope.getLastFrameDuration());
+		Assert.assertEquals(1, scope.getLastFrameCalls());
+
+		final ProfilerScope child = scope.getChild("child");
+		Assert.assertEquals(1, scope.getChildren().size);
+		Assert.assertEquals(10L, child.getLastFrameDuration());
+		Assert.assertEquals(2, child.getLastFrameCalls());
+		Assert.assertEquals(2, child.getDepth());
+		Assert.assertSame(scope, child.getParent());
+	}
+
+	@Test
+	public void testPercentiles() {
+		for(int i = 1; i <= 100; i++) {
+			Profiler.begin("testPercentiles");
+			time += i;
+			Profiler.end();
+			Profiler.markFrameEnd();
+		}
+
+		final ProfilerScope scope = getThreadRoot().getChild("testPercentiles");
+		Assert.assertEquals(50L, scope.getP50());
+		Assert.assertEquals(95L, scope.getP95());
+		Assert.assertEquals(99L, scope.getP99());
+		Assert.assertEquals(100L, scope.getMax());
+		Assert.assertEquals(50.5, scope.getAverage(), 0.01);
+	}
+
+	@Test
+	public void testScopesFromOtherThread() throws InterruptedException {
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				Profiler.begin("testScopesFromOtherThread");
+				Profiler.end();
+			}
+		}, "testScopesFromOtherThread");
+		thread.start();
+		thread.join();
+		Profiler.markFrameEnd();
+
+		final ProfilerThread profilerThread = Profiler.getThread("testScopesFromOtherThread");
+		Assert.assertNotNull(profilerThread);
+		Assert.assertEquals(1, profilerThread.getRoot().getChild("testScopesFromOtherThread").getLastFrameCalls());
+	}
+
+	@Test
+	public void testTerminatedThreadRemoved() throws InterruptedException {
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				Profiler.begin("testTerminatedThreadRemoved");
+				Profiler.end();
+			}
+		}, "testTerminatedThreadRemoved");
+		thread.start();
+		thread.join();
+		Profiler.markFrameEnd();
+		Assert.assertNotNull(Profiler.getThread("testTerminatedThreadRemoved"));
+
+		Profiler.markFrameEnd();
+		Assert.assertNull(Profiler.getThread("testTerminatedThreadRemoved"));
+	}
+
+	@Test
+	public void testDisabled() {
+		Profiler.setEnabled(false);
+		Profiler.begin("testDisabled");
+		Profiler.end();
+		Profiler.setEnabled(true);
+		Profiler.markFrameEnd();
+
+		Assert.assertNull(getThreadRoot().getChild("testDisabled"));
+	}
+
+	private ProfilerScope getThreadRoot() {
+		return Profiler.getThread(Thread.currentThread().getName()).getRoot();
+	}
+}
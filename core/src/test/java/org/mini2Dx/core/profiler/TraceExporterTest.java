@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.profiler;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.PlatformUtils;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.gdx.json.JsonReader;
+import org.mini2Dx.gdx.json.JsonValue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Unit tests for {@link TraceExporter}
+ */
+public class TraceExporterTest {
+	private final Mockery mockery = new Mockery();
+	private final StringWriter writer = new StringWriter();
+
+	private TaskExecutor previousExecutor;
+	private int previousBufferSize;
+
+	@Before
+	public void setUp() throws IOException {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		final PlatformUtils platformUtils = mockery.mock(PlatformUtils.class);
+		Mdx.platformUtils = platformUtils;
+
+		mockery.checking(new Expectations() {
+			{
+				allowing(platformUtils).nanoTime();
+				will(returnValue(1000L));
+			}
+		});
+
+		previousExecutor = Mdx.executor;
+		previousBufferSize = TraceExporter.BUFFER_SIZE;
+		Mdx.executor = null;
+	}
+
+	@After
+	public void teardown() {
+		TraceExporter.stop();
+		Mdx.executor = previousExecutor;
+		TraceExporter.BUFFER_SIZE = previousBufferSize;
+	}
+
+	@Test
+	public void testExport() throws IOException {
+		TraceExporter.start(writer);
+		TraceExporter.complete(TraceExporter.CATEGORY_FRAME, "update", 3000L, 4500L);
+		TraceExporter.markFrameEnd();
+		TraceExporter.instant(TraceExporter.CATEGORY_ASSET, "C:\\assets\\\"test\".png", 5000L);
+		TraceExporter.stop();
+
+		final JsonValue events = new JsonReader().parse(writer.toString());
+		Assert.assertEquals(3, events.size);
+
+		final JsonValue metadata = events.get(0);
+		Assert.assertEquals("M", metadata.getString("ph"));
+		Assert.assertEquals(Thread.currentThread().getName(), metadata.get("args").getString("name"));
+
+		final JsonValue complete = events.get(1);
+		Assert.assertEquals("X", complete.getString("ph"));
+		Assert.assertEquals("update", complete.getString("name"));
+		Assert.assertEquals(metadata.getInt("tid"), complete.getInt("tid"));
+		Assert.assertEquals(2.0, complete.getDouble("ts"), 0.0001);
+		Assert.assertEquals(1.5, complete.getDouble("dur"), 0.0001);
+
+		final JsonValue instant = events.get(2);
+		Assert.assertEquals("i", instant.getString("ph"));
+		Assert.assertEquals("C:\\assets\\\"test\".png", instant.getString("name"));
+		Assert.assertEquals(4.0, instant.getDouble("ts"), 0.0001);
+	}
+
+	@Test
+	public void testEventsDroppedWhenBufferFull() throws IOException {
+		TraceExporter.BUFFER_SIZE = 2;
+		TraceExporter.start(writer);
+		for(int i = 0; i < 3; i++) {
+			TraceExporter.instant(TraceExporter.CATEGORY_FRAME, "event", 1000L);
+		}
+		Assert.assertEquals(1, TraceExporter.getTotalDroppedEvents());
+
+		TraceExporter.markFrameEnd();
+		TraceExporter.instant(TraceExporter.CATEGORY_FRAME, "event", 1000L);
+		TraceExporter.stop();
+
+		Assert.assertEquals(1, TraceExporter.getTotalDroppedEvents());
+		Assert.assertEquals(4, new JsonReader().parse(writer.toString()).size);
+	}
+
+	@Test
+	public void testSampler() throws IOException {
+		final TraceTrack track = TraceExporter.newTrack("sampler");
+		final TraceSampler sampler = new TraceSampler() {
+			@Override
+			public void sample(long timeNanos) {
+				TraceExporter.complete(track, TraceExporter.CATEGORY_GC, "gc", timeNanos - 1000L, timeNanos);
+			}
+		};
+		TraceExporter.addSampler(sampler);
+		TraceExporter.start(writer);
+		TraceExporter.markFrameEnd();
+		TraceExporter.stop();
+		TraceExporter.removeSampler(sampler);
+
+		final JsonValue events = new JsonReader().parse(writer.toString());
+		Assert.assertEquals(2, events.size);
+		Assert.assertEquals("sampler", events.get(0).get("args").getString("name"));
+		Assert.assertEquals(track.getId(), events.get(1).getInt("tid"));
+	}
+
+	@Test
+	public void testDisabled() {
+		TraceExporter.complete(TraceExporter.CATEGORY_FRAME, "update", 0L, 1L);
+		TraceExporter.markFrameEnd();
+		Assert.assertFalse(TraceExporter.isEnabled());
+		Assert.assertEquals("", writer.toString());
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DurationHistogram}
+ */
+public class DurationHistogramTest {
+	private final DurationHistogram histogram = new DurationHistogram();
+
+	@Test
+	public void testEmpty() {
+		Assert.assertEquals(0L, histogram.getTotalCount());
+		Assert.assertEquals(0L, histogram.getPercentile(99.0));
+		Assert.assertEquals(0L, histogram.getMin());
+		Assert.assertEquals(0L, histogram.getMax());
+		Assert.assertEquals(0.0, histogram.getMean(), 0.0);
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		for(int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		Assert.assertEquals(100L, histogram.getTotalCount());
+		Assert.assertEquals(50L, histogram.getPercentile(50.0));
+		Assert.assertEquals(99L, histogram.getPercentile(99.0));
+		Assert.assertEquals(100L, histogram.getPercentile(100.0));
+		Assert.assertEquals(1L, histogram.getMin());
+		Assert.assertEquals(50.5, histogram.getMean(), 0.001);
+	}
+
+	@Test
+	public void testLargeValuesWithinPrecision() {
+		final long frame = 16666667L;
+		for(int i = 0; i < 99; i++) {
+			histogram.record(frame);
+		}
+		histogram.record(frame * 10L);
+
+		assertWithinPrecision(frame, histogram.getPercentile(50.0));
+		assertWithinPrecision(frame, histogram.getPercentile(99.0));
+		Assert.assertEquals(frame * 10L, histogram.getPercentile(100.0));
+		Assert.assertEquals(99L, histogram.getCountAtOrBelow(frame));
+		Assert.assertEquals(100L, histogram.getCountAtOrBelow(frame * 10L));
+	}
+
+	@Test
+	public void testValuesClamped() {
+		histogram.record(-1L);
+		histogram.record(Long.MAX_VALUE);
+		Assert.assertEquals(0L, histogram.getMin());
+		Assert.assertEquals(DurationHistogram.MAX_VALUE, histogram.getMax());
+	}
+
+	@Test
+	public void testReset() {
+		histogram.record(1000L);
+		histogram.reset();
+		Assert.assertEquals(0L, histogram.getTotalCount());
+		Assert.assertEquals(0L, histogram.getPercentile(50.0));
+	}
+
+	private void assertWithinPrecision(long expected, long actual) {
+		Assert.assertTrue(actual >= expected);
+		Assert.assertTrue(actual - expected <= expected * 0.016);
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link ThreadLocalPool}
+ */
+public class ThreadLocalPoolTest {
+	private static final int MAGAZINE_SIZE = 8;
+
+	private final ThreadLocalPool<Object> pool = new ThreadLocalPool<Object>(16, MAGAZINE_SIZE);
+
+	@Test
+	public void testObtainFromEmptyPool() {
+		Assert.assertNull(pool.obtain());
+		Assert.assertEquals(0L, pool.getHits());
+		Assert.assertEquals(1L, pool.getMisses());
+		Assert.assertEquals(1L, pool.getAllocations());
+	}
+
+	@Test
+	public void testRefillInBatches() {
+		for(int i = 0; i < 10; i++) {
+			pool.add(new Object());
+		}
+		Assert.assertEquals(10, pool.getTotalAvailable());
+
+		Assert.assertNotNull(pool.obtain());
+		Assert.assertEquals(0L, pool.getHits());
+		Assert.assertEquals(1L, pool.getMisses());
+		Assert.assertEquals(9, pool.getTotalAvailable());
+
+		for(int i = 0; i < MAGAZINE_SIZE / 2 - 1; i++) {
+			Assert.assertNotNull(pool.obtain());
+		}
+		Assert.assertEquals(MAGAZINE_SIZE / 2 - 1, pool.getHits());
+		Assert.assertEquals(1L, pool.getMisses());
+		Assert.assertEquals(0L, pool.getAllocations());
+		Assert.assertEquals(10 - MAGAZINE_SIZE / 2, pool.getTotalAvailable());
+	}
+
+	@Test
+	public void testReleaseSpillsToSharedPool() {
+		for(int i = 0; i < MAGAZINE_SIZE * 3; i++) {
+			pool.release(new Object());
+			Assert.assertEquals(i + 1, pool.getTotalAvailable());
+		}
+		for(int i = 0; i < MAGAZINE_SIZE * 3; i++) {
+			Assert.assertNotNull(pool.obtain());
+		}
+		Assert.assertEquals(0, pool.getTotalAvailable());
+		Assert.assertNull(pool.obtain());
+		Assert.assertEquals(MAGAZINE_SIZE * 3 + 1, pool.getHits() + pool.getMisses());
+	}
+
+	@Test
+	public void testFlush() throws InterruptedException {
+		final Object instance = new Object();
+		pool.release(instance);
+		pool.flush();
+		Assert.assertEquals(1, pool.getTotalAvailable());
+
+		final Object [] result = new Object[1];
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				result[0] = pool.obtain();
+			}
+		});
+		thread.start();
+		thread.join();
+		Assert.assertSame(instance, result[0]);
+	}
+
+	@Test
+	public void testReclaimFromTerminatedThread() throws InterruptedException {
+		final Object instance = new Object();
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				pool.release(instance);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		Assert.assertEquals(1, pool.getTotalAvailable());
+		Assert.assertSame(instance, pool.obtain());
+		Assert.assertEquals(0, pool.getTotalAvailable());
+		Assert.assertNull(pool.obtain());
+	}
+
+	@Test
+	public void testTerminatedThreadPrunedOnRegistration() throws InterruptedException {
+		Assert.assertNull(pool.obtain());
+
+		final Object instance = new Object();
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				pool.release(instance);
+			}
+		});
+		thread.start();
+		thread.join();
+
+		final Thread nextThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				pool.flush();
+			}
+		});
+		nextThread.start();
+		nextThread.join();
+
+		//The terminated thread's instance was moved to the shared pool when the next thread registered,
+		//so it is refilled into this thread's magazine along with the added instance
+		final Object other = new Object();
+		pool.add(other);
+		Assert.assertSame(other, pool.obtain());
+		Assert.assertSame(instance, pool.obtain());
+		Assert.assertEquals(1L, pool.getHits());
+		Assert.assertEquals(2L, pool.getMisses());
+	}
+
+	@Test
+	public void testConcurrentObtainAndRelease() throws InterruptedException {
+		final int totalThreads = 4;
+		final int totalInstances = 64;
+		for(int i = 0; i < totalInstances; i++) {
+			pool.add(new Object());
+		}
+
+		final AtomicInteger created = new AtomicInteger();
+		final Thread [] threads = new Thread[totalThreads];
+		for(int i = 0; i < totalThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					final Object [] held = new Object[MAGAZINE_SIZE * 2];
+					for(int j = 0; j < 1000; j++) {
+						for(int k = 0; k < held.length; k++) {
+							held[k] = pool.obtain();
+							if(held[k] == null) {
+								held[k] = new Object();
+								created.incrementAndGet();
+							}
+						}
+						for(int k = 0; k < held.length; k++) {
+							pool.release(held[k]);
+						}
+					}
+					pool.flush();
+				}
+			});
+			threads[i].start();
+		}
+		for(int i = 0; i < totalThreads; i++) {
+			threads[i].join();
+		}
+		Assert.assertEquals(totalInstances + created.get(), pool.getTotalAvailable());
+		Assert.assertEquals(created.get(), pool.getAllocations());
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.desktop.playerdata;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.PlayerDataJournal;
+import org.mini2Dx.core.StdOutLogger;
+import org.mini2Dx.core.exception.PlayerDataException;
+import org.mini2Dx.libgdx.LibgdxFiles;
+import org.mini2Dx.libgdx.desktop.DesktopPlayerData;
+import org.mini2Dx.libgdx.game.GameWrapper;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+
+/**
+ * Unit tests for {@link PlayerDataJournal} via {@link DesktopPlayerData}
+ */
+public class DesktopPlayerDataJournalTest {
+    private static final String TEST_IDENTIFIER = "org.mini2Dx.testgame.journal";
+    private static final String SAVE_FILENAME = "save.dat";
+
+    private final int defaultCompactionSize = PlayerDataJournal.MIN_COMPACTION_SIZE;
+
+    private DesktopPlayerData desktopData;
+    private File saveDirectory;
+
+    @Before
+    public void setUp() {
+        Gdx.files = new LwjglFiles();
+        Mdx.files = new LibgdxFiles();
+        Mdx.locks = new JvmLocks();
+        Mdx.platform = GameWrapper.getPlatform();
+        Mdx.log = new StdOutLogger();
+        Mdx.executor = null;
+        desktopData = new DesktopPlayerData(TEST_IDENTIFIER);
+        saveDirectory = new File(desktopData.getSaveDirectoryForGame(TEST_IDENTIFIER));
+    }
+
+    @After
+    public void teardown() throws Exception {
+        PlayerDataJournal.MIN_COMPACTION_SIZE = defaultCompactionSize;
+        desktopData.wipe();
+    }
+
+    @Test
+    public void testPutAndRecover() {
+        PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.putString("name", "player");
+        journal.put("inventory", new byte[] {1, 2, 3});
+        journal.putString("removed", "value");
+        journal.flush();
+        Assert.assertTrue(journal.remove("removed"));
+        Assert.assertFalse(journal.remove("missing"));
+        journal.close();
+
+        journal = desktopData.openJournal(SAVE_FILENAME);
+        Assert.assertEquals(2, journal.size());
+        Assert.assertEquals("player", journal.getString("name"));
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, journal.get("inventory"));
+        Assert.assertFalse(journal.containsKey("removed"));
+        journal.close();
+    }
+
+    @Test
+    public void testFlushOnlyAppendsChanges() {
+        final PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.put("world", new byte[32 * 1024]);
+        journal.flush();
+        journal.compact();
+        Assert.assertEquals(0L, journal.getJournalSize());
+        Assert.assertTrue(journal.getSnapshotSize() > 32 * 1024);
+
+        for (int i = 0; i < 10; i++) {
+            journal.putString("position", "x=" + i);
+            journal.putString("position", "y=" + i);
+        }
+        journal.flush();
+        Assert.assertTrue(journal.getJournalSize() > 0L);
+        Assert.assertTrue(journal.getJournalSize() < 64L);
+        journal.close();
+    }
+
+    @Test
+    public void testCompactionWhenJournalGrows() {
+        PlayerDataJournal.MIN_COMPACTION_SIZE = 256;
+
+        PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        for (int i = 0; i < 100; i++) {
+            journal.putString("key" + (i % 10), "value" + i);
+            journal.flush();
+            Assert.assertTrue(journal.getJournalSize() <= 256L + 64L);
+        }
+        Assert.assertTrue(journal.getSnapshotSize() > 0L);
+        journal.close();
+
+        journal = desktopData.openJournal(SAVE_FILENAME);
+        Assert.assertEquals(10, journal.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("value" + (90 + i), journal.getString("key" + i));
+        }
+        journal.close();
+    }
+
+    @Test
+    public void testRecoverDiscardsTornRecord() throws Exception {
+        PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.putString("level", "1");
+        journal.flush();
+        journal.putString("level", "2");
+        journal.flush();
+        journal.close();
+
+        final File journalFile = new File(saveDirectory, SAVE_FILENAME + ".journal.0");
+        Assert.assertTrue(journalFile.exists());
+        final RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+        file.setLength(file.length() - 2);
+        file.close();
+
+        journal = desktopData.openJournal(SAVE_FILENAME);
+        Assert.assertEquals("1", journal.getString("level"));
+        Assert.assertFalse(journalFile.exists());
+        journal.putString("level", "3");
+        journal.close();
+
+        journal = desktopData.openJournal(SAVE_FILENAME);
+        Assert.assertEquals("3", journal.getString("level"));
+        journal.close();
+    }
+
+    @Test
+    public void testRecoverFromTmpSnapshot() {
+        PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.putString("level", "5");
+        journal.compact();
+        journal.close();
+
+        final File snapshotFile = new File(saveDirectory, SAVE_FILENAME);
+        Assert.assertTrue(snapshotFile.renameTo(new File(saveDirectory, SAVE_FILENAME + ".tmp")));
+
+        journal = desktopData.openJournal(SAVE_FILENAME);
+        Assert.assertEquals("5", journal.getString("level"));
+        Assert.assertTrue(snapshotFile.exists());
+        journal.close();
+    }
+
+    @Test(expected = PlayerDataException.class)
+    public void testCorruptSnapshot() throws Exception {
+        final PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.putString("level", "5");
+        journal.compact();
+        journal.close();
+
+        final FileOutputStream outputStream = new FileOutputStream(new File(saveDirectory, SAVE_FILENAME), true);
+        outputStream.write(7);
+        outputStream.close();
+        desktopData.openJournal(SAVE_FILENAME);
+    }
+
+    @Test(expected = PlayerDataException.class)
+    public void testClosed() {
+        final PlayerDataJournal journal = desktopData.openJournal(SAVE_FILENAME);
+        journal.close();
+        journal.putString("level", "5");
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.desktop;
+
+import org.mini2Dx.core.profiler.AllocationMonitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * {@link AllocationMonitor} implementation using com.sun.management.ThreadMXBean.
+ * Only available on JVMs that support thread allocation measurement (e.g. HotSpot).
+ * Allocations made by reading the counter are excluded, so an instance should only be read from one thread.
+ *
+ * Usage: if(DesktopAllocationMonitor.isSupported()) Mdx.platformUtils.setAllocationMonitor(new DesktopAllocationMonitor());
+ */
+public class DesktopAllocationMonitor implements AllocationMonitor {
+	private final com.sun.management.ThreadMXBean threadMXBean;
+	private final long overheadBytes;
+	private long totalReads;
+
+	public DesktopAllocationMonitor() {
+		super();
+		if(!isSupported()) {
+			throw new UnsupportedOperationException("Thread allocation measurement is not supported by this JVM");
+		}
+		threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		//Some JVMs allocate when reading the counter so measure the cost to exclude it
+		final long threadId = Thread.currentThread().getId();
+		final long first = threadMXBean.getThreadAllocatedBytes(threadId);
+		final long second = threadMXBean.getThreadAllocatedBytes(threadId);
+		overheadBytes = Math.max(0L, second - first);
+	}
+
+	@Override
+	public long getCurrentThreadAllocatedBytes() {
+		final long result = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		if(result < 0L) {
+			return -1L;
+		}
+		totalReads++;
+		return result - (overheadBytes * totalReads);
+	}
+
+	/**
+	 * Returns if the JVM supports thread allocation measurement
+	 * @return False if {@link DesktopAllocationMonitor} cannot be used
+	 */
+	public static boolean isSupported() {
+		try {
+			final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+			if(!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+				return false;
+			}
+			return ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported();
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.desktop;
+
+import org.mini2Dx.core.profiler.TraceExporter;
+import org.mini2Dx.core.profiler.TraceSampler;
+import org.mini2Dx.core.profiler.TraceTrack;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Records garbage collections to the {@link TraceExporter} using the JVM's {@link GarbageCollectorMXBean}s.
+ *
+ * Collections are sampled at the end of each frame, so each event ends at the time it was sampled
+ * and its duration is the total collection time of the collector since the previous frame.
+ *
+ * Usage: TraceExporter.addSampler(new DesktopGcTraceSampler());
+ */
+public class DesktopGcTraceSampler implements TraceSampler {
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	private final TraceTrack track = TraceExporter.newTrack("GC");
+	private final GarbageCollectorMXBean[] garbageCollectors;
+	private final long[] collectionCounts;
+	private final long[] collectionTimes;
+
+	public DesktopGcTraceSampler() {
+		super();
+		final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+		this.garbageCollectors = garbageCollectors.toArray(new GarbageCollectorMXBean[garbageCollectors.size()]);
+		collectionCounts = new long[this.garbageCollectors.length];
+		collectionTimes = new long[this.garbageCollectors.length];
+
+		for(int i = 0; i < this.garbageCollectors.length; i++) {
+			collectionCounts[i] = this.garbageCollectors[i].getCollectionCount();
+			collectionTimes[i] = this.garbageCollectors[i].getCollectionTime();
+		}
+	}
+
+	@Override
+	public void sample(long timeNanos) {
+		for(int i = 0; i < garbageCollectors.length; i++) {
+			final long collectionCount = garbageCollectors[i].getCollectionCount();
+			if(collectionCount <= collectionCounts[i]) {
+				continue;
+			}
+			final long collectionTime = garbageCollectors[i].getCollectionTime();
+			final long durationNanos = Math.max(0L, collectionTime - collectionTimes[i]) * NANOS_PER_MILLI;
+			TraceExporter.complete(track, TraceExporter.CATEGORY_GC, garbageCollectors[i].getName(), timeNanos - durationNanos, timeNanos);
+
+			collectionCounts[i] = collectionCount;
+			collectionTimes[i] = collectionTime;
+		}
+	}
+}
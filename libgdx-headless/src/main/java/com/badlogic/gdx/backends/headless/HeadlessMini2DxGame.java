@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.backends.headless;
+
+import com.badlogic.gdx.*;
+import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.utils.*;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.game.GameContainer;
+import org.mini2Dx.libgdx.headless.HeadlessGL20;
+import org.mini2Dx.libgdx.headless.HeadlessGameWrapper;
+import org.mini2Dx.libgdx.headless.HeadlessMini2DxConfig;
+import org.mini2Dx.libgdx.game.GameWrapper;
+
+/**
+ * Launches mini2Dx games without a display or GPU, e.g. for benchmarks and soak tests. Based on <a href=
+ * "https://github.com/libgdx/libgdx/blob/master/backends/gdx-backend-headless/src/com/badlogic/gdx/backends/headless/HeadlessApplication.java">
+ * LibGDX's HeadlessApplication class</a>
+ *
+ * OpenGL calls are ignored via {@link HeadlessGL20} so that assets such as textures and fonts can still be loaded.
+ *
+ * If {@link HeadlessMini2DxConfig#runGame} is false, the game is initialised on the calling thread
+ * and frames are only executed by calling {@link #executeFrame()}.
+ */
+public class HeadlessMini2DxGame implements Application {
+	protected final HeadlessMini2DxConfig config;
+	protected final MockGraphics graphics;
+	protected final MockAudio audio;
+	protected final HeadlessFiles files;
+	protected final MockInput input;
+	protected final HeadlessNet net;
+	protected final GameWrapper listener;
+	protected Thread mainLoopThread;
+	protected volatile boolean running = true;
+	protected final Array<Runnable> runnables = new Array<Runnable>(Runnable.class);
+	protected final Array<Runnable> executedRunnables = new Array<Runnable>(Runnable.class);
+	protected final SnapshotArray<LifecycleListener> lifecycleListeners = new SnapshotArray<LifecycleListener>(LifecycleListener.class);
+	protected int logLevel = LOG_INFO;
+	protected ApplicationLogger applicationLogger;
+
+	private final long renderIntervalNanos;
+	private final float maximumDeltaSeconds;
+	private final float targetTimestepSeconds;
+	private float accumulator = 0f;
+	private long lastFrameTime;
+	private volatile long totalFrames;
+
+	public HeadlessMini2DxGame(GameContainer game, HeadlessMini2DxConfig config) {
+		HeadlessNativesLoader.load();
+		setApplicationLogger(new HeadlessApplicationLogger());
+
+		this.config = config;
+		listener = new HeadlessGameWrapper(game, config);
+
+		this.graphics = new MockGraphics();
+		this.audio = new MockAudio();
+		this.files = new HeadlessFiles();
+		this.input = new MockInput();
+		this.net = new HeadlessNet(config);
+
+		renderIntervalNanos = (long) (config.renderInterval * 1000000000f);
+		maximumDeltaSeconds = config.maximumTimestepSeconds();
+		targetTimestepSeconds = config.targetTimestepSeconds();
+
+		Gdx.app = this;
+		Gdx.graphics = graphics;
+		Gdx.audio = audio;
+		Gdx.files = files;
+		Gdx.input = input;
+		Gdx.net = net;
+		Gdx.gl = Gdx.gl20 = HeadlessGL20.newInstance();
+
+		if(config.runGame) {
+			launchGame();
+		} else {
+			initialiseGame();
+		}
+	}
+
+	private void launchGame() {
+		mainLoopThread = new Thread("HeadlessMini2DxGame") {
+			@Override
+			public void run() {
+				try {
+					HeadlessMini2DxGame.this.executeGame();
+				} catch (Throwable t) {
+					if (t instanceof RuntimeException)
+						throw (RuntimeException) t;
+					else
+						throw new GdxRuntimeException(t);
+				}
+			}
+		};
+		mainLoopThread.start();
+	}
+
+	private void initialiseGame() {
+		listener.create();
+		listener.resize(config.width, config.height);
+		lastFrameTime = TimeUtils.nanoTime();
+	}
+
+	void executeGame() {
+		initialiseGame();
+
+		while (running) {
+			final long frameStart = TimeUtils.nanoTime();
+			executeRunnables();
+			if (!running) {
+				break;
+			}
+			executeFrame();
+			if (config.maxFrames > -1L && totalFrames >= config.maxFrames) {
+				running = false;
+				break;
+			}
+
+			if (renderIntervalNanos > 0L) {
+				final long sleepNanos = renderIntervalNanos - (TimeUtils.nanoTime() - frameStart);
+				if (sleepNanos > 0L) {
+					try {
+						Thread.sleep(sleepNanos / 1000000L, (int) (sleepNanos % 1000000L));
+					} catch (InterruptedException e) {
+					}
+				}
+			}
+		}
+
+		synchronized (lifecycleListeners) {
+			for (LifecycleListener listener : lifecycleListeners) {
+				listener.pause();
+				listener.dispose();
+			}
+		}
+		listener.pause();
+		listener.dispose();
+	}
+
+	/**
+	 * Executes a single update, interpolate and render cycle. Must be called on the game thread.
+	 */
+	public void executeFrame() {
+		final long time = TimeUtils.nanoTime();
+		final float delta = config.fixedDelta ? targetTimestepSeconds : (time - lastFrameTime) / 1000000000f;
+		lastFrameTime = time;
+
+		Mdx.platformUtils.markFrameBegin();
+		graphics.updateTime();
+		graphics.incrementFrameId();
+
+		switch(Mdx.timestepMode) {
+		case DEFAULT:
+			Mdx.platformUtils.markUpdateBegin();
+			listener.preUpdate(delta);
+			listener.preUpdatePhysics(targetTimestepSeconds);
+			listener.updatePhysics(targetTimestepSeconds);
+			listener.update(delta);
+			Mdx.platformUtils.markUpdateEnd();
+
+			Mdx.platformUtils.markInterpolateBegin();
+			listener.interpolate(1f);
+			Mdx.platformUtils.markInterpolateEnd();
+			break;
+		case PHYSICS:
+			accumulator += Math.min(delta, maximumDeltaSeconds);
+
+			Mdx.platformUtils.markUpdateBegin();
+			listener.preUpdate(delta);
+			while (accumulator >= targetTimestepSeconds) {
+				listener.preUpdatePhysics(targetTimestepSeconds);
+				listener.updatePhysics(targetTimestepSeconds);
+
+				accumulator -= targetTimestepSeconds;
+			}
+			listener.update(delta);
+			Mdx.platformUtils.markUpdateEnd();
+
+			Mdx.platformUtils.markInterpolateBegin();
+			listener.interpolate(accumulator / targetTimestepSeconds);
+			Mdx.platformUtils.markInterpolateEnd();
+			break;
+		}
+
+		Mdx.platformUtils.markRenderBegin();
+		listener.render();
+		Mdx.platformUtils.markRenderEnd();
+
+		Mdx.platformUtils.markFrameEnd();
+		totalFrames++;
+	}
+
+	/**
+	 * Returns the amount of frames executed
+	 * @return 0 if no frames have been executed
+	 */
+	public long getTotalFrames() {
+		return totalFrames;
+	}
+
+	public boolean executeRunnables() {
+		synchronized (runnables) {
+			for (int i = runnables.size - 1; i >= 0; i--) {
+				executedRunnables.add(runnables.get(i));
+			}
+			runnables.clear();
+		}
+		if (executedRunnables.size == 0) {
+			return false;
+		}
+		do {
+			executedRunnables.pop().run();
+		} while (executedRunnables.size > 0);
+		return true;
+	}
+
+	/**
+	 * Stops the game loop and waits for the game to be disposed
+	 */
+	public void stop() {
+		running = false;
+		if (mainLoopThread == null) {
+			return;
+		}
+		try {
+			mainLoopThread.join();
+		} catch (Exception ex) {
+		}
+	}
+
+	@Override
+	public ApplicationListener getApplicationListener() {
+		return listener;
+	}
+
+	@Override
+	public Graphics getGraphics() {
+		return graphics;
+	}
+
+	@Override
+	public Audio getAudio() {
+		return audio;
+	}
+
+	@Override
+	public Input getInput() {
+		return input;
+	}
+
+	@Override
+	public Files getFiles() {
+		return files;
+	}
+
+	@Override
+	public Net getNet() {
+		return net;
+	}
+
+	@Override
+	public ApplicationType getType() {
+		return ApplicationType.HeadlessDesktop;
+	}
+
+	@Override
+	public int getVersion() {
+		return 0;
+	}
+
+	@Override
+	public long getJavaHeap() {
+		return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+	}
+
+	@Override
+	public long getNativeHeap() {
+		return getJavaHeap();
+	}
+
+	ObjectMap<String, Preferences> preferences = new ObjectMap<String, Preferences>();
+
+	@Override
+	public Preferences getPreferences(String name) {
+		if (preferences.containsKey(name)) {
+			return preferences.get(name);
+		} else {
+			Preferences prefs = new HeadlessPreferences(name, config.preferencesDirectory);
+			preferences.put(name, prefs);
+			return prefs;
+		}
+	}
+
+	@Override
+	public Clipboard getClipboard() {
+		return null;
+	}
+
+	@Override
+	public void postRunnable(Runnable runnable) {
+		synchronized (runnables) {
+			runnables.add(runnable);
+		}
+	}
+
+	@Override
+	public void debug(String tag, String message) {
+		if (logLevel >= LOG_DEBUG) getApplicationLogger().debug(tag, message);
+	}
+
+	@Override
+	public void debug(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_DEBUG) getApplicationLogger().debug(tag, message, exception);
+	}
+
+	@Override
+	public void log(String tag, String message) {
+		if (logLevel >= LOG_INFO) getApplicationLogger().log(tag, message);
+	}
+
+	@Override
+	public void log(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_INFO) getApplicationLogger().log(tag, message, exception);
+	}
+
+	@Override
+	public void error(String tag, String message) {
+		if (logLevel >= LOG_ERROR) getApplicationLogger().error(tag, message);
+	}
+
+	@Override
+	public void error(String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_ERROR) getApplicationLogger().error(tag, message, exception);
+	}
+
+	@Override
+	public void setLogLevel(int logLevel) {
+		this.logLevel = logLevel;
+	}
+
+	@Override
+	public int getLogLevel() {
+		return logLevel;
+	}
+
+	@Override
+	public void setApplicationLogger(ApplicationLogger applicationLogger) {
+		this.applicationLogger = applicationLogger;
+	}
+
+	@Override
+	public ApplicationLogger getApplicationLogger() {
+		return applicationLogger;
+	}
+
+	@Override
+	public void exit() {
+		postRunnable(new Runnable() {
+			@Override
+			public void run() {
+				running = false;
+			}
+		});
+	}
+
+	@Override
+	public void addLifecycleListener(LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.add(listener);
+		}
+	}
+
+	@Override
+	public void removeLifecycleListener(LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.removeValue(listener, true);
+		}
+	}
+}
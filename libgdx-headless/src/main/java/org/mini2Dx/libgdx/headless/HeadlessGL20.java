@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates a {@link GL20} implementation that ignores all calls so that textures, shaders and
+ * fonts can be created without a GPU. Queries return 0, false or null.
+ */
+public class HeadlessGL20 {
+
+	/**
+	 * Returns a new no-op {@link GL20} instance
+	 * @return A {@link GL20} that does nothing
+	 */
+	public static GL20 newInstance() {
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if(method.getDeclaringClass() == Object.class) {
+					return method.invoke(this, args);
+				}
+				final Class<?> returnType = method.getReturnType();
+				if(returnType == boolean.class) {
+					return false;
+				} else if(returnType == int.class) {
+					return 0;
+				} else if(returnType == float.class) {
+					return 0f;
+				} else if(returnType == long.class) {
+					return 0L;
+				}
+				return null;
+			}
+		});
+	}
+}
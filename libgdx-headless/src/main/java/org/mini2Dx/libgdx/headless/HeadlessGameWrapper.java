@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.headless;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.game.GameContainer;
+import org.mini2Dx.libgdx.desktop.DesktopGameWrapper;
+import org.mini2Dx.libgdx.game.GameWrapper;
+
+/**
+ * Headless implementation of {@link GameWrapper}. Uses {@link HeadlessGraphics} as the graphics context.
+ */
+public class HeadlessGameWrapper extends DesktopGameWrapper {
+	private final HeadlessMini2DxConfig config;
+
+	public HeadlessGameWrapper(GameContainer gc, HeadlessMini2DxConfig config) {
+		super(gc, config.gameIdentifier);
+		this.config = config;
+	}
+
+	@Override
+	public void initialisePlatformUtils() {
+		Mdx.platformUtils = new HeadlessPlatformUtils();
+	}
+
+	@Override
+	protected Graphics createGraphicsContext() {
+		return new HeadlessGraphics(this, config.width, config.height);
+	}
+
+	@Override
+	public boolean isGameWindowReady() {
+		return true;
+	}
+}
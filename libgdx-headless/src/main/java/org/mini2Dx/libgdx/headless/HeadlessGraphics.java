@@ -0,0 +1,585 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.headless;
+
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.GraphicsDriver;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.font.GameFont;
+import org.mini2Dx.core.font.GameFontCache;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.geom.Shape;
+import org.mini2Dx.core.graphics.*;
+import org.mini2Dx.gdx.math.MathUtils;
+import org.mini2Dx.gdx.math.Matrix4;
+
+/**
+ * A {@link Graphics} implementation that does not require a GPU.
+ *
+ * Drawing operations are not rendered but are recorded in {@link RenderStats}. Transformation,
+ * clipping, color and tint state are tracked the same as other implementations so that game code
+ * reading them behaves as normal.
+ */
+public class HeadlessGraphics implements Graphics {
+	private final HeadlessGameWrapper gameWrapper;
+	private final RenderStats frameRenderStats = new RenderStats();
+	private final RenderStats renderStats = new RenderStats();
+	private final Color defaultTint, defaultColor;
+
+	private Color color, backgroundColor, tint;
+	private GameFont font;
+	private Shader shader;
+	private Rectangle clip;
+	private TextureFilter minFilter = TextureFilter.PIXEL;
+	private TextureFilter magFilter = TextureFilter.PIXEL;
+
+	private int windowWidth, windowHeight;
+	private int lineHeight = 1;
+	private int drawLayer;
+	private float translationX, translationY;
+	private float scaleX = 1f, scaleY = 1f;
+	private float rotation, rotationX, rotationY;
+	private long frameId;
+
+	public HeadlessGraphics(HeadlessGameWrapper gameWrapper, int windowWidth, int windowHeight) {
+		this.gameWrapper = gameWrapper;
+		this.windowWidth = windowWidth;
+		this.windowHeight = windowHeight;
+
+		defaultTint = Mdx.graphics.newReadOnlyColor(1f, 1f, 1f, 1f);
+		defaultColor = Mdx.graphics.newReadOnlyColor(1f, 1f, 1f, 1f);
+		tint = defaultTint;
+		color = defaultColor;
+		backgroundColor = Mdx.graphics.newColor(0f, 0f, 0f, 1f);
+	}
+
+	@Override
+	public void preRender(int gameWidth, int gameHeight) {
+		this.windowWidth = gameWidth;
+		this.windowHeight = gameHeight;
+
+		tint = defaultTint;
+		color = defaultColor;
+		drawLayer = 0;
+		frameRenderStats.reset();
+	}
+
+	@Override
+	public void postRender() {
+		translationX = 0f;
+		translationY = 0f;
+		scaleX = 1f;
+		scaleY = 1f;
+		rotation = 0f;
+		rotationX = 0f;
+		rotationY = 0f;
+		clearShader();
+
+		renderStats.set(frameRenderStats);
+		frameRenderStats.reset();
+		frameId++;
+	}
+
+	@Override
+	public void clearContext() {
+	}
+
+	@Override
+	public void clearContext(Color color) {
+	}
+
+	@Override
+	public void clearContext(Color color, boolean depthBufferBit, boolean colorBufferBit) {
+	}
+
+	@Override
+	public void drawLineSegment(float x1, float y1, float x2, float y2) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawRect(float x, float y, float width, float height) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void fillRect(float x, float y, float width, float height) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawCircle(float centerX, float centerY, int radius) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawCircle(float centerX, float centerY, float radius) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void fillCircle(float centerX, float centerY, int radius) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void fillCircle(float centerX, float centerY, float radius) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void fillTriangle(float x1, float y1, float x2, float y2, float x3, float y3) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawPolygon(float[] vertices) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void fillPolygon(float[] vertices, short[] triangles) {
+		frameRenderStats.incrementShapeDraws();
+	}
+
+	@Override
+	public void drawString(String text, float x, float y) {
+		frameRenderStats.incrementTextDraws();
+	}
+
+	@Override
+	public void drawString(String text, float x, float y, float targetWidth) {
+		frameRenderStats.incrementTextDraws();
+	}
+
+	@Override
+	public void drawString(String text, float x, float y, float targetWidth, int horizontalAlign) {
+		frameRenderStats.incrementTextDraws();
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, boolean flipY) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, float width, float height) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, float width, float height, boolean flipY) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height, float rotation) {
+		frameRenderStats.incrementTextureDraws();
+	}
+
+	@Override
+	public void drawShape(Shape shape) {
+		shape.draw(this);
+	}
+
+	@Override
+	public void fillShape(Shape shape) {
+		shape.fill(this);
+	}
+
+	@Override
+	public void drawSprite(Sprite sprite) {
+		frameRenderStats.incrementSpriteDraws();
+	}
+
+	@Override
+	public void drawSpriteVertices(Texture texture, float[] vertices, int offset) {
+		frameRenderStats.incrementSpriteDraws();
+	}
+
+	@Override
+	public void drawSprite(Sprite sprite, float x, float y) {
+		frameRenderStats.incrementSpriteDraws();
+	}
+
+	@Override
+	public void drawSpriteCache(SpriteCache spriteCache, int cacheId) {
+		frameRenderStats.incrementOtherDraws();
+	}
+
+	@Override
+	public void drawParticleEffect(ParticleEffect effect) {
+	}
+
+	@Override
+	public void drawNinePatch(NinePatch ninePatch, float x, float y, float width, float height) {
+		frameRenderStats.incrementOtherDraws();
+	}
+
+	@Override
+	public void drawTilingDrawable(TilingDrawable tilingDrawable, float x, float y, float width, float height) {
+		frameRenderStats.incrementOtherDraws();
+	}
+
+	@Override
+	public void drawFontCache(GameFontCache gameFontCache) {
+		frameRenderStats.incrementTextDraws();
+	}
+
+	@Override
+	public void setClip(float x, float y, float width, float height) {
+		if(MathUtils.isEqual(0f, x) && MathUtils.isEqual(0f, y) &&
+				MathUtils.isEqual(getViewportWidth(), width) &&
+				MathUtils.isEqual(getViewportHeight(), height)) {
+			clip = null;
+		} else if(clip == null) {
+			clip = new Rectangle(x, y, width, height);
+		} else {
+			clip.set(x, y, width, height);
+		}
+	}
+
+	@Override
+	public void setClip(Rectangle clip) {
+		setClip(clip.getX(), clip.getY(), clip.getWidth(), clip.getHeight());
+	}
+
+	@Override
+	public Rectangle removeClip() {
+		final Rectangle result = clip;
+		clip = null;
+		return result;
+	}
+
+	@Override
+	public Rectangle peekClip() {
+		final Rectangle result = new Rectangle();
+		peekClip(result);
+		return result;
+	}
+
+	@Override
+	public void peekClip(Rectangle rectangle) {
+		if(clip == null) {
+			rectangle.set(0f, 0f, getViewportWidth(), getViewportHeight());
+		} else {
+			rectangle.set(clip);
+		}
+	}
+
+	@Override
+	public void setTint(Color tint) {
+		if(tint == null) {
+			return;
+		}
+		this.tint = tint;
+	}
+
+	@Override
+	public void setFont(GameFont font) {
+		if(font == null) {
+			return;
+		}
+		this.font = font;
+	}
+
+	@Override
+	public void removeTint() {
+		tint = defaultTint;
+	}
+
+	@Override
+	public void enableBlending() {
+	}
+
+	@Override
+	public void disableBlending() {
+	}
+
+	@Override
+	public void setShader(Shader shader) {
+		if(this.shader != shader) {
+			frameRenderStats.incrementShaderSwitches();
+		}
+		this.shader = shader;
+	}
+
+	@Override
+	public Shader getShader() {
+		return shader;
+	}
+
+	@Override
+	public void clearShader() {
+		shader = null;
+	}
+
+	@Override
+	public void setBlendFunction(Mini2DxBlendFunction srcFunc, Mini2DxBlendFunction dstFunc) {
+	}
+
+	@Override
+	public void clearBlendFunction() {
+	}
+
+	@Override
+	public void flush() {
+		frameRenderStats.addFlushes(1);
+	}
+
+	@Override
+	public void setDrawLayer(int layer) {
+		this.drawLayer = layer;
+	}
+
+	@Override
+	public int getDrawLayer() {
+		return drawLayer;
+	}
+
+	@Override
+	public RenderStats getRenderStats() {
+		return renderStats;
+	}
+
+	@Override
+	public int getLineHeight() {
+		return lineHeight;
+	}
+
+	@Override
+	public void setLineHeight(int lineHeight) {
+		if(lineHeight > 0) {
+			this.lineHeight = lineHeight;
+		}
+	}
+
+	@Override
+	public Color getColor() {
+		return color;
+	}
+
+	@Override
+	public void setColor(Color color) {
+		if(color == null) {
+			return;
+		}
+		this.color = color;
+	}
+
+	@Override
+	public Color getBackgroundColor() {
+		return backgroundColor;
+	}
+
+	@Override
+	public void setBackgroundColor(Color backgroundColor) {
+		if(backgroundColor != null) {
+			this.backgroundColor = backgroundColor;
+		}
+	}
+
+	@Override
+	public GameFont getFont() {
+		return font;
+	}
+
+	@Override
+	public Color getTint() {
+		return tint;
+	}
+
+	@Override
+	public float getScaleX() {
+		return scaleX;
+	}
+
+	@Override
+	public float getScaleY() {
+		return scaleY;
+	}
+
+	@Override
+	public void scale(float scaleX, float scaleY) {
+		this.scaleX *= scaleX;
+		this.scaleY *= scaleY;
+	}
+
+	@Override
+	public void setScale(float scaleX, float scaleY) {
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+	}
+
+	@Override
+	public void clearScaling() {
+		scaleX = 1f;
+		scaleY = 1f;
+	}
+
+	@Override
+	public float getTranslationX() {
+		return translationX;
+	}
+
+	@Override
+	public float getTranslationY() {
+		return translationY;
+	}
+
+	@Override
+	public void translate(float translateX, float translateY) {
+		this.translationX += translateX;
+		this.translationY += translateY;
+	}
+
+	@Override
+	public void setTranslation(float translateX, float translateY) {
+		this.translationX = translateX;
+		this.translationY = translateY;
+	}
+
+	@Override
+	public float getRotation() {
+		return rotation;
+	}
+
+	@Override
+	public float getRotationX() {
+		return rotationX;
+	}
+
+	@Override
+	public float getRotationY() {
+		return rotationY;
+	}
+
+	@Override
+	public void rotate(float degrees, float x, float y) {
+		this.rotation = (this.rotation + degrees) % 360f;
+		this.rotationX = x;
+		this.rotationY = y;
+	}
+
+	@Override
+	public void setRotation(float degrees, float x, float y) {
+		this.rotation = degrees % 360f;
+		this.rotationX = x;
+		this.rotationY = y;
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix() {
+		final Matrix4 result = new Matrix4();
+		result.setToOrtho(0f, getViewportWidth(), getViewportHeight(), 0f, 0f, 1f);
+		return result;
+	}
+
+	@Override
+	public boolean isWindowReady() {
+		return gameWrapper.isGameWindowReady();
+	}
+
+	@Override
+	public int getWindowWidth() {
+		return windowWidth;
+	}
+
+	@Override
+	public int getWindowHeight() {
+		return windowHeight;
+	}
+
+	@Override
+	public int getWindowSafeX() {
+		return 0;
+	}
+
+	@Override
+	public int getWindowSafeY() {
+		return 0;
+	}
+
+	@Override
+	public int getWindowSafeWidth() {
+		return windowWidth;
+	}
+
+	@Override
+	public int getWindowSafeHeight() {
+		return windowHeight;
+	}
+
+	@Override
+	public float getViewportWidth() {
+		return windowWidth / scaleX;
+	}
+
+	@Override
+	public float getViewportHeight() {
+		return windowHeight / scaleY;
+	}
+
+	@Override
+	public long getFrameId() {
+		return frameId;
+	}
+
+	@Override
+	public TextureFilter getMinFilter() {
+		return minFilter;
+	}
+
+	@Override
+	public void setMinFilter(TextureFilter filter) {
+		this.minFilter = filter;
+	}
+
+	@Override
+	public TextureFilter getMagFilter() {
+		return magFilter;
+	}
+
+	@Override
+	public void setMagFilter(TextureFilter filter) {
+		this.magFilter = filter;
+	}
+
+	@Override
+	public GraphicsDriver getDriver() {
+		return GraphicsDriver.OPENGL;
+	}
+}
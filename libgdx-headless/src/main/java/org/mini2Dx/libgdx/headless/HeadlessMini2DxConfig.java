@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Configuration for launching mini2Dx games without a display or GPU.
+ *
+ * {@link #renderInterval} is the minimum time in seconds between frames. Set it to 0 to run frames
+ * as fast as possible (e.g. for benchmarking).
+ */
+public class HeadlessMini2DxConfig extends HeadlessApplicationConfiguration {
+	public final String gameIdentifier;
+	/**
+	 * The target framerate. Determines the physics timestep.
+	 */
+	public int targetFPS = 60;
+	/**
+	 * The width of the game window reported to the game
+	 */
+	public int width = 800;
+	/**
+	 * The height of the game window reported to the game
+	 */
+	public int height = 600;
+	/**
+	 * True if every frame should advance by exactly one timestep regardless of elapsed time.
+	 * Makes runs reproducible for soak tests.
+	 */
+	public boolean fixedDelta = false;
+	/**
+	 * The amount of frames to run before exiting. -1 to run until {@link com.badlogic.gdx.Application#exit()} is called.
+	 */
+	public long maxFrames = -1L;
+	/**
+	 * False if the game loop should not be started automatically. Frames can then be
+	 * executed manually on the calling thread.
+	 */
+	public boolean runGame = true;
+
+	private long targetTimestepNanos = -1L;
+	private float targetTimestepSeconds;
+
+	public HeadlessMini2DxConfig(String gameIdentifier) {
+		this.gameIdentifier = gameIdentifier;
+	}
+
+	private void setTargetTimestep() {
+		if(targetTimestepNanos > -1L) {
+			return;
+		}
+		targetTimestepSeconds = 1f / targetFPS;
+		targetTimestepNanos = 1000000000L / targetFPS;
+	}
+
+	public long targetTimestepNanos() {
+		setTargetTimestep();
+		return targetTimestepNanos;
+	}
+
+	public float targetTimestepSeconds() {
+		setTargetTimestep();
+		return targetTimestepSeconds;
+	}
+
+	public long maximumTimestepNanos() {
+		return targetTimestepNanos() * 2L;
+	}
+
+	public float maximumTimestepSeconds() {
+		return targetTimestepSeconds() * 2f;
+	}
+}
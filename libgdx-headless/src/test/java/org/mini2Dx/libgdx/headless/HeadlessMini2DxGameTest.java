@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessMini2DxGame;
+import com.badlogic.gdx.graphics.GL20;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.game.BasicGame;
+
+/**
+ * Unit tests for {@link HeadlessMini2DxGame}
+ */
+public class HeadlessMini2DxGameTest extends BasicGame {
+	private int totalInitialise, totalUpdates, totalInterpolates, totalRenders;
+	private float lastDelta;
+
+	private HeadlessMini2DxGame game;
+
+	@After
+	public void teardown() {
+		if(game != null) {
+			game.stop();
+		}
+	}
+
+	@Test
+	public void testExecuteFrameWithFixedDelta() {
+		final HeadlessMini2DxConfig config = new HeadlessMini2DxConfig(HeadlessMini2DxGameTest.class.getName());
+		config.runGame = false;
+		config.fixedDelta = true;
+		config.width = 320;
+		config.height = 240;
+		game = new HeadlessMini2DxGame(this, config);
+
+		Assert.assertEquals(1, totalInitialise);
+		Assert.assertEquals(320, getWidth());
+		Assert.assertEquals(240, getHeight());
+
+		for(int i = 0; i < 3; i++) {
+			game.executeFrame();
+		}
+		Assert.assertEquals(3, game.getTotalFrames());
+		Assert.assertEquals(3, totalUpdates);
+		Assert.assertEquals(3, totalInterpolates);
+		Assert.assertEquals(3, totalRenders);
+		Assert.assertEquals(config.targetTimestepSeconds(), lastDelta, 0.0001f);
+
+		Assert.assertTrue(Mdx.graphicsContext instanceof HeadlessGraphics);
+		Assert.assertEquals(3, Mdx.graphicsContext.getFrameId());
+		Assert.assertEquals(1, Mdx.graphicsContext.getRenderStats().getShapeDraws());
+		Assert.assertEquals(1, Mdx.graphicsContext.getRenderStats().getTextDraws());
+		Assert.assertTrue(Mdx.platformUtils.isGameThread());
+	}
+
+	@Test
+	public void testOpenGLCallsIgnored() {
+		final HeadlessMini2DxConfig config = new HeadlessMini2DxConfig(HeadlessMini2DxGameTest.class.getName());
+		config.runGame = false;
+		game = new HeadlessMini2DxGame(this, config);
+
+		Assert.assertSame(Gdx.gl, Gdx.gl20);
+		Gdx.gl20.glBindTexture(GL20.GL_TEXTURE_2D, Gdx.gl20.glGenTexture());
+		Assert.assertEquals(0, Gdx.gl20.glGetError());
+		Assert.assertFalse(Gdx.gl20.glIsTexture(0));
+	}
+
+	@Test
+	public void testRunUntilMaxFrames() throws InterruptedException {
+		final HeadlessMini2DxConfig config = new HeadlessMini2DxConfig(HeadlessMini2DxGameTest.class.getName());
+		config.renderInterval = 0f;
+		config.maxFrames = 10;
+		game = new HeadlessMini2DxGame(this, config);
+		while(game.getTotalFrames() < 10) {
+			Thread.sleep(1L);
+		}
+		game.stop();
+
+		Assert.assertEquals(10, game.getTotalFrames());
+		Assert.assertEquals(10, totalUpdates);
+		Assert.assertEquals(10, totalRenders);
+	}
+
+	@Override
+	public void initialise() {
+		totalInitialise++;
+	}
+
+	@Override
+	public void update(float delta) {
+		totalUpdates++;
+		lastDelta = delta;
+	}
+
+	@Override
+	public void interpolate(float alpha) {
+		totalInterpolates++;
+	}
+
+	@Override
+	public void render(Graphics g) {
+		totalRenders++;
+		g.fillRect(0f, 0f, 32f, 32f);
+		g.drawString("headless", 0f, 0f);
+	}
+}
@@ -305,6 +305,7 @@ public class LibgdxNinePatchWrapper {
 
 	public void render(Graphics g, float x, float y, float width, float height) {
 		final LibgdxGraphics gdxGraphics = (LibgdxGraphics) g;
+		gdxGraphics.submitDrawCommands();
 		draw(gdxGraphics.spriteBatch, x, y, width, height);
 	}
 
@@ -24,6 +24,19 @@ public class LibgdxSpriteBatchWrapper extends SpriteBatch {
 	private TextureFilter minFilter = TextureFilter.PIXEL;
 	private TextureFilter magFilter = TextureFilter.PIXEL;
 
+	/**
+	 * Number of texture changes since last reset
+	 */
+	public int textureSwitches = 0;
+	/**
+	 * Number of non-empty flushes since last reset
+	 */
+	public int flushes = 0;
+	/**
+	 * Number of vertices flushed since last reset
+	 */
+	public long vertices = 0L;
+
 	public LibgdxSpriteBatchWrapper() {
 	}
 
@@ -42,6 +55,16 @@ public class LibgdxSpriteBatchWrapper extends SpriteBatch {
 			setTextureFilters(gdxTexture);
 		}
 		super.switchTexture(texture);
+		textureSwitches++;
+	}
+
+	@Override
+	public void flush() {
+		if(idx > 0) {
+			flushes++;
+			vertices += idx / Sprite.VERTEX_SIZE;
+		}
+		super.flush();
 	}
 
 	private void setTextureFilters(LibgdxTexture texture) {
@@ -56,6 +56,8 @@ public class LibgdxGraphics implements Graphics {
 	private final ShapeRenderer shapeRenderer;
 	private final PolygonSpriteBatch polygonSpriteBatch;
 	private final EarClippingTriangulator triangulator = new EarClippingTriangulator();
+	private final LibgdxDrawCommandBuffer drawCommands = new LibgdxDrawCommandBuffer();
+	private final DrawCommandSubmitter drawCommandSubmitter = new DrawCommandSubmitter();
 
 	private LibgdxColor color, defaultColor, backgroundColor;
 	private LibgdxColor tint, defaultTint;
@@ -73,6 +75,13 @@ public class LibgdxGraphics implements Graphics {
 	private RenderState rendering;
 	private boolean transformationsApplied;
 	private Rectangle clip;
+	private boolean deferredRendering;
+	private int drawLayer;
+	private boolean cullingEnabled, cullingBoundsDirty = true;
+	private float cullingMinX, cullingMinY, cullingMaxX, cullingMaxY;
+	private int culledDrawCount, submittedDrawCount;
+	private final RenderStats frameRenderStats = new RenderStats();
+	private final RenderStats renderStats = new RenderStats();
 
 	private float [] triangleVertices = new float[6];
 	//3 edge polygon by default, expanded as needed during rendering
@@ -117,6 +126,11 @@ public class LibgdxGraphics implements Graphics {
 
 		tint = defaultTint;
 		color = defaultColor;
+		drawLayer = 0;
+		culledDrawCount = 0;
+		submittedDrawCount = 0;
+		cullingBoundsDirty = true;
+		resetRenderStats();
 		spriteBatch.setColor(tint.rf(), tint.gf(), tint.bf(), tint.af());
 
 		Gdx.gl.glClearColor(backgroundColor.rf(), backgroundColor.gf(), backgroundColor.bf(), 1f);
@@ -136,6 +150,19 @@ public class LibgdxGraphics implements Graphics {
 		resetTransformations();
 		clearShader();
 		clearBlendFunction();
+
+		frameRenderStats.addTextureSwitches(spriteBatch.textureSwitches);
+		frameRenderStats.addFlushes(spriteBatch.flushes);
+		frameRenderStats.addVertices(spriteBatch.vertices);
+		renderStats.set(frameRenderStats);
+		resetRenderStats();
+	}
+
+	private void resetRenderStats() {
+		frameRenderStats.reset();
+		spriteBatch.textureSwitches = 0;
+		spriteBatch.flushes = 0;
+		spriteBatch.vertices = 0L;
 	}
 
 	@Override
@@ -198,10 +225,10 @@ public class LibgdxGraphics implements Graphics {
 				setupDepthBuffer();
 				break;
 			case SHAPES:
-				shapeRenderer.end();
+				endShapeRendering();
 				break;
 			case POLYGONS:
-				polygonSpriteBatch.end();
+				endPolygonRendering();
 				break;
 			case SPRITEBATCH:
 				spriteBatch.end();
@@ -219,20 +246,37 @@ public class LibgdxGraphics implements Graphics {
 				break;
 		}
 		rendering = newState;
+		frameRenderStats.incrementRendererSwitches();
+	}
+
+	private void endShapeRendering() {
+		final int vertices = shapeRenderer.getRenderer().getNumVertices();
+		if (vertices > 0) {
+			frameRenderStats.addFlushes(1);
+			frameRenderStats.addVertices(vertices);
+		}
+		shapeRenderer.end();
+	}
+
+	private void endPolygonRendering() {
+		polygonSpriteBatch.end();
+		frameRenderStats.addFlushes(polygonSpriteBatch.renderCalls);
 	}
 
 	/**
 	 * Ends rendering
 	 */
 	private void endRendering() {
+		cullingBoundsDirty = true;
+		submitDrawCommands();
 		switch (rendering){
 			case NOT_RENDERING:
 				return;
 			case SHAPES:
-				shapeRenderer.end();
+				endShapeRendering();
 				break;
 			case POLYGONS:
-				polygonSpriteBatch.end();
+				endPolygonRendering();
 				break;
 			case SPRITEBATCH:
 				spriteBatch.end();
@@ -247,6 +291,129 @@ public class LibgdxGraphics implements Graphics {
 		rendering = RenderState.NOT_RENDERING;
 	}
 
+	/**
+	 * Submits all deferred draw operations. Must be called before drawing to the {@link SpriteBatch} directly.
+	 * The current render state is restored after submission.
+	 */
+	public void submitDrawCommands() {
+		if (drawCommands.size() == 0) {
+			return;
+		}
+		final RenderState previousState = rendering;
+		drawCommands.submit(drawCommandSubmitter);
+		spriteBatch.setColor(tint.rf(), tint.gf(), tint.bf(), tint.af());
+		if (previousState != RenderState.NOT_RENDERING) {
+			beginRendering(previousState);
+		}
+	}
+
+	private boolean isRecording() {
+		if (!deferredRendering) {
+			return false;
+		}
+		if (drawCommands.isFull()) {
+			submitDrawCommands();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns if a draw operation is entirely outside the visible area and should be skipped
+	 */
+	private boolean isCulled(float minX, float minY, float maxX, float maxY) {
+		if (!cullingEnabled) {
+			return false;
+		}
+		if (cullingBoundsDirty) {
+			updateCullingBounds();
+		}
+		if (maxX < cullingMinX || minX > cullingMaxX || maxY < cullingMinY || minY > cullingMaxY) {
+			culledDrawCount++;
+			return true;
+		}
+		submittedDrawCount++;
+		return false;
+	}
+
+	private boolean isRectCulled(float x, float y, float width, float height) {
+		return isCulled(Math.min(x, x + width), Math.min(y, y + height), Math.max(x, x + width), Math.max(y, y + height));
+	}
+
+	private boolean isRotatedRectCulled(float x, float y, float width, float height, float rotation) {
+		if (MathUtils.isZero(rotation)) {
+			return isRectCulled(x, y, width, height);
+		}
+		final float radius = (float) Math.sqrt((width * width) + (height * height));
+		return isCulled(x - radius, y - radius, x + radius, y + radius);
+	}
+
+	private boolean isPolygonCulled(float[] vertices) {
+		if (!cullingEnabled) {
+			return false;
+		}
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		for (int i = 0; i < vertices.length - 1; i += 2) {
+			minX = Math.min(minX, vertices[i]);
+			maxX = Math.max(maxX, vertices[i]);
+			minY = Math.min(minY, vertices[i + 1]);
+			maxY = Math.max(maxY, vertices[i + 1]);
+		}
+		return isCulled(minX - lineHeight, minY - lineHeight, maxX + lineHeight, maxY + lineHeight);
+	}
+
+	/**
+	 * Calculates the axis-aligned area of the world visible through the camera and clip
+	 */
+	private void updateCullingBounds() {
+		cullingBoundsDirty = false;
+
+		final float viewportWidth = MathUtils.round(windowWidth / scaleX);
+		final float viewportHeight = MathUtils.round(windowHeight / scaleY);
+		final float minX = Math.min(translationX, translationX + viewportWidth);
+		final float minY = Math.min(translationY, translationY + viewportHeight);
+		final float maxX = Math.max(translationX, translationX + viewportWidth);
+		final float maxY = Math.max(translationY, translationY + viewportHeight);
+
+		if (MathUtils.isZero(rotation)) {
+			cullingMinX = minX;
+			cullingMinY = minY;
+			cullingMaxX = maxX;
+			cullingMaxY = maxY;
+		} else {
+			//Include both rotation directions so the bounds are conservative regardless of projection handedness
+			cullingMinX = Float.MAX_VALUE;
+			cullingMinY = Float.MAX_VALUE;
+			cullingMaxX = -Float.MAX_VALUE;
+			cullingMaxY = -Float.MAX_VALUE;
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+			includeRotatedCullingPoint(minX, minY, cos, sin);
+			includeRotatedCullingPoint(maxX, minY, cos, sin);
+			includeRotatedCullingPoint(maxX, maxY, cos, sin);
+			includeRotatedCullingPoint(minX, maxY, cos, sin);
+		}
+
+		if (clip != null) {
+			cullingMinX = Math.max(cullingMinX, clip.getMinX());
+			cullingMinY = Math.max(cullingMinY, clip.getMinY());
+			cullingMaxX = Math.min(cullingMaxX, clip.getMaxX());
+			cullingMaxY = Math.min(cullingMaxY, clip.getMaxY());
+		}
+	}
+
+	private void includeRotatedCullingPoint(float x, float y, float cos, float sin) {
+		final float dx = x - rotationX;
+		final float dy = y - rotationY;
+		final float x1 = rotationX + (dx * cos) - (dy * sin);
+		final float y1 = rotationY + (dx * sin) + (dy * cos);
+		final float x2 = rotationX + (dx * cos) + (dy * sin);
+		final float y2 = rotationY - (dx * sin) + (dy * cos);
+		cullingMinX = Math.min(cullingMinX, Math.min(x1, x2));
+		cullingMinY = Math.min(cullingMinY, Math.min(y1, y2));
+		cullingMaxX = Math.max(cullingMaxX, Math.max(x1, x2));
+		cullingMaxY = Math.max(cullingMaxY, Math.max(y1, y2));
+	}
+
 	/**
 	 * Applies all translation, scaling and rotation to the {@link SpriteBatch}
 	 */
@@ -310,6 +477,15 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawLineSegment(float x1, float y1, float x2, float y2) {
+		if (isCulled(Math.min(x1, x2) - lineHeight, Math.min(y1, y2) - lineHeight,
+				Math.max(x1, x2) + lineHeight, Math.max(y1, y2) + lineHeight)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		if (isRecording()) {
+			drawCommands.addLine(drawLayer, x1, y1, x2, y2, lineHeight, color.color.toFloatBits());
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 
 		shapeRenderer.rectLine(x1, y1, x2, y2, lineHeight);
@@ -319,7 +495,19 @@ public class LibgdxGraphics implements Graphics {
 	public void drawRect(float x, float y, float width, float height) {
 		int roundWidth = MathUtils.round(width);
 		int roundHeight = MathUtils.round(height);
-
+		if (isRectCulled(x - lineHeight, y - lineHeight, roundWidth + (lineHeight * 2), roundHeight + (lineHeight * 2))) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+
+		if (isRecording()) {
+			final float packedColor = color.color.toFloatBits();
+			drawCommands.addLine(drawLayer, x, y, x + roundWidth, y, lineHeight, packedColor);
+			drawCommands.addLine(drawLayer, x, y, x , y + roundHeight, lineHeight, packedColor);
+			drawCommands.addLine(drawLayer, x + roundWidth, y, x + roundWidth, y + roundHeight, lineHeight, packedColor);
+			drawCommands.addLine(drawLayer, x, y + roundHeight, x + roundWidth, y + roundHeight, lineHeight, packedColor);
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 		shapeRenderer.rectLine(x, y, x + roundWidth, y, lineHeight);
 		shapeRenderer.rectLine(x, y, x , y + roundHeight, lineHeight);
@@ -336,6 +524,15 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void fillRect(float x, float y, float width, float height) {
+		if (isRectCulled(x, y, width, height)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		if (isRecording()) {
+			drawCommands.addTexture(drawLayer, colorTextureCache.getFilledRectangleTexture(color), x, y, width, height,
+					0, 0, 1, 1, false, false, spriteBatch.getPackedColor());
+			return;
+		}
 		beginRendering(RenderState.SPRITEBATCH);
 
 		spriteBatch.draw(colorTextureCache.getFilledRectangleTexture(color), x, y, 0, 0, width, height, 1f, 1f, 0, 0, 0,
@@ -344,6 +541,14 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawCircle(float centerX, float centerY, int radius) {
+		if (isCulled(centerX - radius, centerY - radius, centerX + radius, centerY + radius)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		if (isRecording()) {
+			drawCommands.addCircle(drawLayer, centerX, centerY, radius, false, color.color.toFloatBits());
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Line);
 		shapeRenderer.circle(centerX, centerY, radius);
 	}
@@ -355,6 +560,14 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void fillCircle(float centerX, float centerY, int radius) {
+		if (isCulled(centerX - radius, centerY - radius, centerX + radius, centerY + radius)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		if (isRecording()) {
+			drawCommands.addCircle(drawLayer, centerX, centerY, radius, true, color.color.toFloatBits());
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Filled);
 		shapeRenderer.circle(centerX, centerY, radius);
 	}
@@ -388,12 +601,25 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawPolygon(float[] vertices) {
+		if (isPolygonCulled(vertices)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		if (isRecording()) {
+			drawCommands.addPolygon(drawLayer, vertices, color.color.toFloatBits());
+			return;
+		}
 		beginShapeRendering(ShapeRenderer.ShapeType.Line);
 		shapeRenderer.polygon(vertices);
 	}
 
 	@Override
 	public void fillPolygon(float[] vertices, short[] triangles) {
+		if (isPolygonCulled(vertices)) {
+			return;
+		}
+		frameRenderStats.incrementShapeDraws();
+		submitDrawCommands();
 		beginRendering(RenderState.POLYGONS);
 		if(vertices.length * 5 > polygonRenderData.length) {
 			polygonRenderData = new float[vertices.length * 5];
@@ -409,6 +635,7 @@ public class LibgdxGraphics implements Graphics {
 			polygonRenderData[renderIndex + 3] = vertices[verticesIndex];
 			polygonRenderData[renderIndex + 4] = vertices[verticesIndex + 1];
 		}
+		frameRenderStats.addVertices(totalPoints);
 		polygonSpriteBatch.draw(colorTextureCache.getFilledRectangleTexture(color), polygonRenderData, 0, vertices.length * 5, triangles, 0, triangles.length);
 	}
 
@@ -417,6 +644,7 @@ public class LibgdxGraphics implements Graphics {
 		if (font == null) {
 			return;
 		}
+		frameRenderStats.incrementTextDraws();
 		beginRendering(RenderState.SPRITEBATCH);
 		font.setColor(color);
 		font.draw(this, text, x, y);
@@ -432,6 +660,7 @@ public class LibgdxGraphics implements Graphics {
 		if (font == null) {
 			return;
 		}
+		frameRenderStats.incrementTextDraws();
 		beginRendering(RenderState.SPRITEBATCH);
 		font.setColor(color);
 		font.draw(this, text, x, y, targetWidth, horizontalAlign, true);
@@ -454,8 +683,17 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawTexture(Texture texture, float x, float y, float width, float height, boolean flipY) {
-		beginRendering(RenderState.SPRITEBATCH);
+		if (isRectCulled(x, y, width, height)) {
+			return;
+		}
+		frameRenderStats.incrementTextureDraws();
 		final LibgdxTexture gdxTexture = (LibgdxTexture) texture;
+		if (isRecording()) {
+			drawCommands.addTexture(drawLayer, gdxTexture, x, y, width, height, 0, 0, texture.getWidth(), texture.getHeight(),
+					false, flipY, spriteBatch.getPackedColor());
+			return;
+		}
+		beginRendering(RenderState.SPRITEBATCH);
 		spriteBatch.draw(gdxTexture, x, y, 0, 0, width, height, 1f, 1f, 0, 0, 0, texture.getWidth(), texture.getHeight(),
 				false, flipY);
 	}
@@ -473,8 +711,18 @@ public class LibgdxGraphics implements Graphics {
 	@Override
 	public void drawTextureRegion(TextureRegion textureRegion, float x, float y, float width, float height,
 	                              float rotation) {
-		beginRendering(RenderState.SPRITEBATCH);
+		if (isRotatedRectCulled(x, y, width, height, rotation)) {
+			return;
+		}
+		frameRenderStats.incrementTextureDraws();
 		final GdxTextureRegion gdxTextureRegion = (GdxTextureRegion) textureRegion;
+		if (isRecording()) {
+			final com.badlogic.gdx.graphics.g2d.TextureRegion region = gdxTextureRegion.asGdxTextureRegion();
+			drawCommands.addTextureRegion(drawLayer, region.getTexture(), region.getU(), region.getV(), region.getU2(), region.getV2(),
+					x, y, width, height, rotation, spriteBatch.getPackedColor());
+			return;
+		}
+		beginRendering(RenderState.SPRITEBATCH);
 		spriteBatch.draw(gdxTextureRegion.asGdxTextureRegion(), x, y, 0f, 0f, width, height, 1f, 1f, rotation);
 	}
 
@@ -491,15 +739,60 @@ public class LibgdxGraphics implements Graphics {
 	@Override
 	public void drawSprite(Sprite sprite) {
 		final LibgdxSprite gdxSprite = (LibgdxSprite) sprite;
+		if (cullingEnabled) {
+			final com.badlogic.gdx.math.Rectangle bounds = gdxSprite.sprite.getBoundingRectangle();
+			if (isRectCulled(bounds.x, bounds.y, bounds.width, bounds.height)) {
+				return;
+			}
+		}
+		frameRenderStats.incrementSpriteDraws();
+		if (isRecording()) {
+			drawCommands.addSprite(drawLayer, gdxSprite.sprite.getTexture(), gdxSprite.sprite.getVertices());
+			return;
+		}
 		beginRendering(RenderState.SPRITEBATCH);
 		gdxSprite.sprite.draw(spriteBatch);
 	}
 
+	@Override
+	public void drawSpriteVertices(Texture texture, float[] vertices, int offset) {
+		if (cullingEnabled) {
+			float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+			for (int i = offset; i < offset + 20; i += 5) {
+				minX = Math.min(minX, vertices[i]);
+				maxX = Math.max(maxX, vertices[i]);
+				minY = Math.min(minY, vertices[i + 1]);
+				maxY = Math.max(maxY, vertices[i + 1]);
+			}
+			if (isCulled(minX, minY, maxX, maxY)) {
+				return;
+			}
+		}
+		frameRenderStats.incrementSpriteDraws();
+		final LibgdxTexture gdxTexture = (LibgdxTexture) texture;
+		if (isRecording()) {
+			drawCommands.addSprite(drawLayer, gdxTexture, vertices, offset);
+			return;
+		}
+		beginRendering(RenderState.SPRITEBATCH);
+		spriteBatch.draw(gdxTexture, vertices, offset, 20);
+	}
+
 	@Override
 	public void drawSprite(Sprite sprite, float x, float y) {
 		final LibgdxSprite gdxSprite = (LibgdxSprite) sprite;
+		if (cullingEnabled) {
+			final com.badlogic.gdx.math.Rectangle bounds = gdxSprite.sprite.getBoundingRectangle();
+			if (isRectCulled(bounds.x + x - sprite.getX(), bounds.y + y - sprite.getY(), bounds.width, bounds.height)) {
+				return;
+			}
+		}
+		frameRenderStats.incrementSpriteDraws();
+		final boolean recording = isRecording();
 
-		beginRendering(RenderState.SPRITEBATCH);
+		if (!recording) {
+			beginRendering(RenderState.SPRITEBATCH);
+		}
 		float oldX = sprite.getX();
 		float oldY = sprite.getY();
 		Color oldTint = sprite.getTint();
@@ -508,13 +801,19 @@ public class LibgdxGraphics implements Graphics {
 			sprite.setTint(tint);
 		}
 		sprite.setPosition(x, y);
-		gdxSprite.sprite.draw(spriteBatch);
+		if (recording) {
+			drawCommands.addSprite(drawLayer, gdxSprite.sprite.getTexture(), gdxSprite.sprite.getVertices());
+		} else {
+			gdxSprite.sprite.draw(spriteBatch);
+		}
 		sprite.setPosition(oldX, oldY);
 		sprite.setTint(oldTint);
 	}
 
 	@Override
 	public void drawSpriteCache(SpriteCache spriteCache, int cacheId) {
+		frameRenderStats.incrementOtherDraws();
+		submitDrawCommands();
 		spriteCache.draw(this, cacheId);
 	}
 
@@ -525,6 +824,10 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawNinePatch(NinePatch ninePatch, float x, float y, float width, float height) {
+		if (isRectCulled(x, y, width, height)) {
+			return;
+		}
+		frameRenderStats.incrementOtherDraws();
 		beginRendering(RenderState.SPRITEBATCH);
 
 		ninePatch.render(this, x, y, width, height);
@@ -532,11 +835,15 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void drawTilingDrawable(TilingDrawable tilingDrawable, float x, float y, float width, float height) {
+		if (isRectCulled(x, y, width, height)) {
+			return;
+		}
 		tilingDrawable.draw(this, x, y, width, height);
 	}
 
 	@Override
 	public void drawFontCache(GameFontCache fontCache) {
+		frameRenderStats.incrementTextDraws();
 		beginRendering(RenderState.SPRITEBATCH);
 		fontCache.draw(this);
 	}
@@ -602,16 +909,22 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void enableBlending() {
+		submitDrawCommands();
 		spriteBatch.enableBlending();
 	}
 
 	@Override
 	public void disableBlending() {
+		submitDrawCommands();
 		spriteBatch.disableBlending();
 	}
 
 	@Override
 	public void setShader(Shader shader) {
+		submitDrawCommands();
+		if (shader != currentShader) {
+			frameRenderStats.incrementShaderSwitches();
+		}
 		this.currentShader = (LibgdxShader) shader;
 		spriteBatch.setShader(currentShader.shaderProgram);
 	}
@@ -633,6 +946,7 @@ public class LibgdxGraphics implements Graphics {
 
 		srcF = convertBlendFunction(srcFunc);
 		dstF = convertBlendFunction(dstFunc);
+		submitDrawCommands();
 		spriteBatch.setBlendFunction(srcF, dstF);
 	}
 
@@ -666,11 +980,13 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void clearBlendFunction() {
+		submitDrawCommands();
 		spriteBatch.setBlendFunction(defaultBlendSrcFunc, defaultBlendDstFunc);
 	}
 
 	@Override
 	public void flush() {
+		submitDrawCommands();
 		spriteBatch.flush();
 	}
 
@@ -852,6 +1168,7 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void setMinFilter(TextureFilter filter) {
+		submitDrawCommands();
 		spriteBatch.setMinFilter(filter);
 	}
 
@@ -862,9 +1179,69 @@ public class LibgdxGraphics implements Graphics {
 
 	@Override
 	public void setMagFilter(TextureFilter filter) {
+		submitDrawCommands();
 		spriteBatch.setMagFilter(filter);
 	}
 
+	@Override
+	public void setDeferredRendering(boolean deferredRendering) {
+		if (!deferredRendering) {
+			submitDrawCommands();
+		}
+		this.deferredRendering = deferredRendering;
+	}
+
+	@Override
+	public boolean isDeferredRendering() {
+		return deferredRendering;
+	}
+
+	@Override
+	public void setDrawLayer(int layer) {
+		this.drawLayer = layer;
+	}
+
+	@Override
+	public int getDrawLayer() {
+		return drawLayer;
+	}
+
+	@Override
+	public void setReorderWithinLayers(boolean reorderWithinLayers) {
+		submitDrawCommands();
+		drawCommands.setReorderWithinLayers(reorderWithinLayers);
+	}
+
+	@Override
+	public boolean isReorderWithinLayers() {
+		return drawCommands.isReorderWithinLayers();
+	}
+
+	@Override
+	public void setCullingEnabled(boolean cullingEnabled) {
+		this.cullingEnabled = cullingEnabled;
+	}
+
+	@Override
+	public boolean isCullingEnabled() {
+		return cullingEnabled;
+	}
+
+	@Override
+	public int getCulledDrawCount() {
+		return culledDrawCount;
+	}
+
+	@Override
+	public int getSubmittedDrawCount() {
+		return submittedDrawCount;
+	}
+
+	@Override
+	public RenderStats getRenderStats() {
+		return renderStats;
+	}
+
 	@Override
 	public GraphicsDriver getDriver() {
 		return GraphicsDriver.OPENGL;
@@ -929,4 +1306,58 @@ public class LibgdxGraphics implements Graphics {
 	public GameFont getFont() {
 		return font;
 	}
+
+	private class DrawCommandSubmitter implements LibgdxDrawCommandBuffer.Submitter {
+		private final com.badlogic.gdx.graphics.g2d.TextureRegion region = new com.badlogic.gdx.graphics.g2d.TextureRegion();
+		private final com.badlogic.gdx.graphics.Color color = new com.badlogic.gdx.graphics.Color();
+
+		@Override
+		public void drawTexture(com.badlogic.gdx.graphics.Texture texture, float x, float y, float width, float height,
+		                        int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY, float packedTint) {
+			beginRendering(RenderState.SPRITEBATCH);
+			spriteBatch.setPackedColor(packedTint);
+			spriteBatch.draw(texture, x, y, 0, 0, width, height, 1f, 1f, 0, srcX, srcY, srcWidth, srcHeight, flipX, flipY);
+		}
+
+		@Override
+		public void drawTextureRegion(com.badlogic.gdx.graphics.Texture texture, float u, float v, float u2, float v2,
+		                              float x, float y, float width, float height, float rotation, float packedTint) {
+			beginRendering(RenderState.SPRITEBATCH);
+			spriteBatch.setPackedColor(packedTint);
+			region.setTexture(texture);
+			region.setRegion(u, v, u2, v2);
+			spriteBatch.draw(region, x, y, 0f, 0f, width, height, 1f, 1f, rotation);
+		}
+
+		@Override
+		public void drawSprite(com.badlogic.gdx.graphics.Texture texture, float[] vertices, int offset) {
+			beginRendering(RenderState.SPRITEBATCH);
+			spriteBatch.draw(texture, vertices, offset, 20);
+		}
+
+		@Override
+		public void drawLine(float x1, float y1, float x2, float y2, float width, float packedColor) {
+			beginSubmittedShape(ShapeRenderer.ShapeType.Filled, packedColor);
+			shapeRenderer.rectLine(x1, y1, x2, y2, width);
+		}
+
+		@Override
+		public void drawCircle(float centerX, float centerY, float radius, boolean filled, float packedColor) {
+			beginSubmittedShape(filled ? ShapeRenderer.ShapeType.Filled : ShapeRenderer.ShapeType.Line, packedColor);
+			shapeRenderer.circle(centerX, centerY, radius);
+		}
+
+		@Override
+		public void drawPolygon(float[] vertices, int offset, int count, float packedColor) {
+			beginSubmittedShape(ShapeRenderer.ShapeType.Line, packedColor);
+			shapeRenderer.polygon(vertices, offset, count);
+		}
+
+		private void beginSubmittedShape(ShapeRenderer.ShapeType shapeType, float packedColor) {
+			beginRendering(RenderState.SHAPES);
+			shapeRenderer.set(shapeType);
+			com.badlogic.gdx.graphics.Color.abgr8888ToColor(color, packedColor);
+			shapeRenderer.setColor(color);
+		}
+	}
 }
@@ -16,57 +16,173 @@
 package org.mini2Dx.libgdx;
 
 import org.mini2Dx.core.TaskExecutor;
-import org.mini2Dx.core.collections.concurrent.ConcurrentArray;
 import org.mini2Dx.core.executor.AsyncFuture;
 import org.mini2Dx.core.executor.AsyncResult;
+import org.mini2Dx.core.executor.FrameSpreadPriority;
+import org.mini2Dx.core.executor.FrameSpreadScheduler;
 import org.mini2Dx.core.executor.FrameSpreadTask;
+import org.mini2Dx.core.executor.ParallelForBody;
+import org.mini2Dx.core.executor.ParallelReduceBody;
+import org.mini2Dx.core.profiler.TraceExporter;
+import org.mini2Dx.core.profiler.TraceTrack;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.libgdx.executor.LibgdxAsyncResult;
+import org.mini2Dx.libgdx.executor.LibgdxParallelJob;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Runs CPU-bound tasks on a fixed thread pool and blocking tasks (see {@link #submitBlocking(Callable)})
+ * on a separate pool. On JDK 21+ blocking tasks run on virtual threads, otherwise they fall back to
+ * a bounded pool of platform threads. The blocking pool and the pool used by
+ * {@link #parallelFor(int, int, int, ParallelForBody)} are created on first use.
+ */
 public class LibgdxTaskExecutor implements TaskExecutor {
+	/**
+	 * Set to false to always use platform threads for blocking tasks
+	 */
+	public static boolean USE_VIRTUAL_THREADS = true;
+
 	private static final String LOGGING_TAG = LibgdxTaskExecutor.class.getSimpleName();
-	private static final int DEFAULT_MAX_FRAME_TASKS_PER_FRAME = 32;
+	private static final String TASK_TRACE_NAME = "task";
+	private static final String BLOCKING_TASK_TRACE_NAME = "blockingTask";
+	private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
 
 	private final ExecutorService executorService;
+	private final boolean useVirtualThreads;
+	private final int parallelHelpers;
+	private final Object poolLock = new Object();
+	private volatile ExecutorService blockingExecutorService;
+	private volatile boolean virtualThreads;
+	private volatile ForkJoinPool parallelPool;
+	private TraceTrack virtualThreadTrack;
+	private boolean disposed;
 	private final AtomicInteger threadIdGenerator = new AtomicInteger(0);
-	private final ConcurrentArray<FrameSpreadTask> spreadTasks = new ConcurrentArray<FrameSpreadTask>(false, 16);
+	private final FrameSpreadScheduler frameSpreadScheduler = new FrameSpreadScheduler();
+	private final Array<Runnable> gameThreadRunnables = new Array<Runnable>(Runnable.class);
+	private final Array<Runnable> executedGameThreadRunnables = new Array<Runnable>(Runnable.class);
 
-	private int maxFrameTasksPerFrame;
+	private int maxFrameTasksPerFrame = Integer.MAX_VALUE;
 
 	public LibgdxTaskExecutor(int threads) {
-		executorService = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+		this(threads, USE_VIRTUAL_THREADS);
+	}
+
+	/**
+	 * Constructor
+	 * @param threads The amount of threads for CPU-bound tasks
+	 * @param useVirtualThreads True if blocking tasks should run on virtual threads when supported by the JVM
+	 */
+	public LibgdxTaskExecutor(int threads, boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+		executorService = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
 			@Override
 			public Thread newThread(Runnable r) {
-				Thread result = new Thread(r);
+				Thread result = new TaskThread(r);
 				result.setName(LOGGING_TAG + "-" + threadIdGenerator.getAndIncrement());
 				return result;
 			}
+		}) {
+			@Override
+			protected void beforeExecute(Thread t, Runnable r) {
+				((TaskThread) t).taskStartNanos = System.nanoTime();
+			}
+
+			@Override
+			protected void afterExecute(Runnable r, Throwable t) {
+				if(!TraceExporter.isEnabled()) {
+					return;
+				}
+				final TaskThread thread = (TaskThread) Thread.currentThread();
+				TraceExporter.complete(TraceExporter.CATEGORY_TASK, TASK_TRACE_NAME, thread.taskStartNanos, System.nanoTime());
+			}
+		};
+
+		//The calling thread also executes parallel work
+		parallelHelpers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+		virtualThreads = useVirtualThreads && VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+	}
+
+	/**
+	 * Looks up the JDK 21+ virtual thread executor factory
+	 * @return Null if virtual threads are not supported by the JVM
+	 */
+	private static Method findVirtualThreadExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates the blocking pool on first use so that executors which never run blocking tasks do not allocate it
+	 */
+	private ExecutorService getBlockingExecutorService() {
+		ExecutorService result = blockingExecutorService;
+		if(result != null) {
+			return result;
+		}
+		synchronized(poolLock) {
+			if(blockingExecutorService == null) {
+				if(disposed) {
+					throw new RejectedExecutionException(LOGGING_TAG + " has been disposed");
+				}
+				blockingExecutorService = virtualThreads ? createVirtualThreadExecutor() : createBlockingThreadPool();
+			}
+			return blockingExecutorService;
+		}
+	}
+
+	/**
+	 * Creates an executor that runs each task on a new virtual thread (requires JDK 21+)
+	 */
+	private ExecutorService createVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+		} catch (Exception e) {
+			virtualThreads = false;
+			return createBlockingThreadPool();
+		}
+	}
+
+	private ExecutorService createBlockingThreadPool() {
+		//Blocking tasks spend most of their time waiting so more threads than cores are used
+		final int blockingThreads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+		final ThreadPoolExecutor result = new ThreadPoolExecutor(blockingThreads, blockingThreads, 30L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread result = new Thread(r);
+				result.setName(LOGGING_TAG + "-io-" + threadIdGenerator.getAndIncrement());
+				result.setDaemon(true);
+				return result;
+			}
 		});
-		maxFrameTasksPerFrame = DEFAULT_MAX_FRAME_TASKS_PER_FRAME;
+		result.allowCoreThreadTimeOut(true);
+		return result;
 	}
 
 	@Override
 	public TaskExecutor newExecutor(int threads) {
-		return new LibgdxTaskExecutor(threads);
+		return new LibgdxTaskExecutor(threads, useVirtualThreads);
 	}
 
 	@Override
 	public void update(float delta) {
-		int taskCount = 0;
-		for(int i = 0; i < spreadTasks.size(); i++) {
-			if(spreadTasks.get(i).updateTask()) {
-				spreadTasks.removeIndex(i);
-				i--;
-			}
-			taskCount++;
-
-			if(taskCount >= maxFrameTasksPerFrame) {
-				break;
-			}
+		synchronized(gameThreadRunnables) {
+			executedGameThreadRunnables.addAll(gameThreadRunnables);
+			gameThreadRunnables.clear();
+		}
+		for(int i = 0; i < executedGameThreadRunnables.size; i++) {
+			executedGameThreadRunnables.get(i).run();
 		}
+		executedGameThreadRunnables.clear();
+
+		frameSpreadScheduler.update(maxFrameTasksPerFrame);
 	}
 
 	@Override
@@ -90,14 +206,173 @@ public class LibgdxTaskExecutor implements TaskExecutor {
 		return new LibgdxAsyncResult<T>(executorService.submit(callable));
 	}
 
+	@Override
+	public void executeBlocking(Runnable runnable) {
+		getBlockingExecutorService().execute(traceBlocking(runnable));
+	}
+
+	@Override
+	public AsyncFuture submitBlocking(Runnable runnable) {
+		final Future future = getBlockingExecutorService().submit(traceBlocking(runnable));
+		return new AsyncFuture() {
+			@Override
+			public boolean isFinished() {
+				return future.isDone() || future.isCancelled();
+			}
+		};
+	}
+
+	@Override
+	public <T> AsyncResult<T> submitBlocking(Callable<T> callable) {
+		return new LibgdxAsyncResult<T>(getBlockingExecutorService().submit(traceBlocking(callable)));
+	}
+
+	/**
+	 * Wraps a blocking task so that it records a trace event while {@link TraceExporter} is enabled.
+	 * Virtual threads are created per task so their events share one track instead of one track per thread.
+	 */
+	private Runnable traceBlocking(final Runnable runnable) {
+		if(!TraceExporter.isEnabled()) {
+			return runnable;
+		}
+		final TraceTrack track = getBlockingTraceTrack();
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long startNanos = System.nanoTime();
+				try {
+					runnable.run();
+				} finally {
+					traceBlockingTask(track, startNanos);
+				}
+			}
+		};
+	}
+
+	private <T> Callable<T> traceBlocking(final Callable<T> callable) {
+		if(!TraceExporter.isEnabled()) {
+			return callable;
+		}
+		final TraceTrack track = getBlockingTraceTrack();
+		return new Callable<T>() {
+			@Override
+			public T call() throws Exception {
+				final long startNanos = System.nanoTime();
+				try {
+					return callable.call();
+				} finally {
+					traceBlockingTask(track, startNanos);
+				}
+			}
+		};
+	}
+
+	private TraceTrack getBlockingTraceTrack() {
+		if(!virtualThreads) {
+			return null;
+		}
+		synchronized(poolLock) {
+			if(virtualThreadTrack == null) {
+				virtualThreadTrack = TraceExporter.newTrack(LOGGING_TAG + "-virtual");
+			}
+			return virtualThreadTrack;
+		}
+	}
+
+	private static void traceBlockingTask(TraceTrack track, long startNanos) {
+		if(track == null) {
+			TraceExporter.complete(TraceExporter.CATEGORY_TASK, BLOCKING_TASK_TRACE_NAME, startNanos, System.nanoTime());
+		} else {
+			TraceExporter.complete(track, TraceExporter.CATEGORY_TASK, BLOCKING_TASK_TRACE_NAME, startNanos, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Returns if blocking tasks are run on virtual threads
+	 * @return False if virtual threads were disabled or are not supported by the JVM
+	 */
+	public boolean isUsingVirtualThreads() {
+		return virtualThreads;
+	}
+
+	@Override
+	public void parallelFor(int start, int end, int grainSize, ParallelForBody body) {
+		final LibgdxParallelJob<Void> job = new LibgdxParallelJob<Void>(start, end, getGrainSize(start, end, grainSize), body);
+		job.execute(getParallelPool(), parallelHelpers);
+	}
+
+	@Override
+	public <T> T parallelReduce(int start, int end, int grainSize, ParallelReduceBody<T> body) {
+		final LibgdxParallelJob<T> job = new LibgdxParallelJob<T>(start, end, getGrainSize(start, end, grainSize), body);
+		return job.execute(getParallelPool(), parallelHelpers);
+	}
+
+	/**
+	 * Creates the parallel pool on first use so that executors which never run parallel jobs do not start its threads
+	 */
+	private ForkJoinPool getParallelPool() {
+		ForkJoinPool result = parallelPool;
+		if(result != null) {
+			return result;
+		}
+		synchronized(poolLock) {
+			if(parallelPool == null) {
+				if(disposed) {
+					throw new RejectedExecutionException(LOGGING_TAG + " has been disposed");
+				}
+				parallelPool = new ForkJoinPool(parallelHelpers, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+					@Override
+					public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+						final ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+						result.setName(LOGGING_TAG + "-parallel-" + threadIdGenerator.getAndIncrement());
+						result.setDaemon(true);
+						return result;
+					}
+				}, null, true);
+			}
+			return parallelPool;
+		}
+	}
+
+	private int getGrainSize(int start, int end, int grainSize) {
+		if(grainSize > 0) {
+			return grainSize;
+		}
+		//Several chunks per thread so that uneven workloads are balanced
+		final int totalThreads = parallelHelpers + 1;
+		return Math.max(1, (end - start) / (totalThreads * 4));
+	}
+
+	@Override
+	public void executeOnGameThread(Runnable runnable) {
+		synchronized(gameThreadRunnables) {
+			gameThreadRunnables.add(runnable);
+		}
+	}
+
 	@Override
 	public void submit(FrameSpreadTask task) {
-		spreadTasks.add(task);
+		frameSpreadScheduler.submit(task);
+	}
+
+	@Override
+	public void submit(FrameSpreadTask task, FrameSpreadPriority priority) {
+		frameSpreadScheduler.submit(task, priority);
+	}
+
+	@Override
+	public void setFrameSpreadTaskBudget(long minBudgetNanos, long maxBudgetNanos) {
+		frameSpreadScheduler.setFrameBudget(minBudgetNanos, maxBudgetNanos);
+	}
+
+	@Override
+	public void setAdaptiveFrameSpreadTaskBudget(boolean adaptiveBudget) {
+		frameSpreadScheduler.setAdaptiveBudget(adaptiveBudget);
 	}
 
 	@Override
 	public void setMaxFrameTasksPerFrame(int max) {
-		this.maxFrameTasksPerFrame = max;
+		this.maxFrameTasksPerFrame = max > 0 ? max : Integer.MAX_VALUE;
 	}
 
 	@Override
@@ -116,11 +391,28 @@ public class LibgdxTaskExecutor implements TaskExecutor {
 
 	@Override
 	public int getTotalQueuedFrameSpreadTasks() {
-		return spreadTasks.size();
+		return frameSpreadScheduler.getTotalQueuedTasks();
 	}
 
 	@Override
 	public void dispose() {
 		executorService.shutdown();
+		synchronized(poolLock) {
+			disposed = true;
+			if(blockingExecutorService != null) {
+				blockingExecutorService.shutdown();
+			}
+			if(parallelPool != null) {
+				parallelPool.shutdown();
+			}
+		}
+	}
+
+	private static class TaskThread extends Thread {
+		long taskStartNanos;
+
+		TaskThread(Runnable runnable) {
+			super(runnable);
+		}
 	}
 }
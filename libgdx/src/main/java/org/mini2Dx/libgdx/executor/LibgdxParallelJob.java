@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.executor;
+
+import org.mini2Dx.core.executor.ParallelForBody;
+import org.mini2Dx.core.executor.ParallelReduceBody;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a range of indices split into chunks of grain size. Chunks are claimed dynamically by the
+ * calling thread and by helper tasks on a work-stealing {@link ForkJoinPool}, so threads that finish
+ * early take on more of the work and the calling thread never sits idle while work remains.
+ * @param <T> The result type for reductions
+ */
+public class LibgdxParallelJob<T> implements Runnable {
+	private final int start, end, grainSize, totalChunks;
+	private final ParallelForBody forBody;
+	private final ParallelReduceBody<T> reduceBody;
+	private final Object[] results;
+
+	private final AtomicInteger nextChunk = new AtomicInteger();
+	private final AtomicInteger completedChunks = new AtomicInteger();
+	private volatile Throwable error;
+
+	public LibgdxParallelJob(int start, int end, int grainSize, ParallelForBody body) {
+		this(start, end, grainSize, body, null);
+	}
+
+	public LibgdxParallelJob(int start, int end, int grainSize, ParallelReduceBody<T> body) {
+		this(start, end, grainSize, null, body);
+	}
+
+	private LibgdxParallelJob(int start, int end, int grainSize, ParallelForBody forBody, ParallelReduceBody<T> reduceBody) {
+		super();
+		this.start = start;
+		this.end = end;
+		this.grainSize = Math.max(1, grainSize);
+		this.totalChunks = end <= start ? 0 : ((end - start) + this.grainSize - 1) / this.grainSize;
+		this.forBody = forBody;
+		this.reduceBody = reduceBody;
+		this.results = reduceBody == null ? null : new Object[totalChunks];
+	}
+
+	@Override
+	public void run() {
+		executeChunks();
+	}
+
+	private void executeChunks() {
+		int chunk;
+		while((chunk = nextChunk.getAndIncrement()) < totalChunks) {
+			final int chunkStart = start + (chunk * grainSize);
+			final int chunkEnd = Math.min(end, chunkStart + grainSize);
+			try {
+				if(error == null) {
+					if(forBody != null) {
+						for(int i = chunkStart; i < chunkEnd; i++) {
+							forBody.execute(i);
+						}
+					} else {
+						results[chunk] = reduceBody.reduce(chunkStart, chunkEnd);
+					}
+				}
+			} catch (Throwable t) {
+				if(error == null) {
+					error = t;
+				}
+			}
+			if(completedChunks.incrementAndGet() == totalChunks) {
+				synchronized(this) {
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Executes all chunks and waits for them to complete
+	 * @param pool The {@link ForkJoinPool} to run helper tasks on
+	 * @param maxHelpers The maximum amount of helper tasks to submit
+	 * @return The combined result for reductions, otherwise null
+	 */
+	public T execute(ForkJoinPool pool, int maxHelpers) {
+		if(totalChunks == 0) {
+			return null;
+		}
+		final int totalHelpers = Math.min(maxHelpers, totalChunks - 1);
+		for(int i = 0; i < totalHelpers; i++) {
+			pool.execute(this);
+		}
+		executeChunks();
+
+		boolean interrupted = false;
+		synchronized(this) {
+			while(completedChunks.get() < totalChunks) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		if(error != null) {
+			if(error instanceof RuntimeException) {
+				throw (RuntimeException) error;
+			}
+			if(error instanceof Error) {
+				throw (Error) error;
+			}
+			throw new RuntimeException(error);
+		}
+		if(reduceBody == null) {
+			return null;
+		}
+		T result = getResult(0);
+		for(int i = 1; i < totalChunks; i++) {
+			result = reduceBody.combine(result, getResult(i));
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getResult(int chunkIndex) {
+		return (T) results[chunkIndex];
+	}
+}
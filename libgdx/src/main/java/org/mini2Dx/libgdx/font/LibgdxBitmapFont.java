@@ -18,6 +18,7 @@ package org.mini2Dx.libgdx.font;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.utils.Align;
 import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.font.FontGlyphLayout;
@@ -83,7 +84,9 @@ public class LibgdxBitmapFont implements GameFont {
 
 	@Override
 	public void draw(Graphics g, String str, float x, float y) {
-		bitmapFont.draw(((LibgdxGraphics) g).spriteBatch, str, x, y);
+		final LibgdxGraphics gdxGraphics = (LibgdxGraphics) g;
+		gdxGraphics.submitDrawCommands();
+		bitmapFont.draw(gdxGraphics.spriteBatch, str, x, y);
 	}
 
 	@Override
@@ -93,7 +96,9 @@ public class LibgdxBitmapFont implements GameFont {
 
 	@Override
 	public void draw(Graphics g, String str, float x, float y, float targetWidth, int horizontalAlignment, boolean wrap) {
-		bitmapFont.draw(((LibgdxGraphics) g).spriteBatch, str, x, y, targetWidth, horizontalAlignment, wrap);
+		final LibgdxGraphics gdxGraphics = (LibgdxGraphics) g;
+		gdxGraphics.submitDrawCommands();
+		bitmapFont.draw(gdxGraphics.spriteBatch, str, x, y, targetWidth, horizontalAlignment, wrap);
 	}
 
 	@Override
@@ -140,6 +145,9 @@ public class LibgdxBitmapFont implements GameFont {
 	@Override
 	public void dispose() {
 		bitmapFont.dispose();
+		if(Mdx.fonts != null) {
+			Mdx.fonts.getGlyphLayoutCache().invalidate(this);
+		}
 	}
 
 	private static com.badlogic.gdx.utils.Array<com.badlogic.gdx.graphics.g2d.TextureRegion> convert(Array<TextureRegion> pageRegions) {
@@ -56,6 +56,7 @@ public class LibgdxBitmapFontCache implements GameFontCache {
 	@Override
 	public void draw(Graphics g) {
 		final LibgdxGraphics gdxGraphics = (LibgdxGraphics) g;
+		gdxGraphics.submitDrawCommands();
 		bitmapFontCache.draw(gdxGraphics.spriteBatch);
 	}
 
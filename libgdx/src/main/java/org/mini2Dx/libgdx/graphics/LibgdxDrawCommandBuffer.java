@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.graphics;
+
+import com.badlogic.gdx.graphics.Texture;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Records draw operations into primitive arrays so that they can be submitted
+ * grouped by layer, pipeline and {@link Texture}.
+ *
+ * Commands are sorted by (layer, recording order) so painter's order is kept within a layer.
+ * If {@link #setReorderWithinLayers(boolean)} is enabled, commands are sorted by
+ * (layer, pipeline, texture, recording order) instead. Texture order is the order in which
+ * each {@link Texture} was first recorded so submission is deterministic.
+ */
+public class LibgdxDrawCommandBuffer {
+	/**
+	 * The default maximum amount of commands before the buffer must be submitted
+	 */
+	public static final int DEFAULT_MAX_COMMANDS = 1 << 16;
+	/**
+	 * The upper limit for the maximum amount of commands
+	 */
+	public static final int MAX_COMMANDS_LIMIT = 1 << 24;
+	public static final int MIN_LAYER = -(1 << 14);
+	public static final int MAX_LAYER = (1 << 14) - 1;
+
+	private static final int PIPELINE_SPRITES = 0;
+	private static final int PIPELINE_SHAPES = 1;
+
+	private static final int TYPE_TEXTURE = 0;
+	private static final int TYPE_TEXTURE_REGION = 1;
+	private static final int TYPE_SPRITE = 2;
+	private static final int TYPE_LINE = 3;
+	private static final int TYPE_CIRCLE = 4;
+	private static final int TYPE_POLYGON = 5;
+
+	private static final int SPRITE_VERTICES = 20;
+	private static final long SEQUENCE_MASK = MAX_COMMANDS_LIMIT - 1;
+	private static final int MAX_TEXTURE_ID = (1 << 22) - 1;
+
+	private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<Texture>();
+	private final int maxCommands;
+
+	private boolean reorderWithinLayers;
+	private int size;
+	private int[] types;
+	private int[] offsets;
+	private long[] keys;
+	private Texture[] textures;
+
+	private int dataSize;
+	private float[] data;
+
+	/**
+	 * Constructor
+	 */
+	public LibgdxDrawCommandBuffer() {
+		this(256);
+	}
+
+	/**
+	 * Constructor
+	 * @param initialCapacity The initial amount of commands
+	 */
+	public LibgdxDrawCommandBuffer(int initialCapacity) {
+		this(initialCapacity, DEFAULT_MAX_COMMANDS);
+	}
+
+	/**
+	 * Constructor
+	 * @param initialCapacity The initial amount of commands. The buffer grows as required up to maxCommands.
+	 * @param maxCommands The maximum amount of commands before the buffer must be submitted (up to {@link #MAX_COMMANDS_LIMIT})
+	 */
+	public LibgdxDrawCommandBuffer(int initialCapacity, int maxCommands) {
+		super();
+		this.maxCommands = Math.max(1, Math.min(MAX_COMMANDS_LIMIT, maxCommands));
+		initialCapacity = Math.max(1, Math.min(this.maxCommands, initialCapacity));
+		types = new int[initialCapacity];
+		offsets = new int[initialCapacity];
+		keys = new long[initialCapacity];
+		textures = new Texture[initialCapacity];
+		data = new float[initialCapacity * 12];
+	}
+
+	/**
+	 * Records a region of a {@link Texture} drawn without rotation
+	 */
+	public void addTexture(int layer, Texture texture, float x, float y, float width, float height,
+	                       int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY, float packedTint) {
+		final int offset = addCommand(TYPE_TEXTURE, layer, PIPELINE_SPRITES, texture, 11);
+		data[offset] = x;
+		data[offset + 1] = y;
+		data[offset + 2] = width;
+		data[offset + 3] = height;
+		data[offset + 4] = srcX;
+		data[offset + 5] = srcY;
+		data[offset + 6] = srcWidth;
+		data[offset + 7] = srcHeight;
+		data[offset + 8] = flipX ? 1f : 0f;
+		data[offset + 9] = flipY ? 1f : 0f;
+		data[offset + 10] = packedTint;
+	}
+
+	/**
+	 * Records a texture region. The texture coordinates are copied so the region may be modified after recording.
+	 */
+	public void addTextureRegion(int layer, Texture texture, float u, float v, float u2, float v2,
+	                             float x, float y, float width, float height, float rotation, float packedTint) {
+		final int offset = addCommand(TYPE_TEXTURE_REGION, layer, PIPELINE_SPRITES, texture, 10);
+		data[offset] = u;
+		data[offset + 1] = v;
+		data[offset + 2] = u2;
+		data[offset + 3] = v2;
+		data[offset + 4] = x;
+		data[offset + 5] = y;
+		data[offset + 6] = width;
+		data[offset + 7] = height;
+		data[offset + 8] = rotation;
+		data[offset + 9] = packedTint;
+	}
+
+	/**
+	 * Records the 20 vertices of a sprite. The vertices are copied.
+	 */
+	public void addSprite(int layer, Texture texture, float[] vertices) {
+		addSprite(layer, texture, vertices, 0);
+	}
+
+	/**
+	 * Records the 20 vertices of a sprite starting at an offset. The vertices are copied.
+	 */
+	public void addSprite(int layer, Texture texture, float[] vertices, int vertexOffset) {
+		final int offset = addCommand(TYPE_SPRITE, layer, PIPELINE_SPRITES, texture, SPRITE_VERTICES);
+		System.arraycopy(vertices, vertexOffset, data, offset, SPRITE_VERTICES);
+	}
+
+	/**
+	 * Records a filled line
+	 */
+	public void addLine(int layer, float x1, float y1, float x2, float y2, float width, float packedColor) {
+		final int offset = addCommand(TYPE_LINE, layer, PIPELINE_SHAPES, null, 6);
+		data[offset] = x1;
+		data[offset + 1] = y1;
+		data[offset + 2] = x2;
+		data[offset + 3] = y2;
+		data[offset + 4] = width;
+		data[offset + 5] = packedColor;
+	}
+
+	/**
+	 * Records a circle outline or filled circle
+	 */
+	public void addCircle(int layer, float centerX, float centerY, float radius, boolean filled, float packedColor) {
+		final int offset = addCommand(TYPE_CIRCLE, layer, PIPELINE_SHAPES, null, 5);
+		data[offset] = centerX;
+		data[offset + 1] = centerY;
+		data[offset + 2] = radius;
+		data[offset + 3] = filled ? 1f : 0f;
+		data[offset + 4] = packedColor;
+	}
+
+	/**
+	 * Records a polygon outline. The vertices are copied.
+	 */
+	public void addPolygon(int layer, float[] vertices, float packedColor) {
+		final int offset = addCommand(TYPE_POLYGON, layer, PIPELINE_SHAPES, null, vertices.length + 2);
+		data[offset] = packedColor;
+		data[offset + 1] = vertices.length;
+		System.arraycopy(vertices, 0, data, offset + 2, vertices.length);
+	}
+
+	private int addCommand(int type, int layer, int pipeline, Texture texture, int dataLength) {
+		if(size == types.length) {
+			final int newCapacity = Math.min(maxCommands, size * 2);
+			types = Arrays.copyOf(types, newCapacity);
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			keys = Arrays.copyOf(keys, newCapacity);
+			textures = Arrays.copyOf(textures, newCapacity);
+		}
+		if(dataSize + dataLength > data.length) {
+			data = Arrays.copyOf(data, Math.max(dataSize + dataLength, data.length * 2));
+		}
+
+		int textureId = 0;
+		if(texture != null) {
+			textureId = textureIds.get(texture, -1);
+			if(textureId < 0) {
+				textureId = Math.min(MAX_TEXTURE_ID, textureIds.size);
+				textureIds.put(texture, textureId);
+			}
+		}
+		layer = Math.max(MIN_LAYER, Math.min(MAX_LAYER, layer)) - MIN_LAYER;
+
+		final int index = size;
+		types[index] = type;
+		offsets[index] = dataSize;
+		textures[index] = texture;
+		if(reorderWithinLayers) {
+			keys[index] = ((long) layer << 48) | ((long) pipeline << 46) | ((long) textureId << 24) | index;
+		} else {
+			keys[index] = ((long) layer << 48) | index;
+		}
+		size++;
+
+		final int offset = dataSize;
+		dataSize += dataLength;
+		return offset;
+	}
+
+	/**
+	 * Submits all recorded commands in sorted order and clears the buffer
+	 * @param submitter The {@link Submitter} to draw the commands with
+	 */
+	public void submit(Submitter submitter) {
+		if(size == 0) {
+			return;
+		}
+		Arrays.sort(keys, 0, size);
+
+		for(int i = 0; i < size; i++) {
+			final int index = (int) (keys[i] & SEQUENCE_MASK);
+			final int offset = offsets[index];
+			switch(types[index]) {
+			case TYPE_TEXTURE:
+				submitter.drawTexture(textures[index], data[offset], data[offset + 1], data[offset + 2], data[offset + 3],
+						(int) data[offset + 4], (int) data[offset + 5], (int) data[offset + 6], (int) data[offset + 7],
+						data[offset + 8] != 0f, data[offset + 9] != 0f, data[offset + 10]);
+				break;
+			case TYPE_TEXTURE_REGION:
+				submitter.drawTextureRegion(textures[index], data[offset], data[offset + 1], data[offset + 2], data[offset + 3],
+						data[offset + 4], data[offset + 5], data[offset + 6], data[offset + 7], data[offset + 8], data[offset + 9]);
+				break;
+			case TYPE_SPRITE:
+				submitter.drawSprite(textures[index], data, offset);
+				break;
+			case TYPE_LINE:
+				submitter.drawLine(data[offset], data[offset + 1], data[offset + 2], data[offset + 3], data[offset + 4], data[offset + 5]);
+				break;
+			case TYPE_CIRCLE:
+				submitter.drawCircle(data[offset], data[offset + 1], data[offset + 2], data[offset + 3] != 0f, data[offset + 4]);
+				break;
+			case TYPE_POLYGON:
+				submitter.drawPolygon(data, offset + 2, (int) data[offset + 1], data[offset]);
+				break;
+			}
+		}
+		clear();
+	}
+
+	/**
+	 * Discards all recorded commands
+	 */
+	public void clear() {
+		Arrays.fill(textures, 0, size, null);
+		textureIds.clear();
+		size = 0;
+		dataSize = 0;
+	}
+
+	/**
+	 * Returns the amount of recorded commands
+	 * @return 0 if the buffer is empty
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if the buffer must be submitted before more commands are recorded
+	 * @return True if the maximum amount of commands have been recorded
+	 */
+	public boolean isFull() {
+		return size >= maxCommands;
+	}
+
+	/**
+	 * Returns the maximum amount of commands before the buffer must be submitted
+	 * @return {@link #DEFAULT_MAX_COMMANDS} by default
+	 */
+	public int getMaxCommands() {
+		return maxCommands;
+	}
+
+	/**
+	 * Returns if commands within the same layer are grouped by pipeline and texture
+	 * @return False by default
+	 */
+	public boolean isReorderWithinLayers() {
+		return reorderWithinLayers;
+	}
+
+	/**
+	 * Sets if commands within the same layer are grouped by pipeline and texture. Only applies
+	 * to commands recorded after it is set. Overlapping draws within a layer may be drawn in a different order.
+	 * @param reorderWithinLayers True to group by pipeline and texture, false to keep recording order
+	 */
+	public void setReorderWithinLayers(boolean reorderWithinLayers) {
+		this.reorderWithinLayers = reorderWithinLayers;
+	}
+
+	/**
+	 * Draws commands submitted by a {@link LibgdxDrawCommandBuffer}.
+	 * Colors and tints are packed via {@link com.badlogic.gdx.graphics.Color#toFloatBits()}.
+	 */
+	public interface Submitter {
+
+		public void drawTexture(Texture texture, float x, float y, float width, float height,
+		                        int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY, float packedTint);
+
+		public void drawTextureRegion(Texture texture, float u, float v, float u2, float v2,
+		                              float x, float y, float width, float height, float rotation, float packedTint);
+
+		public void drawSprite(Texture texture, float[] vertices, int offset);
+
+		public void drawLine(float x1, float y1, float x2, float y2, float width, float packedColor);
+
+		public void drawCircle(float centerX, float centerY, float radius, boolean filled, float packedColor);
+
+		public void drawPolygon(float[] vertices, int offset, int count, float packedColor);
+	}
+}
@@ -23,6 +23,11 @@ public class LibgdxTextureAtlasRegion extends LibgdxTextureRegion implements Tex
 
     public final String name, texturePath;
     public final boolean rotate;
+    /**
+     * The position the region was created at. Regions moved by
+     * {@link org.mini2Dx.core.graphics.RuntimeTextureAtlas#defragment()} do not update this,
+     * use {@link #getRegionX()} and {@link #getRegionY()} for the current position.
+     */
     public final int x, y;
     public final int width, height;
     public final int originalWidth, originalHeight;
@@ -111,4 +111,24 @@ public class LibgdxGraphicsTest {
 		Assert.assertNotNull(graphics.getBackgroundColor());
 	}
 
+	@Test
+	public void testCullingRejectsDrawsOutsideViewport() {
+		graphics.setDeferredRendering(true);
+		graphics.drawLineSegment(900f, 0f, 950f, 0f);
+		Assert.assertEquals(0, graphics.getCulledDrawCount());
+
+		graphics.setCullingEnabled(true);
+		graphics.drawLineSegment(900f, 0f, 950f, 0f);
+		graphics.drawCircle(-20f, 300f, 10);
+		graphics.drawPolygon(new float[] {0f, 700f, 10f, 700f, 5f, 710f});
+		Assert.assertEquals(3, graphics.getCulledDrawCount());
+		Assert.assertEquals(0, graphics.getSubmittedDrawCount());
+
+		graphics.drawLineSegment(790f, 0f, 850f, 0f);
+		graphics.drawCircle(-5f, 300f, 10);
+		graphics.drawPolygon(new float[] {0f, 590f, 10f, 590f, 5f, 610f});
+		Assert.assertEquals(3, graphics.getCulledDrawCount());
+		Assert.assertEquals(3, graphics.getSubmittedDrawCount());
+	}
+
 }
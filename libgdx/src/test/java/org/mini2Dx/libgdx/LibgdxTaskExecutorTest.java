@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.core.executor.AsyncResult;
+import org.mini2Dx.core.executor.ParallelForBody;
+import org.mini2Dx.core.executor.ParallelReduceBody;
+import org.mini2Dx.core.profiler.TraceExporter;
+
+import java.io.StringWriter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Unit tests for {@link LibgdxTaskExecutor}
+ */
+public class LibgdxTaskExecutorTest {
+	private LibgdxTaskExecutor taskExecutor;
+
+	@Before
+	public void setUp() {
+		Mdx.platformUtils = new LibgdxPlatformUtils() {
+			@Override
+			public boolean isGameThread() {
+				return false;
+			}
+
+			@Override
+			public void enablePerformanceMode() {
+			}
+
+			@Override
+			public void cancelPerformanceMode() {
+			}
+		};
+		taskExecutor = new LibgdxTaskExecutor(2);
+	}
+
+	@After
+	public void teardown() {
+		taskExecutor.dispose();
+	}
+
+	@Test
+	public void testParallelFor() {
+		final AtomicIntegerArray counts = new AtomicIntegerArray(1000);
+		taskExecutor.parallelFor(0, counts.length(), 7, new ParallelForBody() {
+			@Override
+			public void execute(int index) {
+				counts.incrementAndGet(index);
+			}
+		});
+		for(int i = 0; i < counts.length(); i++) {
+			Assert.assertEquals(1, counts.get(i));
+		}
+	}
+
+	@Test
+	public void testParallelForAutomaticGrainSize() {
+		final AtomicIntegerArray counts = new AtomicIntegerArray(100);
+		taskExecutor.parallelFor(10, 90, 0, new ParallelForBody() {
+			@Override
+			public void execute(int index) {
+				counts.incrementAndGet(index);
+			}
+		});
+		for(int i = 0; i < counts.length(); i++) {
+			Assert.assertEquals(i >= 10 && i < 90 ? 1 : 0, counts.get(i));
+		}
+	}
+
+	@Test
+	public void testParallelForEmptyRange() {
+		taskExecutor.parallelFor(5, 5, 1, new ParallelForBody() {
+			@Override
+			public void execute(int index) {
+				Assert.fail();
+			}
+		});
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testParallelForException() {
+		taskExecutor.parallelFor(0, 100, 1, new ParallelForBody() {
+			@Override
+			public void execute(int index) {
+				if(index == 50) {
+					throw new IllegalStateException();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testParallelReduce() {
+		final Long result = taskExecutor.parallelReduce(0, 10000, 64, new ParallelReduceBody<Long>() {
+			@Override
+			public Long reduce(int start, int end) {
+				long total = 0L;
+				for(int i = start; i < end; i++) {
+					total += i;
+				}
+				return total;
+			}
+
+			@Override
+			public Long combine(Long left, Long right) {
+				return left + right;
+			}
+		});
+		Assert.assertEquals(Long.valueOf(49995000L), result);
+	}
+
+	@Test
+	public void testParallelReduceCombinesInOrder() {
+		final String result = taskExecutor.parallelReduce(0, 26, 3, new ParallelReduceBody<String>() {
+			@Override
+			public String reduce(int start, int end) {
+				final StringBuilder builder = new StringBuilder();
+				for(int i = start; i < end; i++) {
+					builder.append((char) ('a' + i));
+				}
+				return builder.toString();
+			}
+
+			@Override
+			public String combine(String left, String right) {
+				return left + right;
+			}
+		});
+		Assert.assertEquals("abcdefghijklmnopqrstuvwxyz", result);
+		Assert.assertNull(taskExecutor.parallelReduce(0, 0, 1, new ParallelReduceBody<String>() {
+			@Override
+			public String reduce(int start, int end) {
+				return "";
+			}
+
+			@Override
+			public String combine(String left, String right) {
+				return left;
+			}
+		}));
+	}
+
+	@Test
+	public void testExecuteOnGameThread() {
+		final int [] totalRuns = new int[1];
+		taskExecutor.executeOnGameThread(new Runnable() {
+			@Override
+			public void run() {
+				totalRuns[0]++;
+			}
+		});
+		Assert.assertEquals(0, totalRuns[0]);
+		taskExecutor.update(1f);
+		Assert.assertEquals(1, totalRuns[0]);
+		taskExecutor.update(1f);
+		Assert.assertEquals(1, totalRuns[0]);
+	}
+
+	@Test
+	public void testSubmitBlocking() throws InterruptedException {
+		final AsyncResult<String> result = taskExecutor.submitBlocking(new Callable<String>() {
+			@Override
+			public String call() {
+				return Thread.currentThread().getName();
+			}
+		});
+		waitFor(result);
+		Assert.assertFalse(result.getResult().matches("LibgdxTaskExecutor-\\d+"));
+	}
+
+	@Test
+	public void testBlockingTasksDoNotStarveCpuTasks() throws InterruptedException {
+		final CountDownLatch blockingLatch = new CountDownLatch(1);
+		for(int i = 0; i < 4; i++) {
+			taskExecutor.executeBlocking(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						blockingLatch.await();
+					} catch (InterruptedException e) {
+					}
+				}
+			});
+		}
+		final AsyncFuture future = taskExecutor.submit(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+		waitFor(future);
+		Assert.assertEquals(1, blockingLatch.getCount());
+		blockingLatch.countDown();
+	}
+
+	@Test
+	public void testPlatformThreadFallback() throws InterruptedException {
+		final LibgdxTaskExecutor executor = new LibgdxTaskExecutor(1, false);
+		Assert.assertFalse(executor.isUsingVirtualThreads());
+		final AsyncResult<String> result = executor.submitBlocking(new Callable<String>() {
+			@Override
+			public String call() {
+				return Thread.currentThread().getName();
+			}
+		});
+		waitFor(result);
+		Assert.assertTrue(result.getResult().startsWith("LibgdxTaskExecutor-io-"));
+		executor.dispose();
+	}
+
+	@Test
+	public void testBlockingTasksAreTraced() throws Exception {
+		final LibgdxTaskExecutor executor = new LibgdxTaskExecutor(1, false);
+		final StringWriter writer = new StringWriter();
+		TraceExporter.start(writer);
+		try {
+			waitFor(taskExecutor.submitBlocking(new Runnable() {
+				@Override
+				public void run() {
+				}
+			}));
+			waitFor(executor.submitBlocking(new Callable<String>() {
+				@Override
+				public String call() {
+					return "";
+				}
+			}));
+		} finally {
+			TraceExporter.stop();
+			executor.dispose();
+		}
+		final String trace = writer.toString();
+		final int firstEvent = trace.indexOf("\"blockingTask\"");
+		Assert.assertTrue(firstEvent >= 0);
+		Assert.assertTrue(trace.indexOf("\"blockingTask\"", firstEvent + 1) > firstEvent);
+	}
+
+	private void waitFor(AsyncFuture future) throws InterruptedException {
+		final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+		while(!future.isFinished()) {
+			Assert.assertTrue(System.nanoTime() < timeout);
+			Thread.sleep(1L);
+		}
+	}
+}
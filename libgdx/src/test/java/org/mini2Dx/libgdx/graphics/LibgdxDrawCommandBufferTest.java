@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.libgdx.graphics;
+
+import com.badlogic.gdx.graphics.Texture;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.gdx.utils.Array;
+
+/**
+ * Unit tests for {@link LibgdxDrawCommandBuffer}
+ */
+public class LibgdxDrawCommandBufferTest implements LibgdxDrawCommandBuffer.Submitter {
+	private final Array<String> submitted = new Array<String>();
+
+	private Mockery mockery;
+	private Texture textureA, textureB;
+	private LibgdxDrawCommandBuffer buffer;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		textureA = mockery.mock(Texture.class, "textureA");
+		textureB = mockery.mock(Texture.class, "textureB");
+		buffer = new LibgdxDrawCommandBuffer(1);
+	}
+
+	@Test
+	public void testSubmitKeepsRecordingOrderWithinLayer() {
+		buffer.addTexture(0, textureA, 1f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addLine(0, 2f, 0f, 3f, 0f, 1f, 0f);
+		buffer.addTexture(0, textureB, 3f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addTextureRegion(0, textureA, 0f, 0f, 1f, 1f, 4f, 0f, 1f, 1f, 0f, 0f);
+
+		buffer.submit(this);
+		assertSubmitted("texture:textureA:1.0", "line:2.0", "texture:textureB:3.0", "region:textureA:4.0");
+	}
+
+	@Test
+	public void testSubmitGroupsByTextureAndPipeline() {
+		buffer.setReorderWithinLayers(true);
+		buffer.addTexture(0, textureA, 1f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addLine(0, 2f, 0f, 3f, 0f, 1f, 0f);
+		buffer.addTexture(0, textureB, 3f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addTextureRegion(0, textureA, 0f, 0f, 1f, 1f, 4f, 0f, 1f, 1f, 0f, 0f);
+		buffer.addCircle(0, 5f, 0f, 1f, true, 0f);
+		buffer.addTexture(0, textureB, 6f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		Assert.assertEquals(6, buffer.size());
+
+		buffer.submit(this);
+		Assert.assertEquals(0, buffer.size());
+		assertSubmitted("texture:textureA:1.0", "region:textureA:4.0", "texture:textureB:3.0", "texture:textureB:6.0",
+				"line:2.0", "circle:5.0");
+	}
+
+	@Test
+	public void testSubmitRespectsLayers() {
+		buffer.addTexture(1, textureA, 1f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addLine(-1, 2f, 0f, 3f, 0f, 1f, 0f);
+		buffer.addTexture(0, textureB, 3f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addTexture(1, textureB, 4f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+		buffer.addTexture(LibgdxDrawCommandBuffer.MAX_LAYER + 100, textureA, 5f, 0f, 1f, 1f, 0, 0, 1, 1, false, false, 0f);
+
+		buffer.submit(this);
+		assertSubmitted("line:2.0", "texture:textureB:3.0", "texture:textureA:1.0", "texture:textureB:4.0", "texture:textureA:5.0");
+	}
+
+	@Test
+	public void testMaxCommands() {
+		buffer = new LibgdxDrawCommandBuffer(1, 2);
+		buffer.addLine(0, 2f, 0f, 3f, 0f, 1f, 0f);
+		Assert.assertFalse(buffer.isFull());
+		buffer.addLine(0, 3f, 0f, 4f, 0f, 1f, 0f);
+		Assert.assertTrue(buffer.isFull());
+		Assert.assertEquals(LibgdxDrawCommandBuffer.DEFAULT_MAX_COMMANDS, new LibgdxDrawCommandBuffer().getMaxCommands());
+	}
+
+	@Test
+	public void testVerticesAreCopied() {
+		final float[] spriteVertices = new float[20];
+		spriteVertices[0] = 7f;
+		final float[] polygonVertices = new float[] {8f, 0f, 1f, 0f, 1f, 1f};
+
+		buffer.addSprite(0, textureA, spriteVertices);
+		buffer.addPolygon(0, polygonVertices, 0f);
+		spriteVertices[0] = 0f;
+		polygonVertices[0] = 0f;
+
+		buffer.submit(this);
+		assertSubmitted("sprite:textureA:7.0", "polygon:8.0:6");
+	}
+
+	@Test
+	public void testClear() {
+		buffer.addLine(0, 2f, 0f, 3f, 0f, 1f, 0f);
+		buffer.clear();
+		Assert.assertEquals(0, buffer.size());
+
+		buffer.submit(this);
+		Assert.assertEquals(0, submitted.size);
+	}
+
+	private void assertSubmitted(String... expected) {
+		Assert.assertEquals(expected.length, submitted.size);
+		for(int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], submitted.get(i));
+		}
+	}
+
+	@Override
+	public void drawTexture(Texture texture, float x, float y, float width, float height, int srcX, int srcY,
+	                        int srcWidth, int srcHeight, boolean flipX, boolean flipY, float packedTint) {
+		submitted.add("texture:" + texture + ":" + x);
+	}
+
+	@Override
+	public void drawTextureRegion(Texture texture, float u, float v, float u2, float v2, float x, float y,
+	                              float width, float height, float rotation, float packedTint) {
+		submitted.add("region:" + texture + ":" + x);
+	}
+
+	@Override
+	public void drawSprite(Texture texture, float[] vertices, int offset) {
+		submitted.add("sprite:" + texture + ":" + vertices[offset]);
+	}
+
+	@Override
+	public void drawLine(float x1, float y1, float x2, float y2, float width, float packedColor) {
+		submitted.add("line:" + x1);
+	}
+
+	@Override
+	public void drawCircle(float centerX, float centerY, float radius, boolean filled, float packedColor) {
+		submitted.add("circle:" + centerX);
+	}
+
+	@Override
+	public void drawPolygon(float[] vertices, int offset, int count, float packedColor) {
+		submitted.add("polygon:" + vertices[offset] + ":" + count);
+	}
+}
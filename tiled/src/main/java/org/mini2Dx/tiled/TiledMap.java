@@ -21,6 +21,7 @@ import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.graphics.Color;
 import org.mini2Dx.core.graphics.TextureAtlas;
+import org.mini2Dx.core.profiler.Profiler;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.IntMap;
 import org.mini2Dx.tiled.exception.TiledException;
@@ -54,6 +55,7 @@ public class TiledMap {
 	 */
 	public static boolean SHARED_TILE_ID_MAP = false;
 
+	private static final String PROFILER_SCOPE = "tiledmap";
 	private static final IntMap<Tileset> GLOBAL_TILE_ID_TO_TILESET = new IntMap<>(INITIAL_TILE_ID_TO_TILESET_MAP_SIZE);
 
 	private final TiledMapData tiledMapData;
@@ -336,6 +338,7 @@ public class TiledMap {
 	}
 
 	private void drawLayer(Graphics g, Layer tiledLayer, int x, int y, int startTileX, int startTileY, int widthInTiles, int heightInTiles, float alpha) {
+		Profiler.begin(PROFILER_SCOPE);
 		switch (tiledLayer.getLayerType()) {
 		case IMAGE:
 			break;
@@ -352,6 +355,7 @@ public class TiledMap {
 		default:
 			break;
 		}
+		Profiler.end();
 	}
 
 	/**
@@ -15,15 +15,22 @@
  ******************************************************************************/
 package org.mini2Dx.ui;
 
-import com.badlogic.gdx.assets.loaders.FileHandleResolver;
-import com.badlogic.gdx.assets.loaders.resolvers.ClasspathFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessMini2DxGame;
 import org.mini2Dx.core.Graphics;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.assets.AssetManager;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.game.BasicGame;
 import org.mini2Dx.core.game.GameContainer;
+import org.mini2Dx.libgdx.headless.HeadlessMini2DxConfig;
 import org.mini2Dx.ui.element.Container;
 import org.mini2Dx.ui.element.Div;
 import org.mini2Dx.ui.element.Label;
 import org.mini2Dx.ui.element.Visibility;
+import org.mini2Dx.ui.layout.HorizontalAlignment;
+import org.mini2Dx.ui.layout.VerticalAlignment;
+import org.mini2Dx.ui.style.UiTheme;
 import org.openjdk.jmh.annotations.*;
 
 import java.util.ArrayList;
@@ -36,40 +43,50 @@ import java.util.List;
 public class RenderTreeLayoutPerformanceTest {
 	private static final int CHILDREN_PER_NODE = 5;
 	private static final float MAXIMUM_DELTA = 1f / GameContainer.TARGET_FPS;
+	/**
+	 * The default theme is shipped with the UATs. Benchmarks are run from the ui project directory.
+	 */
+	private static final String THEME_DIRECTORY = "../uats-libgdx-desktop/assets/";
 
 	@State(Scope.Thread)
 	public static class TestState extends BasicGame {
-		private FileHandleResolver fileHandleResolver = new ClasspathFileHandleResolver();
-		//private AssetManager assetManager = new AssetManager(fileHandleResolver);
+		private FileHandleResolver fileHandleResolver = new FileHandleResolver() {
+			@Override
+			public FileHandle resolve(String filePath) {
+				return Mdx.files.internal(THEME_DIRECTORY + filePath);
+			}
+		};
 		private List<Container> containers = new ArrayList<Container>();
 		
-		//private HeadlessMini2DxGame game;
+		private HeadlessMini2DxGame game;
+		private AssetManager assetManager;
 		private UiContainer uiContainer;
 		
-//		{
-//			assetManager.setLoader(UiTheme.class, new UiThemeLoader(fileHandleResolver, true));
-//
-//			HeadlessMini2DxConfig config = new HeadlessMini2DxConfig(RenderTreeLayoutPerformanceTest.class.getName());
-//			config.runGame = false;
-//			game = new HeadlessMini2DxGame(this, config);
-//			uiContainer = new UiContainer(this, assetManager);
-//
-//			assetManager.load(UiTheme.DEFAULT_THEME_FILENAME, UiTheme.class);
-//			assetManager.finishLoading();
-//
-//			uiContainer.setTheme(assetManager.get(UiTheme.DEFAULT_THEME_FILENAME, UiTheme.class));
-//
-//			for(HorizontalAlignment hAlignment : HorizontalAlignment.values()) {
-//				for(VerticalAlignment vAlignment : VerticalAlignment.values()) {
-//					Container modal = new Container();
-//					modal.setFlexLayout("flex-column:xs-4c");
-//					modal.setVisibility(Visibility.VISIBLE);
-//
-//					addNestedElements(modal, 0);
-//					containers.add(modal);
-//				}
-//			}
-//		}
+		{
+			HeadlessMini2DxConfig config = new HeadlessMini2DxConfig(RenderTreeLayoutPerformanceTest.class.getName());
+			config.runGame = false;
+			game = new HeadlessMini2DxGame(this, config);
+
+			assetManager = new AssetManager(fileHandleResolver);
+			assetManager.setAssetLoader(UiTheme.class, new UiThemeLoader(fileHandleResolver, true));
+			uiContainer = new UiContainer(this, assetManager);
+
+			assetManager.load(UiTheme.DEFAULT_THEME_FILENAME, UiTheme.class);
+			assetManager.finishLoading();
+
+			UiContainer.setTheme(assetManager.get(UiTheme.DEFAULT_THEME_FILENAME, UiTheme.class));
+
+			for(HorizontalAlignment hAlignment : HorizontalAlignment.values()) {
+				for(VerticalAlignment vAlignment : VerticalAlignment.values()) {
+					Container modal = new Container();
+					modal.setFlexLayout("flex-column:xs-4c");
+					modal.setVisibility(Visibility.VISIBLE);
+
+					addNestedElements(modal, 0);
+					containers.add(modal);
+				}
+			}
+		}
 		
 		@Setup(Level.Iteration)
 		public void setUp() {
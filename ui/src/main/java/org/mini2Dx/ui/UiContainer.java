@@ -18,10 +18,13 @@ package org.mini2Dx.ui;
 import org.mini2Dx.core.Graphics;
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.AssetManager;
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.executor.AsyncFuture;
 import org.mini2Dx.core.game.GameContainer;
 import org.mini2Dx.core.graphics.viewport.Viewport;
 import org.mini2Dx.core.input.GamePadType;
 import org.mini2Dx.core.input.button.GamePadButton;
+import org.mini2Dx.core.profiler.Profiler;
 import org.mini2Dx.gdx.Input;
 import org.mini2Dx.gdx.InputProcessor;
 import org.mini2Dx.gdx.math.MathUtils;
@@ -55,11 +58,19 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class UiContainer extends ParentUiElement implements InputProcessor {
 	private static final String LOGGING_TAG = UiContainer.class.getSimpleName();
+	private static final String PROFILER_LAYOUT_SCOPE = "ui.layout";
+	private static final String PROFILER_UPDATE_SCOPE = "ui.update";
+	private static final String PROFILER_RENDER_SCOPE = "ui.render";
 	private static final Vector2 SHARED_VECTOR = new Vector2();
 	private static final Array<UiContainer> uiContainerInstances = new Array<UiContainer>(true, 2, UiContainer.class);
 	private static Visibility defaultVisibility = Visibility.HIDDEN;
 	private static UiTheme UI_THEME;
-	private static UiContainerState STATE = UiContainerState.NOOP;
+	private static final ThreadLocal<UiContainerState> STATE = new ThreadLocal<UiContainerState>() {
+		@Override
+		protected UiContainerState initialValue() {
+			return UiContainerState.NOOP;
+		}
+	};
 
 	private final Array<GamePadUiInput<?>> controllerInputs = new Array<GamePadUiInput<?>>(true,1, GamePadUiInput.class);
 
@@ -96,6 +107,10 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 
 	private boolean ctrlHeld = false;
 
+	private boolean asyncLayoutEnabled = false;
+	private AsyncFuture asyncLayoutFuture;
+	private volatile Throwable asyncLayoutError;
+
 	/**
 	 * Constructor
 	 * 
@@ -174,6 +189,12 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 			}
 			return;
 		}
+		if (asyncLayoutFuture != null) {
+			if (!asyncLayoutFuture.isFinished()) {
+				return;
+			}
+			completeAsyncLayout();
+		}
 		if(lastThemeId == null || (lastThemeId != null && !lastThemeId.equals(UI_THEME.getId()))) {
 			renderTree.setDirty();
 			initialThemeLayoutComplete = false;
@@ -185,27 +206,80 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 			renderTree.onResize(width, height);
 			forceRenderTreeLayout.set(false);
 		}
+		if (asyncLayoutEnabled && !initialThemeLayoutComplete && renderTree.isDirty()) {
+			beginAsyncLayout();
+			return;
+		}
 		
 		notifyPreUpdate(delta);
 		for (int i = controllerInputs.size - 1; i >= 0; i--) {
 			controllerInputs.get(i).update(delta);
 		}
 		if (renderTree.isDirty()) {
-			STATE = UiContainerState.LAYOUT;
-			renderTree.layout();
-			STATE = UiContainerState.NOOP;
+			Profiler.begin(PROFILER_LAYOUT_SCOPE);
+			try {
+				STATE.set(UiContainerState.LAYOUT);
+				renderTree.layout();
+			} finally {
+				STATE.set(UiContainerState.NOOP);
+				Profiler.end();
+			}
 			renderTree.processLayoutDeferred();
 			initialThemeLayoutComplete = true;
 		}
-		STATE = UiContainerState.UPDATE;
-		renderTree.update(delta);
-		notifyPostUpdate(delta);
-		STATE = UiContainerState.NOOP;
-		renderTree.processUpdateDeferred();
+		Profiler.begin(PROFILER_UPDATE_SCOPE);
+		try {
+			STATE.set(UiContainerState.UPDATE);
+			renderTree.update(delta);
+			notifyPostUpdate(delta);
+			STATE.set(UiContainerState.NOOP);
+			renderTree.processUpdateDeferred();
+		} finally {
+			Profiler.end();
+		}
 
 		PixelLayoutUtils.update(delta);
 	}
 
+	private void beginAsyncLayout() {
+		asyncLayoutError = null;
+		renderTree.beginAsyncLayout();
+		asyncLayoutFuture = Mdx.executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				STATE.set(UiContainerState.LAYOUT);
+				try {
+					renderTree.layout();
+				} catch (Throwable e) {
+					asyncLayoutError = e;
+				} finally {
+					STATE.set(UiContainerState.NOOP);
+				}
+			}
+		});
+	}
+
+	private void completeAsyncLayout() {
+		asyncLayoutFuture = null;
+		renderTree.endAsyncLayout();
+		if (asyncLayoutError != null) {
+			final Throwable error = asyncLayoutError;
+			asyncLayoutError = null;
+			throw new MdxException("Failed to layout UI on worker thread", error);
+		}
+		renderTree.processLayoutDeferred();
+		initialThemeLayoutComplete = true;
+	}
+
+	private void resizeRenderTree() {
+		if (asyncLayoutFuture != null) {
+			//Apply once the in-progress layout has completed
+			forceRenderTreeLayout.set(true);
+			return;
+		}
+		renderTree.onResize(width, height);
+	}
+
 	/**
 	 * Renders all visible {@link UiElement}s
 	 * 
@@ -219,7 +293,7 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 		if (!initialThemeLayoutComplete) {
 			return;
 		}
-		STATE = UiContainerState.RENDER;
+		STATE.set(UiContainerState.RENDER);
 		notifyPreRender(g);
 		switch (visibility) {
 		case HIDDEN:
@@ -233,14 +307,19 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 			if (scaleX != 1f || scaleY != 1f) {
 				g.setScale(scaleX, scaleY);
 			}
-			renderTree.render(g);
+			Profiler.begin(PROFILER_RENDER_SCOPE);
+			try {
+				renderTree.render(g);
+			} finally {
+				Profiler.end();
+			}
 			if (scaleX != 1f || scaleY != 1f) {
 				g.setScale(previousScaleX, previousScaleY);
 			}
 			break;
 		}
 		notifyPostRender(g);
-		STATE = UiContainerState.NOOP;
+		STATE.set(UiContainerState.NOOP);
 		renderTree.processRenderDeferred();
 	}
 
@@ -312,11 +391,11 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	}
 
 	/**
-	 * Returns the current {@link UiContainerState}
-	 * @return
+	 * Returns the current {@link UiContainerState} of the calling thread
+	 * @return {@link UiContainerState#NOOP} if the calling thread is not updating, laying out or rendering a {@link UiContainer}
 	 */
 	public static UiContainerState getState() {
-		return STATE;
+		return STATE.get();
 	}
 
 	@Override
@@ -432,6 +511,9 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 
 	@Override
 	public boolean mouseMoved(int screenX, int screenY) {
+		if (isLayoutInProgress()) {
+			return false;
+		}
 
 		if (viewport != null) {
 			SHARED_VECTOR.x = screenX;
@@ -489,6 +571,9 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	 * @param keycode
 	 */
 	public boolean keyDownNoInputChange(int keycode) {
+		if (isLayoutInProgress()) {
+			return false;
+		}
 		if (activeTextInput != null && activeTextInput.isReceivingInput()) {
 			if (keycode == Input.Keys.CONTROL_LEFT){
 				ctrlHeld = true;
@@ -563,7 +648,7 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	}
 
 	public boolean buttonDown(GamePadUiInput<?> controllerUiInput, GamePadButton button) {
-		if (activeNavigation == null) {
+		if (activeNavigation == null || isLayoutInProgress()) {
 			return false;
 		}
 		receivedButtonDowns.add(button.getInternalName());
@@ -936,7 +1021,7 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	public void set(int width, int height) {
 		this.width = width;
 		this.height = height;
-		renderTree.onResize(width, height);
+		resizeRenderTree();
 	}
 
 	/**
@@ -972,7 +1057,7 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 		}
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
-		renderTree.onResize(width, height);
+		resizeRenderTree();
 	}
 
 	/**
@@ -1175,6 +1260,9 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	 * @return True by default
 	 */
 	public boolean pointerNavigationAllowed() {
+		if (isLayoutInProgress()) {
+			return false;
+		}
 		switch (Mdx.platform) {
 		case ANDROID:
 		case IOS:
@@ -1225,7 +1313,7 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 			return;
 		}
 		this.screenSizeScaleMode = screenSizeScaleMode;
-		renderTree.onResize(width, height);
+		resizeRenderTree();
 	}
 
 	/**
@@ -1370,4 +1458,37 @@ public class UiContainer extends ParentUiElement implements InputProcessor {
 	public void setViewport(Viewport viewport) {
 		this.viewport = viewport;
 	}
+
+	/**
+	 * Returns if the initial layout of this {@link UiContainer} (and any re-layout after a theme change)
+	 * is computed on a worker thread
+	 * @return False by default
+	 */
+	public boolean isAsyncLayoutEnabled() {
+		return asyncLayoutEnabled;
+	}
+
+	/**
+	 * Sets if the initial layout of this {@link UiContainer} (and any full re-layout after a theme change)
+	 * should be computed on a worker thread via {@link Mdx#executor}. All other layouts are computed on
+	 * the game thread during {@link #update(float)}.
+	 *
+	 * The worker lays out the live {@link UiElement} tree; no copy is made. Until
+	 * {@link #isLayoutInProgress()} returns false this {@link UiContainer} skips update, render and input
+	 * handling, so it will not appear on screen, and its {@link UiElement}s must not be modified.
+	 * The game thread itself keeps running, which lets the rest of the game (e.g. a loading screen)
+	 * update and render while a large UI is laid out.
+	 * @param asyncLayoutEnabled True if the initial layout should be computed on a worker thread
+	 */
+	public void setAsyncLayoutEnabled(boolean asyncLayoutEnabled) {
+		this.asyncLayoutEnabled = asyncLayoutEnabled;
+	}
+
+	/**
+	 * Returns if a layout is currently being computed on a worker thread
+	 * @return False if no asynchronous layout is in progress
+	 */
+	public boolean isLayoutInProgress() {
+		return asyncLayoutFuture != null;
+	}
 }
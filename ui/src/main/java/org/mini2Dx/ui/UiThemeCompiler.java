@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.JsonSerializer;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+import org.mini2Dx.ui.style.UiTheme;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Compiles {@link UiTheme} JSON files into a binary format at build time.
+ *
+ * Themes are validated during compilation and the deserialized {@link UiTheme} is written directly,
+ * with each ruleset's rules resolved for every {@link org.mini2Dx.ui.layout.ScreenSize}.
+ * Compiled themes are loaded by {@link UiThemeLoader} without JSON parsing, reflection or runtime
+ * validation when their filename ends with {@link #COMPILED_FILE_EXTENSION}.
+ *
+ * Can be run from the command line (e.g. via the ui project's compileUiTheme Gradle task):
+ * <pre>UiThemeCompiler &lt;input.json&gt; &lt;output.uitb&gt;</pre>
+ */
+public class UiThemeCompiler {
+	public static final String COMPILED_FILE_EXTENSION = ".uitb";
+	public static final int MAGIC = 0x4D555442;
+	public static final int VERSION = 2;
+
+	public static void main(String[] args) throws Exception {
+		if(args.length != 2) {
+			System.err.println("Usage: UiThemeCompiler <input.json> <output" + COMPILED_FILE_EXTENSION + ">");
+			System.exit(1);
+			return;
+		}
+		if(Mdx.locks == null) {
+			Mdx.locks = new JvmLocks();
+		}
+		if(Mdx.reflect == null) {
+			Mdx.reflect = new JvmReflection();
+		}
+		if(Mdx.json == null) {
+			Mdx.json = new JsonSerializer();
+		}
+		final String json = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+		try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[1])))) {
+			new UiThemeCompiler().compile(json, outputStream);
+		}
+	}
+
+	/**
+	 * Compiles a theme JSON file
+	 * @param jsonFile The theme JSON file
+	 * @param outputFile The file to write the compiled theme to
+	 * @throws IOException Thrown if the files could not be read or written
+	 * @throws SerializationException Thrown if the JSON is not a valid {@link UiTheme}
+	 */
+	public void compile(FileHandle jsonFile, FileHandle outputFile) throws IOException, SerializationException {
+		final String json = jsonFile.readString();
+		try (DataOutputStream outputStream = new DataOutputStream(outputFile.write(false))) {
+			compile(json, outputStream);
+		}
+	}
+
+	/**
+	 * Compiles theme JSON
+	 * @param json The theme JSON
+	 * @param outputStream The stream to write the compiled theme to
+	 * @throws IOException Thrown if the output could not be written
+	 * @throws SerializationException Thrown if the JSON is not a valid {@link UiTheme}
+	 */
+	public void compile(String json, DataOutputStream outputStream) throws IOException, SerializationException {
+		final UiTheme theme = Mdx.json.fromJson(json, UiTheme.class);
+		theme.validate();
+
+		outputStream.writeInt(MAGIC);
+		outputStream.writeInt(VERSION);
+		theme.writeData(outputStream);
+		outputStream.flush();
+	}
+
+	/**
+	 * Reads a compiled theme
+	 * @param fileHandle The compiled theme file
+	 * @return The deserialized {@link UiTheme}
+	 * @throws IOException Thrown if the file could not be read
+	 * @throws SerializationException Thrown if the data is not a valid {@link UiTheme}
+	 */
+	public static UiTheme read(FileHandle fileHandle) throws IOException, SerializationException {
+		try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(fileHandle.read()))) {
+			return read(inputStream);
+		}
+	}
+
+	/**
+	 * Reads a compiled theme
+	 * @param inputStream The stream to read from
+	 * @return The deserialized {@link UiTheme}
+	 * @throws IOException Thrown if the stream could not be read
+	 * @throws SerializationException Thrown if the data is not a valid {@link UiTheme}
+	 */
+	public static UiTheme read(DataInputStream inputStream) throws IOException, SerializationException {
+		if(inputStream.readInt() != MAGIC) {
+			throw new IOException("Not a compiled UI theme");
+		}
+		final int version = inputStream.readInt();
+		if(version != VERSION) {
+			throw new IOException("Unsupported compiled UI theme version " + version);
+		}
+		final UiTheme result = new UiTheme();
+		result.readData(inputStream);
+		return result;
+	}
+}
@@ -19,11 +19,14 @@ import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.*;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.exception.SerializationException;
+import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.graphics.Texture;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.ui.style.UiTheme;
 
+import java.io.IOException;
+
 /**
  * A {@link AsyncAssetLoader} for loading {@link UiTheme}s
  */
@@ -31,6 +34,7 @@ public class UiThemeLoader implements AsyncAssetLoader<UiTheme> {
 	private static final String LOGGING_TAG = UiThemeLoader.class.getSimpleName();
 
 	protected static final String CACHE_THEME_KEY = "theme";
+	protected static final String CACHE_PRECOMPILED_KEY = "precompiled";
 
 	protected final FileHandleResolver fileHandleResolver;
 	protected final boolean headless;
@@ -56,6 +60,10 @@ public class UiThemeLoader implements AsyncAssetLoader<UiTheme> {
 
 	@Override
 	public void loadOnAsyncThread(AssetDescriptor assetDescriptor, AsyncLoadingCache asyncLoadingCache) {
+		if(asyncLoadingCache.containsCache(CACHE_PRECOMPILED_KEY)) {
+			//Compiled themes are validated by UiThemeCompiler
+			return;
+		}
 		final UiTheme theme = asyncLoadingCache.getCache(CACHE_THEME_KEY, UiTheme.class);
 		theme.validate();
 	}
@@ -74,10 +82,18 @@ public class UiThemeLoader implements AsyncAssetLoader<UiTheme> {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 
 		if(!asyncLoadingCache.containsCache(CACHE_THEME_KEY)) {
+			final FileHandle fileHandle = assetDescriptor.getResolvedFileHandle();
 			try {
-				asyncLoadingCache.setCache(CACHE_THEME_KEY, Mdx.json.fromJson(assetDescriptor.getResolvedFileHandle(), UiTheme.class));
+				if(fileHandle.path().endsWith(UiThemeCompiler.COMPILED_FILE_EXTENSION)) {
+					asyncLoadingCache.setCache(CACHE_THEME_KEY, UiThemeCompiler.read(fileHandle));
+					asyncLoadingCache.setCache(CACHE_PRECOMPILED_KEY, true);
+				} else {
+					asyncLoadingCache.setCache(CACHE_THEME_KEY, Mdx.json.fromJson(fileHandle, UiTheme.class));
+				}
 			} catch (SerializationException e) {
 				throw new MdxException(e.getMessage(), e);
+			} catch (IOException e) {
+				throw new MdxException(e.getMessage(), e);
 			}
 		}
 		final UiTheme theme = asyncLoadingCache.getCache(CACHE_THEME_KEY, UiTheme.class);
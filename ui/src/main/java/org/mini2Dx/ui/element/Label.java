@@ -15,8 +15,8 @@
  ******************************************************************************/
 package org.mini2Dx.ui.element;
 
-import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.font.GameFont;
+import org.mini2Dx.core.font.GlyphLayoutCache;
 import org.mini2Dx.core.graphics.Color;
 import org.mini2Dx.core.serialization.annotation.ConstructorArg;
 import org.mini2Dx.core.serialization.annotation.Field;
@@ -36,7 +36,6 @@ import org.mini2Dx.ui.style.UiTheme;
  * A text label {@link UiElement}
  */
 public class Label extends UiElement {
-	private final Color white = Mdx.graphics.newColor(1f, 1f, 1f, 1f);
 	protected LabelRenderNode renderNode;
 	private Color color = null;
 	
@@ -112,9 +111,8 @@ public class Label extends UiElement {
 		if(font == null) {
 			return;
 		}
-		font.getSharedGlyphLayout().setText(text);
-		setContentWidth(font.getSharedGlyphLayout().getWidth());
-		setContentHeight(font.getSharedGlyphLayout().getHeight());
+		setContentWidth(GlyphLayoutCache.measureWidth(font, text, -1f, Align.LEFT, true));
+		setContentHeight(GlyphLayoutCache.measureHeight(font, text, -1f, Align.LEFT, true));
 	}
 
 	public void shrinkToTextSize(float maxWidth) {
@@ -135,9 +133,8 @@ public class Label extends UiElement {
 		if(font == null) {
 			return;
 		}
-		font.getSharedGlyphLayout().setText(text, white, maxWidth, Align.LEFT, true);
-		setContentWidth(font.getSharedGlyphLayout().getWidth());
-		setContentHeight(font.getSharedGlyphLayout().getHeight());
+		setContentWidth(GlyphLayoutCache.measureWidth(font, text, maxWidth, Align.LEFT, true));
+		setContentHeight(GlyphLayoutCache.measureHeight(font, text, maxWidth, Align.LEFT, true));
 	}
 
 	/**
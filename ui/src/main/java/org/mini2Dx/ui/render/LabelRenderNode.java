@@ -20,7 +20,9 @@ import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.font.GameFont;
 import org.mini2Dx.core.font.GameFontCache;
+import org.mini2Dx.core.font.GlyphLayoutCache;
 import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.core.util.Align;
 import org.mini2Dx.ui.animation.NullTextAnimation;
 import org.mini2Dx.ui.element.Label;
 import org.mini2Dx.ui.layout.LayoutState;
@@ -110,12 +112,12 @@ public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
 		if (element.isResponsive()) {
 			return style.getRounding().calculateRounding(availableWidth);
 		} else if(parent.getElement().isFlexLayout()) {
-			font.getSharedGlyphLayout().setText(element.getText());
+			final float textWidth = GlyphLayoutCache.measureWidth(font, element.getText(), -1f, Align.LEFT, true);
 
-			if (font.getSharedGlyphLayout().getWidth() > availableWidth) {
+			if (textWidth > availableWidth) {
 				return style.getRounding().calculateRounding(availableWidth);
 			}
-			return style.getRounding().calculateRounding(font.getSharedGlyphLayout().getWidth());
+			return style.getRounding().calculateRounding(textWidth);
 		} else {
 			return style.getRounding().calculateRounding(element.getWidth());
 		}
@@ -123,15 +125,15 @@ public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
 
 	@Override
 	protected float determinePreferredContentHeight(LayoutState layoutState) {
-		font.getSharedGlyphLayout().setText(element.getText(), white, preferredContentWidth,
+		final float textHeight = GlyphLayoutCache.measureHeight(font, element.getText(), preferredContentWidth,
 				element.getHorizontalAlignment().getAlignValue(), true);
-		if (style.getMinHeight() > 0 && font.getSharedGlyphLayout().getHeight() + style.getPaddingTop() + style.getPaddingBottom()
+		if (style.getMinHeight() > 0 && textHeight + style.getPaddingTop() + style.getPaddingBottom()
 				+ style.getMarginTop() + style.getMarginBottom() < style.getMinHeight()) {
 			return style.getMinHeight() - style.getPaddingTop() - style.getPaddingBottom() - style.getMarginTop()
 					- style.getMarginBottom();
 		}
 		if(parent.getElement().isFlexLayout()) {
-			return font.getSharedGlyphLayout().getHeight();
+			return textHeight;
 		} else {
 			return element.getHeight();
 		}
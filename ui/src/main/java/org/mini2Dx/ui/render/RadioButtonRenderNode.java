@@ -19,8 +19,10 @@ import org.mini2Dx.core.Graphics;
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.font.GameFont;
 import org.mini2Dx.core.font.GameFontCache;
+import org.mini2Dx.core.font.GlyphLayoutCache;
 import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.TextureRegion;
+import org.mini2Dx.core.util.Align;
 import org.mini2Dx.gdx.Input;
 import org.mini2Dx.gdx.math.MathUtils;
 import org.mini2Dx.gdx.utils.Array;
@@ -225,25 +227,25 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 			int i = 0;
 			while (options.hasNext()) {
 				String nextOption = options.next();
-				font.getSharedGlyphLayout().setText(nextOption);
-				if (textX + font.getSharedGlyphLayout().getWidth() >= availableWidth) {
+				final float optionWidth = GlyphLayoutCache.measureWidth(font, nextOption, -1f, Align.LEFT, true);
+				if (textX + optionWidth >= availableWidth) {
 					textX = style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent();
 					buttonX = 0;
 					textY += lineHeight + style.getOptionsSpacing();
 					buttonY += lineHeight + style.getOptionsSpacing();
 				}
 				if (buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-						+ font.getSharedGlyphLayout().getWidth() > maxX) {
+						+ optionWidth > maxX) {
 					maxX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-							+ font.getSharedGlyphLayout().getWidth();
+							+ optionWidth;
 				}
 
 				pushButtonRenderPosition(i, buttonX, buttonY, MathUtils.round(
-						style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent() + font.getSharedGlyphLayout().getWidth()),
+						style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent() + optionWidth),
 						lineHeight);
 				fontCache.addText(nextOption, textX, textY, availableWidth,
 						HorizontalAlignment.LEFT.getAlignValue(), true);
-				buttonX += style.getLabelIndent() + font.getSharedGlyphLayout().getWidth() + style.getActiveTextureRegion().getRegionWidth()
+				buttonX += style.getLabelIndent() + optionWidth + style.getActiveTextureRegion().getRegionWidth()
 						+ style.getOptionsSpacing();
 				textX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent();
 				i++;
@@ -256,8 +258,8 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 				int i = 0;
 				while (options.hasNext()) {
 					String nextOption = options.next();
-					font.getSharedGlyphLayout().setText(nextOption);
-					textX -= font.getSharedGlyphLayout().getWidth();
+					final float optionWidth = GlyphLayoutCache.measureWidth(font, nextOption, -1f, Align.LEFT, true);
+					textX -= optionWidth;
 					buttonX = textX - style.getLabelIndent() - style.getActiveTextureRegion().getRegionWidth();
 					if (buttonX <= 0) {
 						textX = MathUtils.round(availableWidth);
@@ -270,7 +272,7 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 					}
 					pushButtonRenderPosition(i, buttonX, buttonY,
 							MathUtils.round(style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-									+ font.getSharedGlyphLayout().getWidth()),
+									+ optionWidth),
 							lineHeight);
 					fontCache.addText(nextOption, textX, textY, availableWidth,
 							HorizontalAlignment.LEFT.getAlignValue(), true);
@@ -280,26 +282,26 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 			} else {
 				for (int i = element.getTotalOptions() - 1; i >= 0; i--) {
 					String nextOption = element.getOption(i);
-					font.getSharedGlyphLayout().setText(nextOption);
-					if (textX + font.getSharedGlyphLayout().getWidth() >= availableWidth) {
+					final float optionWidth = GlyphLayoutCache.measureWidth(font, nextOption, -1f, Align.LEFT, true);
+					if (textX + optionWidth >= availableWidth) {
 						textX = style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent();
 						buttonX = 0;
 						textY += lineHeight + style.getOptionsSpacing();
 						buttonY += lineHeight + style.getOptionsSpacing();
 					}
 					if (buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-							+ font.getSharedGlyphLayout().getWidth() > maxX) {
+							+ optionWidth > maxX) {
 						maxX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-								+ font.getSharedGlyphLayout().getWidth();
+								+ optionWidth;
 					}
 
 					pushButtonRenderPosition(i, buttonX, buttonY,
 							MathUtils.round(style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-									+ font.getSharedGlyphLayout().getWidth()),
+									+ optionWidth),
 							lineHeight);
 					fontCache.addText(nextOption, textX, textY, availableWidth,
 							HorizontalAlignment.LEFT.getAlignValue(), true);
-					buttonX += style.getLabelIndent() + font.getSharedGlyphLayout().getWidth()
+					buttonX += style.getLabelIndent() + optionWidth
 							+ style.getActiveTextureRegion().getRegionWidth() + style.getOptionsSpacing();
 					textX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent();
 				}
@@ -320,11 +322,11 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 			int i = 0;
 			while (options.hasNext()) {
 				String nextOption = options.next();
-				font.getSharedGlyphLayout().setText(nextOption);
+				final float optionWidth = GlyphLayoutCache.measureWidth(font, nextOption, -1f, Align.LEFT, true);
 				if (buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-						+ font.getSharedGlyphLayout().getWidth() > maxX) {
+						+ optionWidth > maxX) {
 					maxX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-							+ font.getSharedGlyphLayout().getWidth();
+							+ optionWidth;
 				}
 				pushButtonRenderPosition(i, buttonX, maxY, MathUtils.round(availableWidth), lineHeight);
 				fontCache.addText(nextOption, textX, maxY + buttonTextYDiff, availableWidth,
@@ -341,11 +343,11 @@ public class RadioButtonRenderNode extends RenderNode<RadioButton, RadioButtonSt
 			int i = 0;
 			while (options.hasNext()) {
 				String nextOption = options.next();
-				font.getSharedGlyphLayout().setText(nextOption);
+				final float optionWidth = GlyphLayoutCache.measureWidth(font, nextOption, -1f, Align.LEFT, true);
 				if (buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-						+ font.getSharedGlyphLayout().getWidth() > maxX) {
+						+ optionWidth > maxX) {
 					maxX = buttonX + style.getActiveTextureRegion().getRegionWidth() + style.getLabelIndent()
-							+ font.getSharedGlyphLayout().getWidth();
+							+ optionWidth;
 				}
 				pushButtonRenderPosition(i, buttonX, buttonY, MathUtils.round(availableWidth), lineHeight);
 				fontCache.addText(nextOption, textX, textY, availableWidth,
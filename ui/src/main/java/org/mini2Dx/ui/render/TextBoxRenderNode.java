@@ -19,8 +19,11 @@ import org.mini2Dx.core.ApiRuntime;
 import org.mini2Dx.core.Graphics;
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.font.FontGlyphLayout;
+import org.mini2Dx.core.font.GameFont;
 import org.mini2Dx.core.font.GameFontCache;
+import org.mini2Dx.core.font.GlyphLayoutCache;
 import org.mini2Dx.core.graphics.Color;
+import org.mini2Dx.core.util.Align;
 import org.mini2Dx.gdx.Input;
 import org.mini2Dx.ui.element.TextBox;
 import org.mini2Dx.ui.element.Visibility;
@@ -519,11 +522,13 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 			if (style == null) {
 				return;
 			}
-			if (cursor > element.getValue().length()) {
-				glyphLayout.setText(element.getValue());
-			} else {
-				glyphLayout.setText(element.getValue().substring(0, cursor));
+			if (cursor >= element.getValue().length()) {
+				final GameFont font = glyphLayout.getFont();
+				setCursorRender(GlyphLayoutCache.measureWidth(font, element.getValue(), -1f, Align.LEFT, true) + 1f,
+						Math.max(font.getCapHeight(), GlyphLayoutCache.measureHeight(font, element.getValue(), -1f, Align.LEFT, true)));
+				return;
 			}
+			glyphLayout.setText(element.getValue().substring(0, cursor));
 			setCursorRender(glyphLayout.getWidth() + 1f, Math.max(glyphLayout.getFont().getCapHeight(), glyphLayout.getHeight()));
 			break;
 		}
@@ -43,6 +43,7 @@ public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentS
 	protected final Array<DeferredRunnable> deferredLayout = new Array<DeferredRunnable>(true,1, DeferredRunnable.class);
 	protected final Array<DeferredRunnable> deferredUpdate = new Array<DeferredRunnable>(true,1, DeferredRunnable.class);
 	protected final Array<DeferredRunnable> deferredRender = new Array<DeferredRunnable>(true,1, DeferredRunnable.class);
+	private final Array<Array<DeferredRunnable>> heldLayoutDeferred = new Array<Array<DeferredRunnable>>();
 
 	private Array<ScreenSizeListener> screenSizeListeners;
 	private ScreenSize currentScreenSize = ScreenSize.XS;
@@ -50,6 +51,7 @@ public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentS
 	private float screenSizeScale = 1f;
 
 	private boolean deferredLayoutSortRequired = true, deferredUpdateSortRequired = true, deferredRenderSortRequired = true;
+	private boolean asyncLayout = false;
 
 	public UiContainerRenderTree(UiContainer uiContainer, AssetManager assetManager) {
 		super(null, uiContainer);
@@ -123,11 +125,35 @@ public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentS
 	}
 
 	public void transferLayoutDeferred(Array<DeferredRunnable> deferredLayout) {
+		if (asyncLayout) {
+			heldLayoutDeferred.add(deferredLayout);
+			return;
+		}
 		deferredLayoutSortRequired |= deferredLayout.size > 0;
 		this.deferredLayout.addAll(deferredLayout);
 		deferredLayout.clear();
 	}
 
+	/**
+	 * Holds the deferred layout queues of elements instead of transferring them
+	 * while the tree is laid out on a worker thread. Must be called on the game thread.
+	 */
+	public void beginAsyncLayout() {
+		asyncLayout = true;
+	}
+
+	/**
+	 * Transfers the deferred layout queues held during an asynchronous layout.
+	 * Must be called on the game thread once the layout has completed.
+	 */
+	public void endAsyncLayout() {
+		asyncLayout = false;
+		for (int i = 0; i < heldLayoutDeferred.size; i++) {
+			transferLayoutDeferred(heldLayoutDeferred.get(i));
+		}
+		heldLayoutDeferred.clear();
+	}
+
 	public void transferRenderDeferred(Array<DeferredRunnable> deferredRender) {
 		deferredRenderSortRequired |= deferredRender.size > 0;
 		this.deferredRender.addAll(deferredRender);
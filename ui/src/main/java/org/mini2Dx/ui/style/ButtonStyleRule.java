@@ -17,9 +17,14 @@ package org.mini2Dx.ui.style;
 
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.Button;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link Button} styling
  */
@@ -75,4 +80,18 @@ public class ButtonStyleRule extends ParentStyleRule {
 	public void setDisabledBackground(String disabledBackground) {
 		this.disabledBackground = disabledBackground;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(actionBackground, outputStream);
+		GameDataSerializableUtils.writeString(disabledBackground, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		actionBackground = GameDataSerializableUtils.readString(inputStream);
+		disabledBackground = GameDataSerializableUtils.readString(inputStream);
+	}
 }
@@ -19,8 +19,13 @@ import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.graphics.TextureRegion;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  *
  */
@@ -109,4 +114,30 @@ public class CheckboxStyleRule extends ParentStyleRule {
 	public TextureRegion getHoveredUncheckTextureRegion() {
 		return hoveredUncheckTextureRegion;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(enabledBox, outputStream);
+		GameDataSerializableUtils.writeString(disabledBox, outputStream);
+		GameDataSerializableUtils.writeString(disabledCheck, outputStream);
+		GameDataSerializableUtils.writeString(disabledUncheck, outputStream);
+		GameDataSerializableUtils.writeString(hoveredCheck, outputStream);
+		GameDataSerializableUtils.writeString(hoveredUncheck, outputStream);
+		GameDataSerializableUtils.writeString(enabledCheck, outputStream);
+		GameDataSerializableUtils.writeString(enabledUncheck, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		enabledBox = GameDataSerializableUtils.readString(inputStream);
+		disabledBox = GameDataSerializableUtils.readString(inputStream);
+		disabledCheck = GameDataSerializableUtils.readString(inputStream);
+		disabledUncheck = GameDataSerializableUtils.readString(inputStream);
+		hoveredCheck = GameDataSerializableUtils.readString(inputStream);
+		hoveredUncheck = GameDataSerializableUtils.readString(inputStream);
+		enabledCheck = GameDataSerializableUtils.readString(inputStream);
+		enabledUncheck = GameDataSerializableUtils.readString(inputStream);
+	}
 }
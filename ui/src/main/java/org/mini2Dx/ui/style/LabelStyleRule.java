@@ -20,10 +20,15 @@ import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.font.GameFont;
 import org.mini2Dx.core.graphics.Color;
-import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.core.graphics.Colors;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
+import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.Label;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link Label} styling
  */
@@ -86,4 +91,18 @@ public class LabelStyleRule extends ParentStyleRule {
 	public void setTextColor(String textColor) {
 		this.textColor = textColor;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(font, outputStream);
+		GameDataSerializableUtils.writeString(textColor, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		font = GameDataSerializableUtils.readString(inputStream);
+		textColor = GameDataSerializableUtils.readString(inputStream);
+	}
 }
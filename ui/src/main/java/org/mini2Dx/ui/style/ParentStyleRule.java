@@ -17,10 +17,15 @@ package org.mini2Dx.ui.style;
 
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.ParentUiElement;
 import org.mini2Dx.ui.render.SizeRounding;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link ParentUiElement} styling
  */
@@ -93,4 +98,20 @@ public class ParentStyleRule extends StyleRule {
 	public void setHoverBackground(String hoverBackground) {
 		this.hoverBackground = hoverBackground;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(background, outputStream);
+		GameDataSerializableUtils.writeString(hoverBackground, outputStream);
+		GameDataSerializableUtils.writeString(sizeRounding, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		background = GameDataSerializableUtils.readString(inputStream);
+		hoverBackground = GameDataSerializableUtils.readString(inputStream);
+		sizeRounding = GameDataSerializableUtils.readString(inputStream);
+	}
 }
@@ -18,9 +18,14 @@ package org.mini2Dx.ui.style;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.ProgressBar;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link ProgressBar} styling
  */
@@ -79,4 +84,18 @@ public class ProgressBarStyleRule extends StyleRule {
 	public void setFill(String fill) {
 		this.fill = fill;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(background, outputStream);
+		GameDataSerializableUtils.writeString(fill, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		background = GameDataSerializableUtils.readString(inputStream);
+		fill = GameDataSerializableUtils.readString(inputStream);
+	}
 }
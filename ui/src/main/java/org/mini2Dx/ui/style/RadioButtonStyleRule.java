@@ -19,8 +19,13 @@ import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.graphics.TextureRegion;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  *
  */
@@ -130,4 +135,34 @@ public class RadioButtonStyleRule extends LabelStyleRule {
 	public void setLabelIndent(int labelIndent) {
 		this.labelIndent = labelIndent;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(active, outputStream);
+		GameDataSerializableUtils.writeString(inactive, outputStream);
+		GameDataSerializableUtils.writeString(activeHover, outputStream);
+		GameDataSerializableUtils.writeString(inactiveHover, outputStream);
+		GameDataSerializableUtils.writeString(disabledActive, outputStream);
+		GameDataSerializableUtils.writeString(disabledInactive, outputStream);
+		GameDataSerializableUtils.writeString(disabledActiveHover, outputStream);
+		GameDataSerializableUtils.writeString(disabledInactiveHover, outputStream);
+		outputStream.writeInt(optionsSpacing);
+		outputStream.writeInt(labelIndent);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		active = GameDataSerializableUtils.readString(inputStream);
+		inactive = GameDataSerializableUtils.readString(inputStream);
+		activeHover = GameDataSerializableUtils.readString(inputStream);
+		inactiveHover = GameDataSerializableUtils.readString(inputStream);
+		disabledActive = GameDataSerializableUtils.readString(inputStream);
+		disabledInactive = GameDataSerializableUtils.readString(inputStream);
+		disabledActiveHover = GameDataSerializableUtils.readString(inputStream);
+		disabledInactiveHover = GameDataSerializableUtils.readString(inputStream);
+		optionsSpacing = inputStream.readInt();
+		labelIndent = inputStream.readInt();
+	}
 }
@@ -6,9 +6,14 @@ package org.mini2Dx.ui.style;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.ScrollBox;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link ScrollBox} styling
  */
@@ -143,4 +148,30 @@ public class ScrollBoxStyleRule extends ParentStyleRule {
 	public BackgroundRenderer getScrollThumbActiveRenderer() {
 		return scrollThumbActiveRenderer;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(topScrollButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(bottomScrollButtonStyle, outputStream);
+		outputStream.writeInt(scrollButtonHeight);
+		outputStream.writeInt(scrollBarWidth);
+		GameDataSerializableUtils.writeString(scrollTrack, outputStream);
+		GameDataSerializableUtils.writeString(scrollThumbNormal, outputStream);
+		GameDataSerializableUtils.writeString(scrollThumbHover, outputStream);
+		GameDataSerializableUtils.writeString(scrollThumbAction, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		topScrollButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		bottomScrollButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		scrollButtonHeight = inputStream.readInt();
+		scrollBarWidth = inputStream.readInt();
+		scrollTrack = GameDataSerializableUtils.readString(inputStream);
+		scrollThumbNormal = GameDataSerializableUtils.readString(inputStream);
+		scrollThumbHover = GameDataSerializableUtils.readString(inputStream);
+		scrollThumbAction = GameDataSerializableUtils.readString(inputStream);
+	}
 }
@@ -18,9 +18,14 @@ package org.mini2Dx.ui.style;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.Select;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link Select} styling
  */
@@ -151,4 +156,30 @@ public class SelectStyleRule extends StyleRule {
 	public void setRightButtonLabelStyle(String rightButtonLabelStyle) {
 		this.rightButtonLabelStyle = rightButtonLabelStyle;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		outputStream.writeInt(buttonWidth);
+		GameDataSerializableUtils.writeString(background, outputStream);
+		GameDataSerializableUtils.writeString(enabledLabelStyle, outputStream);
+		GameDataSerializableUtils.writeString(disabledLabelStyle, outputStream);
+		GameDataSerializableUtils.writeString(leftButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(rightButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(leftButtonLabelStyle, outputStream);
+		GameDataSerializableUtils.writeString(rightButtonLabelStyle, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		buttonWidth = inputStream.readInt();
+		background = GameDataSerializableUtils.readString(inputStream);
+		enabledLabelStyle = GameDataSerializableUtils.readString(inputStream);
+		disabledLabelStyle = GameDataSerializableUtils.readString(inputStream);
+		leftButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		rightButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		leftButtonLabelStyle = GameDataSerializableUtils.readString(inputStream);
+		rightButtonLabelStyle = GameDataSerializableUtils.readString(inputStream);
+	}
 }
@@ -19,8 +19,13 @@ import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.graphics.TextureRegion;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  *
  */
@@ -94,6 +99,26 @@ public class SliderStyleRule extends ParentStyleRule {
 	public void setSliderBarMaxHeight(int sliderBarMaxHeight) {
 		this.sliderBarMaxHeight = sliderBarMaxHeight;
 	}
-	
-	
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(sliderBar, outputStream);
+		outputStream.writeInt(sliderBarMaxHeight);
+		GameDataSerializableUtils.writeString(normal, outputStream);
+		GameDataSerializableUtils.writeString(active, outputStream);
+		GameDataSerializableUtils.writeString(hover, outputStream);
+		GameDataSerializableUtils.writeString(disabled, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		sliderBar = GameDataSerializableUtils.readString(inputStream);
+		sliderBarMaxHeight = inputStream.readInt();
+		normal = GameDataSerializableUtils.readString(inputStream);
+		active = GameDataSerializableUtils.readString(inputStream);
+		hover = GameDataSerializableUtils.readString(inputStream);
+		disabled = GameDataSerializableUtils.readString(inputStream);
+	}
 }
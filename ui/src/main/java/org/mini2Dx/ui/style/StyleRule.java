@@ -18,14 +18,19 @@ package org.mini2Dx.ui.style;
 import org.mini2Dx.core.assets.AssetDescriptor;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializable;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.ui.element.UiElement;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Applies styling (e.g. padding, margin, etc.) to a {@link UiElement}s
  */
-public class StyleRule {
+public class StyleRule implements GameDataSerializable {
 	public static final StyleRule NOOP = new StyleRule();
 
 	@Field(optional=true)
@@ -140,4 +145,30 @@ public class StyleRule {
 				+ marginBottom + ", marginLeft=" + marginLeft + ", marginRight=" + marginRight + ", minHeight="
 				+ minHeight + "]";
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		outputStream.writeInt(paddingTop);
+		outputStream.writeInt(paddingBottom);
+		outputStream.writeInt(paddingLeft);
+		outputStream.writeInt(paddingRight);
+		outputStream.writeInt(marginTop);
+		outputStream.writeInt(marginBottom);
+		outputStream.writeInt(marginLeft);
+		outputStream.writeInt(marginRight);
+		outputStream.writeInt(minHeight);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		paddingTop = inputStream.readInt();
+		paddingBottom = inputStream.readInt();
+		paddingLeft = inputStream.readInt();
+		paddingRight = inputStream.readInt();
+		marginTop = inputStream.readInt();
+		marginBottom = inputStream.readInt();
+		marginLeft = inputStream.readInt();
+		marginRight = inputStream.readInt();
+		minHeight = inputStream.readInt();
+	}
 }
@@ -23,6 +23,9 @@ import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
 import org.mini2Dx.ui.layout.ScreenSize;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Iterator;
 
 /**
@@ -39,6 +42,14 @@ public abstract class StyleRuleset<T extends StyleRule> {
 	public abstract void loadDependencies(UiTheme theme, Array<AssetDescriptor> dependencies);
 	
 	public abstract void prepareAssets(UiTheme theme, FileHandleResolver fileHandleResolver, AssetManager assetManager);
+
+	/**
+	 * Creates an empty rule to read compiled data into. Must be overridden by rulesets that support compiled themes.
+	 * @return A new {@link StyleRule} instance
+	 */
+	protected T newStyleRule() {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support compiled themes");
+	}
 	
 	protected T getStyleRule(ScreenSize screenSize, ObjectMap<ScreenSize, T> rules) {
 		final Array<ScreenSize> largestToSmallestScreenSizes = ScreenSize.sharedLargestToSmallest();
@@ -75,4 +86,64 @@ public abstract class StyleRuleset<T extends StyleRule> {
 			rule.prepareAssets(theme, fileHandleResolver, assetManager);
 		}
 	}
+
+	/**
+	 * Writes the rule resolved for every {@link ScreenSize}. Rules shared between sizes are written once.
+	 * @param outputStream The {@link DataOutputStream} to write to
+	 * @param rules The rules to write
+	 * @throws IOException Thrown if an error occurs during I/O
+	 */
+	protected void writeRules(DataOutputStream outputStream, ObjectMap<ScreenSize, T> rules) throws IOException {
+		final ScreenSize[] screenSizes = ScreenSize.values();
+		final Array<T> distinctRules = new Array<T>();
+		final int[] ruleIndices = new int[screenSizes.length];
+		for(int i = 0; i < screenSizes.length; i++) {
+			final T rule = rules == null ? null : getStyleRule(screenSizes[i], rules);
+			if(rule == null) {
+				ruleIndices[i] = -1;
+				continue;
+			}
+			int index = distinctRules.indexOf(rule, true);
+			if(index < 0) {
+				index = distinctRules.size;
+				distinctRules.add(rule);
+			}
+			ruleIndices[i] = index;
+		}
+
+		outputStream.writeInt(distinctRules.size);
+		for(int i = 0; i < distinctRules.size; i++) {
+			distinctRules.get(i).writeData(outputStream);
+		}
+		for(int i = 0; i < ruleIndices.length; i++) {
+			outputStream.writeInt(ruleIndices[i]);
+		}
+	}
+
+	/**
+	 * Reads rules written by {@link #writeRules(DataOutputStream, ObjectMap)}
+	 * @param inputStream The {@link DataInputStream} to read from
+	 * @return The rules for each {@link ScreenSize}
+	 * @throws IOException Thrown if an error occurs during I/O
+	 */
+	protected ObjectMap<ScreenSize, T> readRules(DataInputStream inputStream) throws IOException {
+		final Array<T> distinctRules = new Array<T>();
+		final int totalRules = inputStream.readInt();
+		for(int i = 0; i < totalRules; i++) {
+			final T rule = newStyleRule();
+			rule.readData(inputStream);
+			distinctRules.add(rule);
+		}
+
+		final ScreenSize[] screenSizes = ScreenSize.values();
+		final ObjectMap<ScreenSize, T> result = new ObjectMap<ScreenSize, T>();
+		for(int i = 0; i < screenSizes.length; i++) {
+			final int index = inputStream.readInt();
+			if(index < 0) {
+				continue;
+			}
+			result.put(screenSizes[i], distinctRules.get(index));
+		}
+		return result;
+	}
 }
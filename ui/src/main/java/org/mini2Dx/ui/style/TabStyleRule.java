@@ -16,9 +16,14 @@
 package org.mini2Dx.ui.style;
 
 import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.TabView;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link TabView} styling
  */
@@ -125,4 +130,28 @@ public class TabStyleRule extends ParentStyleRule {
 	public void setTabStyle(String tabStyle) {
 		this.tabStyle = tabStyle;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(tabButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(previousTabButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(nextTabButtonStyle, outputStream);
+		GameDataSerializableUtils.writeString(buttonLabelStyle, outputStream);
+		GameDataSerializableUtils.writeString(buttonImageStyle, outputStream);
+		GameDataSerializableUtils.writeString(menuStyle, outputStream);
+		GameDataSerializableUtils.writeString(tabStyle, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		tabButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		previousTabButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		nextTabButtonStyle = GameDataSerializableUtils.readString(inputStream);
+		buttonLabelStyle = GameDataSerializableUtils.readString(inputStream);
+		buttonImageStyle = GameDataSerializableUtils.readString(inputStream);
+		menuStyle = GameDataSerializableUtils.readString(inputStream);
+		tabStyle = GameDataSerializableUtils.readString(inputStream);
+	}
 }
@@ -19,10 +19,15 @@ import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.font.GameFont;
 import org.mini2Dx.core.graphics.Color;
-import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.core.graphics.Colors;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
+import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.element.TextBox;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Extends {@link StyleRule} for {@link TextBox} styling
  */
@@ -110,4 +115,26 @@ public class TextBoxStyleRule extends StyleRule {
 	public void setTextColor(String textColor) {
 		this.textColor = textColor;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		super.writeData(outputStream);
+		GameDataSerializableUtils.writeString(background, outputStream);
+		GameDataSerializableUtils.writeString(hoverBackground, outputStream);
+		GameDataSerializableUtils.writeString(actionBackground, outputStream);
+		GameDataSerializableUtils.writeString(disabledBackground, outputStream);
+		GameDataSerializableUtils.writeString(font, outputStream);
+		GameDataSerializableUtils.writeString(textColor, outputStream);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		super.readData(inputStream);
+		background = GameDataSerializableUtils.readString(inputStream);
+		hoverBackground = GameDataSerializableUtils.readString(inputStream);
+		actionBackground = GameDataSerializableUtils.readString(inputStream);
+		disabledBackground = GameDataSerializableUtils.readString(inputStream);
+		font = GameDataSerializableUtils.readString(inputStream);
+		textColor = GameDataSerializableUtils.readString(inputStream);
+	}
 }
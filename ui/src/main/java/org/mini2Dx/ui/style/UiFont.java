@@ -25,13 +25,19 @@ import org.mini2Dx.core.font.MonospaceGameFont;
 import org.mini2Dx.core.graphics.Color;
 import org.mini2Dx.core.graphics.Texture;
 import org.mini2Dx.core.graphics.TextureAtlas;
+import org.mini2Dx.core.serialization.GameDataSerializable;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * A font for user interfaces
  */
-public class UiFont {
+public class UiFont implements GameDataSerializable {
 	private static final String LOGGING_TAG = UiFont.class.getSimpleName();
 
 	@Field
@@ -236,4 +242,34 @@ public class UiFont {
 	public void setKerning(boolean kerning) {
 		this.kerning = kerning;
 	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		GameDataSerializableUtils.writeString(path, outputStream);
+		GameDataSerializableUtils.writeString(borderColor, outputStream);
+		outputStream.writeInt(borderWidth);
+		GameDataSerializableUtils.writeString(shadowColor, outputStream);
+		outputStream.writeInt(shadowOffsetX);
+		outputStream.writeInt(shadowOffsetY);
+		outputStream.writeInt(spaceX);
+		outputStream.writeInt(spaceY);
+		outputStream.writeBoolean(flip);
+		outputStream.writeBoolean(kerning);
+		outputStream.writeInt(fontSize);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		path = GameDataSerializableUtils.readString(inputStream);
+		borderColor = GameDataSerializableUtils.readString(inputStream);
+		borderWidth = inputStream.readInt();
+		shadowColor = GameDataSerializableUtils.readString(inputStream);
+		shadowOffsetX = inputStream.readInt();
+		shadowOffsetY = inputStream.readInt();
+		spaceX = inputStream.readInt();
+		spaceY = inputStream.readInt();
+		flip = inputStream.readBoolean();
+		kerning = inputStream.readBoolean();
+		fontSize = inputStream.readInt();
+	}
 }
@@ -21,6 +21,8 @@ import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.graphics.TextureAtlas;
+import org.mini2Dx.core.serialization.GameDataSerializable;
+import org.mini2Dx.core.serialization.GameDataSerializableUtils;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
@@ -29,10 +31,15 @@ import org.mini2Dx.ui.element.*;
 import org.mini2Dx.ui.layout.ScreenSize;
 import org.mini2Dx.ui.style.ruleset.*;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+
 /**
  * Represents a user interface theme applied to a {@link UiContainer}
  */
-public class UiTheme {
+public class UiTheme implements GameDataSerializable {
 	private static final String LOGGING_TAG = UiTheme.class.getSimpleName();
 	
 	public static final String DEFAULT_THEME_FILENAME = "default-mdx-theme.json";
@@ -637,4 +644,81 @@ public class UiTheme {
 	public ObjectMap<String, TextBoxStyleRuleset> getTextBoxRulesets() {
 		return textboxes;
 	}
+
+	/**
+	 * Writes the theme's rulesets and fonts. Asset state (e.g. the loaded {@link TextureAtlas}) is not written.
+	 * @param outputStream The {@link DataOutputStream} to write to
+	 * @throws IOException Thrown if an error occurs during I/O
+	 */
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		GameDataSerializableUtils.writeString(id, outputStream);
+		GameDataSerializableUtils.writeString(atlas, outputStream);
+		writeMap(buttons, outputStream);
+		writeMap(checkboxes, outputStream);
+		writeMap(columns, outputStream);
+		writeMap(containers, outputStream);
+		writeMap(fonts, outputStream);
+		writeMap(images, outputStream);
+		writeMap(labels, outputStream);
+		writeMap(progressBars, outputStream);
+		writeMap(radioButtons, outputStream);
+		writeMap(selects, outputStream);
+		writeMap(scrollBoxes, outputStream);
+		writeMap(sliders, outputStream);
+		writeMap(tabs, outputStream);
+		writeMap(textboxes, outputStream);
+	}
+
+	/**
+	 * Reads data written by {@link #writeData(DataOutputStream)}
+	 * @param inputStream The {@link DataInputStream} to read from
+	 * @throws IOException Thrown if an error occurs during I/O
+	 */
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		id = GameDataSerializableUtils.readString(inputStream);
+		atlas = GameDataSerializableUtils.readString(inputStream);
+		buttons = readMap(inputStream, ButtonStyleRuleset::new);
+		checkboxes = readMap(inputStream, CheckboxStyleRuleset::new);
+		columns = readMap(inputStream, ColumnStyleRuleset::new);
+		containers = readMap(inputStream, ContainerStyleRuleset::new);
+		fonts = readMap(inputStream, UiFont::new);
+		images = readMap(inputStream, DefaultStyleRuleset::new);
+		labels = readMap(inputStream, LabelStyleRuleset::new);
+		progressBars = readMap(inputStream, ProgressBarStyleRuleset::new);
+		radioButtons = readMap(inputStream, RadioButtonStyleRuleset::new);
+		selects = readMap(inputStream, SelectStyleRuleset::new);
+		scrollBoxes = readMap(inputStream, ScrollBoxStyleRuleset::new);
+		sliders = readMap(inputStream, SliderStyleRuleset::new);
+		tabs = readMap(inputStream, TabStyleRuleset::new);
+		textboxes = readMap(inputStream, TextBoxStyleRuleset::new);
+	}
+
+	private static void writeMap(ObjectMap<String, ? extends GameDataSerializable> map, DataOutputStream outputStream) throws IOException {
+		if(map == null) {
+			outputStream.writeInt(-1);
+			return;
+		}
+		outputStream.writeInt(map.size);
+		for(ObjectMap.Entry<String, ? extends GameDataSerializable> entry : map.entries()) {
+			outputStream.writeUTF(entry.key);
+			entry.value.writeData(outputStream);
+		}
+	}
+
+	private static <T extends GameDataSerializable> ObjectMap<String, T> readMap(DataInputStream inputStream, Supplier<T> factory) throws IOException {
+		final int size = inputStream.readInt();
+		if(size < 0) {
+			return null;
+		}
+		final ObjectMap<String, T> result = new ObjectMap<String, T>(Math.max(size, 1));
+		for(int i = 0; i < size; i++) {
+			final String key = inputStream.readUTF();
+			final T value = factory.get();
+			value.readData(inputStream);
+			result.put(key, value);
+		}
+		return result;
+	}
 }
@@ -6,6 +6,7 @@ package org.mini2Dx.ui.style.ruleset;
 import org.mini2Dx.core.assets.AssetDescriptor;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializable;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
@@ -14,10 +15,14 @@ import org.mini2Dx.ui.style.ParentStyleRule;
 import org.mini2Dx.ui.style.StyleRuleset;
 import org.mini2Dx.ui.style.UiTheme;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * {@link StyleRuleset} implementation for {@link ParentStyleRule}s
  */
-public class ColumnStyleRuleset extends StyleRuleset<ParentStyleRule> {
+public class ColumnStyleRuleset extends StyleRuleset<ParentStyleRule> implements GameDataSerializable {
 	@Field
 	private ObjectMap<ScreenSize, ParentStyleRule> rules;
 	
@@ -48,4 +53,19 @@ public class ColumnStyleRuleset extends StyleRuleset<ParentStyleRule> {
 	public void prepareAssets(UiTheme theme, FileHandleResolver fileHandleResolver, AssetManager assetManager) {
 		prepareAssets(theme, fileHandleResolver, assetManager, rules);
 	}
+
+	@Override
+	protected ParentStyleRule newStyleRule() {
+		return new ParentStyleRule();
+	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		writeRules(outputStream, rules);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		rules = readRules(inputStream);
+	}
 }
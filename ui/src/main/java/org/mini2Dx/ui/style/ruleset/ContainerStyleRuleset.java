@@ -18,6 +18,7 @@ package org.mini2Dx.ui.style.ruleset;
 import org.mini2Dx.core.assets.AssetDescriptor;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializable;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
@@ -26,10 +27,14 @@ import org.mini2Dx.ui.style.ContainerStyleRule;
 import org.mini2Dx.ui.style.StyleRuleset;
 import org.mini2Dx.ui.style.UiTheme;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * {@link StyleRuleset} implementation for {@link ContainerStyleRule}s
  */
-public class ContainerStyleRuleset extends StyleRuleset<ContainerStyleRule> {
+public class ContainerStyleRuleset extends StyleRuleset<ContainerStyleRule> implements GameDataSerializable {
 	@Field
 	private ObjectMap<ScreenSize, ContainerStyleRule> rules;
 	
@@ -60,4 +65,19 @@ public class ContainerStyleRuleset extends StyleRuleset<ContainerStyleRule> {
 	public void prepareAssets(UiTheme theme, FileHandleResolver fileHandleResolver, AssetManager assetManager) {
 		prepareAssets(theme, fileHandleResolver, assetManager, rules);
 	}
+
+	@Override
+	protected ContainerStyleRule newStyleRule() {
+		return new ContainerStyleRule();
+	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		writeRules(outputStream, rules);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		rules = readRules(inputStream);
+	}
 }
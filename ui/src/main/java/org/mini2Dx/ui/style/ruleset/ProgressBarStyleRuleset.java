@@ -18,6 +18,7 @@ package org.mini2Dx.ui.style.ruleset;
 import org.mini2Dx.core.assets.AssetDescriptor;
 import org.mini2Dx.core.assets.AssetManager;
 import org.mini2Dx.core.files.FileHandleResolver;
+import org.mini2Dx.core.serialization.GameDataSerializable;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
@@ -26,10 +27,14 @@ import org.mini2Dx.ui.style.ProgressBarStyleRule;
 import org.mini2Dx.ui.style.StyleRuleset;
 import org.mini2Dx.ui.style.UiTheme;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * {@link StyleRuleset} implementation for {@link ProgressBarStyleRule}s
  */
-public class ProgressBarStyleRuleset extends StyleRuleset<ProgressBarStyleRule> {
+public class ProgressBarStyleRuleset extends StyleRuleset<ProgressBarStyleRule> implements GameDataSerializable {
 	@Field
 	private ObjectMap<ScreenSize, ProgressBarStyleRule> rules;
 	
@@ -61,4 +66,18 @@ public class ProgressBarStyleRuleset extends StyleRuleset<ProgressBarStyleRule>
 		prepareAssets(theme, fileHandleResolver, assetManager, rules);
 	}
 
+	@Override
+	protected ProgressBarStyleRule newStyleRule() {
+		return new ProgressBarStyleRule();
+	}
+
+	@Override
+	public void writeData(DataOutputStream outputStream) throws IOException {
+		writeRules(outputStream, rules);
+	}
+
+	@Override
+	public void readData(DataInputStream inputStream) throws IOException {
+		rules = readRules(inputStream);
+	}
 }
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.mini2Dx.gdx.xml.XmlReader;
+import org.mini2Dx.ui.element.UiElement;
+
+/**
+ * Base class for {@link UiElementFactory} implementations that read {@link UiTag}s directly.
+ * <p>
+ * {@link #build(XmlReader.Element)} remains the public extension point. If a subclass overrides it,
+ * {@link UiTag}s are converted to XML and passed to that override. Subclasses can instead override
+ * {@link #buildTag(UiTag)} to skip the conversion.
+ */
+public abstract class AbstractUiElementFactory<T extends UiElement> implements UiElementFactory<T> {
+    private int xmlElementOverridden = -1;
+
+    @Override
+    public T build(XmlReader.Element xmlTag) {
+        return buildTag(UiTag.fromXml(xmlTag));
+    }
+
+    @Override
+    public final T build(UiTag tag) {
+        if (xmlElementOverridden < 0) {
+            xmlElementOverridden = XmlTagUtil.overridesXmlElementMethod(getClass(), AbstractUiElementFactory.class, "build") ? 1 : 0;
+        }
+        if (xmlElementOverridden == 1) {
+            return build(tag.toXmlElement());
+        }
+        return buildTag(tag);
+    }
+
+    /**
+     * Instantiates an instance of the UiElement from a {@link UiTag}
+     *
+     * @param tag - the tag that triggered this element to be created
+     * @return a new instance of the UiElement
+     */
+    protected abstract T buildTag(UiTag tag);
+}
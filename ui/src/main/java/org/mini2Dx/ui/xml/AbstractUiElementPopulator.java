@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.mini2Dx.gdx.xml.XmlReader;
+import org.mini2Dx.ui.element.UiElement;
+
+/**
+ * Base class for {@link UiElementPopulator} implementations that read {@link UiTag}s directly.
+ * <p>
+ * {@link #populate(XmlReader.Element, UiElement)} remains the public extension point. If a subclass overrides it,
+ * {@link UiTag}s are converted to XML and passed to that override. Subclasses can instead override
+ * {@link #populateTag(UiTag, UiElement)} to skip the conversion.
+ */
+public abstract class AbstractUiElementPopulator<T extends UiElement> implements UiElementPopulator<T> {
+    private int xmlElementOverridden = -1;
+
+    @Override
+    public boolean populate(XmlReader.Element xmlTag, T uiElement) {
+        return populateTag(UiTag.fromXml(xmlTag), uiElement);
+    }
+
+    @Override
+    public final boolean populate(UiTag tag, T uiElement) {
+        if (xmlElementOverridden < 0) {
+            xmlElementOverridden = XmlTagUtil.overridesXmlElementMethod(getClass(), AbstractUiElementPopulator.class, "populate") ? 1 : 0;
+        }
+        if (xmlElementOverridden == 1) {
+            return populate(tag.toXmlElement(), uiElement);
+        }
+        return populateTag(tag, uiElement);
+    }
+
+    /**
+     * Populate properties on the UiElement from a {@link UiTag}
+     *
+     * @param tag       - the tag to pull values off of
+     * @param uiElement - the UiElement to be populated
+     * @return true - implies this populator will handle processing the child tags
+     * false - implies the UiXmlLoader will handle the processing of the child tags
+     */
+    protected abstract boolean populateTag(UiTag tag, T uiElement);
+}
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.mini2Dx.core.serialization.GameDataSerializable;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.utils.ObjectIntMap;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.gdx.xml.XmlReader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary representation of a UI XML file produced by {@link UiXmlCompiler}.
+ *
+ * Stores a de-duplicated string table, the tag tree with its attribute values
+ * and a binding table of model field names to element ids so that the file can be
+ * loaded into {@link UiTag}s without XML parsing or annotation scanning.
+ */
+public class CompiledUiXml implements GameDataSerializable {
+    public static final int MAGIC = 0x4D555842;
+    public static final int VERSION = 1;
+
+    private final ObjectMap<String, Array<ModelBinding>> modelBindings = new ObjectMap<>();
+    private UiTag root;
+
+    public CompiledUiXml() {
+        super();
+    }
+
+    public CompiledUiXml(UiTag root) {
+        super();
+        this.root = root;
+    }
+
+    public CompiledUiXml(XmlReader.Element root) {
+        this(UiTag.fromXml(root));
+    }
+
+    public static CompiledUiXml fromInputStream(DataInputStream inputStream) throws IOException {
+        final CompiledUiXml result = new CompiledUiXml();
+        result.readData(inputStream);
+        return result;
+    }
+
+    @Override
+    public void writeData(DataOutputStream outputStream) throws IOException {
+        final Array<String> strings = new Array<>();
+        final ObjectIntMap<String> stringIndices = new ObjectIntMap<>();
+        collectStrings(root, strings, stringIndices);
+
+        outputStream.writeInt(MAGIC);
+        outputStream.writeInt(VERSION);
+
+        outputStream.writeInt(strings.size);
+        for (int i = 0; i < strings.size; i++) {
+            outputStream.writeUTF(strings.get(i));
+        }
+        writeTag(root, stringIndices, outputStream);
+
+        outputStream.writeInt(modelBindings.size);
+        for (ObjectMap.Entry<String, Array<ModelBinding>> entry : modelBindings.entries()) {
+            outputStream.writeUTF(entry.key);
+            outputStream.writeInt(entry.value.size);
+            for (int i = 0; i < entry.value.size; i++) {
+                outputStream.writeUTF(entry.value.get(i).fieldName);
+                outputStream.writeUTF(entry.value.get(i).elementId);
+            }
+        }
+    }
+
+    @Override
+    public void readData(DataInputStream inputStream) throws IOException {
+        if (inputStream.readInt() != MAGIC) {
+            throw new IOException("Not a compiled UI file");
+        }
+        final int version = inputStream.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled UI version " + version);
+        }
+
+        final String[] strings = new String[inputStream.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = inputStream.readUTF();
+        }
+        root = readTag(strings, inputStream);
+
+        modelBindings.clear();
+        final int totalModels = inputStream.readInt();
+        for (int i = 0; i < totalModels; i++) {
+            final String modelClassName = inputStream.readUTF();
+            final int totalBindings = inputStream.readInt();
+            final Array<ModelBinding> bindings = new Array<>(totalBindings);
+            for (int j = 0; j < totalBindings; j++) {
+                bindings.add(new ModelBinding(inputStream.readUTF(), inputStream.readUTF()));
+            }
+            modelBindings.put(modelClassName, bindings);
+        }
+    }
+
+    private static void collectStrings(UiTag tag, Array<String> strings, ObjectIntMap<String> stringIndices) {
+        addString(tag.getName(), strings, stringIndices);
+        if (tag.getText() != null) {
+            addString(tag.getText(), strings, stringIndices);
+        }
+        for (int i = 0; i < tag.getAttributeCount(); i++) {
+            addString(tag.getAttributeName(i), strings, stringIndices);
+            addString(tag.getAttributeValue(i), strings, stringIndices);
+        }
+        for (int i = 0; i < tag.getChildCount(); i++) {
+            collectStrings(tag.getChild(i), strings, stringIndices);
+        }
+    }
+
+    private static void addString(String str, Array<String> strings, ObjectIntMap<String> stringIndices) {
+        if (stringIndices.containsKey(str)) {
+            return;
+        }
+        stringIndices.put(str, strings.size);
+        strings.add(str);
+    }
+
+    private static void writeTag(UiTag tag, ObjectIntMap<String> stringIndices, DataOutputStream outputStream) throws IOException {
+        outputStream.writeInt(stringIndices.get(tag.getName(), -1));
+        outputStream.writeInt(tag.getText() != null ? stringIndices.get(tag.getText(), -1) : -1);
+
+        outputStream.writeInt(tag.getAttributeCount());
+        for (int i = 0; i < tag.getAttributeCount(); i++) {
+            outputStream.writeInt(stringIndices.get(tag.getAttributeName(i), -1));
+            outputStream.writeInt(stringIndices.get(tag.getAttributeValue(i), -1));
+        }
+
+        outputStream.writeInt(tag.getChildCount());
+        for (int i = 0; i < tag.getChildCount(); i++) {
+            writeTag(tag.getChild(i), stringIndices, outputStream);
+        }
+    }
+
+    private static UiTag readTag(String[] strings, DataInputStream inputStream) throws IOException {
+        final String name = strings[inputStream.readInt()];
+        final int textIndex = inputStream.readInt();
+        final String text = textIndex >= 0 ? strings[textIndex] : null;
+
+        final int totalAttributes = inputStream.readInt();
+        final String[] attributeNames = new String[totalAttributes];
+        final String[] attributeValues = new String[totalAttributes];
+        for (int i = 0; i < totalAttributes; i++) {
+            attributeNames[i] = strings[inputStream.readInt()];
+            attributeValues[i] = strings[inputStream.readInt()];
+        }
+
+        final UiTag[] children = new UiTag[inputStream.readInt()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = readTag(strings, inputStream);
+        }
+        return new UiTag(name, text, attributeNames, attributeValues, children);
+    }
+
+    /**
+     * Returns the root tag of the UI file
+     * @return Null if no data has been read
+     */
+    public UiTag getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the precomputed model bindings for a model class
+     * @param modelClass The model {@link Class}
+     * @return Null if no bindings were compiled for the class
+     */
+    public Array<ModelBinding> getModelBindings(Class<?> modelClass) {
+        return modelBindings.get(modelClass.getName());
+    }
+
+    /**
+     * Sets the precomputed model bindings for a model class
+     * @param modelClass The model {@link Class}
+     * @param bindings The field to element id bindings
+     */
+    public void setModelBindings(Class<?> modelClass, Array<ModelBinding> bindings) {
+        modelBindings.put(modelClass.getName(), bindings);
+    }
+
+    /**
+     * A model field bound to a {@link org.mini2Dx.ui.element.UiElement} id
+     */
+    public static class ModelBinding {
+        public final String fieldName;
+        public final String elementId;
+
+        public ModelBinding(String fieldName, String elementId) {
+            this.fieldName = fieldName;
+            this.elementId = elementId;
+        }
+    }
+}
@@ -29,4 +29,15 @@ public interface UiElementFactory<T extends UiElement> {
      * @return a new instance of the UiElement
      */
     T build(XmlReader.Element xmlTag);
+
+    /**
+     * Instantiates an instance of the UiElement from a {@link UiTag}. Tags loaded from
+     * {@link CompiledUiXml} files are passed to this method without XML conversion.
+     *
+     * @param tag - the tag that triggered this element to be created
+     * @return a new instance of the UiElement
+     */
+    default T build(UiTag tag) {
+        return build(tag.toXmlElement());
+    }
 }
\ No newline at end of file
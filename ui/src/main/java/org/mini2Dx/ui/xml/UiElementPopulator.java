@@ -28,4 +28,17 @@ public interface UiElementPopulator<T extends UiElement> {
      * false - implies the UiXmlLoader will handle the processing of the child tags
      */
     boolean populate(XmlReader.Element xmlTag, T uiElement);
+
+    /**
+     * Populate properties on the UiElement from a {@link UiTag}. Tags loaded from
+     * {@link CompiledUiXml} files are passed to this method without XML conversion.
+     *
+     * @param tag       - the tag to pull values off of
+     * @param uiElement - the UiElement to be populated
+     * @return true - implies this populator will handle processing the child tags
+     * false - implies the UiXmlLoader will handle the processing of the child tags
+     */
+    default boolean populate(UiTag tag, T uiElement) {
+        return populate(tag.toXmlElement(), uiElement);
+    }
 }
\ No newline at end of file
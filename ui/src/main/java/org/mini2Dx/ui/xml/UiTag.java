@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.gdx.xml.XmlReader;
+
+/**
+ * An immutable UI tag read from XML or from a {@link CompiledUiXml} file.
+ *
+ * Attributes are stored in flat arrays so that compiled files can be loaded
+ * without building an {@link XmlReader.Element} tree.
+ */
+public class UiTag {
+    private static final String[] EMPTY_STRINGS = new String[0];
+    private static final UiTag[] EMPTY_CHILDREN = new UiTag[0];
+
+    private final String name;
+    private final String text;
+    private final String[] attributeNames;
+    private final String[] attributeValues;
+    private final UiTag[] children;
+
+    private UiTag parent;
+    private XmlReader.Element xmlElement;
+
+    public UiTag(String name, String text, String[] attributeNames, String[] attributeValues, UiTag[] children) {
+        super();
+        if (attributeNames.length != attributeValues.length) {
+            throw new IllegalArgumentException("Attribute names and values must be the same length");
+        }
+        this.name = name;
+        this.text = text;
+        this.attributeNames = attributeNames;
+        this.attributeValues = attributeValues;
+        this.children = children;
+        for (int i = 0; i < children.length; i++) {
+            children[i].parent = this;
+        }
+    }
+
+    /**
+     * Converts a parsed XML element (and its children) into a {@link UiTag}
+     * @param element The {@link XmlReader.Element} to convert
+     * @return A new {@link UiTag}
+     */
+    public static UiTag fromXml(XmlReader.Element element) {
+        final ObjectMap<String, String> attributes = element.getAttributes();
+        final int totalAttributes = attributes != null ? attributes.size : 0;
+        final String[] attributeNames = totalAttributes > 0 ? new String[totalAttributes] : EMPTY_STRINGS;
+        final String[] attributeValues = totalAttributes > 0 ? new String[totalAttributes] : EMPTY_STRINGS;
+        if (totalAttributes > 0) {
+            int index = 0;
+            for (ObjectMap.Entry<String, String> attribute : attributes.entries()) {
+                attributeNames[index] = attribute.key;
+                attributeValues[index] = attribute.value;
+                index++;
+            }
+        }
+
+        final UiTag[] children = element.getChildCount() > 0 ? new UiTag[element.getChildCount()] : EMPTY_CHILDREN;
+        for (int i = 0; i < children.length; i++) {
+            children[i] = fromXml(element.getChild(i));
+        }
+
+        final UiTag result = new UiTag(element.getName(), element.getText(), attributeNames, attributeValues, children);
+        result.xmlElement = element;
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Null if the tag has no text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return Null if this is the root tag
+     */
+    public UiTag getParent() {
+        return parent;
+    }
+
+    public int getAttributeCount() {
+        return attributeNames.length;
+    }
+
+    public String getAttributeName(int index) {
+        return attributeNames[index];
+    }
+
+    public String getAttributeValue(int index) {
+        return attributeValues[index];
+    }
+
+    public boolean hasAttribute(String name) {
+        return indexOfAttribute(name) >= 0;
+    }
+
+    /**
+     * Returns the value of an attribute
+     * @param name The attribute name
+     * @return The attribute value
+     * @throws MdxException Thrown if the attribute does not exist
+     */
+    public String getAttribute(String name) {
+        final int index = indexOfAttribute(name);
+        if (index < 0 || attributeValues[index] == null) {
+            throw new MdxException("Element " + this.name + " doesn't have attribute: " + name);
+        }
+        return attributeValues[index];
+    }
+
+    public String getAttribute(String name, String defaultValue) {
+        final int index = indexOfAttribute(name);
+        if (index < 0 || attributeValues[index] == null) {
+            return defaultValue;
+        }
+        return attributeValues[index];
+    }
+
+    public boolean getBooleanAttribute(String name, boolean defaultValue) {
+        final String value = getAttribute(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public float getFloatAttribute(String name) {
+        return Float.parseFloat(getAttribute(name));
+    }
+
+    public float getFloatAttribute(String name, float defaultValue) {
+        final String value = getAttribute(name, null);
+        return value == null ? defaultValue : Float.parseFloat(value);
+    }
+
+    public int getIntAttribute(String name) {
+        return Integer.parseInt(getAttribute(name));
+    }
+
+    public int getIntAttribute(String name, int defaultValue) {
+        final String value = getAttribute(name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Returns the value of an attribute or, if there is no such attribute,
+     * the text of the first child tag with the given name
+     * @param name The attribute or child tag name
+     * @param defaultValue The value to return if neither exist
+     * @return The value
+     */
+    public String get(String name, String defaultValue) {
+        final int index = indexOfAttribute(name);
+        if (index >= 0 && attributeValues[index] != null) {
+            return attributeValues[index];
+        }
+        for (int i = 0; i < children.length; i++) {
+            if (children[i].name.equals(name)) {
+                final String result = children[i].text;
+                return result == null ? defaultValue : result;
+            }
+        }
+        return defaultValue;
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        final String value = get(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public int getInt(String name, int defaultValue) {
+        final String value = get(name, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public int getChildCount() {
+        return children.length;
+    }
+
+    public UiTag getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * Returns this tag as an {@link XmlReader.Element} for {@link UiElementFactory} and
+     * {@link UiElementPopulator} implementations that only support XML elements.
+     * Tags read from compiled files are converted (along with the rest of the tree) on first use.
+     * @return The {@link XmlReader.Element} for this tag
+     */
+    public XmlReader.Element toXmlElement() {
+        if (xmlElement == null) {
+            UiTag root = this;
+            while (root.parent != null) {
+                root = root.parent;
+            }
+            root.xmlElement = root.toXmlElement(null);
+        }
+        return xmlElement;
+    }
+
+    private XmlReader.Element toXmlElement(XmlReader.Element parent) {
+        final XmlReader.Element result = new XmlReader.Element(name, parent);
+        result.setText(text);
+        for (int i = 0; i < attributeNames.length; i++) {
+            result.setAttribute(attributeNames[i], attributeValues[i]);
+        }
+        for (int i = 0; i < children.length; i++) {
+            final XmlReader.Element child = children[i].toXmlElement(result);
+            children[i].xmlElement = child;
+            result.addChild(child);
+        }
+        return result;
+    }
+
+    private int indexOfAttribute(String name) {
+        for (int i = 0; i < attributeNames.length; i++) {
+            if (attributeNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
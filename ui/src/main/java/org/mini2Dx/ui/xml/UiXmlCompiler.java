@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.core.reflect.Field;
+import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.gdx.xml.XmlReader;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Compiles UI XML files into the binary {@link CompiledUiXml} format at build time.
+ *
+ * Compiled files are loaded by {@link UiXmlLoader} when their filename ends with
+ * {@link #COMPILED_FILE_EXTENSION}. Model classes passed to the compiler have their
+ * {@link org.mini2Dx.ui.annotation.UiElement} bindings resolved ahead of time.
+ *
+ * Can be run from the command line (e.g. via the ui project's compileUiXml Gradle task):
+ * <pre>UiXmlCompiler &lt;input.xml&gt; &lt;output.uib&gt; [model class names...]</pre>
+ */
+public class UiXmlCompiler {
+    public static final String COMPILED_FILE_EXTENSION = ".uib";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: UiXmlCompiler <input.xml> <output" + COMPILED_FILE_EXTENSION + "> [model class names...]");
+            System.exit(1);
+            return;
+        }
+        if (Mdx.locks == null) {
+            Mdx.locks = new JvmLocks();
+        }
+        if (Mdx.reflect == null) {
+            Mdx.reflect = new JvmReflection();
+        }
+        final Class<?>[] models = new Class<?>[args.length - 2];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = Class.forName(args[i + 2]);
+        }
+        try (Reader reader = new InputStreamReader(Files.newInputStream(Paths.get(args[0])), StandardCharsets.UTF_8);
+             DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[1])))) {
+            new UiXmlCompiler().compile(reader, outputStream, models);
+        }
+    }
+
+    /**
+     * Compiles a UI XML file
+     * @param xmlFile The XML file to read
+     * @param outputFile The file to write the compiled UI to
+     * @param models The model classes to precompute bindings for
+     * @throws IOException Thrown if the files could not be read or written
+     */
+    public void compile(FileHandle xmlFile, FileHandle outputFile, Class<?>... models) throws IOException {
+        try (Reader reader = xmlFile.reader();
+             DataOutputStream outputStream = new DataOutputStream(outputFile.write(false))) {
+            compile(reader, outputStream, models);
+        }
+    }
+
+    /**
+     * Compiles UI XML
+     * @param xmlReader The XML to read
+     * @param outputStream The stream to write the compiled UI to
+     * @param models The model classes to precompute bindings for
+     * @throws IOException Thrown if the XML could not be read or the output could not be written
+     */
+    public void compile(Reader xmlReader, DataOutputStream outputStream, Class<?>... models) throws IOException {
+        compile(xmlReader, models).writeData(outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * Compiles UI XML into a {@link CompiledUiXml}
+     * @param xmlReader The XML to read
+     * @param models The model classes to precompute bindings for
+     * @return The {@link CompiledUiXml}
+     */
+    public CompiledUiXml compile(Reader xmlReader, Class<?>... models) {
+        final XmlReader.Element root = new XmlReader().parse(xmlReader);
+        final CompiledUiXml result = new CompiledUiXml(root);
+        for (Class<?> model : models) {
+            result.setModelBindings(model, resolveModelBindings(model));
+        }
+        return result;
+    }
+
+    private Array<CompiledUiXml.ModelBinding> resolveModelBindings(Class<?> model) {
+        final Array<CompiledUiXml.ModelBinding> result = new Array<>();
+        for (Field field : Mdx.reflect.getDeclaredFields(model)) {
+            if (!field.isAnnotationPresent(org.mini2Dx.ui.annotation.UiElement.class)) {
+                continue;
+            }
+            String fieldName = field.getName();
+            String annotationId = field
+                    .getDeclaredAnnotation(org.mini2Dx.ui.annotation.UiElement.class)
+                    .getAnnotation(org.mini2Dx.ui.annotation.UiElement.class)
+                    .id();
+            String id = annotationId.length() > 0 ? annotationId : fieldName;
+            result.add(new CompiledUiXml.ModelBinding(fieldName, id));
+        }
+        return result;
+    }
+}
@@ -17,8 +17,10 @@ package org.mini2Dx.ui.xml;
 
 import org.mini2Dx.core.Mdx;
 import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.files.FileHandle;
 import org.mini2Dx.core.files.FileHandleResolver;
 import org.mini2Dx.core.reflect.Field;
+import org.mini2Dx.gdx.utils.Array;
 import org.mini2Dx.gdx.utils.ObjectMap;
 import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ParentUiElement;
@@ -27,6 +29,8 @@ import org.mini2Dx.ui.element.TabView;
 import org.mini2Dx.ui.element.UiElement;
 import org.mini2Dx.ui.xml.spi.*;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.Reader;
 
 public class UiXmlLoader {
@@ -70,21 +74,25 @@ public class UiXmlLoader {
         tagNameToHandler.put(tagName, new UiElementHandler(factory, populators));
     }
 
+    /**
+     * Loads a UI file. Files ending with {@link UiXmlCompiler#COMPILED_FILE_EXTENSION} are
+     * read as {@link CompiledUiXml}, all other files are parsed as XML.
+     *
+     * @param filename - the file to load
+     * @return the root {@link UiElement}
+     */
     public <T extends UiElement> T load(String filename) {
-        try {
-            Reader reader = fileHandleResolver.resolve(filename).reader();
-            XmlReader xmlReader = new XmlReader();
-            XmlReader.Element root = xmlReader.parse(reader);
-
-            return (T) processXmlTag(root);
-        } catch (Exception e) {
-            throw new MdxException("Failed to load UI file: " + filename, e);
-        }
+        return (T) buildElement(filename, readFile(filename));
     }
 
     public <T> T load(String filename, Class<T> model) {
-        UiElement container = load(filename);
+        CompiledUiXml uiFile = readFile(filename);
+        UiElement container = buildElement(filename, uiFile);
         if (container != null && model != null) {
+            Array<CompiledUiXml.ModelBinding> bindings = uiFile.getModelBindings(model);
+            if (bindings != null) {
+                return populateModel(container, (T) Mdx.reflect.newInstance(model), bindings);
+            }
             return populateModel(container, model);
         } else {
             throw new MdxException("Failed to populate Ui file " + filename, new Exception("container or model is null"));
@@ -92,14 +100,53 @@ public class UiXmlLoader {
     }
 
     public <T> T load(String filename, T model) {
-        UiElement container = load(filename);
+        CompiledUiXml uiFile = readFile(filename);
+        UiElement container = buildElement(filename, uiFile);
         if (container != null && model != null) {
+            Array<CompiledUiXml.ModelBinding> bindings = uiFile.getModelBindings(model.getClass());
+            if (bindings != null) {
+                return populateModel(container, model, bindings);
+            }
             return populateModel(container, model);
         } else {
             throw new MdxException("Failed to populate Ui file " + filename, new Exception("container or model is null"));
         }
     }
 
+    private CompiledUiXml readFile(String filename) {
+        try {
+            FileHandle fileHandle = fileHandleResolver.resolve(filename);
+            if (filename.endsWith(UiXmlCompiler.COMPILED_FILE_EXTENSION)) {
+                try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(fileHandle.read()))) {
+                    return CompiledUiXml.fromInputStream(inputStream);
+                }
+            }
+            Reader reader = fileHandle.reader();
+            XmlReader xmlReader = new XmlReader();
+            return new CompiledUiXml(xmlReader.parse(reader));
+        } catch (Exception e) {
+            throw new MdxException("Failed to load UI file: " + filename, e);
+        }
+    }
+
+    private UiElement buildElement(String filename, CompiledUiXml uiFile) {
+        try {
+            return processXmlTag(uiFile.getRoot());
+        } catch (Exception e) {
+            throw new MdxException("Failed to load UI file: " + filename, e);
+        }
+    }
+
+    protected <T extends UiElement, M> M populateModel(T container, M model, Array<CompiledUiXml.ModelBinding> bindings) {
+        for (int i = 0; i < bindings.size; i++) {
+            CompiledUiXml.ModelBinding binding = bindings.get(i);
+            Field field = Mdx.reflect.getDeclaredField(model.getClass(), binding.fieldName);
+            UiElement element = container.getElementById(binding.elementId);
+            field.set(model, field.getType().cast(element));
+        }
+        return model;
+    }
+
     protected <T extends UiElement, M> M populateModel(T container, Class<M> model) {
         M newInstance = (M) Mdx.reflect.newInstance(model);
         for (Field field : Mdx.reflect.getDeclaredFields(model)) {
@@ -134,7 +181,7 @@ public class UiXmlLoader {
         return newInstance;
     }
 
-    private UiElement processXmlTag(XmlReader.Element root) {
+    private UiElement processXmlTag(UiTag root) {
         String tagName = XmlTagUtil.getTagNameWithoutPrefix(root);
         UiElementHandler handler = tagNameToHandler.get(tagName);
         if (handler == null) {
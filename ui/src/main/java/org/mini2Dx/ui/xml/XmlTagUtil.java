@@ -15,10 +15,42 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml;
 
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.reflect.Method;
 import org.mini2Dx.gdx.xml.XmlReader;
 
 public class XmlTagUtil {
     public static String getTagNameWithoutPrefix(XmlReader.Element element) {
-        return element.getName().replaceAll("(.*?:)?(.+?)", "$2");
+        return getTagNameWithoutPrefix(element.getName());
+    }
+
+    public static String getTagNameWithoutPrefix(UiTag tag) {
+        return getTagNameWithoutPrefix(tag.getName());
+    }
+
+    private static String getTagNameWithoutPrefix(String name) {
+        if (name.indexOf(':') < 0) {
+            return name;
+        }
+        return name.replaceAll("(.*?:)?(.+?)", "$2");
+    }
+
+    /**
+     * Returns true if a class between clazz (inclusive) and baseClass (exclusive) declares
+     * a method with the given name that takes an {@link XmlReader.Element} as its first parameter
+     */
+    static boolean overridesXmlElementMethod(Class<?> clazz, Class<?> baseClass, String methodName) {
+        for (Class<?> current = clazz; current != null && current != baseClass; current = current.getSuperclass()) {
+            for (Method method : Mdx.reflect.getDeclaredMethods(current)) {
+                if (!method.getName().equals(methodName)) {
+                    continue;
+                }
+                final Class[] parameterTypes = method.getParameterTypes();
+                if (parameterTypes.length > 0 && parameterTypes[0] == XmlReader.Element.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 }
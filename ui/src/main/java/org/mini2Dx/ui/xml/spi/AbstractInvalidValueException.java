@@ -17,6 +17,7 @@ package org.mini2Dx.ui.xml.spi;
 
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.gdx.xml.XmlReader;
+import org.mini2Dx.ui.xml.UiTag;
 
 import java.util.Arrays;
 import java.util.stream.Collectors;
@@ -25,11 +26,15 @@ import static org.mini2Dx.ui.xml.XmlTagUtil.getTagNameWithoutPrefix;
 
 public class AbstractInvalidValueException extends MdxException {
     public AbstractInvalidValueException(XmlReader.Element tag, String invalidValue, Object[] availableValues) {
+        this(UiTag.fromXml(tag), invalidValue, availableValues);
+    }
+
+    public AbstractInvalidValueException(UiTag tag, String invalidValue, Object[] availableValues) {
         super(buildMessage(tag, invalidValue, availableValues));
     }
 
 
-    private static String buildMessage(XmlReader.Element tag, String invalidValue, Object[] values) {
+    private static String buildMessage(UiTag tag, String invalidValue, Object[] values) {
         String availableValues = Arrays.stream(values)
                 .map((v) -> "  - " + v.toString())
                 .sorted()
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.AnimatedImage;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class AnimatedImageFactory implements UiElementFactory<AnimatedImage> {
+public class AnimatedImageFactory extends AbstractUiElementFactory<AnimatedImage> {
     @Override
-    public AnimatedImage build(XmlReader.Element xmlTag) {
+    protected AnimatedImage buildTag(UiTag xmlTag) {
         return new AnimatedImage(xmlTag.getAttribute("id", null));
     }
 }
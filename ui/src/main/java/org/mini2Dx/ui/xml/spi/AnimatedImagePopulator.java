@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.AnimatedImage;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class AnimatedImagePopulator implements UiElementPopulator<AnimatedImage> {
+public class AnimatedImagePopulator extends AbstractUiElementPopulator<AnimatedImage> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, AnimatedImage uiElement) {
+    protected boolean populateTag(UiTag xmlTag, AnimatedImage uiElement) {
         uiElement.setResponsive(xmlTag.getBooleanAttribute("responsive", false));
         uiElement.setFlipX(xmlTag.getBooleanAttribute("flip-x", false));
         uiElement.setFlipY(xmlTag.getBooleanAttribute("flip-y", false));
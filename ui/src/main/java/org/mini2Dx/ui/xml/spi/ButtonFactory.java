@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Button;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ButtonFactory implements UiElementFactory<Button> {
+public class ButtonFactory extends AbstractUiElementFactory<Button> {
     @Override
-    public Button build(XmlReader.Element xmlTag) {
+    protected Button buildTag(UiTag xmlTag) {
         return new Button(xmlTag.getAttribute("id", null));
     }
 }
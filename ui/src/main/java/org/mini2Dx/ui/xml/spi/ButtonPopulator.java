@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Button;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ButtonPopulator implements UiElementPopulator<Button> {
+public class ButtonPopulator extends AbstractUiElementPopulator<Button> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Button uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Button uiElement) {
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         return false;
     }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Checkbox;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class CheckBoxFactory implements UiElementFactory<Checkbox> {
+public class CheckBoxFactory extends AbstractUiElementFactory<Checkbox> {
     @Override
-    public Checkbox build(XmlReader.Element xmlTag) {
+    protected Checkbox buildTag(UiTag xmlTag) {
         return new Checkbox(xmlTag.getAttribute("id", null));
     }
 }
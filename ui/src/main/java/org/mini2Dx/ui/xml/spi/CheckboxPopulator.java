@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Checkbox;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class CheckboxPopulator implements UiElementPopulator<Checkbox> {
+public class CheckboxPopulator extends AbstractUiElementPopulator<Checkbox> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Checkbox uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Checkbox uiElement) {
         uiElement.setChecked(xmlTag.getBoolean("checked", false));
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         uiElement.setResponsive(xmlTag.getBoolean("responsive", false));
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Container;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ContainerFactory implements UiElementFactory<Container> {
+public class ContainerFactory extends AbstractUiElementFactory<Container> {
     @Override
-    public Container build(XmlReader.Element xmlTag) {
+    protected Container buildTag(UiTag xmlTag) {
         return new Container(xmlTag.getAttribute("id", null));
     }
 }
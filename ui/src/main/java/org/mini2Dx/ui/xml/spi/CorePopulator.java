@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.UiElement;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class CorePopulator implements UiElementPopulator<UiElement> {
+public class CorePopulator extends AbstractUiElementPopulator<UiElement> {
     @Override
-    public boolean populate(XmlReader.Element xmlElement, UiElement uiElement) {
+    protected boolean populateTag(UiTag xmlElement, UiElement uiElement) {
         uiElement.setDebugEnabled(xmlElement.getBooleanAttribute("debug", false));
 
         if (xmlElement.hasAttribute("x")) {
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Div;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class DivFactory implements UiElementFactory<Div> {
+public class DivFactory extends AbstractUiElementFactory<Div> {
     @Override
-    public Div build(XmlReader.Element xmlTag) {
+    protected Div buildTag(UiTag xmlTag) {
         return new Div(xmlTag.getAttribute("id", null));
     }
 }
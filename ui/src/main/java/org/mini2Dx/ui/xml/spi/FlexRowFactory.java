@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.FlexRow;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class FlexRowFactory implements UiElementFactory<FlexRow> {
+public class FlexRowFactory extends AbstractUiElementFactory<FlexRow> {
     @Override
-    public FlexRow build(XmlReader.Element xmlTag) {
+    protected FlexRow buildTag(UiTag xmlTag) {
         return new FlexRow(xmlTag.getAttribute("id", null));
     }
 }
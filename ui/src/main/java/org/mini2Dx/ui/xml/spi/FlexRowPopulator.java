@@ -15,15 +15,15 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.FlexRow;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
 import static org.mini2Dx.ui.xml.spi.XmlAttributeMapper.mapToFlexDirection;
 
-public class FlexRowPopulator implements UiElementPopulator<FlexRow> {
+public class FlexRowPopulator extends AbstractUiElementPopulator<FlexRow> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, FlexRow uiElement) {
+    protected boolean populateTag(UiTag xmlTag, FlexRow uiElement) {
         if (xmlTag.hasAttribute("flex-direction")) {
             uiElement.setFlexDirection(mapToFlexDirection(xmlTag));
         }
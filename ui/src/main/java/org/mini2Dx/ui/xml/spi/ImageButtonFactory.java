@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ImageButton;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ImageButtonFactory implements UiElementFactory<ImageButton> {
+public class ImageButtonFactory extends AbstractUiElementFactory<ImageButton> {
     @Override
-    public ImageButton build(XmlReader.Element xmlTag) {
+    protected ImageButton buildTag(UiTag xmlTag) {
         return new ImageButton(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,23 +15,23 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Image;
 import org.mini2Dx.ui.element.ImageButton;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
 import static org.mini2Dx.ui.xml.XmlTagUtil.getTagNameWithoutPrefix;
 
-public class ImageButtonPopulator implements UiElementPopulator<ImageButton> {
+public class ImageButtonPopulator extends AbstractUiElementPopulator<ImageButton> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, ImageButton uiElement) {
+    protected boolean populateTag(UiTag xmlTag, ImageButton uiElement) {
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", null));
         uiElement.setAtlas(xmlTag.getAttribute("atlas", null));
         uiElement.setResponsive(xmlTag.getBooleanAttribute("responsive", false));
 
         for (int i = 0; i < xmlTag.getChildCount(); i++) {
-            XmlReader.Element child = xmlTag.getChild(i);
+            UiTag child = xmlTag.getChild(i);
             Image image = determineImage(uiElement, child);
             image.setTexturePath(child.getText());
             image.setFlipY(child.getBooleanAttribute("flip-y", false));
@@ -41,7 +41,7 @@ public class ImageButtonPopulator implements UiElementPopulator<ImageButton> {
         return true;
     }
 
-    private Image determineImage(ImageButton uiElement, XmlReader.Element child) {
+    private Image determineImage(ImageButton uiElement, UiTag child) {
         Image image;
 
         switch (getTagNameWithoutPrefix(child)) {
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Image;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ImageFactory implements UiElementFactory<Image> {
+public class ImageFactory extends AbstractUiElementFactory<Image> {
     @Override
-    public Image build(XmlReader.Element xmlTag) {
+    protected Image buildTag(UiTag xmlTag) {
         return new Image(xmlTag.getAttribute("id", null));
     }
 }
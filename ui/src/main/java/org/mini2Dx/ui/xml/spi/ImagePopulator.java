@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Image;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ImagePopulator implements UiElementPopulator<Image> {
+public class ImagePopulator extends AbstractUiElementPopulator<Image> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Image uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Image uiElement) {
         uiElement.setTexturePath(xmlTag.getAttribute("texture-path"));
         uiElement.setAtlas(xmlTag.getAttribute("atlas", null));
         uiElement.setResponsive(xmlTag.getBooleanAttribute("responsive", false));
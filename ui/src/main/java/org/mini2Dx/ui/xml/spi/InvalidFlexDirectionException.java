@@ -17,9 +17,14 @@ package org.mini2Dx.ui.xml.spi;
 
 import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.layout.FlexDirection;
+import org.mini2Dx.ui.xml.UiTag;
 
 public class InvalidFlexDirectionException extends AbstractInvalidValueException {
     public InvalidFlexDirectionException(XmlReader.Element tag, String invalidValue) {
         super(tag, invalidValue, FlexDirection.values());
     }
+
+    public InvalidFlexDirectionException(UiTag tag, String invalidValue) {
+        super(tag, invalidValue, FlexDirection.values());
+    }
 }
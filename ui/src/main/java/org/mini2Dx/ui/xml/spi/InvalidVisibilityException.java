@@ -17,9 +17,14 @@ package org.mini2Dx.ui.xml.spi;
 
 import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Visibility;
+import org.mini2Dx.ui.xml.UiTag;
 
 public class InvalidVisibilityException extends AbstractInvalidValueException {
     public InvalidVisibilityException(XmlReader.Element tag, String invalidValue) {
         super(tag, invalidValue, Visibility.values());
     }
+
+    public InvalidVisibilityException(UiTag tag, String invalidValue) {
+        super(tag, invalidValue, Visibility.values());
+    }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Label;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class LabelFactory implements UiElementFactory<Label> {
+public class LabelFactory extends AbstractUiElementFactory<Label> {
     @Override
-    public Label build(XmlReader.Element xmlTag) {
+    protected Label buildTag(UiTag xmlTag) {
         return new Label(xmlTag.getAttribute("id", null));
     }
 }
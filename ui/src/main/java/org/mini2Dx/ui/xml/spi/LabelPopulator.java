@@ -15,14 +15,14 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Label;
 import org.mini2Dx.ui.layout.HorizontalAlignment;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class LabelPopulator implements UiElementPopulator<Label> {
+public class LabelPopulator extends AbstractUiElementPopulator<Label> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Label uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Label uiElement) {
         if (xmlTag.hasAttribute("text")) {
             uiElement.setText(xmlTag.getAttribute("text"));
         }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ParentUiElement;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ParentUiElementPopulator implements UiElementPopulator<ParentUiElement> {
+public class ParentUiElementPopulator extends AbstractUiElementPopulator<ParentUiElement> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, ParentUiElement uiElement) {
+    protected boolean populateTag(UiTag xmlTag, ParentUiElement uiElement) {
         if (xmlTag.hasAttribute("layout")) {
             uiElement.setFlexLayout(xmlTag.getAttribute("layout"));
         }
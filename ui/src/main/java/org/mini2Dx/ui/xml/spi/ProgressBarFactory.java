@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ProgressBar;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ProgressBarFactory implements UiElementFactory<ProgressBar> {
+public class ProgressBarFactory extends AbstractUiElementFactory<ProgressBar> {
     @Override
-    public ProgressBar build(XmlReader.Element xmlTag) {
+    protected ProgressBar buildTag(UiTag xmlTag) {
         return new ProgressBar(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ProgressBar;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ProgressBarPopulator implements UiElementPopulator<ProgressBar> {
+public class ProgressBarPopulator extends AbstractUiElementPopulator<ProgressBar> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, ProgressBar uiElement) {
+    protected boolean populateTag(UiTag xmlTag, ProgressBar uiElement) {
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", "flex-column:xs-12c"));
         uiElement.setMax(xmlTag.getFloatAttribute("max", 1.0f));
         uiElement.setMin(xmlTag.getFloatAttribute("min", 0.0f));
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.RadioButton;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class RadioButtonFactory implements UiElementFactory<RadioButton> {
+public class RadioButtonFactory extends AbstractUiElementFactory<RadioButton> {
     @Override
-    public RadioButton build(XmlReader.Element xmlTag) {
+    protected RadioButton buildTag(UiTag xmlTag) {
         return new RadioButton(xmlTag.getAttribute("id", null));
     }
 }
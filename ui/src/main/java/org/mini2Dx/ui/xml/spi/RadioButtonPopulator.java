@@ -15,15 +15,15 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.RadioButton;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
 import static org.mini2Dx.ui.xml.spi.XmlAttributeMapper.mapToFlexDirection;
 
-public class RadioButtonPopulator implements UiElementPopulator<RadioButton> {
+public class RadioButtonPopulator extends AbstractUiElementPopulator<RadioButton> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, RadioButton uiElement) {
+    protected boolean populateTag(UiTag xmlTag, RadioButton uiElement) {
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         uiElement.setResponsive(xmlTag.getBoolean("responsive", false));
 
@@ -32,7 +32,7 @@ public class RadioButtonPopulator implements UiElementPopulator<RadioButton> {
         }
 
         for (int i = 0; i < xmlTag.getChildCount(); i++) {
-            XmlReader.Element child = xmlTag.getChild(i);
+            UiTag child = xmlTag.getChild(i);
             uiElement.addOption(child.getText());
         }
 
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ScrollBox;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ScrollBoxFactory implements UiElementFactory<ScrollBox> {
+public class ScrollBoxFactory extends AbstractUiElementFactory<ScrollBox> {
     @Override
-    public ScrollBox build(XmlReader.Element xmlTag) {
+    protected ScrollBox buildTag(UiTag xmlTag) {
         return new ScrollBox(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,14 +15,14 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.ScrollBox;
 import org.mini2Dx.ui.element.Visibility;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class ScrollBoxPopulator implements UiElementPopulator<ScrollBox> {
+public class ScrollBoxPopulator extends AbstractUiElementPopulator<ScrollBox> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, ScrollBox uiElement) {
+    protected boolean populateTag(UiTag xmlTag, ScrollBox uiElement) {
         uiElement.setScrollFactor(xmlTag.getFloatAttribute("scroll-factor", 0.005f));
         uiElement.setMinHeight(xmlTag.getFloatAttribute("min-height", Float.MIN_VALUE));
         uiElement.setMaxHeight(xmlTag.getFloatAttribute("max-height", Float.MAX_VALUE));
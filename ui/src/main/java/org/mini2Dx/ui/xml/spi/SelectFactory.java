@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Select;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class SelectFactory implements UiElementFactory<Select> {
+public class SelectFactory extends AbstractUiElementFactory<Select> {
     @Override
-    public Select build(XmlReader.Element xmlTag) {
+    protected Select buildTag(UiTag xmlTag) {
         return new Select(xmlTag.getAttribute("id", null));
     }
 }
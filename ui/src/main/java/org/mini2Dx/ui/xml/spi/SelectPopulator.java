@@ -15,20 +15,20 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Select;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class SelectPopulator implements UiElementPopulator<Select> {
+public class SelectPopulator extends AbstractUiElementPopulator<Select> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Select uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Select uiElement) {
         uiElement.setEnabled(xmlTag.getBooleanAttribute("enabled", true));
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", "flex-column:xs-12c"));
         uiElement.setLeftButtonText(xmlTag.getAttribute("left-button-text", null));
         uiElement.setRightButtonText(xmlTag.getAttribute("right-button-text", null));
 
         for (int i = 0; i < xmlTag.getChildCount(); i++) {
-            XmlReader.Element child = xmlTag.getChild(i);
+            UiTag child = xmlTag.getChild(i);
             String value = child.getAttribute("value", child.getText());
             uiElement.addOption(child.getText(), value);
         }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Slider;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class SliderFactory implements UiElementFactory<Slider> {
+public class SliderFactory extends AbstractUiElementFactory<Slider> {
     @Override
-    public Slider build(XmlReader.Element xmlTag) {
+    protected Slider buildTag(UiTag xmlTag) {
         return new Slider(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Slider;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class SliderPopulator implements UiElementPopulator<Slider> {
+public class SliderPopulator extends AbstractUiElementPopulator<Slider> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Slider uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Slider uiElement) {
         uiElement.setEnabled(xmlTag.getBooleanAttribute("enabled", true));
         uiElement.setValue(xmlTag.getFloatAttribute("value", 0.0f));
         uiElement.setValueStep(xmlTag.getFloatAttribute("value-step", 0.1f));
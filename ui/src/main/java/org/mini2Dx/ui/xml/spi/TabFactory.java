@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Tab;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TabFactory implements UiElementFactory<Tab> {
+public class TabFactory extends AbstractUiElementFactory<Tab> {
     @Override
-    public Tab build(XmlReader.Element xmlTag) {
+    protected Tab buildTag(UiTag xmlTag) {
         return new Tab(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Tab;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TabPopulator implements UiElementPopulator<Tab> {
+public class TabPopulator extends AbstractUiElementPopulator<Tab> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, Tab uiElement) {
+    protected boolean populateTag(UiTag xmlTag, Tab uiElement) {
         uiElement.setTitle(xmlTag.getAttribute("title", null));
         uiElement.setIconPath(xmlTag.getAttribute("icon-path", null));
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", "flex-column:xs-12c"));
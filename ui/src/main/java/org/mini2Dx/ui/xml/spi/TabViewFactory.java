@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TabView;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TabViewFactory implements UiElementFactory<TabView> {
+public class TabViewFactory extends AbstractUiElementFactory<TabView> {
     @Override
-    public TabView build(XmlReader.Element xmlTag) {
+    protected TabView buildTag(UiTag xmlTag) {
         return new TabView(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TabView;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TabViewPopulator implements UiElementPopulator<TabView> {
+public class TabViewPopulator extends AbstractUiElementPopulator<TabView> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, TabView uiElement) {
+    protected boolean populateTag(UiTag xmlTag, TabView uiElement) {
         uiElement.setOverflowClipped(xmlTag.getBooleanAttribute("overflow-clipped", false));
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", "flex-column:xs-12c"));
         uiElement.setTabButtonLayout(xmlTag.getAttribute("tab-button-layout", "flex-column:xs-3c sm-4c md-2c lg-2c"));
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TextBox;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TextBoxFactory implements UiElementFactory<TextBox> {
+public class TextBoxFactory extends AbstractUiElementFactory<TextBox> {
     @Override
-    public TextBox build(XmlReader.Element xmlTag) {
+    protected TextBox buildTag(UiTag xmlTag) {
         return new TextBox(xmlTag.getAttribute("id", null));
     }
 }
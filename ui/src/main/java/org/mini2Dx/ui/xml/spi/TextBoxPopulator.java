@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TextBox;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TextBoxPopulator implements UiElementPopulator<TextBox> {
+public class TextBoxPopulator extends AbstractUiElementPopulator<TextBox> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, TextBox uiElement) {
+    protected boolean populateTag(UiTag xmlTag, TextBox uiElement) {
         uiElement.setValue(xmlTag.getAttribute("value", null));
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         uiElement.setPasswordField(xmlTag.getBoolean("password", false));
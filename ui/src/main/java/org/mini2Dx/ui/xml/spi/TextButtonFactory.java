@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TextButton;
-import org.mini2Dx.ui.xml.UiElementFactory;
+import org.mini2Dx.ui.xml.AbstractUiElementFactory;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TextButtonFactory implements UiElementFactory<TextButton> {
+public class TextButtonFactory extends AbstractUiElementFactory<TextButton> {
     @Override
-    public TextButton build(XmlReader.Element xmlTag) {
+    protected TextButton buildTag(UiTag xmlTag) {
         return new TextButton(xmlTag.getAttribute("id", null));
     }
 }
@@ -15,13 +15,13 @@
  ******************************************************************************/
 package org.mini2Dx.ui.xml.spi;
 
-import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.TextButton;
-import org.mini2Dx.ui.xml.UiElementPopulator;
+import org.mini2Dx.ui.xml.AbstractUiElementPopulator;
+import org.mini2Dx.ui.xml.UiTag;
 
-public class TextButtonPopulator implements UiElementPopulator<TextButton> {
+public class TextButtonPopulator extends AbstractUiElementPopulator<TextButton> {
     @Override
-    public boolean populate(XmlReader.Element xmlTag, TextButton uiElement) {
+    protected boolean populateTag(UiTag xmlTag, TextButton uiElement) {
         uiElement.setText(xmlTag.getAttribute("text", ""));
         uiElement.setEnabled(xmlTag.getBoolean("enabled", true));
         uiElement.setFlexLayout(xmlTag.getAttribute("layout", "flex-column:xs-12c"));
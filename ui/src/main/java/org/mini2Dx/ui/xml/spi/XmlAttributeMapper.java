@@ -18,9 +18,14 @@ package org.mini2Dx.ui.xml.spi;
 import org.mini2Dx.gdx.xml.XmlReader;
 import org.mini2Dx.ui.element.Visibility;
 import org.mini2Dx.ui.layout.FlexDirection;
+import org.mini2Dx.ui.xml.UiTag;
 
 public class XmlAttributeMapper {
     public static FlexDirection mapToFlexDirection(XmlReader.Element element) {
+        return mapToFlexDirection(UiTag.fromXml(element));
+    }
+
+    public static FlexDirection mapToFlexDirection(UiTag element) {
         String value = element.getAttribute("flex-direction");
 
         try {
@@ -31,6 +36,10 @@ public class XmlAttributeMapper {
     }
 
     public static Visibility mapToVisibility(XmlReader.Element element, String attributeName) {
+        return mapToVisibility(UiTag.fromXml(element), attributeName);
+    }
+
+    public static Visibility mapToVisibility(UiTag element, String attributeName) {
         String providedValue = element.getAttribute(attributeName, "VISIBLE");
         try {
             return Visibility.valueOf(providedValue.toUpperCase());
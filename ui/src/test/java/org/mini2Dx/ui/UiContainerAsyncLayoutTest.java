@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.Platform;
+import org.mini2Dx.core.StdOutLogger;
+import org.mini2Dx.core.TaskExecutor;
+import org.mini2Dx.core.executor.AsyncFuture;
+import org.mini2Dx.gdx.utils.Array;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+import org.mini2Dx.ui.dummy.DummyUiElement;
+import org.mini2Dx.ui.element.Div;
+import org.mini2Dx.ui.element.FlexRow;
+import org.mini2Dx.ui.element.Visibility;
+import org.mini2Dx.ui.layout.ScreenSize;
+import org.mini2Dx.ui.render.UiContainerRenderTree;
+import org.mini2Dx.ui.style.ParentStyleRule;
+import org.mini2Dx.ui.style.UiTheme;
+
+/**
+ * Unit tests for {@link UiContainer#setAsyncLayoutEnabled(boolean)}
+ */
+public class UiContainerAsyncLayoutTest {
+	private static final int TOTAL_ELEMENTS = 8;
+
+	private final Mockery mockery = new Mockery();
+	private final Array<Thread> workerThreads = new Array<Thread>();
+
+	private UiTheme previousTheme;
+
+	@Before
+	public void setUp() throws Exception {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		Mdx.platform = Platform.WINDOWS;
+		Mdx.locks = new JvmLocks();
+		Mdx.log = new StdOutLogger();
+
+		final UiTheme theme = mockery.mock(UiTheme.class);
+		final TaskExecutor executor = mockery.mock(TaskExecutor.class);
+		mockery.checking(new Expectations() {
+			{
+				allowing(theme).getId();
+				will(returnValue("async-layout-test"));
+				allowing(theme).getStyleRule(with(any(Div.class)), with(any(ScreenSize.class)));
+				will(returnValue(new ParentStyleRule()));
+				allowing(theme).getStyleRule(with(any(FlexRow.class)), with(any(ScreenSize.class)));
+				will(returnValue(new ParentStyleRule()));
+				allowing(executor).submit(with(any(Runnable.class)));
+				will(new CustomAction("submit on worker thread") {
+					@Override
+					public Object invoke(Invocation invocation) {
+						final Thread thread = new Thread((Runnable) invocation.getParameter(0));
+						workerThreads.add(thread);
+						thread.start();
+						return new AsyncFuture() {
+							@Override
+							public boolean isFinished() {
+								return !thread.isAlive();
+							}
+						};
+					}
+				});
+			}
+		});
+		Mdx.executor = executor;
+
+		previousTheme = UiContainer.getTheme();
+		setThemeField(theme);
+	}
+
+	@After
+	public void teardown() throws Exception {
+		setThemeField(previousTheme);
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testAsyncLayoutMatchesSyncLayout() throws Exception {
+		final LayoutRecordingElement[] syncElements = createElements();
+		final UiContainer syncContainer = createContainer(syncElements);
+		//Match the two updates the async container needs to begin and complete its layout
+		syncContainer.update(1f);
+		syncContainer.update(1f);
+
+		final LayoutRecordingElement[] asyncElements = createElements();
+		final UiContainer asyncContainer = createContainer(asyncElements);
+		asyncContainer.setAsyncLayoutEnabled(true);
+
+		asyncContainer.update(1f);
+		Assert.assertTrue(asyncContainer.isLayoutInProgress());
+		Assert.assertEquals(1, workerThreads.size);
+		workerThreads.get(0).join();
+
+		asyncContainer.update(1f);
+		Assert.assertFalse(asyncContainer.isLayoutInProgress());
+
+		boolean offsetLayout = false;
+		for(int i = 0; i < TOTAL_ELEMENTS; i++) {
+			Assert.assertEquals(syncElements[i].getRenderX(), asyncElements[i].getRenderX());
+			Assert.assertEquals(syncElements[i].getRenderY(), asyncElements[i].getRenderY());
+			Assert.assertEquals(syncElements[i].getRenderWidth(), asyncElements[i].getRenderWidth());
+			Assert.assertEquals(syncElements[i].getRenderHeight(), asyncElements[i].getRenderHeight());
+			offsetLayout |= asyncElements[i].getRenderY() > 0;
+		}
+		Assert.assertTrue(offsetLayout);
+	}
+
+	@Test
+	public void testAsyncLayoutStateIsThreadConfined() throws Exception {
+		final LayoutRecordingElement[] elements = createElements();
+		final UiContainer uiContainer = createContainer(elements);
+		uiContainer.setAsyncLayoutEnabled(true);
+
+		uiContainer.update(1f);
+		workerThreads.get(0).join();
+		Assert.assertEquals(UiContainerState.NOOP, UiContainer.getState());
+
+		for(int i = 0; i < TOTAL_ELEMENTS; i++) {
+			Assert.assertSame(workerThreads.get(0), elements[i].layoutThread);
+			Assert.assertEquals(UiContainerState.LAYOUT, elements[i].layoutState);
+		}
+	}
+
+	@Test
+	public void testAsyncLayoutDeferredRunOnGameThread() throws Exception {
+		final LayoutRecordingElement[] elements = createElements();
+		final UiContainer uiContainer = createContainer(elements);
+		uiContainer.setAsyncLayoutEnabled(true);
+
+		final Thread[] deferredThread = new Thread[1];
+		elements[0].deferUntilLayout(new Runnable() {
+			@Override
+			public void run() {
+				deferredThread[0] = Thread.currentThread();
+			}
+		});
+
+		uiContainer.update(1f);
+		workerThreads.get(0).join();
+		Assert.assertNull(deferredThread[0]);
+
+		uiContainer.update(1f);
+		Assert.assertSame(Thread.currentThread(), deferredThread[0]);
+	}
+
+	private LayoutRecordingElement[] createElements() {
+		final LayoutRecordingElement[] result = new LayoutRecordingElement[TOTAL_ELEMENTS];
+		for(int i = 0; i < TOTAL_ELEMENTS; i++) {
+			result[i] = new LayoutRecordingElement("element" + i);
+			result[i].setPreferredContentWidth(50f + (i * 10f));
+			result[i].setPreferredContentHeight(20f + (i * 5f));
+		}
+		return result;
+	}
+
+	private UiContainer createContainer(LayoutRecordingElement[] elements) {
+		final UiContainer result = new UiContainer(800, 600, null);
+		result.setNavigationMode(NavigationMode.POINTER_ONLY);
+
+		final Div div = new Div("div");
+		div.setFlexLayout("flex-column:xs-12c");
+		div.setVisibility(Visibility.VISIBLE);
+		for(int i = 0; i < elements.length; i += 2) {
+			final FlexRow row = new FlexRow("row" + i);
+			row.setVisibility(Visibility.VISIBLE);
+			row.add(elements[i]);
+			row.add(elements[i + 1]);
+			div.add(row);
+		}
+		result.add(div);
+		return result;
+	}
+
+	private static void setThemeField(UiTheme theme) throws Exception {
+		final java.lang.reflect.Field field = UiContainer.class.getDeclaredField("UI_THEME");
+		field.setAccessible(true);
+		field.set(null, theme);
+	}
+
+	private static class LayoutRecordingElement extends DummyUiElement {
+		private Thread layoutThread;
+		private UiContainerState layoutState;
+
+		public LayoutRecordingElement(String id) {
+			super(id);
+		}
+
+		@Override
+		public void syncWithLayout(UiContainerRenderTree rootNode) {
+			layoutThread = Thread.currentThread();
+			layoutState = UiContainer.getState();
+			super.syncWithLayout(rootNode);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.Mdx;
+import org.mini2Dx.core.exception.MdxException;
+import org.mini2Dx.core.reflect.jvm.JvmReflection;
+import org.mini2Dx.core.serialization.JsonSerializer;
+import org.mini2Dx.gdx.utils.ObjectMap;
+import org.mini2Dx.lockprovider.jvm.JvmLocks;
+import org.mini2Dx.ui.layout.ScreenSize;
+import org.mini2Dx.ui.style.StyleRuleset;
+import org.mini2Dx.ui.style.UiTheme;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for {@link UiThemeCompiler}
+ */
+public class UiThemeCompilerTest {
+	private static final String DEFAULT_THEME_PATH = "../uats-libgdx-desktop/assets/" + UiTheme.DEFAULT_THEME_FILENAME;
+
+	private final UiThemeCompiler compiler = new UiThemeCompiler();
+
+	@Before
+	public void setUp() {
+		Mdx.locks = new JvmLocks();
+		Mdx.reflect = new JvmReflection();
+		Mdx.json = new JsonSerializer();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		final String json = readDefaultTheme();
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		compiler.compile(json, new DataOutputStream(outputStream));
+		final UiTheme result = UiThemeCompiler.read(new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())));
+
+		final UiTheme expected = Mdx.json.fromJson(json, UiTheme.class);
+		Assert.assertEquals(expected.getId(), result.getId());
+		Assert.assertEquals(Mdx.json.toJson(expected.getFonts()), Mdx.json.toJson(result.getFonts()));
+		assertRulesetsEqual(expected.getButtonRulesets(), result.getButtonRulesets());
+		assertRulesetsEqual(expected.getCheckboxRulesets(), result.getCheckboxRulesets());
+		assertRulesetsEqual(expected.getColumnRulesets(), result.getColumnRulesets());
+		assertRulesetsEqual(expected.getContainerRulesets(), result.getContainerRulesets());
+		assertRulesetsEqual(expected.getImageRulesets(), result.getImageRulesets());
+		assertRulesetsEqual(expected.getLabelRulesets(), result.getLabelRulesets());
+		assertRulesetsEqual(expected.getProgressBarRulesets(), result.getProgressBarRulesets());
+		assertRulesetsEqual(expected.getRadioButtonRulesets(), result.getRadioButtonRulesets());
+		assertRulesetsEqual(expected.getSelectRulesets(), result.getSelectRulesets());
+		assertRulesetsEqual(expected.getScrollBoxRulesets(), result.getScrollBoxRulesets());
+		assertRulesetsEqual(expected.getSliderRulesets(), result.getSliderRulesets());
+		assertRulesetsEqual(expected.getTabRulesets(), result.getTabRulesets());
+		assertRulesetsEqual(expected.getTextBoxRulesets(), result.getTextBoxRulesets());
+	}
+
+	@Test
+	public void testReadDoesNotRequireJsonSerializer() throws Exception {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		compiler.compile(readDefaultTheme(), new DataOutputStream(outputStream));
+
+		Mdx.json = null;
+		final UiTheme result = UiThemeCompiler.read(new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())));
+		Assert.assertNotNull(result.getButtonRulesets().get(UiTheme.DEFAULT_STYLE_ID).getStyleRule(ScreenSize.XL));
+	}
+
+	@Test(expected = MdxException.class)
+	public void testCompileValidatesTheme() throws Exception {
+		final String json = readDefaultTheme()
+				.replaceFirst("\"buttons\": \\{\\s*\"default\"", "\"buttons\": { \"invalid\"");
+		compiler.compile(json, new DataOutputStream(new ByteArrayOutputStream()));
+	}
+
+	private <T extends StyleRuleset<?>> void assertRulesetsEqual(ObjectMap<String, T> expected, ObjectMap<String, T> result) throws Exception {
+		Assert.assertEquals(expected.size, result.size);
+		for(ObjectMap.Entry<String, T> entry : expected.entries()) {
+			for(ScreenSize screenSize : ScreenSize.values()) {
+				Assert.assertEquals(Mdx.json.toJson(entry.value.getStyleRule(screenSize)),
+						Mdx.json.toJson(result.get(entry.key).getStyleRule(screenSize)));
+			}
+		}
+	}
+
+	private String readDefaultTheme() throws Exception {
+		return new String(Files.readAllBytes(Paths.get(DEFAULT_THEME_PATH)), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2021 See AUTHORS file
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package org.mini2Dx.ui.xml;
+
+import org.jmock.Expectations;
+import org.junit.Test;
+import org.mini2Dx.core.files.FileHandle;
+import org.mini2Dx.gdx.xml.XmlReader;
+import org.mini2Dx.ui.element.Container;
+import org.mini2Dx.ui.element.Label;
+import org.mini2Dx.ui.element.Visibility;
+import org.mini2Dx.ui.xml.spi.LabelFactory;
+import org.mini2Dx.ui.xml.spi.LabelPopulator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class UiXmlCompilerTest extends AbstractUiXmlLoaderTest {
+    private static final String XML = "<?xml version=\"1.0\"?>\n" +
+            "<container id=\"testContainer\" visibility=\"HIDDEN\">" +
+            "  <label id=\"label1\" text=\"Hello\"/>" +
+            "  <label id=\"label2\" text=\"Hello\"/>" +
+            "</container>";
+
+    private final UiXmlCompiler compiler = new UiXmlCompiler();
+
+    @Test
+    public void round_trip_element_tree() throws IOException {
+        CompiledUiXml expected = compiler.compile(new StringReader(XML));
+        CompiledUiXml result = CompiledUiXml.fromInputStream(toInputStream(compile()));
+
+        assertEquals(expected.getRoot().toXmlElement().toString(), result.getRoot().toXmlElement().toString());
+        assertEquals("container", result.getRoot().getName());
+        assertEquals("HIDDEN", result.getRoot().getAttribute("visibility"));
+        assertEquals(2, result.getRoot().getChildCount());
+        assertEquals("label2", result.getRoot().getChild(1).getAttribute("id"));
+    }
+
+    @Test
+    public void load_compiled_file_with_xml_element_handler() throws IOException {
+        loader.addTagHandler("label",
+                (UiElementFactory<Label>) xmlTag -> new Label(xmlTag.getAttribute("id")),
+                (UiElementPopulator<Label>) (xmlTag, label) -> {
+                    label.setText(xmlTag.getAttribute("text") + " " + xmlTag.getParent().getAttribute("id"));
+                    return false;
+                });
+        Container container = loader.load(mockCompiledFile(compile()));
+
+        assertEquals("label2", container.get(1).getId());
+        assertEquals("Hello testContainer", ((Label) container.get(1)).getText());
+    }
+
+    @Test
+    public void load_compiled_file_with_xml_element_subclass_of_builtin_handler() throws IOException {
+        loader.addTagHandler("label", new LabelFactory() {
+            @Override
+            public Label build(XmlReader.Element xmlTag) {
+                return new Label(xmlTag.getAttribute("id") + "Custom");
+            }
+        }, new LabelPopulator() {
+            @Override
+            public boolean populate(XmlReader.Element xmlTag, Label uiElement) {
+                super.populate(xmlTag, uiElement);
+                uiElement.setText(uiElement.getText() + " " + xmlTag.getParent().getAttribute("id"));
+                return false;
+            }
+        });
+        Container container = loader.load(mockCompiledFile(compile()));
+
+        assertEquals("label2Custom", container.get(1).getId());
+        assertEquals("Hello testContainer", ((Label) container.get(1)).getText());
+    }
+
+    @Test
+    public void load_compiled_file() throws IOException {
+        Container container = loader.load(mockCompiledFile(compile()));
+
+        assertEquals("testContainer", container.getId());
+        assertEquals(Visibility.HIDDEN, container.getVisibility());
+        assertEquals(2, container.getTotalChildren());
+        assertEquals("Hello", ((Label) container.get(1)).getText());
+    }
+
+    @Test
+    public void load_compiled_file_with_model_bindings() throws IOException {
+        UiModel model = loader.load(mockCompiledFile(compile(UiModel.class)), UiModel.class);
+
+        assertNotNull(model.testContainer);
+        assertSame(model.testContainer, model.testContainerCustom);
+    }
+
+    @Test
+    public void load_compiled_file_without_model_bindings() throws IOException {
+        UiModel model = loader.load(mockCompiledFile(compile()), new UiModel());
+
+        assertNotNull(model.testContainer);
+        assertSame(model.testContainer, model.testContainerCustom);
+    }
+
+    @Test
+    public void fail_to_load_invalid_compiled_file() {
+        try {
+            loader.load(mockCompiledFile(new byte[]{1, 2, 3, 4}));
+            fail();
+        } catch (Exception e) {
+            assertEquals("Failed to load UI file: test-file" + UiXmlCompiler.COMPILED_FILE_EXTENSION, e.getMessage());
+            assertNotNull(e.getCause());
+        }
+    }
+
+    private byte[] compile(Class<?>... models) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        compiler.compile(new StringReader(XML), new DataOutputStream(outputStream), models);
+        return outputStream.toByteArray();
+    }
+
+    private DataInputStream toInputStream(byte[] data) {
+        return new DataInputStream(new ByteArrayInputStream(data));
+    }
+
+    private String mockCompiledFile(byte[] data) {
+        final String compiledFilename = "test-file" + UiXmlCompiler.COMPILED_FILE_EXTENSION;
+        final FileHandle fileHandle = mockery.mock(FileHandle.class);
+
+        mockery.checking(new Expectations() {
+            {
+                oneOf(fileHandleResolver).resolve(compiledFilename);
+                will(returnValue(fileHandle));
+                try {
+                    oneOf(fileHandle).read();
+                    will(returnValue(new ByteArrayInputStream(data)));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        return compiledFilename;
+    }
+}